@@ -0,0 +1,218 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for comparing the API on platform and on virtual threads.
+ * {@code concurrency} clients each send the next request as soon as the previous one is
+ * answered, cycling through {@code paths}, for {@code duration} seconds after a warm-up.
+ * The clients run on virtual threads, so the generator is not what limits throughput.
+ * <p>
+ * While the load runs, {@code /actuator/prometheus} is sampled every second for the
+ * connections waiting on Hikari and the live JVM threads. One summary line is printed in
+ * {@code key=value} form, which {@code compare-threads.sh} turns into a table.
+ * <p>
+ * Run with {@code java LoadTest.java} (JDK 21, no build needed); see {@code usage()}.
+ */
+public class LoadTest {
+    
+    private static final Pattern LOGIN_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = options(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        int warmUp = Integer.parseInt(options.getOrDefault("warm-up", "15"));
+        int duration = Integer.parseInt(options.getOrDefault("duration", "60"));
+        String label = options.getOrDefault("label", "run");
+        List<String> paths = Arrays.asList(options.getOrDefault("paths",
+                "/api/parkings/nearby?latitude=4.65&longitude=-74.05,/api/tarifas?page=0&limit=20,"
+                        + "/api/reports/dashboard/occupancy").split(","));
+        
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        String token = login(client, baseUrl, require(options, "email"), require(options, "password"));
+        
+        Stats stats = new Stats();
+        Sampler sampler = new Sampler(client, baseUrl, require(options, "metrics-password"));
+        long warmUpEnds = System.nanoTime() + Duration.ofSeconds(warmUp).toNanos();
+        long ends = warmUpEnds + Duration.ofSeconds(duration).toNanos();
+        
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            clients.submit(() -> sampler.run(warmUpEnds, ends));
+            for (int i = 0; i < concurrency; i++) {
+                int offset = i;
+                clients.submit(() -> {
+                    for (int n = offset; System.nanoTime() < ends; n++) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + paths.get(n % paths.size())))
+                                .header("Authorization", "Bearer " + token)
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long started = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception ex) {
+                            status = -1;
+                        }
+                        if (started >= warmUpEnds) {
+                            stats.record(status, System.nanoTime() - started);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        
+        System.out.println(stats.summary(label, concurrency, duration) + " " + sampler.summary());
+    }
+    
+    private static String login(HttpClient client, String baseUrl, String email, String password) throws Exception {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = LOGIN_TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+        }
+        return matcher.group(1);
+    }
+    
+    private static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                usage();
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return options;
+    }
+    
+    private static String require(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            usage();
+        }
+        return value;
+    }
+    
+    private static void usage() {
+        System.err.println("java LoadTest.java --email=<user> --password=<password> --metrics-password=<scrape password>"
+                + " [--base-url=http://localhost:8080]"
+                + " [--concurrency=200] [--warm-up=15] [--duration=60] [--label=run] [--paths=/api/a,/api/b]");
+        System.exit(2);
+    }
+    
+    private static final class Stats {
+        
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final AtomicLong ok = new AtomicLong();
+        private final AtomicLong refused = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        
+        void record(int status, long nanos) {
+            if (status >= 200 && status < 300) {
+                ok.incrementAndGet();
+                latencies.add(nanos);
+            } else if (status == 503) {
+                refused.incrementAndGet();
+            } else {
+                failed.incrementAndGet();
+            }
+        }
+        
+        String summary(String label, int concurrency, int duration) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return String.format("label=%s concurrency=%d throughput=%.1f ok=%d refused_503=%d failed=%d"
+                            + " p50_ms=%.1f p95_ms=%.1f p99_ms=%.1f max_ms=%.1f",
+                    label, concurrency, (double) ok.get() / duration, ok.get(), refused.get(), failed.get(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    percentile(sorted, 1.0));
+        }
+        
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+    
+    /**
+     * Reads the gauges worth comparing between the two modes from the Prometheus endpoint,
+     * with the scrape credentials rather than the user's token.
+     */
+    private static final class Sampler {
+        
+        private static final Pattern PENDING = Pattern.compile("^hikaricp_connections_pending\\{[^}]*} (\\S+)$", Pattern.MULTILINE);
+        private static final Pattern THREADS = Pattern.compile("^jvm_threads_live_threads\\{[^}]*} (\\S+)$", Pattern.MULTILINE);
+        
+        private final HttpClient client;
+        private final String baseUrl;
+        private final String authorization;
+        private final List<Double> pending = new ArrayList<>();
+        private double maxThreads;
+        
+        Sampler(HttpClient client, String baseUrl, String metricsPassword) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.authorization = "Basic " + Base64.getEncoder()
+                    .encodeToString(("prometheus:" + metricsPassword).getBytes(StandardCharsets.UTF_8));
+        }
+        
+        Void run(long startsAt, long endsAt) throws InterruptedException {
+            Thread.sleep(Math.max(0, (startsAt - System.nanoTime()) / 1_000_000));
+            while (System.nanoTime() < endsAt) {
+                try {
+                    String metrics = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/prometheus"))
+                                    .header("Authorization", authorization).build(),
+                            HttpResponse.BodyHandlers.ofString()).body();
+                    double waiting = 0;
+                    Matcher matcher = PENDING.matcher(metrics);
+                    while (matcher.find()) {
+                        waiting += Double.parseDouble(matcher.group(1));
+                    }
+                    pending.add(waiting);
+                    matcher = THREADS.matcher(metrics);
+                    if (matcher.find()) {
+                        maxThreads = Math.max(maxThreads, Double.parseDouble(matcher.group(1)));
+                    }
+                } catch (Exception ex) {
+                    // A missed sample only thins the averages
+                }
+                Thread.sleep(1000);
+            }
+            return null;
+        }
+        
+        String summary() {
+            double average = pending.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+            double max = pending.stream().mapToDouble(Double::doubleValue).max().orElse(0);
+            return String.format("hikari_pending_avg=%.1f hikari_pending_max=%.0f jvm_threads_max=%.0f",
+                    average, max, maxThreads);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+#!/usr/bin/env bash
+# Runs the same closed-loop load against the API twice, once on Tomcat's platform thread
+# pool and once with spring.threads.virtual.enabled, and prints both results side by side.
+#
+# Needs JDK 21 and a PostgreSQL database migrated by the application, holding a user the
+# load can log in as (a SUPERVISOR or COMPANY_ADMIN, so the dashboard path is allowed).
+# Run both modes against the same data and the same DB_POOL_SIZE, or the numbers do not
+# compare.
+#
+#   LOAD_EMAIL=supervisor@example.com LOAD_PASSWORD=secret \
+#   SPRING_DATASOURCE_URL=jdbc:postgresql://db:5432/parking_management \
+#   load-test/compare-threads.sh
+#
+# Settings, all optional besides the login:
+#   CONCURRENCIES  client counts to run, each in both modes         (default "50 200 800")
+#   DURATION       measured seconds per run, after WARM_UP seconds  (default 60, 15)
+#   PATHS          comma-separated GET paths cycled by every client (default in LoadTest.java)
+#   PORT           port the application listens on                   (default 8080)
+#   JAR            application jar; built with Maven when unset
+#   JAVA_OPTS      extra JVM options for the application, e.g. -Xmx1g
+#   METRICS_SCRAPE_PASSWORD  /actuator/prometheus password the sampler uses (default random)
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+: "${LOAD_EMAIL:?set LOAD_EMAIL to a user the load can log in as}"
+: "${LOAD_PASSWORD:?set LOAD_PASSWORD}"
+CONCURRENCIES=${CONCURRENCIES:-"50 200 800"}
+DURATION=${DURATION:-60}
+WARM_UP=${WARM_UP:-15}
+PORT=${PORT:-8080}
+RESULTS=${RESULTS:-target/load-test}
+# The sampler scrapes /actuator/prometheus; a throwaway password is enough for these runs
+METRICS_SCRAPE_PASSWORD=${METRICS_SCRAPE_PASSWORD:-$(od -An -N16 -tx1 /dev/urandom | tr -d ' \n')}
+
+if [[ -z "${JAR:-}" ]]; then
+    mvn -B -q -DskipTests package
+    JAR=$(ls target/parking-management-api-*.jar | grep -v original | head -n 1)
+fi
+mkdir -p "$RESULTS"
+: > "$RESULTS/results.txt"
+
+app_pid=
+stop_app() {
+    if [[ -n "$app_pid" ]]; then
+        kill "$app_pid" 2>/dev/null || true
+        wait "$app_pid" 2>/dev/null || true
+        app_pid=
+    fi
+}
+trap stop_app EXIT
+
+for mode in platform virtual; do
+    virtual=false
+    [[ "$mode" == virtual ]] && virtual=true
+
+    echo "Starting the application on $mode threads" >&2
+    VIRTUAL_THREADS_ENABLED=$virtual SERVER_PORT=$PORT METRICS_SCRAPE_PASSWORD=$METRICS_SCRAPE_PASSWORD \
+        java ${JAVA_OPTS:-} -jar "$JAR" > "$RESULTS/app-$mode.log" 2>&1 &
+    app_pid=$!
+    for _ in $(seq 1 120); do
+        curl -fs "http://localhost:$PORT/actuator/health" > /dev/null && break
+        kill -0 "$app_pid" 2>/dev/null || { echo "Application exited, see $RESULTS/app-$mode.log" >&2; exit 1; }
+        sleep 1
+    done
+
+    for concurrency in $CONCURRENCIES; do
+        echo "Running $concurrency clients for ${DURATION}s against $mode threads" >&2
+        java load-test/LoadTest.java --base-url="http://localhost:$PORT" \
+            --email="$LOAD_EMAIL" --password="$LOAD_PASSWORD" --metrics-password="$METRICS_SCRAPE_PASSWORD" \
+            --concurrency="$concurrency" --warm-up="$WARM_UP" --duration="$DURATION" \
+            --label="$mode" ${PATHS:+--paths="$PATHS"} | tee -a "$RESULTS/results.txt"
+    done
+    stop_app
+done
+
+# One row per run: the key=value pairs printed by LoadTest become columns
+echo
+awk '{
+    row = ""
+    for (i = 1; i <= NF; i++) {
+        split($i, pair, "=")
+        if (NR == 1) header = header sprintf("%-14s", pair[1])
+        row = row sprintf("%-14s", pair[2])
+    }
+    if (NR == 1) print header
+    print row
+}' "$RESULTS/results.txt"
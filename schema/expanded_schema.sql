@@ -265,3 +265,111 @@ CREATE INDEX idx_parking_sessions_parking ON parking_sessions(parking_id);
 CREATE INDEX idx_parking_sessions_entry_time ON parking_sessions(entry_time);
 CREATE INDEX idx_puntos_fidelidad_user ON puntos_fidelidad(user_id);
 CREATE INDEX idx_puntos_transactions_user ON puntos_fidelidad_transactions(user_id);
+
+-- New table: report_schedules (recurring report definitions)
+CREATE TABLE report_schedules (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    cron_expression VARCHAR(100) NOT NULL,
+    report_type VARCHAR(20) NOT NULL,
+    report_period VARCHAR(20) NOT NULL,
+    format VARCHAR(20) NOT NULL,
+    created_by UUID NOT NULL,
+    next_fire_at TIMESTAMP NOT NULL,
+    next_run_at TIMESTAMP NOT NULL,
+    last_run_at TIMESTAMP,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT check_report_type CHECK (report_type IN ('FINANCIAL', 'OCCUPANCY'))
+);
+
+CREATE TABLE report_schedule_parkings (
+    schedule_id UUID NOT NULL REFERENCES report_schedules(id) ON DELETE CASCADE,
+    parking_id UUID NOT NULL REFERENCES parkings(id)
+);
+
+CREATE TABLE report_schedule_recipients (
+    schedule_id UUID NOT NULL REFERENCES report_schedules(id) ON DELETE CASCADE,
+    email VARCHAR(255) NOT NULL
+);
+
+-- New table: report_schedule_executions (run history of report schedules)
+CREATE TABLE report_schedule_executions (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    schedule_id UUID NOT NULL REFERENCES report_schedules(id) ON DELETE CASCADE,
+    fire_time TIMESTAMP NOT NULL,
+    period_start DATE NOT NULL,
+    period_end DATE NOT NULL,
+    catch_up BOOLEAN NOT NULL DEFAULT FALSE,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    duration_ms BIGINT,
+    report_id UUID,
+    error_message TEXT,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX idx_report_schedules_next_run ON report_schedules(next_run_at) WHERE is_active;
+CREATE INDEX idx_report_schedule_executions_schedule ON report_schedule_executions(schedule_id, started_at);
+
+-- New table: parking_data_versions (per parking, per day change counter used to detect stale reports)
+CREATE TABLE parking_data_versions (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    parking_id UUID NOT NULL REFERENCES parkings(id),
+    data_date DATE NOT NULL,
+    version BIGINT NOT NULL DEFAULT 1,
+    changed_at TIMESTAMP NOT NULL,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_parking_data_versions_parking_date UNIQUE (parking_id, data_date)
+);
+
+-- Keyset pagination indexes: (sort key, id) in the order cursor pages are read
+CREATE INDEX idx_users_created_id ON users(created_at DESC, id DESC);
+CREATE INDEX idx_tarifas_created_id ON tarifas(created_at DESC, id DESC);
+CREATE INDEX idx_planes_especiales_created_id ON planes_especiales(created_at DESC, id DESC);
+CREATE INDEX idx_system_alerts_triggered_id ON system_alerts(triggered_at DESC, id DESC);
+CREATE INDEX idx_financial_reports_period_id ON financial_reports(period_start DESC, id DESC);
+CREATE INDEX idx_occupancy_reports_period_id ON occupancy_reports(period_start DESC, id DESC);
+
+-- Alert email dispatch: claim column and the scan index for unsent alerts
+ALTER TABLE system_alerts ADD COLUMN email_claimed_at TIMESTAMP;
+CREATE INDEX idx_system_alerts_email_pending ON system_alerts(triggered_at) WHERE status = 'ACTIVE' AND email_sent = FALSE;
+
+-- Token invalidation: access tokens carry the version they were issued under
+ALTER TABLE users ADD COLUMN security_version BIGINT NOT NULL DEFAULT 0;
+
+-- New table: revoked_tokens (token ids revoked at logout, kept until the token expires)
+CREATE TABLE revoked_tokens (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    jti VARCHAR(64) NOT NULL,
+    expires_at TIMESTAMP NOT NULL,
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT uk_revoked_tokens_jti UNIQUE (jti)
+);
+CREATE INDEX idx_revoked_tokens_created ON revoked_tokens(created_at);
+CREATE INDEX idx_revoked_tokens_expires ON revoked_tokens(expires_at);
+
+-- Substring search: trigram indexes over the lowercased columns the list endpoints search,
+-- combined with the filter indexes by bitmap AND; partial because only active rows are listed
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_users_first_name_trgm ON users USING GIN (LOWER(first_name) gin_trgm_ops) WHERE is_active;
+CREATE INDEX idx_users_last_name_trgm ON users USING GIN (LOWER(last_name) gin_trgm_ops) WHERE is_active;
+CREATE INDEX idx_users_email_trgm ON users USING GIN (LOWER(email) gin_trgm_ops) WHERE is_active;
+CREATE INDEX idx_companies_name_trgm ON companies USING GIN (LOWER(name) gin_trgm_ops) WHERE is_active;
+CREATE INDEX idx_companies_description_trgm ON companies USING GIN (LOWER(description) gin_trgm_ops) WHERE is_active;
+CREATE INDEX idx_parkings_name_trgm ON parkings USING GIN (LOWER(name) gin_trgm_ops) WHERE is_active;
+CREATE INDEX idx_parkings_description_trgm ON parkings USING GIN (LOWER(description) gin_trgm_ops) WHERE is_active;
+CREATE INDEX idx_tarifas_name_trgm ON tarifas USING GIN (LOWER(name) gin_trgm_ops) WHERE is_active;
+CREATE INDEX idx_planes_especiales_name_trgm ON planes_especiales USING GIN (LOWER(name) gin_trgm_ops) WHERE is_active;
+CREATE INDEX idx_users_company ON users(company_id) WHERE is_active;
+CREATE INDEX idx_parkings_company ON parkings(company_id) WHERE is_active;
+
+-- Open sessions (exit_time IS NULL): gate plate matching reads them all on every rebuild
+CREATE INDEX idx_parking_sessions_open ON parking_sessions(parking_id) WHERE exit_time IS NULL;
@@ -0,0 +1,120 @@
+package com.parkingmanagement.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+    
+    public static final String REPORT_EXECUTOR = "reportExecutor";
+    public static final String ALERT_MAIL_EXECUTOR = "alertMailExecutor";
+    public static final String PASSWORD_HASH_EXECUTOR = "passwordHashExecutor";
+    public static final String ARCHIVE_EXECUTOR = "archiveExecutor";
+    
+    // Also switches Tomcat and the @Scheduled methods over; see VirtualThreadConfig
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    @Value("${app.reports.worker.core-size:2}")
+    private int coreSize;
+    
+    @Value("${app.reports.worker.max-size:4}")
+    private int maxSize;
+    
+    @Value("${app.reports.worker.queue-capacity:100}")
+    private int queueCapacity;
+    
+    @Value("${app.alerts.mail.worker.core-size:2}")
+    private int mailCoreSize;
+    
+    @Value("${app.alerts.mail.worker.max-size:4}")
+    private int mailMaxSize;
+    
+    @Value("${app.alerts.mail.worker.queue-capacity:50}")
+    private int mailQueueCapacity;
+    
+    @Value("${app.security.password.worker.size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int passwordHashSize;
+    
+    @Value("${app.security.password.worker.queue-capacity:64}")
+    private int passwordHashQueueCapacity;
+    
+    @Bean(name = REPORT_EXECUTOR)
+    public ThreadPoolTaskExecutor reportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-");
+        useVirtualThreads(executor, "report-");
+        // Report generation is never dropped; when the queue is full the submitter runs it
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+    
+    @Bean(name = ALERT_MAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor alertMailExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mailCoreSize);
+        executor.setMaxPoolSize(mailMaxSize);
+        executor.setQueueCapacity(mailQueueCapacity);
+        executor.setThreadNamePrefix("alert-mail-");
+        useVirtualThreads(executor, "alert-mail-");
+        // Bounds the SMTP connections; past the queue a digest is refused and the dispatcher
+        // releases its alerts for the next poll, rather than sending it on the scheduler thread
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+    
+    @Bean(name = PASSWORD_HASH_EXECUTOR)
+    public ThreadPoolTaskExecutor passwordHashExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(passwordHashSize);
+        executor.setMaxPoolSize(passwordHashSize);
+        executor.setQueueCapacity(passwordHashQueueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        // Hashing is CPU bound: past the queue a login is refused rather than run by the request thread.
+        // It stays on platform threads in virtual thread mode too, so the pool keeps bounding its cores
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+    
+    @Bean(name = ARCHIVE_EXECUTOR)
+    public ThreadPoolTaskExecutor archiveExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("session-archive-");
+        // One run at a time; a run started while the last one is still going is dropped, since
+        // the running one archives the same months and the next run catches up on the rest
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+    
+    /**
+     * Reports and mails spend their time waiting on the database and SMTP, so their workers
+     * can be virtual. They stay pooled on purpose: the pool size is what bounds how many
+     * reports hold a connection at once and how many SMTP sessions are open.
+     */
+    private void useVirtualThreads(ThreadPoolTaskExecutor executor, String threadNamePrefix) {
+        if (virtualThreads) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+    }
+}
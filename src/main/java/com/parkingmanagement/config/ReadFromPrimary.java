@@ -0,0 +1,20 @@
+package com.parkingmanagement.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps the read-only transactions of the annotated method, or of every method of the
+ * annotated class, on the primary when read replicas are enabled. For reads that must see
+ * a write just committed, possibly through another instance, which a replica may not have
+ * applied yet.
+ * <p>
+ * Only takes effect when the transaction obtains its connection inside the call: a method
+ * joining a transaction that already used a replica stays on it.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadFromPrimary {
+}
@@ -0,0 +1,23 @@
+package com.parkingmanagement.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Applies {@link ReadFromPrimary}. Independent of the transaction interceptor's order: the
+ * routing decision is made when the first statement needs a connection, inside the call.
+ */
+@Aspect
+class ReadFromPrimaryAspect {
+    
+    @Around("@annotation(com.parkingmanagement.config.ReadFromPrimary) || @within(com.parkingmanagement.config.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = ReplicaRoutingDataSource.forcePrimary(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaRoutingDataSource.forcePrimary(previous);
+        }
+    }
+}
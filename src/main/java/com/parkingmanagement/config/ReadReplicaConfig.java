@@ -0,0 +1,121 @@
+package com.parkingmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read replicas, switched on with {@code app.datasource.replica.enabled}. Replaces Spring
+ * Boot's data source with one that sends read-only transactions to the replicas at
+ * {@code app.datasource.replica.urls} and everything else to {@code spring.datasource.url}.
+ * Each target gets its own Hikari pool, configured from {@code spring.datasource.hikari}
+ * and named after the target, so the {@code hikaricp.*} metrics are reported per target.
+ * <p>
+ * Replicas are streaming standbys of the primary and share its credentials. Their lag is
+ * checked every {@code lag-check-interval-ms}, and a replica whose last successful check
+ * is more than {@value #MAX_MISSED_CHECKS} intervals old counts as lagging. See
+ * {@link ReplicaRoutingDataSource} for how a lagging replica is skipped and
+ * {@link ReadFromPrimary} for reads that cannot tolerate any lag.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ReadReplicaConfig {
+    
+    // Zero while the standby has replayed everything it received, otherwise the age of the last replayed commit
+    static final String POSTGRES_LAG_QUERY = "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+    
+    // Checks a replica may miss, e.g. while the scheduler is busy, before its lag counts as unknown
+    static final int MAX_MISSED_CHECKS = 3;
+    
+    private final DataSourceProperties dataSourceProperties;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReplicaRoutingDataSource routingDataSource;
+    
+    @Value("${app.datasource.replica.urls:}")
+    private List<String> urls;
+    
+    @Value("${app.datasource.replica.pool-size:10}")
+    private int replicaPoolSize;
+    
+    @Value("${app.datasource.replica.max-lag-ms:5000}")
+    private long maxLagMs;
+    
+    @Value("${app.datasource.replica.lag-check-interval-ms:2000}")
+    private long lagCheckIntervalMs;
+    
+    @Value("${app.datasource.replica.lag-query:}")
+    private String lagQuery;
+    
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("app.datasource.replica.enabled is set but app.datasource.replica.urls is empty");
+        }
+        HikariDataSource primary = pool(ReplicaRoutingDataSource.PRIMARY, dataSourceProperties.determineUrl());
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = pool("replica-" + (i + 1), urls.get(i).trim());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, maxLagMs,
+                MAX_MISSED_CHECKS * lagCheckIntervalMs, meterRegistry);
+        log.info("Routing read-only transactions to {} replicas lagging at most {} ms", replicas.size(), maxLagMs);
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+    
+    @Bean
+    ReadFromPrimaryAspect readFromPrimaryAspect() {
+        return new ReadFromPrimaryAspect();
+    }
+    
+    // Runs right after startup too; replicas serve no reads until their first check passes
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:2000}")
+    public void checkReplicaLag() {
+        routingDataSource.checkReplicas(lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery);
+    }
+    
+    @PreDestroy
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+    
+    private HikariDataSource pool(String name, String url) {
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricRegistry(meterRegistry);
+        pools.add(pool);
+        return pool;
+    }
+}
@@ -0,0 +1,147 @@
+package com.parkingmanagement.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands read-only transactions a connection to one of the replicas and everything else a
+ * connection to the primary. The target is chosen when the connection is obtained, so this
+ * must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * a transaction is only marked read-only after the transaction manager has begun it.
+ * <p>
+ * Replicas take turns. One whose last lag check failed or exceeded {@code maxLagMs} is
+ * skipped until it catches up; with none left the primary serves the reads too. So is one
+ * whose last successful check is older than {@code maxCheckAgeMs}, as its lag is no longer
+ * known once the checks stop running.
+ */
+@Slf4j
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    static final String PRIMARY = "primary";
+    
+    // Set by @ReadFromPrimary for reads that must see this instance's own writes
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+    
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Map<String, Counter> connections = new HashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final long maxLagMs;
+    private final long maxCheckAgeMs;
+    
+    ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaTargets, long maxLagMs,
+                             long maxCheckAgeMs, MeterRegistry meterRegistry) {
+        this.maxLagMs = maxLagMs;
+        this.maxCheckAgeMs = maxCheckAgeMs;
+        Map<Object, Object> targets = new HashMap<>(replicaTargets);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+        
+        connections.put(PRIMARY, meterRegistry.counter("datasource.routing.connections", "target", PRIMARY));
+        replicaTargets.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, new JdbcTemplate(dataSource));
+            replicas.add(replica);
+            connections.put(name, meterRegistry.counter("datasource.routing.connections", "target", name));
+            meterRegistry.gauge("datasource.replica.lag", Tags.of("target", name), replica, r -> r.lagMs);
+        });
+    }
+    
+    /**
+     * @return whether the primary was forced before, to restore afterwards
+     */
+    static boolean forcePrimary(boolean forced) {
+        boolean previous = Boolean.TRUE.equals(PRIMARY_FORCED.get());
+        if (forced) {
+            PRIMARY_FORCED.set(Boolean.TRUE);
+        } else {
+            PRIMARY_FORCED.remove();
+        }
+        return previous;
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String target = PRIMARY;
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !Boolean.TRUE.equals(PRIMARY_FORCED.get())) {
+            target = currentReplica();
+        }
+        connections.get(target).increment();
+        return target;
+    }
+    
+    private String currentReplica() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isCurrent(maxLagMs, maxCheckAgeMs)) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+    
+    /**
+     * Measures each replica's lag with {@code lagQuery}, which returns milliseconds. A replica
+     * that cannot be queried is treated as lagging.
+     */
+    void checkReplicas(String lagQuery) {
+        for (Replica replica : replicas) {
+            boolean wasCurrent = replica.isCurrent(maxLagMs, maxCheckAgeMs);
+            String failure = null;
+            try {
+                Number lag = replica.jdbcTemplate.queryForObject(lagQuery, Number.class);
+                replica.lagMs = lag != null ? Math.max(0, lag.longValue()) : 0;
+                replica.checkedAtNanos = System.nanoTime();
+            } catch (DataAccessException ex) {
+                replica.lagMs = -1;
+                failure = ex.getMessage();
+            }
+            
+            boolean current = replica.isCurrent(maxLagMs, maxCheckAgeMs);
+            if (wasCurrent && !current) {
+                log.warn("Replica {} taken out of rotation, reads go to the primary: {}", replica.name,
+                        failure != null ? failure : replica.lagMs + " ms behind");
+            } else if (!wasCurrent && current) {
+                log.info("Replica {} is {} ms behind, serving reads", replica.name, replica.lagMs);
+            }
+        }
+    }
+    
+    private static final class Replica {
+        
+        private final String name;
+        private final JdbcTemplate jdbcTemplate;
+        // Unknown until the first check; -1 also when the last check failed
+        private volatile long lagMs = -1;
+        // System.nanoTime() of the last successful check
+        private volatile long checkedAtNanos;
+        
+        private Replica(String name, JdbcTemplate jdbcTemplate) {
+            this.name = name;
+            this.jdbcTemplate = jdbcTemplate;
+        }
+        
+        private boolean isCurrent(long maxLagMs, long maxCheckAgeMs) {
+            long lag = lagMs;
+            return lag >= 0 && lag <= maxLagMs
+                    && System.nanoTime() - checkedAtNanos <= TimeUnit.MILLISECONDS.toNanos(maxCheckAgeMs);
+        }
+    }
+}
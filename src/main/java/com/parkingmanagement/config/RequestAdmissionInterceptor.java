@@ -0,0 +1,56 @@
+package com.parkingmanagement.config;
+
+import com.parkingmanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets at most {@code permits} requests run their handler at once. A request past the
+ * limit waits up to {@code timeoutMs} for a slot and is then refused, through the
+ * exception handler, as 503 with {@code Retry-After}. Alert streams give their slot back
+ * as soon as they go asynchronous; an open stream holds no connection.
+ */
+class RequestAdmissionInterceptor implements AsyncHandlerInterceptor {
+    
+    private final Semaphore slots;
+    private final long timeoutMs;
+    private final Counter rejected;
+    
+    RequestAdmissionInterceptor(int permits, long timeoutMs, MeterRegistry meterRegistry) {
+        this.slots = new Semaphore(permits, true);
+        this.timeoutMs = timeoutMs;
+        this.rejected = meterRegistry.counter("http.admission.rejected");
+        meterRegistry.gauge("http.admission.available", slots, Semaphore::availablePermits);
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        try {
+            if (slots.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.increment();
+        throw new ServiceUnavailableException("The server is busy, please retry shortly");
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        // Only called when preHandle returned true, so exactly once per acquired slot
+        slots.release();
+    }
+    
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Called instead of afterCompletion; the async dispatch that ends the request acquires its own slot
+        slots.release();
+    }
+}
@@ -0,0 +1,94 @@
+package com.parkingmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Opt-in execution on virtual threads, switched on with {@code spring.threads.virtual.enabled}.
+ * Spring Boot then serves requests and runs the {@code @Scheduled} methods on virtual
+ * threads, and {@link AsyncConfig} moves the report and alert mail workers over.
+ * <p>
+ * Tomcat's worker pool used to be what capped the requests competing for database
+ * connections. Without it every request would wait on Hikari until its connection timeout,
+ * so requests are admitted up to {@code requests-per-connection} times the pool size and
+ * refused with 503 after {@code admission-timeout-ms}. Each pool itself must stay under
+ * {@code max-pool-size}: growing it to match the thread count only moves the queue into
+ * PostgreSQL.
+ * <p>
+ * With {@link ReadReplicaConfig} the pool size is the sum over the primary's and every
+ * replica's pool, since reads and writes hold connections to different servers.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class VirtualThreadConfig implements WebMvcConfigurer {
+    
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    
+    private RequestAdmissionInterceptor admission;
+    
+    @Value("${app.virtual-threads.requests-per-connection:4}")
+    private int requestsPerConnection;
+    
+    @Value("${app.virtual-threads.admission-timeout-ms:2000}")
+    private long admissionTimeoutMs;
+    
+    @Value("${app.virtual-threads.max-pool-size:30}")
+    private int maxPoolSize;
+    
+    @PostConstruct
+    private void init() {
+        int connections = 0;
+        for (HikariDataSource pool : pools()) {
+            if (pool.getMaximumPoolSize() > maxPoolSize) {
+                throw new IllegalStateException("Connection pool " + pool.getPoolName() + " of " + pool.getMaximumPoolSize()
+                        + " exceeds app.virtual-threads.max-pool-size " + maxPoolSize
+                        + "; with virtual threads the pool, not the thread count, must bound database load");
+            }
+            connections += pool.getMaximumPoolSize();
+        }
+        if (connections == 0) {
+            log.warn("Data source is not a Hikari pool; sizing request admission for {} connections", maxPoolSize);
+            connections = maxPoolSize;
+        }
+        int permits = connections * requestsPerConnection;
+        admission = new RequestAdmissionInterceptor(permits, admissionTimeoutMs, meterRegistry);
+        log.info("Virtual threads enabled: admitting {} concurrent requests for {} database connections", permits, connections);
+    }
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admission).addPathPatterns("/api/**");
+    }
+    
+    private List<HikariDataSource> pools() {
+        try {
+            if (dataSource.isWrapperFor(AbstractRoutingDataSource.class)) {
+                // unwrap(HikariDataSource.class) would only reach the default target, the primary
+                return dataSource.unwrap(AbstractRoutingDataSource.class).getResolvedDataSources().values().stream()
+                        .distinct()
+                        .filter(HikariDataSource.class::isInstance)
+                        .map(HikariDataSource.class::cast)
+                        .toList();
+            }
+            return List.of(dataSource.unwrap(HikariDataSource.class));
+        } catch (SQLException ex) {
+            return List.of();
+        }
+    }
+}
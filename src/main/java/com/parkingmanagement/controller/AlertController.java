@@ -0,0 +1,97 @@
+package com.parkingmanagement.controller;
+
+import com.parkingmanagement.dto.request.CursorPageRequest;
+import com.parkingmanagement.dto.response.ApiResponse;
+import com.parkingmanagement.dto.response.PageResponse;
+import com.parkingmanagement.dto.response.SystemAlertResponse;
+import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.security.AuthenticatedUser;
+import com.parkingmanagement.service.AlertService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/alerts")
+@RequiredArgsConstructor
+public class AlertController {
+    
+    private final AlertService alertService;
+    
+    @GetMapping
+    @PreAuthorize("hasRole('GENERAL_ADMIN') or hasRole('COMPANY_ADMIN') or hasRole('SUPERVISOR')")
+    public ResponseEntity<ApiResponse<PageResponse<SystemAlertResponse>>> getAlerts(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) UUID companyId,
+            @RequestParam(required = false) UUID parkingId,
+            @RequestParam(required = false) AlertStatus status,
+            @RequestParam(required = false) AlertType alertType,
+            @RequestParam(required = false) String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        
+        PageResponse<SystemAlertResponse> response;
+        if (CursorPageRequest.isRequested(paging, cursor)) {
+            response = alertService.getAlerts(companyId, parkingId, status, alertType,
+                    CursorPageRequest.of(cursor, limit, includeTotal));
+        } else {
+            Pageable pageable = PageRequest.of(page, limit);
+            response = alertService.getAlerts(companyId, parkingId, status, alertType, pageable);
+        }
+        
+        return ResponseEntity.ok(ApiResponse.success(response, "Alerts retrieved successfully"));
+    }
+    
+    @GetMapping("/active")
+    public ResponseEntity<ApiResponse<List<SystemAlertResponse>>> getActiveAlerts(@AuthenticationPrincipal AuthenticatedUser user) {
+        List<SystemAlertResponse> alerts = alertService.getActiveAlertsForUser(user.getId());
+        return ResponseEntity.ok(ApiResponse.success(alerts, "Active alerts retrieved successfully"));
+    }
+    
+    @GetMapping("/unread-count")
+    public ResponseEntity<ApiResponse<Map<String, Long>>> getUnreadCount(@AuthenticationPrincipal AuthenticatedUser user) {
+        Long count = alertService.getUnreadAlertCount(user.getId(), user.getRole());
+        return ResponseEntity.ok(ApiResponse.success(Map.of("count", count), "Unread alert count retrieved successfully"));
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAlerts(@AuthenticationPrincipal AuthenticatedUser user) {
+        return alertService.streamAlerts(user.getId(), user.getRole());
+    }
+    
+    @PatchMapping("/{id}/acknowledge")
+    @PreAuthorize("hasRole('GENERAL_ADMIN') or hasRole('COMPANY_ADMIN') or hasRole('SUPERVISOR')")
+    public ResponseEntity<ApiResponse<SystemAlertResponse>> acknowledgeAlert(
+            @PathVariable UUID id, @AuthenticationPrincipal AuthenticatedUser user) {
+        SystemAlertResponse response = alertService.acknowledgeAlert(id, user);
+        return ResponseEntity.ok(ApiResponse.success(response, "Alert acknowledged successfully"));
+    }
+    
+    @PatchMapping("/{id}/resolve")
+    @PreAuthorize("hasRole('GENERAL_ADMIN') or hasRole('COMPANY_ADMIN') or hasRole('SUPERVISOR')")
+    public ResponseEntity<ApiResponse<SystemAlertResponse>> resolveAlert(
+            @PathVariable UUID id, @AuthenticationPrincipal AuthenticatedUser user) {
+        SystemAlertResponse response = alertService.resolveAlert(id, user);
+        return ResponseEntity.ok(ApiResponse.success(response, "Alert resolved successfully"));
+    }
+    
+    @PatchMapping("/{id}/dismiss")
+    @PreAuthorize("hasRole('GENERAL_ADMIN') or hasRole('COMPANY_ADMIN') or hasRole('SUPERVISOR')")
+    public ResponseEntity<ApiResponse<SystemAlertResponse>> dismissAlert(
+            @PathVariable UUID id, @AuthenticationPrincipal AuthenticatedUser user) {
+        SystemAlertResponse response = alertService.dismissAlert(id, user);
+        return ResponseEntity.ok(ApiResponse.success(response, "Alert dismissed successfully"));
+    }
+}
@@ -7,7 +7,9 @@ import com.parkingmanagement.dto.request.RegisterRequest;
 import com.parkingmanagement.dto.response.ApiResponse;
 import com.parkingmanagement.dto.response.LoginResponse;
 import com.parkingmanagement.dto.response.UserResponse;
+import com.parkingmanagement.security.LoginThrottle;
 import com.parkingmanagement.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -23,9 +25,13 @@ import java.util.Map;
 public class AuthController {
     
     private final AuthService authService;
+    private final LoginThrottle loginThrottle;
     
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                            HttpServletRequest httpRequest) {
+        // Before any lookup or hashing, so a refused attempt costs next to nothing
+        loginThrottle.check(httpRequest.getRemoteAddr(), request.getEmail());
         LoginResponse response = authService.login(request);
         return ResponseEntity.ok(ApiResponse.success(response, "Login successful"));
     }
@@ -39,7 +45,9 @@ public class AuthController {
     }
     
     @PostMapping("/password/reset-request")
-    public ResponseEntity<ApiResponse<Void>> requestPasswordReset(@Valid @RequestBody PasswordResetRequest request) {
+    public ResponseEntity<ApiResponse<Void>> requestPasswordReset(@Valid @RequestBody PasswordResetRequest request,
+                                                                  HttpServletRequest httpRequest) {
+        loginThrottle.check(httpRequest.getRemoteAddr(), request.getEmail());
         authService.requestPasswordReset(request);
         return ResponseEntity.ok(ApiResponse.success(null, "Password reset instructions sent to email"));
     }
@@ -58,9 +66,11 @@ public class AuthController {
     }
     
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponse<Void>> logout(@RequestBody Map<String, String> request) {
+    public ResponseEntity<ApiResponse<Void>> logout(@RequestBody Map<String, String> request,
+                                                    @RequestHeader(value = "Authorization", required = false) String authorization) {
         String refreshToken = request.get("refreshToken");
-        authService.logout(refreshToken);
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authService.logout(refreshToken, accessToken);
         return ResponseEntity.ok(ApiResponse.success(null, "Logout successful"));
     }
 }
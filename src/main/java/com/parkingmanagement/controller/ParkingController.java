@@ -0,0 +1,46 @@
+package com.parkingmanagement.controller;
+
+import com.parkingmanagement.dto.response.ApiResponse;
+import com.parkingmanagement.dto.response.NearbyParkingResponse;
+import com.parkingmanagement.dto.response.PlateCandidateResponse;
+import com.parkingmanagement.service.ParkingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/parkings")
+@RequiredArgsConstructor
+public class ParkingController {
+    
+    private final ParkingService parkingService;
+    
+    @GetMapping("/nearby")
+    public ResponseEntity<ApiResponse<List<NearbyParkingResponse>>> getNearbyParkings(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) UUID vehicleTypeId,
+            @RequestParam(defaultValue = "0") long minFreeSpaces) {
+        
+        List<NearbyParkingResponse> response = parkingService.findNearby(latitude, longitude, radiusKm, limit,
+                vehicleTypeId, minFreeSpaces);
+        return ResponseEntity.ok(ApiResponse.success(response, "Nearby parkings retrieved successfully"));
+    }
+    
+    @GetMapping("/{parkingId}/sessions/plate-candidates")
+    @PreAuthorize("hasRole('GENERAL_ADMIN') or hasRole('COMPANY_ADMIN') or hasRole('SUPERVISOR') or hasRole('OPERATOR')")
+    public ResponseEntity<ApiResponse<List<PlateCandidateResponse>>> getPlateCandidates(
+            @PathVariable UUID parkingId,
+            @RequestParam String plate,
+            @RequestParam(defaultValue = "5") int limit) {
+        
+        List<PlateCandidateResponse> response = parkingService.findPlateCandidates(parkingId, plate, limit);
+        return ResponseEntity.ok(ApiResponse.success(response, "Plate candidates retrieved successfully"));
+    }
+}
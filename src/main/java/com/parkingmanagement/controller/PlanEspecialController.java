@@ -1,6 +1,7 @@
 package com.parkingmanagement.controller;
 
 import com.parkingmanagement.dto.request.CreatePlanEspecialRequest;
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.UpdatePlanEspecialRequest;
 import com.parkingmanagement.dto.response.ApiResponse;
 import com.parkingmanagement.dto.response.PageResponse;
@@ -43,12 +44,23 @@ public class PlanEspecialController {
             @RequestParam(required = false) UUID parkingId,
             @RequestParam(required = false) UUID vehicleTypeId,
             @RequestParam(required = false) Boolean isVip,
-            @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortOrder) {
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String sortOrder,
+            @RequestParam(required = false) String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
-        Sort sort = sortOrder.equalsIgnoreCase("desc") 
-                ? Sort.by(sortBy).descending() 
-                : Sort.by(sortBy).ascending();
+        if (CursorPageRequest.isRequested(paging, cursor)) {
+            CursorPageRequest.rejectSort(sortBy != null || sortOrder != null);
+            PageResponse<PlanEspecialResponse> response = planEspecialService.getAllPlanes(search, parkingId, vehicleTypeId, isVip,
+                    CursorPageRequest.of(cursor, limit, includeTotal));
+            return ResponseEntity.ok(ApiResponse.success(response, "Planes especiales retrieved successfully"));
+        }
+        
+        String sortField = sortBy != null ? sortBy : "name";
+        Sort sort = "desc".equalsIgnoreCase(sortOrder) 
+                ? Sort.by(sortField).descending() 
+                : Sort.by(sortField).ascending();
         
         Pageable pageable = PageRequest.of(page, limit, sort);
         PageResponse<PlanEspecialResponse> response = planEspecialService.getAllPlanes(search, parkingId, vehicleTypeId, isVip, pageable);
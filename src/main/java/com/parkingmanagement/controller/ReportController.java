@@ -1,10 +1,14 @@
 package com.parkingmanagement.controller;
 
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.GenerateReportRequest;
+import com.parkingmanagement.dto.request.ScheduleReportRequest;
 import com.parkingmanagement.dto.response.ApiResponse;
 import com.parkingmanagement.dto.response.FinancialReportResponse;
 import com.parkingmanagement.dto.response.OccupancyReportResponse;
 import com.parkingmanagement.dto.response.PageResponse;
+import com.parkingmanagement.dto.response.ReportScheduleExecutionResponse;
+import com.parkingmanagement.dto.response.ReportScheduleResponse;
 import com.parkingmanagement.service.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -13,6 +17,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -49,10 +54,19 @@ public class ReportController {
             @RequestParam(required = false) UUID parkingId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             Pageable pageable) {
         
-        PageResponse<FinancialReportResponse> reports = reportService.getFinancialReports(
-                companyId, parkingId, startDate, endDate, pageable);
+        PageResponse<FinancialReportResponse> reports;
+        if (CursorPageRequest.isRequested(paging, cursor)) {
+            CursorPageRequest.rejectSort(pageable.getSort().isSorted());
+            reports = reportService.getFinancialReports(companyId, parkingId, startDate, endDate,
+                    CursorPageRequest.of(cursor, pageable.getPageSize(), includeTotal));
+        } else {
+            reports = reportService.getFinancialReports(companyId, parkingId, startDate, endDate, pageable);
+        }
         
         return ResponseEntity.ok(ApiResponse.success(reports, "Financial reports retrieved successfully"));
     }
@@ -106,10 +120,19 @@ public class ReportController {
             @RequestParam(required = false) UUID parkingId,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
             Pageable pageable) {
         
-        PageResponse<OccupancyReportResponse> reports = reportService.getOccupancyReports(
-                companyId, parkingId, startDate, endDate, pageable);
+        PageResponse<OccupancyReportResponse> reports;
+        if (CursorPageRequest.isRequested(paging, cursor)) {
+            CursorPageRequest.rejectSort(pageable.getSort().isSorted());
+            reports = reportService.getOccupancyReports(companyId, parkingId, startDate, endDate,
+                    CursorPageRequest.of(cursor, pageable.getPageSize(), includeTotal));
+        } else {
+            reports = reportService.getOccupancyReports(companyId, parkingId, startDate, endDate, pageable);
+        }
         
         return ResponseEntity.ok(ApiResponse.success(reports, "Occupancy reports retrieved successfully"));
     }
@@ -146,6 +169,31 @@ public class ReportController {
         return ResponseEntity.ok(ApiResponse.success(summary, "Dashboard occupancy summary retrieved"));
     }
     
+    @PostMapping("/schedules")
+    @Operation(summary = "Schedule a recurring report")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPERVISOR')")
+    public ResponseEntity<ApiResponse<ReportScheduleResponse>> scheduleReport(
+            @Valid @RequestBody ScheduleReportRequest request) {
+        
+        UUID userId = getCurrentUserId();
+        ReportScheduleResponse schedule = reportService.scheduleReport(request, userId);
+        
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(schedule, "Report scheduled successfully"));
+    }
+    
+    @GetMapping("/schedules/{scheduleId}/executions")
+    @Operation(summary = "Get execution history of a report schedule")
+    @PreAuthorize("hasRole('COMPANY_ADMIN') or hasRole('SUPERVISOR')")
+    public ResponseEntity<ApiResponse<PageResponse<ReportScheduleExecutionResponse>>> getScheduleExecutions(
+            @PathVariable UUID scheduleId,
+            Pageable pageable) {
+        
+        PageResponse<ReportScheduleExecutionResponse> executions = 
+                reportService.getScheduleExecutions(scheduleId, pageable);
+        return ResponseEntity.ok(ApiResponse.success(executions, "Schedule executions retrieved successfully"));
+    }
+    
     private UUID getCurrentUserId() {
         // TODO: Extract from security context
         return UUID.randomUUID();
@@ -1,6 +1,7 @@
 package com.parkingmanagement.controller;
 
 import com.parkingmanagement.dto.request.CreateTarifaRequest;
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.UpdateTarifaRequest;
 import com.parkingmanagement.dto.response.ApiResponse;
 import com.parkingmanagement.dto.response.PageResponse;
@@ -42,12 +43,23 @@ public class TarifaController {
             @RequestParam(required = false) String search,
             @RequestParam(required = false) UUID parkingId,
             @RequestParam(required = false) UUID vehicleTypeId,
-            @RequestParam(defaultValue = "name") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortOrder) {
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String sortOrder,
+            @RequestParam(required = false) String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
-        Sort sort = sortOrder.equalsIgnoreCase("desc") 
-                ? Sort.by(sortBy).descending() 
-                : Sort.by(sortBy).ascending();
+        if (CursorPageRequest.isRequested(paging, cursor)) {
+            CursorPageRequest.rejectSort(sortBy != null || sortOrder != null);
+            PageResponse<TarifaResponse> response = tarifaService.getAllTarifas(search, parkingId, vehicleTypeId,
+                    CursorPageRequest.of(cursor, limit, includeTotal));
+            return ResponseEntity.ok(ApiResponse.success(response, "Tarifas retrieved successfully"));
+        }
+        
+        String sortField = sortBy != null ? sortBy : "name";
+        Sort sort = "desc".equalsIgnoreCase(sortOrder) 
+                ? Sort.by(sortField).descending() 
+                : Sort.by(sortField).ascending();
         
         Pageable pageable = PageRequest.of(page, limit, sort);
         PageResponse<TarifaResponse> response = tarifaService.getAllTarifas(search, parkingId, vehicleTypeId, pageable);
@@ -1,5 +1,6 @@
 package com.parkingmanagement.controller;
 
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.UpdateUserRequest;
 import com.parkingmanagement.dto.response.ApiResponse;
 import com.parkingmanagement.dto.response.PageResponse;
@@ -32,12 +33,23 @@ public class UserController {
             @RequestParam(required = false) String search,
             @RequestParam(required = false) UserRole role,
             @RequestParam(required = false) UUID companyId,
-            @RequestParam(defaultValue = "firstName") String sortBy,
-            @RequestParam(defaultValue = "asc") String sortOrder) {
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String sortOrder,
+            @RequestParam(required = false) String paging,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
         
-        Sort sort = sortOrder.equalsIgnoreCase("desc") 
-                ? Sort.by(sortBy).descending() 
-                : Sort.by(sortBy).ascending();
+        if (CursorPageRequest.isRequested(paging, cursor)) {
+            CursorPageRequest.rejectSort(sortBy != null || sortOrder != null);
+            PageResponse<UserResponse> response = userService.getAllUsers(search, role, companyId,
+                    CursorPageRequest.of(cursor, limit, includeTotal));
+            return ResponseEntity.ok(ApiResponse.success(response, "Users retrieved successfully"));
+        }
+        
+        String sortField = sortBy != null ? sortBy : "firstName";
+        Sort sort = "desc".equalsIgnoreCase(sortOrder) 
+                ? Sort.by(sortField).descending() 
+                : Sort.by(sortField).ascending();
         
         Pageable pageable = PageRequest.of(page, limit, sort);
         PageResponse<UserResponse> response = userService.getAllUsers(search, role, companyId, pageable);
@@ -0,0 +1,99 @@
+package com.parkingmanagement.dto.request;
+
+import com.parkingmanagement.exception.ValidationException;
+import lombok.Getter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position for cursor pagination. The cursor is an opaque token encoding the
+ * {@code (sortKey, id)} of the last row returned; the next slice starts strictly after it.
+ */
+@Getter
+public class CursorPageRequest {
+    
+    public static final String MODE = "cursor";
+    public static final int MAX_LIMIT = 100;
+    
+    private static final char SEPARATOR = '|';
+    
+    private final String sortKey;
+    private final UUID lastId;
+    private final int limit;
+    private final boolean includeTotal;
+    
+    private CursorPageRequest(String sortKey, UUID lastId, int limit, boolean includeTotal) {
+        this.sortKey = sortKey;
+        this.lastId = lastId;
+        this.limit = limit;
+        this.includeTotal = includeTotal;
+    }
+    
+    public static CursorPageRequest of(String cursor, int limit, boolean includeTotal) {
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        if (cursor == null || cursor.isBlank()) {
+            return new CursorPageRequest(null, null, boundedLimit, includeTotal);
+        }
+        
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new CursorPageRequest(decoded.substring(0, separator),
+                    UUID.fromString(decoded.substring(separator + 1)), boundedLimit, includeTotal);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new ValidationException("Invalid pagination cursor");
+        }
+    }
+    
+    /**
+     * Whether the list endpoint was asked for cursor pagination instead of page numbers.
+     */
+    public static boolean isRequested(String paging, String cursor) {
+        return MODE.equalsIgnoreCase(paging) || (cursor != null && !cursor.isBlank());
+    }
+    
+    /**
+     * Cursor pages always follow the keyset order (newest first), so a requested sort
+     * cannot be honoured and is rejected rather than silently ignored.
+     */
+    public static void rejectSort(boolean sortRequested) {
+        if (sortRequested) {
+            throw new ValidationException("Sorting is not supported with cursor pagination; cursor pages are ordered newest first");
+        }
+    }
+    
+    public static String encode(Object sortKey, UUID id) {
+        String raw = sortKey + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    public LocalDateTime getSortKeyAsDateTime() {
+        try {
+            return sortKey != null ? LocalDateTime.parse(sortKey) : null;
+        } catch (DateTimeParseException ex) {
+            throw new ValidationException("Invalid pagination cursor");
+        }
+    }
+    
+    public LocalDate getSortKeyAsDate() {
+        try {
+            return sortKey != null ? LocalDate.parse(sortKey) : null;
+        } catch (DateTimeParseException ex) {
+            throw new ValidationException("Invalid pagination cursor");
+        }
+    }
+    
+    /**
+     * First page of the given size; the keyset predicate does the positioning, not the offset.
+     */
+    public Pageable toPageable() {
+        return PageRequest.of(0, limit);
+    }
+}
@@ -0,0 +1,32 @@
+package com.parkingmanagement.dto.request;
+
+import com.parkingmanagement.model.enums.ReportPeriod;
+import com.parkingmanagement.model.enums.ReportType;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class ScheduleReportRequest {
+    
+    @NotBlank(message = "Cron expression is required")
+    @Size(max = 100, message = "Cron expression must not exceed 100 characters")
+    private String cronExpression;
+    
+    @NotNull(message = "Report type is required")
+    private ReportType reportType;
+    
+    @NotNull(message = "Report period is required")
+    private ReportPeriod reportPeriod;
+    
+    private List<UUID> parkingIds;
+    
+    private String format = "JSON"; // JSON, CSV, PDF
+    
+    private List<@Email(message = "Recipient must be a valid email") String> emailRecipients;
+}
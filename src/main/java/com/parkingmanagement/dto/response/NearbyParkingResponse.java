@@ -0,0 +1,24 @@
+package com.parkingmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyParkingResponse {
+    private UUID id;
+    private UUID companyId;
+    private String name;
+    private String address;
+    private Double latitude;
+    private Double longitude;
+    private Long distanceMeters;
+    private Long capacity;
+    private Long freeSpaces;
+}
@@ -1,11 +1,14 @@
 package com.parkingmanagement.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Data
 @Builder
@@ -13,8 +16,32 @@ import java.util.List;
 @AllArgsConstructor
 public class PageResponse<T> {
     private List<T> content;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private PaginationInfo pagination;
     
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private CursorInfo cursor;
+    
+    /**
+     * Cursor-mode response: no page numbers, only the position after the last row.
+     */
+    public static <E, T> PageResponse<T> fromSlice(Slice<E> slice, Function<E, T> mapper,
+                                                  Function<E, String> cursorOf, Long total) {
+        List<E> rows = slice.getContent();
+        String next = slice.hasNext() && !rows.isEmpty() ? cursorOf.apply(rows.get(rows.size() - 1)) : null;
+        
+        return PageResponse.<T>builder()
+                .content(rows.stream().map(mapper).toList())
+                .cursor(CursorInfo.builder()
+                        .next(next)
+                        .hasNext(slice.hasNext())
+                        .limit(slice.getSize())
+                        .total(total)
+                        .build())
+                .build();
+    }
+    
     @Data
     @Builder
     @NoArgsConstructor
@@ -25,4 +52,16 @@ public class PageResponse<T> {
         private Integer limit;
         private Integer pages;
     }
+    
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class CursorInfo {
+        private String next;
+        private Boolean hasNext;
+        private Integer limit;
+        private Long total;
+    }
 }
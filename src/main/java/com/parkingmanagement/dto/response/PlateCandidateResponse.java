@@ -0,0 +1,19 @@
+package com.parkingmanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlateCandidateResponse {
+    private UUID sessionId;
+    private UUID vehicleId;
+    private String licensePlate;
+    private Integer distance;
+}
@@ -0,0 +1,25 @@
+package com.parkingmanagement.dto.response;
+
+import com.parkingmanagement.model.enums.ReportStatus;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class ReportScheduleExecutionResponse {
+    
+    private UUID id;
+    private UUID scheduleId;
+    private LocalDateTime fireTime;
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private Boolean catchUp;
+    private ReportStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long durationMs;
+    private UUID reportId;
+    private String errorMessage;
+}
@@ -0,0 +1,24 @@
+package com.parkingmanagement.dto.response;
+
+import com.parkingmanagement.model.enums.ReportPeriod;
+import com.parkingmanagement.model.enums.ReportType;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class ReportScheduleResponse {
+    
+    private UUID id;
+    private String cronExpression;
+    private ReportType reportType;
+    private ReportPeriod reportPeriod;
+    private List<UUID> parkingIds;
+    private String format;
+    private List<String> emailRecipients;
+    private LocalDateTime nextRunAt;
+    private LocalDateTime lastRunAt;
+    private Boolean isActive;
+}
@@ -0,0 +1,33 @@
+package com.parkingmanagement.event;
+
+import com.parkingmanagement.model.entity.SystemAlert;
+import com.parkingmanagement.model.enums.AlertPriority;
+import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.AlertType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published whenever an alert is created or changes status. {@code previousStatus} is null
+ * for a newly created alert.
+ */
+@Getter
+@AllArgsConstructor
+public class AlertStatusChangedEvent {
+    
+    private final UUID alertId;
+    private final AlertType alertType;
+    private final AlertPriority priority;
+    private final String title;
+    private final UUID targetUserId;
+    private final String targetRole;
+    private final AlertStatus previousStatus;
+    private final AlertStatus status;
+    
+    public static AlertStatusChangedEvent of(SystemAlert alert, AlertStatus previousStatus) {
+        return new AlertStatusChangedEvent(alert.getId(), alert.getAlertType(), alert.getPriority(), alert.getTitle(),
+                alert.getTargetUserId(), alert.getTargetRole(), previousStatus, alert.getStatus());
+    }
+}
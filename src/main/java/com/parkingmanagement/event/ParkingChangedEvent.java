@@ -0,0 +1,17 @@
+package com.parkingmanagement.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when a parking is created, changed or removed, so that views derived from
+ * parkings can be rebuilt once the change is committed.
+ */
+@Getter
+@AllArgsConstructor
+public class ParkingChangedEvent {
+    
+    private final UUID parkingId;
+}
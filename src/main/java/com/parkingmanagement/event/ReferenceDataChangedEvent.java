@@ -0,0 +1,18 @@
+package com.parkingmanagement.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when a service writes one of the cached reference entities, so that its
+ * snapshot is evicted once the write has committed.
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDataChangedEvent {
+    
+    private final Class<?> entityType;
+    private final UUID id;
+}
@@ -0,0 +1,24 @@
+package com.parkingmanagement.event;
+
+import com.parkingmanagement.model.enums.PaymentStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when a vehicle leaves a parking and its session is closed. A session that
+ * leaves with a pending payment is followed by a {@link SessionPaidEvent} once settled.
+ */
+@Getter
+@AllArgsConstructor
+public class SessionEndedEvent {
+    
+    private final UUID sessionId;
+    private final UUID parkingId;
+    private final UUID companyId;
+    private final LocalDateTime entryTime;
+    private final LocalDateTime exitTime;
+    private final PaymentStatus paymentStatus;
+}
@@ -0,0 +1,25 @@
+package com.parkingmanagement.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when a closed parking session is paid. Listeners that keep derived state
+ * (dashboard totals, report freshness) should react after the transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class SessionPaidEvent {
+    
+    private final UUID sessionId;
+    private final UUID parkingId;
+    private final UUID companyId;
+    private final LocalDateTime entryTime;
+    private final LocalDateTime exitTime;
+    private final BigDecimal amount;
+    private final LocalDateTime paidAt;
+}
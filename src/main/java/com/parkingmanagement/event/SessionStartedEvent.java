@@ -0,0 +1,20 @@
+package com.parkingmanagement.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published when a vehicle enters a parking and its session is opened.
+ */
+@Getter
+@AllArgsConstructor
+public class SessionStartedEvent {
+    
+    private final UUID sessionId;
+    private final UUID parkingId;
+    private final UUID companyId;
+    private final LocalDateTime entryTime;
+}
@@ -0,0 +1,17 @@
+package com.parkingmanagement.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Published when a token is revoked before its expiry; it must be rejected from now on.
+ */
+@Getter
+@AllArgsConstructor
+public class TokenRevokedEvent {
+    
+    private final String jti;
+    private final Instant expiresAt;
+}
@@ -0,0 +1,18 @@
+package com.parkingmanagement.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.UUID;
+
+/**
+ * Published when a user's tokens stop being valid: tokens issued under an older security
+ * version must be rejected from now on.
+ */
+@Getter
+@AllArgsConstructor
+public class UserSecurityChangedEvent {
+    
+    private final UUID userId;
+    private final long securityVersion;
+}
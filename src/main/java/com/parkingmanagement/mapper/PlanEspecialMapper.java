@@ -2,15 +2,27 @@ package com.parkingmanagement.mapper;
 
 import com.parkingmanagement.dto.response.PlanEspecialResponse;
 import com.parkingmanagement.model.entity.PlanEspecial;
+import com.parkingmanagement.service.reference.PlanEspecialSnapshot;
+import com.parkingmanagement.service.reference.ReferenceData;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.springframework.beans.factory.annotation.Autowired;
 
 @Mapper(componentModel = "spring")
-public interface PlanEspecialMapper {
+public abstract class PlanEspecialMapper {
     
+    @Autowired
+    protected ReferenceData referenceData;
+    
+    // Names come from the reference snapshots, so the lazy associations stay uninitialized
     @Mapping(source = "parking.id", target = "parkingId")
-    @Mapping(source = "parking.name", target = "parkingName")
+    @Mapping(target = "parkingName", expression = "java(referenceData.parkingName(planEspecial.getParking()))")
     @Mapping(source = "vehicleType.id", target = "vehicleTypeId")
-    @Mapping(source = "vehicleType.name", target = "vehicleTypeName")
-    PlanEspecialResponse toResponse(PlanEspecial planEspecial);
+    @Mapping(target = "vehicleTypeName", expression = "java(referenceData.vehicleTypeName(planEspecial.getVehicleType()))")
+    public abstract PlanEspecialResponse toResponse(PlanEspecial planEspecial);
+    
+    @Mapping(target = "parkingName", expression = "java(referenceData.parkingName(planEspecial.parkingId()))")
+    @Mapping(target = "vehicleTypeName", expression = "java(referenceData.vehicleTypeName(planEspecial.vehicleTypeId()))")
+    @Mapping(source = "active", target = "isActive")
+    public abstract PlanEspecialResponse toResponse(PlanEspecialSnapshot planEspecial);
 }
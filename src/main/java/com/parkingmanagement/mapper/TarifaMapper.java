@@ -2,15 +2,27 @@ package com.parkingmanagement.mapper;
 
 import com.parkingmanagement.dto.response.TarifaResponse;
 import com.parkingmanagement.model.entity.Tarifa;
+import com.parkingmanagement.service.reference.ReferenceData;
+import com.parkingmanagement.service.reference.TarifaSnapshot;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.springframework.beans.factory.annotation.Autowired;
 
 @Mapper(componentModel = "spring")
-public interface TarifaMapper {
+public abstract class TarifaMapper {
     
+    @Autowired
+    protected ReferenceData referenceData;
+    
+    // Names come from the reference snapshots, so the lazy associations stay uninitialized
     @Mapping(source = "parking.id", target = "parkingId")
-    @Mapping(source = "parking.name", target = "parkingName")
+    @Mapping(target = "parkingName", expression = "java(referenceData.parkingName(tarifa.getParking()))")
     @Mapping(source = "vehicleType.id", target = "vehicleTypeId")
-    @Mapping(source = "vehicleType.name", target = "vehicleTypeName")
-    TarifaResponse toResponse(Tarifa tarifa);
+    @Mapping(target = "vehicleTypeName", expression = "java(referenceData.vehicleTypeName(tarifa.getVehicleType()))")
+    public abstract TarifaResponse toResponse(Tarifa tarifa);
+    
+    @Mapping(target = "parkingName", expression = "java(referenceData.parkingName(tarifa.parkingId()))")
+    @Mapping(target = "vehicleTypeName", expression = "java(referenceData.vehicleTypeName(tarifa.vehicleTypeId()))")
+    @Mapping(source = "active", target = "isActive")
+    public abstract TarifaResponse toResponse(TarifaSnapshot tarifa);
 }
@@ -2,13 +2,18 @@ package com.parkingmanagement.mapper;
 
 import com.parkingmanagement.dto.response.UserResponse;
 import com.parkingmanagement.model.entity.User;
+import com.parkingmanagement.service.reference.ReferenceData;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.springframework.beans.factory.annotation.Autowired;
 
 @Mapper(componentModel = "spring")
-public interface UserMapper {
+public abstract class UserMapper {
+    
+    @Autowired
+    protected ReferenceData referenceData;
     
     @Mapping(source = "company.id", target = "companyId")
-    @Mapping(source = "company.name", target = "companyName")
-    UserResponse toResponse(User user);
+    @Mapping(target = "companyName", expression = "java(referenceData.companyName(user.getCompany()))")
+    public abstract UserResponse toResponse(User user);
 }
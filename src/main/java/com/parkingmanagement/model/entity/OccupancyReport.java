@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "occupancy_reports")
+@Table(name = "occupancy_reports", indexes = {
+    @Index(name = "idx_occupancy_reports_period_id", columnList = "period_start DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
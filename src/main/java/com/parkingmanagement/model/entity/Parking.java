@@ -1,5 +1,6 @@
 package com.parkingmanagement.model.entity;
 
+import com.parkingmanagement.service.parking.ParkingChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
@@ -17,6 +18,7 @@ import java.time.LocalTime;
     @Index(name = "idx_parkings_company", columnList = "company_id"),
     @Index(name = "idx_parkings_location", columnList = "latitude, longitude")
 })
+@EntityListeners(ParkingChangeListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
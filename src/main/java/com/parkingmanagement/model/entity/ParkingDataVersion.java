@@ -0,0 +1,38 @@
+package com.parkingmanagement.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Change counter for the session data of one parking on one day. Reports compare
+ * {@code changedAt} against their own {@code generatedAt} to decide whether they are stale.
+ */
+@Entity
+@Table(name = "parking_data_versions", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_parking_data_versions_parking_date", columnNames = {"parking_id", "data_date"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ParkingDataVersion extends BaseEntity {
+    
+    @Column(name = "parking_id", nullable = false)
+    private UUID parkingId;
+    
+    @Column(name = "data_date", nullable = false)
+    private LocalDate dataDate;
+    
+    @Column(name = "version", nullable = false)
+    private Long version;
+    
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -11,7 +11,8 @@ import java.util.List;
 @Entity
 @Table(name = "planes_especiales", indexes = {
     @Index(name = "idx_planes_especiales_parking", columnList = "parking_id"),
-    @Index(name = "idx_planes_especiales_vehicle_type", columnList = "vehicle_type_id")
+    @Index(name = "idx_planes_especiales_vehicle_type", columnList = "vehicle_type_id"),
+    @Index(name = "idx_planes_especiales_created_id", columnList = "created_at DESC, id DESC")
 })
 @Getter
 @Setter
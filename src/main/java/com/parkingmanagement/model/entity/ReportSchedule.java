@@ -0,0 +1,63 @@
+package com.parkingmanagement.model.entity;
+
+import com.parkingmanagement.model.enums.ReportPeriod;
+import com.parkingmanagement.model.enums.ReportType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Entity
+@Table(name = "report_schedules", indexes = {
+    @Index(name = "idx_report_schedules_next_run", columnList = "next_run_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ReportSchedule extends BaseEntity {
+    
+    @Column(name = "cron_expression", nullable = false, length = 100)
+    private String cronExpression;
+    
+    @Column(name = "report_type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ReportType reportType;
+    
+    @Column(name = "report_period", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ReportPeriod reportPeriod;
+    
+    @ElementCollection
+    @CollectionTable(name = "report_schedule_parkings", joinColumns = @JoinColumn(name = "schedule_id"))
+    @Column(name = "parking_id", nullable = false)
+    private List<UUID> parkingIds = new ArrayList<>();
+    
+    @Column(name = "format", nullable = false, length = 20)
+    private String format;
+    
+    @ElementCollection
+    @CollectionTable(name = "report_schedule_recipients", joinColumns = @JoinColumn(name = "schedule_id"))
+    @Column(name = "email", nullable = false)
+    private List<String> emailRecipients = new ArrayList<>();
+    
+    @Column(name = "created_by", nullable = false)
+    private UUID createdBy;
+    
+    // Nominal cron fire time of the next run; the report window is derived from it
+    @Column(name = "next_fire_at", nullable = false)
+    private LocalDateTime nextFireAt;
+    
+    // Fire time plus the schedule's jitter; this is what the scheduler polls on
+    @Column(name = "next_run_at", nullable = false)
+    private LocalDateTime nextRunAt;
+    
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+}
@@ -0,0 +1,57 @@
+package com.parkingmanagement.model.entity;
+
+import com.parkingmanagement.model.enums.ReportStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "report_schedule_executions", indexes = {
+    @Index(name = "idx_report_schedule_executions_schedule", columnList = "schedule_id, started_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class ReportScheduleExecution extends BaseEntity {
+    
+    @Column(name = "schedule_id", nullable = false)
+    private UUID scheduleId;
+    
+    @Column(name = "fire_time", nullable = false)
+    private LocalDateTime fireTime;
+    
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+    
+    @Column(name = "period_end", nullable = false)
+    private LocalDate periodEnd;
+    
+    @Column(name = "catch_up", nullable = false)
+    private Boolean catchUp = false;
+    
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ReportStatus status;
+    
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+    
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+    
+    @Column(name = "duration_ms")
+    private Long durationMs;
+    
+    @Column(name = "report_id")
+    private UUID reportId;
+    
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+}
@@ -0,0 +1,30 @@
+package com.parkingmanagement.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A token revoked before its expiry, by its {@code jti}. The row is only needed until
+ * {@code expiresAt}; after that the token is rejected for being expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_revoked_tokens_jti", columnNames = {"jti"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class RevokedToken extends BaseEntity {
+    
+    @Column(name = "jti", nullable = false, length = 64)
+    private String jti;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "system_alerts")
+@Table(name = "system_alerts", indexes = {
+    @Index(name = "idx_system_alerts_triggered_id", columnList = "triggered_at DESC, id DESC")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -75,4 +77,8 @@ public class SystemAlert extends BaseEntity {
     
     @Column(name = "email_sent_at")
     private LocalDateTime emailSentAt;
+    
+    // Set while a dispatcher owns the alert's email; an expired claim is taken over
+    @Column(name = "email_claimed_at")
+    private LocalDateTime emailClaimedAt;
 }
@@ -9,7 +9,8 @@ import java.math.BigDecimal;
 @Entity
 @Table(name = "tarifas", indexes = {
     @Index(name = "idx_tarifas_parking_vehicle", columnList = "parking_id, vehicle_type_id"),
-    @Index(name = "idx_tarifas_parking", columnList = "parking_id")
+    @Index(name = "idx_tarifas_parking", columnList = "parking_id"),
+    @Index(name = "idx_tarifas_created_id", columnList = "created_at DESC, id DESC")
 }, uniqueConstraints = {
     @UniqueConstraint(name = "uk_tarifas_parking_vehicle_name", 
                      columnNames = {"parking_id", "vehicle_type_id", "name"})
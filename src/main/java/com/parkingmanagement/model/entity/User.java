@@ -17,7 +17,8 @@ import java.util.Collections;
 @Entity
 @Table(name = "users", indexes = {
     @Index(name = "idx_users_email", columnList = "email"),
-    @Index(name = "idx_users_role", columnList = "role")
+    @Index(name = "idx_users_role", columnList = "role"),
+    @Index(name = "idx_users_created_id", columnList = "created_at DESC, id DESC")
 })
 @Getter
 @Setter
@@ -69,6 +70,20 @@ public class User extends BaseEntity implements UserDetails {
     @Column(name = "password_reset_token_expiry")
     private LocalDateTime passwordResetTokenExpiry;
     
+    // Bumped whenever issued tokens must stop working (role, company, email, password, deactivation)
+    @Builder.Default
+    @Column(name = "security_version", nullable = false)
+    private Long securityVersion = 0L;
+    
+    /**
+     * Invalidates the tokens issued so far. Callers publish a {@code UserSecurityChangedEvent}
+     * so request authentication learns about it without reading the user.
+     */
+    public long bumpSecurityVersion() {
+        securityVersion = (securityVersion != null ? securityVersion : 0L) + 1;
+        return securityVersion;
+    }
+    
     // UserDetails implementation
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,6 @@
+package com.parkingmanagement.model.enums;
+
+public enum ReportType {
+    FINANCIAL,
+    OCCUPANCY
+}
@@ -24,5 +24,15 @@ public interface CompanyRepository extends JpaRepository<Company, UUID> {
            "c.isActive = true")
     Page<Company> findCompaniesWithSearch(@Param("search") String search, Pageable pageable);
     
+    // PostgreSQL only (pg_trgm): the closest matches lead and the requested sort breaks ties.
+    // Cursor listings keep their keyset order and are never ranked.
+    @Query("SELECT c FROM Company c WHERE " +
+           "(:search IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(c.description) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "c.isActive = true " +
+           "ORDER BY GREATEST(function('word_similarity', :search, c.name), " +
+           "function('word_similarity', :search, c.description)) DESC")
+    Page<Company> findCompaniesWithSearchRanked(@Param("search") String search, Pageable pageable);
+    
     boolean existsByNameAndIsActiveTrue(String name);
 }
@@ -1,8 +1,11 @@
 package com.parkingmanagement.repository;
 
 import com.parkingmanagement.model.entity.FinancialReport;
+import com.parkingmanagement.model.enums.ReportPeriod;
+import com.parkingmanagement.model.enums.ReportStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -30,4 +34,24 @@ public interface FinancialReportRepository extends JpaRepository<FinancialReport
     List<FinancialReport> findByCompanyIdOrderByPeriodStartDesc(UUID companyId);
     
     List<FinancialReport> findByParkingIdOrderByPeriodStartDesc(UUID parkingId);
+    
+    Optional<FinancialReport> findFirstByParkingIdAndReportPeriodAndPeriodStartAndPeriodEndAndStatusOrderByGeneratedAtDesc(
+            UUID parkingId, ReportPeriod reportPeriod, LocalDate periodStart, LocalDate periodEnd, ReportStatus status);
+    
+    @Query("SELECT fr FROM FinancialReport fr WHERE " +
+           "(:companyId IS NULL OR fr.company.id = :companyId) AND " +
+           "(:parkingId IS NULL OR fr.parking.id = :parkingId) AND " +
+           "(:startDate IS NULL OR fr.periodStart >= :startDate) AND " +
+           "(:endDate IS NULL OR fr.periodEnd <= :endDate) AND " +
+           "(:afterPeriodStart IS NULL OR fr.periodStart < :afterPeriodStart OR " +
+           "(fr.periodStart = :afterPeriodStart AND fr.id < :afterId)) " +
+           "ORDER BY fr.periodStart DESC, fr.id DESC")
+    Slice<FinancialReport> findByCompanyIdAndParkingIdAndPeriodBetweenAfter(
+            @Param("companyId") UUID companyId,
+            @Param("parkingId") UUID parkingId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("afterPeriodStart") LocalDate afterPeriodStart,
+            @Param("afterId") UUID afterId,
+            Pageable pageable);
 }
@@ -1,8 +1,11 @@
 package com.parkingmanagement.repository;
 
 import com.parkingmanagement.model.entity.OccupancyReport;
+import com.parkingmanagement.model.enums.ReportPeriod;
+import com.parkingmanagement.model.enums.ReportStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -30,4 +34,24 @@ public interface OccupancyReportRepository extends JpaRepository<OccupancyReport
     List<OccupancyReport> findByCompanyIdOrderByPeriodStartDesc(UUID companyId);
     
     List<OccupancyReport> findByParkingIdOrderByPeriodStartDesc(UUID parkingId);
+    
+    Optional<OccupancyReport> findFirstByParkingIdAndReportPeriodAndPeriodStartAndPeriodEndAndStatusOrderByGeneratedAtDesc(
+            UUID parkingId, ReportPeriod reportPeriod, LocalDate periodStart, LocalDate periodEnd, ReportStatus status);
+    
+    @Query("SELECT orp FROM OccupancyReport orp WHERE " +
+           "(:companyId IS NULL OR orp.company.id = :companyId) AND " +
+           "(:parkingId IS NULL OR orp.parking.id = :parkingId) AND " +
+           "(:startDate IS NULL OR orp.periodStart >= :startDate) AND " +
+           "(:endDate IS NULL OR orp.periodEnd <= :endDate) AND " +
+           "(:afterPeriodStart IS NULL OR orp.periodStart < :afterPeriodStart OR " +
+           "(orp.periodStart = :afterPeriodStart AND orp.id < :afterId)) " +
+           "ORDER BY orp.periodStart DESC, orp.id DESC")
+    Slice<OccupancyReport> findByCompanyIdAndParkingIdAndPeriodBetweenAfter(
+            @Param("companyId") UUID companyId,
+            @Param("parkingId") UUID parkingId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("afterPeriodStart") LocalDate afterPeriodStart,
+            @Param("afterId") UUID afterId,
+            Pageable pageable);
 }
@@ -0,0 +1,32 @@
+package com.parkingmanagement.repository;
+
+import com.parkingmanagement.model.entity.ParkingDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Repository
+public interface ParkingDataVersionRepository extends JpaRepository<ParkingDataVersion, UUID> {
+    
+    @Modifying
+    @Query("UPDATE ParkingDataVersion v SET v.version = v.version + 1, v.changedAt = :changedAt, " +
+           "v.updatedAt = :changedAt WHERE v.parkingId = :parkingId AND v.dataDate = :dataDate")
+    int bumpVersion(@Param("parkingId") UUID parkingId,
+                    @Param("dataDate") LocalDate dataDate,
+                    @Param("changedAt") LocalDateTime changedAt);
+    
+    boolean existsByParkingIdAndDataDate(UUID parkingId, LocalDate dataDate);
+    
+    @Query("SELECT MAX(v.changedAt) FROM ParkingDataVersion v WHERE " +
+           "v.parkingId = :parkingId AND " +
+           "v.dataDate >= :startDate AND v.dataDate <= :endDate")
+    LocalDateTime findLastChange(@Param("parkingId") UUID parkingId,
+                                 @Param("startDate") LocalDate startDate,
+                                 @Param("endDate") LocalDate endDate);
+}
@@ -1,6 +1,7 @@
 package com.parkingmanagement.repository;
 
 import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.repository.projection.ParkingLocationView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,5 +31,23 @@ public interface ParkingRepository extends JpaRepository<Parking, UUID> {
                                          @Param("companyId") UUID companyId,
                                          Pageable pageable);
     
+    // PostgreSQL only (pg_trgm): the closest matches lead and the requested sort breaks ties.
+    // Cursor listings keep their keyset order and are never ranked.
+    @Query("SELECT p FROM Parking p WHERE " +
+           "(:search IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(p.description) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:companyId IS NULL OR p.company.id = :companyId) AND " +
+           "p.isActive = true " +
+           "ORDER BY GREATEST(function('word_similarity', :search, p.name), " +
+           "function('word_similarity', :search, p.description)) DESC")
+    Page<Parking> findParkingsWithFiltersRanked(@Param("search") String search,
+                                               @Param("companyId") UUID companyId,
+                                               Pageable pageable);
+    
     long countByCompanyIdAndIsActiveTrue(UUID companyId);
+    
+    @Query("SELECT p.id AS parkingId, p.company.id AS companyId, p.name AS name, p.address AS address, " +
+           "p.latitude AS latitude, p.longitude AS longitude FROM Parking p WHERE " +
+           "p.isActive = true AND p.latitude IS NOT NULL AND p.longitude IS NOT NULL")
+    List<ParkingLocationView> findActiveLocations();
 }
@@ -1,6 +1,11 @@
 package com.parkingmanagement.repository;
 
 import com.parkingmanagement.model.entity.ParkingSession;
+import com.parkingmanagement.model.enums.PaymentStatus;
+import com.parkingmanagement.repository.projection.ClosedSessionView;
+import com.parkingmanagement.repository.projection.HourlyRevenueView;
+import com.parkingmanagement.repository.projection.OpenSessionPlateView;
+import com.parkingmanagement.repository.projection.ParkingMetricView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -25,8 +30,76 @@ public interface ParkingSessionRepository extends JpaRepository<ParkingSession,
     
     List<ParkingSession> findByUserIdAndExitTimeIsNull(UUID userId);
     
+    List<ParkingSession> findByParkingIdAndEntryTimeBetween(UUID parkingId, LocalDateTime start, LocalDateTime end);
+    
     @Query("SELECT ps FROM ParkingSession ps WHERE " +
            "ps.exitTime IS NULL AND " +
            "ps.entryTime < :cutoffTime")
     List<ParkingSession> findLongRunningSessions(@Param("cutoffTime") LocalDateTime cutoffTime);
+    
+    @Query("SELECT ps.entryTime AS entryTime, ps.exitTime AS exitTime, ps.totalCost AS totalCost " +
+           "FROM ParkingSession ps WHERE " +
+           "ps.parking.id = :parkingId AND " +
+           "ps.exitTime IS NOT NULL AND " +
+           "ps.paymentStatus = 'PAID' AND " +
+           "ps.entryTime >= :from AND ps.entryTime < :to " +
+           "ORDER BY ps.entryTime ASC")
+    List<ClosedSessionView> findClosedPaidSessions(@Param("parkingId") UUID parkingId,
+                                                   @Param("from") LocalDateTime from,
+                                                   @Param("to") LocalDateTime to);
+    
+    @Query("SELECT ps.entryTime AS entryTime, ps.exitTime AS exitTime, ps.totalCost AS totalCost " +
+           "FROM ParkingSession ps WHERE " +
+           "(:companyId IS NULL OR ps.parking.company.id = :companyId) AND " +
+           "(:parkingId IS NULL OR ps.parking.id = :parkingId) AND " +
+           "ps.exitTime IS NOT NULL AND " +
+           "ps.paymentStatus = 'PAID' AND " +
+           "ps.entryTime >= :from AND ps.entryTime < :to")
+    List<ClosedSessionView> findClosedPaidSessionsByScope(@Param("companyId") UUID companyId,
+                                                          @Param("parkingId") UUID parkingId,
+                                                          @Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+    
+    @Query("SELECT COUNT(ps) FROM ParkingSession ps WHERE " +
+           "ps.parking.id = :parkingId AND " +
+           "(ps.exitTime IS NULL OR ps.paymentStatus = 'PENDING') AND " +
+           "ps.entryTime >= :from AND ps.entryTime < :to")
+    long countUnsettledSessions(@Param("parkingId") UUID parkingId,
+                                @Param("from") LocalDateTime from,
+                                @Param("to") LocalDateTime to);
+    
+    long countByParkingIdAndExitTimeIsNull(UUID parkingId);
+    
+    long countByParkingIdAndExitTimeIsNotNullAndPaymentStatus(UUID parkingId, PaymentStatus paymentStatus);
+    
+    @Query("SELECT ps.parking.id AS parkingId, ps.parking.company.id AS companyId, COUNT(ps) AS value " +
+           "FROM ParkingSession ps WHERE ps.exitTime IS NULL " +
+           "GROUP BY ps.parking.id, ps.parking.company.id")
+    List<ParkingMetricView> countOpenSessionsByParking();
+    
+    @Query("SELECT ps.id AS sessionId, ps.parking.id AS parkingId, ps.vehicle.id AS vehicleId, " +
+           "ps.vehicle.licensePlate AS licensePlate FROM ParkingSession ps WHERE ps.exitTime IS NULL")
+    List<OpenSessionPlateView> findOpenSessionPlates();
+    
+    @Query("SELECT ps.id AS sessionId, ps.parking.id AS parkingId, ps.vehicle.id AS vehicleId, " +
+           "ps.vehicle.licensePlate AS licensePlate FROM ParkingSession ps WHERE " +
+           "ps.id = :sessionId AND ps.exitTime IS NULL")
+    Optional<OpenSessionPlateView> findOpenSessionPlate(@Param("sessionId") UUID sessionId);
+    
+    @Query("SELECT ps.parking.id AS parkingId, ps.parking.company.id AS companyId, COUNT(ps) AS value " +
+           "FROM ParkingSession ps WHERE " +
+           "ps.exitTime IS NOT NULL AND " +
+           "ps.paymentStatus = 'PENDING' " +
+           "GROUP BY ps.parking.id, ps.parking.company.id")
+    List<ParkingMetricView> countPendingPaymentsByParking();
+    
+    @Query(value = "SELECT p.id AS parkingId, p.company_id AS companyId, " +
+                   "date_trunc('hour', ps.exit_time) AS hourStart, SUM(ps.total_cost) AS revenue " +
+                   "FROM parking_sessions ps JOIN parkings p ON p.id = ps.parking_id WHERE " +
+                   "ps.payment_status = 'PAID' AND " +
+                   "ps.exit_time >= :from " +
+                   "GROUP BY p.id, p.company_id, date_trunc('hour', ps.exit_time) " +
+                   "ORDER BY hourStart",
+           nativeQuery = true)
+    List<HourlyRevenueView> sumPaidRevenueByParkingAndHourSince(@Param("from") LocalDateTime from);
 }
@@ -0,0 +1,34 @@
+package com.parkingmanagement.repository;
+
+import com.parkingmanagement.model.entity.ParkingZone;
+import com.parkingmanagement.repository.projection.ParkingMetricView;
+import com.parkingmanagement.repository.projection.ParkingVehicleTypeView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ParkingZoneRepository extends JpaRepository<ParkingZone, UUID> {
+    
+    List<ParkingZone> findByParkingId(UUID parkingId);
+    
+    @Query("SELECT COALESCE(SUM(z.capacity), 0) FROM ParkingZone z WHERE " +
+           "(:companyId IS NULL OR z.parking.company.id = :companyId) AND " +
+           "(:parkingId IS NULL OR z.parking.id = :parkingId) AND " +
+           "z.parking.isActive = true")
+    long sumCapacity(@Param("companyId") UUID companyId, @Param("parkingId") UUID parkingId);
+    
+    @Query("SELECT z.parking.id AS parkingId, z.parking.company.id AS companyId, SUM(z.capacity) AS value " +
+           "FROM ParkingZone z WHERE z.parking.isActive = true " +
+           "GROUP BY z.parking.id, z.parking.company.id")
+    List<ParkingMetricView> sumCapacityByParking();
+    
+    @Query("SELECT DISTINCT s.zone.parking.id AS parkingId, s.vehicleType.id AS vehicleTypeId " +
+           "FROM ParkingSpace s WHERE s.vehicleType IS NOT NULL AND s.isActive = true AND " +
+           "s.zone.parking.isActive = true")
+    List<ParkingVehicleTypeView> findVehicleTypesByParking();
+}
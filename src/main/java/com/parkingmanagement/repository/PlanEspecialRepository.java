@@ -3,11 +3,13 @@ package com.parkingmanagement.repository;
 import com.parkingmanagement.model.entity.PlanEspecial;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -44,4 +46,36 @@ public interface PlanEspecialRepository extends JpaRepository<PlanEspecial, UUID
                                             @Param("vehicleTypeId") UUID vehicleTypeId,
                                             @Param("isVip") Boolean isVip,
                                             Pageable pageable);
+    
+    // PostgreSQL only (pg_trgm): the closest matches lead and the requested sort breaks ties.
+    // Cursor listings keep their keyset order and are never ranked.
+    @Query("SELECT p FROM PlanEspecial p WHERE " +
+           "(:search IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:parkingId IS NULL OR p.parking.id = :parkingId) AND " +
+           "(:vehicleTypeId IS NULL OR p.vehicleType.id = :vehicleTypeId) AND " +
+           "(:isVip IS NULL OR p.isVip = :isVip) AND " +
+           "p.isActive = true " +
+           "ORDER BY function('word_similarity', :search, p.name) DESC")
+    Page<PlanEspecial> findPlanesWithFiltersRanked(@Param("search") String search,
+                                                  @Param("parkingId") UUID parkingId,
+                                                  @Param("vehicleTypeId") UUID vehicleTypeId,
+                                                  @Param("isVip") Boolean isVip,
+                                                  Pageable pageable);
+    
+    @Query("SELECT p FROM PlanEspecial p WHERE " +
+           "(:search IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:parkingId IS NULL OR p.parking.id = :parkingId) AND " +
+           "(:vehicleTypeId IS NULL OR p.vehicleType.id = :vehicleTypeId) AND " +
+           "(:isVip IS NULL OR p.isVip = :isVip) AND " +
+           "p.isActive = true AND " +
+           "(:afterCreatedAt IS NULL OR p.createdAt < :afterCreatedAt OR " +
+           "(p.createdAt = :afterCreatedAt AND p.id < :afterId)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PlanEspecial> findPlanesWithFiltersAfter(@Param("search") String search,
+                                                   @Param("parkingId") UUID parkingId,
+                                                   @Param("vehicleTypeId") UUID vehicleTypeId,
+                                                   @Param("isVip") Boolean isVip,
+                                                   @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                                   @Param("afterId") UUID afterId,
+                                                   Pageable pageable);
 }
@@ -0,0 +1,15 @@
+package com.parkingmanagement.repository;
+
+import com.parkingmanagement.model.entity.ReportScheduleExecution;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ReportScheduleExecutionRepository extends JpaRepository<ReportScheduleExecution, UUID> {
+    
+    Page<ReportScheduleExecution> findByScheduleIdOrderByStartedAtDesc(UUID scheduleId, Pageable pageable);
+}
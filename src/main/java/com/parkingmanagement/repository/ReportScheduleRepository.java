@@ -0,0 +1,32 @@
+package com.parkingmanagement.repository;
+
+import com.parkingmanagement.model.entity.ReportSchedule;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReportScheduleRepository extends JpaRepository<ReportSchedule, UUID> {
+    
+    @Query("SELECT s FROM ReportSchedule s WHERE " +
+           "s.isActive = true AND " +
+           "s.nextRunAt <= :now " +
+           "ORDER BY s.nextRunAt ASC")
+    List<ReportSchedule> findDueSchedules(@Param("now") LocalDateTime now, Pageable pageable);
+    
+    // Matches no row once another node claimed the run and moved nextRunAt on; a concurrent
+    // claim waits for that node's commit and is then re-evaluated against the new value
+    @Modifying
+    @Query("UPDATE ReportSchedule s SET s.lastRunAt = :now WHERE " +
+           "s.id = :id AND s.isActive = true AND s.nextRunAt = :expectedNextRunAt")
+    int claimDueRun(@Param("id") UUID id,
+                    @Param("expectedNextRunAt") LocalDateTime expectedNextRunAt,
+                    @Param("now") LocalDateTime now);
+}
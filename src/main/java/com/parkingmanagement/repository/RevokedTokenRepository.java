@@ -0,0 +1,29 @@
+package com.parkingmanagement.repository;
+
+import com.parkingmanagement.model.entity.RevokedToken;
+import com.parkingmanagement.repository.projection.RevokedTokenView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+    
+    boolean existsByJti(String jti);
+    
+    @Query("SELECT t.jti AS jti, t.expiresAt AS expiresAt FROM RevokedToken t WHERE " +
+           "t.expiresAt > :now AND " +
+           "(:revokedSince IS NULL OR t.createdAt >= :revokedSince)")
+    List<RevokedTokenView> findUnexpired(@Param("now") LocalDateTime now,
+                                         @Param("revokedSince") LocalDateTime revokedSince);
+    
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
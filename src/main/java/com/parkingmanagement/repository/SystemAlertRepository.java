@@ -3,14 +3,20 @@ package com.parkingmanagement.repository;
 import com.parkingmanagement.model.entity.SystemAlert;
 import com.parkingmanagement.model.enums.AlertStatus;
 import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.repository.projection.AlertTargetCountView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -42,4 +48,66 @@ public interface SystemAlertRepository extends JpaRepository<SystemAlert, UUID>
                                  @Param("userRoles") List<String> userRoles);
     
     List<SystemAlert> findByStatusAndEmailSentFalse(AlertStatus status);
+    
+    /**
+     * Locks a batch of active, unsent alerts that no dispatcher holds a live claim on.
+     * Rows locked by a concurrent claim are skipped instead of waited for.
+     */
+    @Query(value = "SELECT * FROM system_alerts WHERE " +
+                   "status = 'ACTIVE' AND email_sent = false AND " +
+                   "(email_claimed_at IS NULL OR email_claimed_at < :claimExpiredBefore) " +
+                   "ORDER BY triggered_at ASC " +
+                   "LIMIT :limit " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<SystemAlert> lockUnsentAlerts(@Param("claimExpiredBefore") LocalDateTime claimExpiredBefore,
+                                       @Param("limit") int limit);
+    
+    @Query(value = "SELECT * FROM system_alerts WHERE " +
+                   "id = :id AND status = 'ACTIVE' AND email_sent = false AND " +
+                   "(email_claimed_at IS NULL OR email_claimed_at < :claimExpiredBefore) " +
+                   "FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<SystemAlert> lockUnsentAlert(@Param("id") UUID id,
+                                          @Param("claimExpiredBefore") LocalDateTime claimExpiredBefore);
+    
+    @Modifying
+    @Query("UPDATE SystemAlert sa SET sa.emailClaimedAt = :claimedAt WHERE sa.id IN :ids")
+    int claimEmails(@Param("ids") Collection<UUID> ids, @Param("claimedAt") LocalDateTime claimedAt);
+    
+    @Modifying
+    @Query("UPDATE SystemAlert sa SET sa.emailSent = true, sa.emailSentAt = :sentAt, sa.emailClaimedAt = NULL " +
+           "WHERE sa.id IN :ids")
+    int markEmailsSent(@Param("ids") Collection<UUID> ids, @Param("sentAt") LocalDateTime sentAt);
+    
+    @Modifying
+    @Query("UPDATE SystemAlert sa SET sa.emailClaimedAt = NULL WHERE sa.id IN :ids AND sa.emailSent = false")
+    int releaseEmailClaims(@Param("ids") Collection<UUID> ids);
+    
+    @Query("SELECT sa FROM SystemAlert sa WHERE " +
+           "(:companyId IS NULL OR sa.company.id = :companyId) AND " +
+           "(:parkingId IS NULL OR sa.parking.id = :parkingId) AND " +
+           "(:status IS NULL OR sa.status = :status) AND " +
+           "(:alertType IS NULL OR sa.alertType = :alertType) AND " +
+           "(:afterTriggeredAt IS NULL OR sa.triggeredAt < :afterTriggeredAt OR " +
+           "(sa.triggeredAt = :afterTriggeredAt AND sa.id < :afterId)) " +
+           "ORDER BY sa.triggeredAt DESC, sa.id DESC")
+    Slice<SystemAlert> findByFiltersAfter(@Param("companyId") UUID companyId,
+                                          @Param("parkingId") UUID parkingId,
+                                          @Param("status") AlertStatus status,
+                                          @Param("alertType") AlertType alertType,
+                                          @Param("afterTriggeredAt") LocalDateTime afterTriggeredAt,
+                                          @Param("afterId") UUID afterId,
+                                          Pageable pageable);
+    
+    List<SystemAlert> findByAlertTypeInAndStatusIn(Collection<AlertType> alertTypes, Collection<AlertStatus> statuses);
+    
+    List<SystemAlert> findByParking_IdAndAlertTypeInAndStatusIn(UUID parkingId,
+                                                               Collection<AlertType> alertTypes,
+                                                               Collection<AlertStatus> statuses);
+    
+    @Query("SELECT sa.targetUserId AS targetUserId, sa.targetRole AS targetRole, COUNT(sa) AS count " +
+           "FROM SystemAlert sa WHERE sa.status = 'ACTIVE' " +
+           "GROUP BY sa.targetUserId, sa.targetRole")
+    List<AlertTargetCountView> countActiveAlertsByTarget();
 }
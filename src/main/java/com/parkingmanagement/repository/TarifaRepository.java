@@ -3,11 +3,13 @@ package com.parkingmanagement.repository;
 import com.parkingmanagement.model.entity.Tarifa;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -41,7 +43,35 @@ public interface TarifaRepository extends JpaRepository<Tarifa, UUID> {
                                        @Param("vehicleTypeId") UUID vehicleTypeId,
                                        Pageable pageable);
     
+    // PostgreSQL only (pg_trgm): the closest matches lead and the requested sort breaks ties.
+    // Cursor listings keep their keyset order and are never ranked.
+    @Query("SELECT t FROM Tarifa t WHERE " +
+           "(:search IS NULL OR LOWER(t.name) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:parkingId IS NULL OR t.parking.id = :parkingId) AND " +
+           "(:vehicleTypeId IS NULL OR t.vehicleType.id = :vehicleTypeId) AND " +
+           "t.isActive = true " +
+           "ORDER BY function('word_similarity', :search, t.name) DESC")
+    Page<Tarifa> findTarifasWithFiltersRanked(@Param("search") String search,
+                                             @Param("parkingId") UUID parkingId,
+                                             @Param("vehicleTypeId") UUID vehicleTypeId,
+                                             Pageable pageable);
+    
     boolean existsByParkingIdAndVehicleTypeIdAndNameAndIsActiveTrue(UUID parkingId, 
                                                                    UUID vehicleTypeId, 
                                                                    String name);
+    
+    @Query("SELECT t FROM Tarifa t WHERE " +
+           "(:search IS NULL OR LOWER(t.name) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:parkingId IS NULL OR t.parking.id = :parkingId) AND " +
+           "(:vehicleTypeId IS NULL OR t.vehicleType.id = :vehicleTypeId) AND " +
+           "t.isActive = true AND " +
+           "(:afterCreatedAt IS NULL OR t.createdAt < :afterCreatedAt OR " +
+           "(t.createdAt = :afterCreatedAt AND t.id < :afterId)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    Slice<Tarifa> findTarifasWithFiltersAfter(@Param("search") String search,
+                                              @Param("parkingId") UUID parkingId,
+                                              @Param("vehicleTypeId") UUID vehicleTypeId,
+                                              @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                              @Param("afterId") UUID afterId,
+                                              Pageable pageable);
 }
@@ -0,0 +1,20 @@
+package com.parkingmanagement.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Batched {@code users.last_login} writes, kept out of JPA so a batch of logins needs
+ * neither loading the users nor one statement per row.
+ */
+public interface UserLastLoginRepository {
+    
+    /**
+     * Sets the last login of each user to the time at the same index, unless a newer time is
+     * already stored.
+     *
+     * @return the number of users updated
+     */
+    int updateLastLogins(List<UUID> userIds, List<LocalDateTime> loggedInAt);
+}
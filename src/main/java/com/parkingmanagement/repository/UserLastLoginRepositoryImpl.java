@@ -0,0 +1,45 @@
+package com.parkingmanagement.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Plain JDBC batch: the statements are sent in one round trip and the SQL runs on any
+ * database, unlike an array-unnesting single UPDATE.
+ */
+@RequiredArgsConstructor
+class UserLastLoginRepositoryImpl implements UserLastLoginRepository {
+    
+    // An older time never overwrites a newer one
+    private static final String UPDATE_LAST_LOGIN = "UPDATE users SET last_login = ? " +
+                                                    "WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public int updateLastLogins(List<UUID> userIds, List<LocalDateTime> loggedInAt) {
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setObject(1, loggedInAt.get(i));
+                statement.setObject(2, userIds.get(i));
+                statement.setObject(3, loggedInAt.get(i));
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return userIds.size();
+            }
+        });
+        // Drivers may report SUCCESS_NO_INFO (-2) instead of a row count
+        return Arrays.stream(counts).map(count -> Math.max(count, 0)).sum();
+    }
+}
@@ -2,18 +2,22 @@ package com.parkingmanagement.repository;
 
 import com.parkingmanagement.model.entity.User;
 import com.parkingmanagement.model.enums.UserRole;
+import com.parkingmanagement.repository.projection.UserSecurityVersionView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserLastLoginRepository {
     
     Optional<User> findByEmail(String email);
     
@@ -29,6 +33,8 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     
     Page<User> findByCompanyIdAndIsActiveTrue(UUID companyId, Pageable pageable);
     
+    List<User> findByCompanyIdAndRoleAndIsActiveTrue(UUID companyId, UserRole role);
+    
     @Query("SELECT u FROM User u WHERE " +
            "(:search IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
@@ -41,5 +47,44 @@ public interface UserRepository extends JpaRepository<User, UUID> {
                                    @Param("companyId") UUID companyId,
                                    Pageable pageable);
     
+    // PostgreSQL only (pg_trgm): the closest matches lead and the requested sort breaks ties.
+    // Cursor listings keep their keyset order and are never ranked.
+    @Query("SELECT u FROM User u WHERE " +
+           "(:search IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:role IS NULL OR u.role = :role) AND " +
+           "(:companyId IS NULL OR u.company.id = :companyId) AND " +
+           "u.isActive = true " +
+           "ORDER BY GREATEST(function('word_similarity', :search, u.firstName), " +
+           "function('word_similarity', :search, u.lastName), " +
+           "function('word_similarity', :search, u.email)) DESC")
+    Page<User> findUsersWithFiltersRanked(@Param("search") String search,
+                                         @Param("role") UserRole role,
+                                         @Param("companyId") UUID companyId,
+                                         Pageable pageable);
+    
     long countByCompanyIdAndIsActiveTrue(UUID companyId);
+    
+    @Query("SELECT u.id AS userId, u.securityVersion AS securityVersion FROM User u WHERE " +
+           "u.securityVersion > 0 AND " +
+           "(:changedSince IS NULL OR u.updatedAt >= :changedSince)")
+    List<UserSecurityVersionView> findSecurityVersions(@Param("changedSince") LocalDateTime changedSince);
+    
+    @Query("SELECT u FROM User u WHERE " +
+           "(:search IS NULL OR LOWER(u.firstName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
+           "LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%'))) AND " +
+           "(:role IS NULL OR u.role = :role) AND " +
+           "(:companyId IS NULL OR u.company.id = :companyId) AND " +
+           "u.isActive = true AND " +
+           "(:afterCreatedAt IS NULL OR u.createdAt < :afterCreatedAt OR " +
+           "(u.createdAt = :afterCreatedAt AND u.id < :afterId)) " +
+           "ORDER BY u.createdAt DESC, u.id DESC")
+    Slice<User> findUsersWithFiltersAfter(@Param("search") String search,
+                                          @Param("role") UserRole role,
+                                          @Param("companyId") UUID companyId,
+                                          @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                          @Param("afterId") UUID afterId,
+                                          Pageable pageable);
 }
@@ -0,0 +1,15 @@
+package com.parkingmanagement.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Number of alerts addressed to one (target user, target role) combination.
+ */
+public interface AlertTargetCountView {
+    
+    UUID getTargetUserId();
+    
+    String getTargetRole();
+    
+    long getCount();
+}
@@ -0,0 +1,13 @@
+package com.parkingmanagement.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public interface ClosedSessionView {
+    
+    LocalDateTime getEntryTime();
+    
+    LocalDateTime getExitTime();
+    
+    BigDecimal getTotalCost();
+}
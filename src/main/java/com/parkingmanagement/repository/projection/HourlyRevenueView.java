@@ -0,0 +1,18 @@
+package com.parkingmanagement.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Paid revenue of one parking within one clock hour.
+ */
+public interface HourlyRevenueView {
+    
+    UUID getParkingId();
+    
+    UUID getCompanyId();
+    
+    LocalDateTime getHourStart();
+    
+    Number getRevenue();
+}
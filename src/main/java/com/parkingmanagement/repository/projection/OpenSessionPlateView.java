@@ -0,0 +1,14 @@
+package com.parkingmanagement.repository.projection;
+
+import java.util.UUID;
+
+public interface OpenSessionPlateView {
+    
+    UUID getSessionId();
+    
+    UUID getParkingId();
+    
+    UUID getVehicleId();
+    
+    String getLicensePlate();
+}
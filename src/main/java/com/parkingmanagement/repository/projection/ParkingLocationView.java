@@ -0,0 +1,19 @@
+package com.parkingmanagement.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface ParkingLocationView {
+    
+    UUID getParkingId();
+    
+    UUID getCompanyId();
+    
+    String getName();
+    
+    String getAddress();
+    
+    BigDecimal getLatitude();
+    
+    BigDecimal getLongitude();
+}
@@ -0,0 +1,15 @@
+package com.parkingmanagement.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * One aggregated value per parking, as returned by the grouped counting queries.
+ */
+public interface ParkingMetricView {
+    
+    UUID getParkingId();
+    
+    UUID getCompanyId();
+    
+    Number getValue();
+}
@@ -0,0 +1,10 @@
+package com.parkingmanagement.repository.projection;
+
+import java.util.UUID;
+
+public interface ParkingVehicleTypeView {
+    
+    UUID getParkingId();
+    
+    UUID getVehicleTypeId();
+}
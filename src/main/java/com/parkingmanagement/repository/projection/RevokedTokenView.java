@@ -0,0 +1,10 @@
+package com.parkingmanagement.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface RevokedTokenView {
+    
+    String getJti();
+    
+    LocalDateTime getExpiresAt();
+}
@@ -1,20 +1,36 @@
 package com.parkingmanagement.security;
 
+import com.parkingmanagement.model.entity.User;
+import com.parkingmanagement.model.enums.UserRole;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
     
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_COMPANY_ID = "cid";
+    private static final String CLAIM_SECURITY_VERSION = "sv";
+    
+    private final MeterRegistry meterRegistry;
+    
     @Value("${app.jwt.secret}")
     private String jwtSecret;
     
@@ -24,67 +40,167 @@ public class JwtTokenProvider {
     @Value("${app.jwt.refresh-expiration}")
     private int refreshTokenExpirationInMs;
     
+    @Value("${app.jwt.verified-cache.enabled:false}")
+    private boolean verifiedCacheEnabled;
+    
+    @Value("${app.jwt.verified-cache.max-entries:10000}")
+    private int verifiedCacheMaxEntries;
+    
+    private SecretKey signingKey;
+    private JwtParser parser;
+    // Recently verified tokens by signature, only consulted when the cache is enabled
+    private Map<String, VerifiedToken> verifiedTokens;
+    private Counter verifiedHits;
+    private Counter verifiedMisses;
+    
+    @PostConstruct
+    private void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        // Immutable and thread-safe, so one parser serves every request
+        parser = Jwts.parser().verifyWith(signingKey).build();
+        if (verifiedCacheEnabled) {
+            verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                    return size() > verifiedCacheMaxEntries;
+                }
+            };
+            verifiedHits = meterRegistry.counter("auth.token.cache.gets", "result", "hit");
+            verifiedMisses = meterRegistry.counter("auth.token.cache.gets", "result", "miss");
+        }
+    }
+    
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
     
-    public String generateToken(Authentication authentication) {
-        UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
-        return generateTokenFromUsername(userPrincipal.getUsername());
+    /**
+     * Issues an access token carrying everything request authentication needs, so that
+     * requests are authenticated without reading the user.
+     */
+    public String generateAccessToken(User user) {
+        return buildToken(user, jwtExpirationInMs);
     }
     
-    public String generateTokenFromUsername(String username) {
-        Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
-        
-        return Jwts.builder()
-                .subject(username)
-                .issuedAt(new Date())
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+    public String generateRefreshToken(User user) {
+        return buildToken(user, refreshTokenExpirationInMs);
     }
     
-    public String generateRefreshToken(String username) {
-        Date expiryDate = new Date(System.currentTimeMillis() + refreshTokenExpirationInMs);
+    private String buildToken(User user, long expirationInMs) {
+        Date now = new Date();
         
-        return Jwts.builder()
-                .subject(username)
-                .issuedAt(new Date())
-                .expiration(expiryDate)
-                .signWith(getSigningKey())
-                .compact();
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
+                .subject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId().toString())
+                .claim(CLAIM_ROLE, user.getRole().name())
+                .claim(CLAIM_SECURITY_VERSION, user.getSecurityVersion())
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + expirationInMs));
+        if (user.getCompany() != null) {
+            builder.claim(CLAIM_COMPANY_ID, user.getCompany().getId().toString());
+        }
+        return builder.signWith(getSigningKey()).compact();
+    }
+    
+    /**
+     * @return the principal described by the claims, or null if the token predates them
+     */
+    public AuthenticatedUser toAuthenticatedUser(Claims claims) {
+        String userId = claims.get(CLAIM_USER_ID, String.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || role == null) {
+            return null;
+        }
+        String companyId = claims.get(CLAIM_COMPANY_ID, String.class);
+        return new AuthenticatedUser(UUID.fromString(userId), claims.getSubject(), UserRole.valueOf(role),
+                companyId != null ? UUID.fromString(companyId) : null);
+    }
+    
+    public long getSecurityVersion(Claims claims) {
+        Number version = claims.get(CLAIM_SECURITY_VERSION, Number.class);
+        return version != null ? version.longValue() : 0L;
     }
     
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        
-        return claims.getSubject();
+        return parser.parseSignedClaims(token).getPayload().getSubject();
     }
     
     public boolean validateToken(String authToken) {
+        return parseToken(authToken).isPresent();
+    }
+    
+    /**
+     * Verifies the token once and returns its claims, or empty if it is malformed, forged
+     * or expired.
+     */
+    public Optional<Claims> parseToken(String token) {
+        Claims cached = getVerifiedClaims(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token");
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            putVerifiedClaims(token, claims);
+            return Optional.of(claims);
         } catch (ExpiredJwtException ex) {
             log.error("Expired JWT token");
+        } catch (MalformedJwtException ex) {
+            log.error("Invalid JWT token");
         } catch (UnsupportedJwtException ex) {
             log.error("Unsupported JWT token");
+        } catch (JwtException ex) {
+            log.error("JWT signature does not match");
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
+        return Optional.empty();
+    }
+    
+    private Claims getVerifiedClaims(String token) {
+        if (verifiedTokens == null || token == null) {
+            return null;
+        }
+        
+        String key = signatureOf(token);
+        synchronized (verifiedTokens) {
+            VerifiedToken verified = verifiedTokens.get(key);
+            // The signature only locates the entry; the whole token must match
+            if (verified == null || !verified.token().equals(token)) {
+                verifiedMisses.increment();
+                return null;
+            }
+            if (verified.expiresAt() <= System.currentTimeMillis()) {
+                verifiedTokens.remove(key);
+                verifiedMisses.increment();
+                return null;
+            }
+            verifiedHits.increment();
+            return verified.claims();
+        }
+    }
+    
+    private void putVerifiedClaims(String token, Claims claims) {
+        if (verifiedTokens == null || claims.getExpiration() == null) {
+            return;
+        }
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(signatureOf(token), new VerifiedToken(token, claims, claims.getExpiration().getTime()));
+        }
+    }
+    
+    /**
+     * The signature is an HMAC of header and payload, so it already is a hash of the token.
+     */
+    private static String signatureOf(String token) {
+        return token.substring(token.lastIndexOf('.') + 1);
     }
     
     public long getExpirationTime() {
         return jwtExpirationInMs / 1000; // Return in seconds
     }
+    
+    private record VerifiedToken(String token, Claims claims, long expiresAt) {
+    }
 }
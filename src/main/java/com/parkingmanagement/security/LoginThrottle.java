@@ -0,0 +1,154 @@
+package com.parkingmanagement.security;
+
+import com.parkingmanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets per client IP and per account email in front of the public sign-in
+ * endpoints, so a credential-stuffing burst is refused before it reaches the database or
+ * the password hashing pool.
+ * <p>
+ * Buckets live in a fixed number of stripes, each an LRU map behind its own lock, so
+ * concurrent logins rarely contend. A bucket idle long enough to have refilled completely
+ * is indistinguishable from a new one and is evicted on the next access to its stripe;
+ * past {@code max-entries} the least recently used buckets go first.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginThrottle {
+    
+    private static final int STRIPES = 64;
+    
+    private final MeterRegistry meterRegistry;
+    
+    private Stripe[] stripes;
+    
+    @Value("${app.security.login-throttle.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.security.login-throttle.per-ip.per-minute:30}")
+    private double ipPerMinute;
+    
+    @Value("${app.security.login-throttle.per-ip.burst:30}")
+    private int ipBurst;
+    
+    @Value("${app.security.login-throttle.per-account.per-minute:5}")
+    private double accountPerMinute;
+    
+    @Value("${app.security.login-throttle.per-account.burst:10}")
+    private int accountBurst;
+    
+    @Value("${app.security.login-throttle.max-entries:100000}")
+    private int maxEntries;
+    
+    @PostConstruct
+    private void init() {
+        stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(Math.max(1, maxEntries / STRIPES));
+        }
+    }
+    
+    /**
+     * Takes one attempt from the buckets of {@code clientIp} and {@code email}.
+     *
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void check(String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+        
+        long now = System.nanoTime();
+        if (clientIp != null) {
+            long waitNanos = take("ip:" + clientIp, ipPerMinute, ipBurst, now);
+            if (waitNanos > 0) {
+                reject("ip", waitNanos);
+            }
+        }
+        if (email != null) {
+            long waitNanos = take("account:" + email.trim().toLowerCase(Locale.ROOT), accountPerMinute, accountBurst, now);
+            if (waitNanos > 0) {
+                reject("account", waitNanos);
+            }
+        }
+    }
+    
+    private long take(String key, double perMinute, int burst, long now) {
+        double tokensPerNano = perMinute / TimeUnit.MINUTES.toNanos(1);
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        synchronized (stripe) {
+            stripe.evictIdle(now);
+            Bucket bucket = stripe.buckets.computeIfAbsent(key, k -> new Bucket(burst, now));
+            return bucket.tryTake(now, tokensPerNano, burst);
+        }
+    }
+    
+    private void reject(String scope, long waitNanos) {
+        meterRegistry.counter("auth.throttled", "scope", scope).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        log.warn("Sign-in attempt throttled by {} limit, retry in {} s", scope, retryAfterSeconds);
+        throw new TooManyRequestsException("Too many attempts, please retry later", retryAfterSeconds);
+    }
+    
+    private static final class Stripe {
+        
+        private final LinkedHashMap<String, Bucket> buckets;
+        
+        Stripe(int capacity) {
+            buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+        
+        // In access order the eldest is the longest idle, so the scan stops at the first busy bucket
+        void evictIdle(long now) {
+            Iterator<Bucket> eldest = buckets.values().iterator();
+            while (eldest.hasNext() && eldest.next().fullAt - now <= 0) {
+                eldest.remove();
+            }
+        }
+    }
+    
+    private static final class Bucket {
+        
+        private double tokens;
+        private long refilledAt;
+        private long fullAt;
+        
+        Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+            this.fullAt = now;
+        }
+        
+        /**
+         * @return zero if a token was taken, otherwise nanoseconds until one is available
+         */
+        long tryTake(long now, double tokensPerNano, int burst) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            tokens -= 1;
+            fullAt = now + (long) Math.ceil((burst - tokens) / tokensPerNano);
+            return 0;
+        }
+    }
+}
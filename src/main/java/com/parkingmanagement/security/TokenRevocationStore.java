@@ -0,0 +1,152 @@
+package com.parkingmanagement.security;
+
+import com.parkingmanagement.config.ReadFromPrimary;
+import com.parkingmanagement.event.TokenRevokedEvent;
+import com.parkingmanagement.model.entity.RevokedToken;
+import com.parkingmanagement.repository.RevokedTokenRepository;
+import com.parkingmanagement.repository.projection.RevokedTokenView;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token ids ({@code jti}) revoked before their expiry. Every request is checked against a
+ * Bloom filter first, so the common case of a token that was never revoked costs a few
+ * array reads; the exact set behind it rules out false positives. Neither allocates.
+ * <p>
+ * Revocations are stored in {@code revoked_tokens} until the token expires. Revocations
+ * made through this instance arrive with {@link TokenRevokedEvent}; the periodic refresh
+ * picks up those made through other instances and restores the set after a restart.
+ * Expired entries are purged, and the filter rebuilt without them, on a schedule.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationStore {
+    
+    // Covers revocations whose transaction was still open while the previous refresh ran
+    private static final long REFRESH_OVERLAP_SECONDS = 60;
+    
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+    
+    // Expiry in epoch millis by jti
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime refreshedAt;
+    private TransactionTemplate insertTemplate;
+    
+    @Value("${app.jwt.revocation.expected-entries:100000}")
+    private int expectedEntries;
+    
+    @Value("${app.jwt.revocation.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+    
+    @PostConstruct
+    private void init() {
+        filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        // A duplicate jti must not poison the caller's transaction, so each insert runs alone
+        insertTemplate = new TransactionTemplate(transactionManager);
+        insertTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+    
+    /**
+     * Revokes a token until {@code expiresAt}. The row is committed on its own; revoking
+     * twice, e.g. a repeated or concurrent logout, is not an error.
+     */
+    public void revoke(String jti, Instant expiresAt) {
+        if (jti == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        try {
+            insertTemplate.executeWithoutResult(status -> {
+                if (!revokedTokenRepository.existsByJti(jti)) {
+                    revokedTokenRepository.saveAndFlush(
+                            new RevokedToken(jti, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault())));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another request stored the same jti between the check and the insert
+            log.debug("Token {} was already revoked", jti);
+        }
+        eventPublisher.publishEvent(new TokenRevokedEvent(jti, expiresAt));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokenRevoked(TokenRevokedEvent event) {
+        add(event.getJti(), event.getExpiresAt().toEpochMilli());
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.refresh-interval-ms:10000}",
+               initialDelayString = "${app.jwt.revocation.refresh-interval-ms:10000}")
+    @ReadFromPrimary
+    public void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime revokedSince = refreshedAt != null ? refreshedAt.minusSeconds(REFRESH_OVERLAP_SECONDS) : null;
+        
+        for (RevokedTokenView view : revokedTokenRepository.findUnexpired(startedAt, revokedSince)) {
+            add(view.getJti(), view.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        refreshedAt = startedAt;
+        log.debug("Token revocations refreshed, {} revoked tokens tracked", revoked.size());
+    }
+    
+    @Scheduled(fixedDelayString = "${app.jwt.revocation.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+            rebuildFilter();
+        }
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        log.debug("Purged expired token revocations, {} rows deleted", deleted);
+    }
+    
+    private synchronized void add(String jti, long expiresAt) {
+        if (revoked.putIfAbsent(jti, expiresAt) != null) {
+            return;
+        }
+        if (revoked.size() > filter.getCapacity()) {
+            // Past its capacity the filter lets more and more lookups through to the set
+            rebuildFilter();
+        } else {
+            filter.put(jti);
+        }
+    }
+    
+    // Caller holds the monitor, so no add slips in between building and publishing the filter
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
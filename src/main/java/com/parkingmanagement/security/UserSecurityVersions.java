@@ -0,0 +1,65 @@
+package com.parkingmanagement.security;
+
+import com.parkingmanagement.config.ReadFromPrimary;
+import com.parkingmanagement.event.UserSecurityChangedEvent;
+import com.parkingmanagement.repository.UserRepository;
+import com.parkingmanagement.repository.projection.UserSecurityVersionView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lowest token security version still accepted per user, so that request authentication
+ * can reject the tokens of changed or deactivated users without reading them. Only users
+ * whose version was ever bumped are tracked.
+ * <p>
+ * Changes made through this instance arrive with {@link UserSecurityChangedEvent}; the
+ * periodic refresh picks up those made through other instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserSecurityVersions {
+    
+    // Covers changes whose transaction was still open while the previous refresh ran
+    private static final long REFRESH_OVERLAP_SECONDS = 300;
+    
+    private final UserRepository userRepository;
+    
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+    private volatile LocalDateTime refreshedAt;
+    
+    public boolean isCurrent(UUID userId, long tokenVersion) {
+        Long current = versions.get(userId);
+        return current == null || tokenVersion >= current;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        versions.merge(event.getUserId(), event.getSecurityVersion(), Math::max);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.jwt.security-versions.refresh-interval-ms:60000}",
+               initialDelayString = "${app.jwt.security-versions.refresh-interval-ms:60000}")
+    @ReadFromPrimary
+    public void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime changedSince = refreshedAt != null ? refreshedAt.minusSeconds(REFRESH_OVERLAP_SECONDS) : null;
+        
+        for (UserSecurityVersionView view : userRepository.findSecurityVersions(changedSince)) {
+            versions.merge(view.getUserId(), view.getSecurityVersion(), Math::max);
+        }
+        refreshedAt = startedAt;
+        log.debug("Security versions refreshed, {} users tracked", versions.size());
+    }
+}
@@ -1,11 +1,15 @@
 package com.parkingmanagement.service;
 
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.response.SystemAlertResponse;
 import com.parkingmanagement.dto.response.PageResponse;
 import com.parkingmanagement.model.enums.AlertType;
 import com.parkingmanagement.model.enums.AlertPriority;
 import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.UserRole;
+import com.parkingmanagement.security.AuthenticatedUser;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,12 +25,20 @@ public interface AlertService {
                                                AlertStatus status, AlertType alertType,
                                                Pageable pageable);
     
-    SystemAlertResponse acknowledgeAlert(UUID alertId, UUID userId);
-    SystemAlertResponse resolveAlert(UUID alertId, UUID userId);
-    SystemAlertResponse dismissAlert(UUID alertId, UUID userId);
+    PageResponse<SystemAlertResponse> getAlerts(UUID companyId, UUID parkingId, 
+                                               AlertStatus status, AlertType alertType,
+                                               CursorPageRequest cursorPage);
+    
+    SystemAlertResponse acknowledgeAlert(UUID alertId, AuthenticatedUser user);
+    SystemAlertResponse resolveAlert(UUID alertId, AuthenticatedUser user);
+    SystemAlertResponse dismissAlert(UUID alertId, AuthenticatedUser user);
     
     List<SystemAlertResponse> getActiveAlertsForUser(UUID userId);
     Long getUnreadAlertCount(UUID userId);
+    Long getUnreadAlertCount(UUID userId, UserRole role);
+    
+    // Pushes "alert" and "unread" events to the user until the connection closes
+    SseEmitter streamAlerts(UUID userId, UserRole role);
     
     // Alert Triggers
     void checkLowAvailability();
@@ -13,5 +13,5 @@ public interface AuthService {
     void requestPasswordReset(PasswordResetRequest request);
     void confirmPasswordReset(PasswordResetConfirmRequest request);
     LoginResponse refreshToken(String refreshToken);
-    void logout(String refreshToken);
+    void logout(String refreshToken, String accessToken);
 }
@@ -0,0 +1,25 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.dto.response.FinancialReportResponse;
+import com.parkingmanagement.dto.response.OccupancyReportResponse;
+import com.parkingmanagement.event.SessionPaidEvent;
+
+import java.util.UUID;
+
+public interface DashboardSummaryService {
+    
+    /**
+     * Month-to-date financial totals for a parking, a company, or everything when both are null
+     */
+    FinancialReportResponse getFinancialSummary(UUID companyId, UUID parkingId);
+    
+    /**
+     * Month-to-date occupancy totals for a parking, a company, or everything when both are null
+     */
+    OccupancyReportResponse getOccupancySummary(UUID companyId, UUID parkingId);
+    
+    /**
+     * Fold a newly paid session into every cached summary it belongs to
+     */
+    void onSessionPaid(SessionPaidEvent event);
+}
@@ -0,0 +1,14 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.dto.response.NearbyParkingResponse;
+import com.parkingmanagement.dto.response.PlateCandidateResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ParkingService {
+    List<NearbyParkingResponse> findNearby(double latitude, double longitude, double radiusKm, int limit,
+                                           UUID vehicleTypeId, long minFreeSpaces);
+    
+    List<PlateCandidateResponse> findPlateCandidates(UUID parkingId, String licensePlate, int limit);
+}
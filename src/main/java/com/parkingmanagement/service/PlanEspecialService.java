@@ -1,6 +1,7 @@
 package com.parkingmanagement.service;
 
 import com.parkingmanagement.dto.request.CreatePlanEspecialRequest;
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.UpdatePlanEspecialRequest;
 import com.parkingmanagement.dto.response.PageResponse;
 import com.parkingmanagement.dto.response.PlanEspecialResponse;
@@ -16,6 +17,7 @@ public interface PlanEspecialService {
     PlanEspecialResponse updatePlan(UUID id, UpdatePlanEspecialRequest request);
     void deletePlan(UUID id);
     PageResponse<PlanEspecialResponse> getAllPlanes(String search, UUID parkingId, UUID vehicleTypeId, Boolean isVip, Pageable pageable);
+    PageResponse<PlanEspecialResponse> getAllPlanes(String search, UUID parkingId, UUID vehicleTypeId, Boolean isVip, CursorPageRequest cursorPage);
     List<PlanEspecialResponse> getPlanesByParking(UUID parkingId);
     List<PlanEspecialResponse> getPlanesByParkingAndVehicleType(UUID parkingId, UUID vehicleTypeId);
     List<PlanEspecial> getVipPlans(UUID parkingId, UUID vehicleTypeId);
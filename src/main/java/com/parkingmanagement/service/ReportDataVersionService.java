@@ -0,0 +1,31 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.event.SessionEndedEvent;
+import com.parkingmanagement.event.SessionPaidEvent;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface ReportDataVersionService {
+    
+    /**
+     * Record that the session data of a parking on the given day has changed
+     */
+    void markChanged(UUID parkingId, LocalDate day);
+    
+    /**
+     * Whether any day in the window changed after the given instant
+     */
+    boolean hasChangedSince(UUID parkingId, LocalDate startDate, LocalDate endDate, LocalDateTime since);
+    
+    /**
+     * Bump the version of the day the paid session is reported under
+     */
+    void onSessionPaid(SessionPaidEvent event);
+    
+    /**
+     * Bump the version of the day the closed session is reported under
+     */
+    void onSessionEnded(SessionEndedEvent event);
+}
@@ -0,0 +1,27 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.dto.request.ScheduleReportRequest;
+import com.parkingmanagement.dto.response.PageResponse;
+import com.parkingmanagement.dto.response.ReportScheduleExecutionResponse;
+import com.parkingmanagement.dto.response.ReportScheduleResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+public interface ReportScheduleService {
+    
+    /**
+     * Persist a recurring report and compute its first run
+     */
+    ReportScheduleResponse createSchedule(ScheduleReportRequest request, UUID userId);
+    
+    /**
+     * Claim every due schedule, up to the concurrency cap, and run it on the report worker pool
+     */
+    void runDueSchedules();
+    
+    /**
+     * Execution history of a schedule, most recent first
+     */
+    PageResponse<ReportScheduleExecutionResponse> getExecutions(UUID scheduleId, Pageable pageable);
+}
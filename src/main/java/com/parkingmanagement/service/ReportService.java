@@ -1,9 +1,13 @@
 package com.parkingmanagement.service;
 
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.GenerateReportRequest;
+import com.parkingmanagement.dto.request.ScheduleReportRequest;
 import com.parkingmanagement.dto.response.FinancialReportResponse;
 import com.parkingmanagement.dto.response.OccupancyReportResponse;
 import com.parkingmanagement.dto.response.PageResponse;
+import com.parkingmanagement.dto.response.ReportScheduleExecutionResponse;
+import com.parkingmanagement.dto.response.ReportScheduleResponse;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
@@ -17,6 +21,9 @@ public interface ReportService {
     PageResponse<FinancialReportResponse> getFinancialReports(UUID companyId, UUID parkingId, 
                                                              LocalDate startDate, LocalDate endDate, 
                                                              Pageable pageable);
+    PageResponse<FinancialReportResponse> getFinancialReports(UUID companyId, UUID parkingId, 
+                                                             LocalDate startDate, LocalDate endDate, 
+                                                             CursorPageRequest cursorPage);
     FinancialReportResponse getFinancialReportById(UUID reportId);
     byte[] exportFinancialReport(UUID reportId, String format);
     
@@ -25,6 +32,9 @@ public interface ReportService {
     PageResponse<OccupancyReportResponse> getOccupancyReports(UUID companyId, UUID parkingId,
                                                              LocalDate startDate, LocalDate endDate,
                                                              Pageable pageable);
+    PageResponse<OccupancyReportResponse> getOccupancyReports(UUID companyId, UUID parkingId,
+                                                             LocalDate startDate, LocalDate endDate,
+                                                             CursorPageRequest cursorPage);
     OccupancyReportResponse getOccupancyReportById(UUID reportId);
     byte[] exportOccupancyReport(UUID reportId, String format);
     
@@ -34,5 +44,6 @@ public interface ReportService {
     
     // Scheduled Reports
     void generateScheduledReports();
-    void scheduleReport(GenerateReportRequest request, String cronExpression, UUID userId);
+    ReportScheduleResponse scheduleReport(ScheduleReportRequest request, UUID userId);
+    PageResponse<ReportScheduleExecutionResponse> getScheduleExecutions(UUID scheduleId, Pageable pageable);
 }
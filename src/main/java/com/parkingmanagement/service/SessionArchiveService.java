@@ -0,0 +1,27 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.service.archive.ArchiveAggregate;
+import com.parkingmanagement.service.archive.ArchiveCoverage;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface SessionArchiveService {
+    
+    /**
+     * Archive every fully closed month that has no segment on disk yet
+     */
+    void archiveClosedMonths();
+    
+    /**
+     * Aggregate archived months inside the window and return the ranges left for the database
+     */
+    ArchiveCoverage getCoverage(UUID parkingId, LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Totals of the closed, paid sessions that entered inside the window. Archived months
+     * come from their segments and the rest from the database under the same filter, so a
+     * month's totals do not change once it is archived
+     */
+    ArchiveAggregate aggregateClosedSessions(UUID parkingId, LocalDate startDate, LocalDate endDate);
+}
@@ -1,6 +1,7 @@
 package com.parkingmanagement.service;
 
 import com.parkingmanagement.dto.request.CreateTarifaRequest;
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.UpdateTarifaRequest;
 import com.parkingmanagement.dto.response.PageResponse;
 import com.parkingmanagement.dto.response.TarifaResponse;
@@ -16,6 +17,7 @@ public interface TarifaService {
     TarifaResponse updateTarifa(UUID id, UpdateTarifaRequest request);
     void deleteTarifa(UUID id);
     PageResponse<TarifaResponse> getAllTarifas(String search, UUID parkingId, UUID vehicleTypeId, Pageable pageable);
+    PageResponse<TarifaResponse> getAllTarifas(String search, UUID parkingId, UUID vehicleTypeId, CursorPageRequest cursorPage);
     List<TarifaResponse> getTarifasByParking(UUID parkingId);
     List<TarifaResponse> getTarifasByParkingAndVehicleType(UUID parkingId, UUID vehicleTypeId);
     Tarifa findCheapestTarifa(UUID parkingId, UUID vehicleTypeId);
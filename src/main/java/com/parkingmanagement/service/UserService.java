@@ -1,5 +1,6 @@
 package com.parkingmanagement.service;
 
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.RegisterRequest;
 import com.parkingmanagement.dto.request.UpdateUserRequest;
 import com.parkingmanagement.dto.response.PageResponse;
@@ -16,8 +17,9 @@ public interface UserService {
     UserResponse updateUser(UUID id, UpdateUserRequest request);
     void deleteUser(UUID id);
     PageResponse<UserResponse> getAllUsers(String search, UserRole role, UUID companyId, Pageable pageable);
+    PageResponse<UserResponse> getAllUsers(String search, UserRole role, UUID companyId, CursorPageRequest cursorPage);
     User findByEmail(String email);
     boolean existsByEmail(String email);
-    void updateLastLogin(String email);
+    void updateLastLogin(UUID userId);
     UserResponse getCurrentUser();
 }
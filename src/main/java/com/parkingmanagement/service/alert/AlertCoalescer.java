@@ -0,0 +1,315 @@
+package com.parkingmanagement.service.alert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.parkingmanagement.model.entity.SystemAlert;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Folds repeated alerts into the first one of a sliding window. Alerts sharing a
+ * {@link Key} within {@code window-seconds} of the previous occurrence are not inserted;
+ * they only bump a counter that is written into the first alert's metadata on each flush
+ * and once more when the window closes.
+ * <p>
+ * The key table is an LRU bounded by {@code max-keys}; an evicted window is flushed like
+ * a closed one, so a flood of distinct keys costs memory but never loses counts.
+ * <p>
+ * When the first alert is inserted inside a transaction, its window only starts absorbing
+ * duplicates once that transaction commits. If it rolls back the window is dropped, and
+ * the duplicates waiting on it submit again, so one of them inserts the alert.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertCoalescer {
+    
+    private final SystemAlertRepository systemAlertRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    private Map<Key, Window> windows;
+    private final Queue<Window> evicted = new ConcurrentLinkedQueue<>();
+    
+    @Value("${app.alerts.coalescing.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.alerts.coalescing.window-seconds:60}")
+    private long windowSeconds;
+    
+    @Value("${app.alerts.coalescing.max-keys:10000}")
+    private int maxKeys;
+    
+    public record Key(AlertType alertType, UUID parkingId, UUID companyId, String targetRole) {
+    }
+    
+    @PostConstruct
+    private void init() {
+        windows = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Window> eldest) {
+                if (size() <= maxKeys) {
+                    return false;
+                }
+                evicted.add(eldest.getValue());
+                meterRegistry.counter("alerts.coalescing.evicted").increment();
+                return true;
+            }
+        };
+        meterRegistry.gauge("alerts.coalescing.keys", windows, map -> {
+            synchronized (map) {
+                return map.size();
+            }
+        });
+    }
+    
+    /**
+     * Creates the alert through {@code create} if no window is open for the key, otherwise
+     * counts it against the open window.
+     *
+     * @return the id of the alert that represents this occurrence
+     */
+    public UUID submit(Key key, Supplier<UUID> create) {
+        if (!enabled) {
+            return create.get();
+        }
+        
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            Window window;
+            boolean opened = false;
+            synchronized (windows) {
+                window = windows.get(key);
+                if (window == null || window.isClosed(now, windowSeconds)) {
+                    if (window != null) {
+                        // Closed but not flushed yet; its final summary still has to be written
+                        evicted.add(window);
+                    }
+                    window = new Window(key, now);
+                    windows.put(key, window);
+                    opened = true;
+                } else {
+                    window.lastSeenAt = now;
+                    window.suppressed++;
+                }
+            }
+            
+            if (opened) {
+                return open(key, window, create);
+            }
+            meterRegistry.counter("alerts.coalescing.suppressed", "type", key.alertType().name()).increment();
+            if (window.creator == Thread.currentThread() && !window.alertId.isDone()) {
+                // A duplicate inside the transaction still inserting the first alert; it cannot wait for the commit
+                return window.pendingAlertId;
+            }
+            try {
+                return await(window.alertId);
+            } catch (RolledBackException ex) {
+                // The first alert never committed; this occurrence opens a fresh window instead
+            }
+        }
+    }
+    
+    private UUID open(Key key, Window window, Supplier<UUID> create) {
+        UUID alertId;
+        try {
+            alertId = create.get();
+        } catch (RuntimeException ex) {
+            // Let the next occurrence open a fresh window instead of counting against a failed insert
+            drop(window, ex);
+            throw ex;
+        }
+        meterRegistry.counter("alerts.coalescing.emitted", "type", key.alertType().name()).increment();
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            window.alertId.complete(alertId);
+            return alertId;
+        }
+        window.pendingAlertId = alertId;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                window.alertId.complete(alertId);
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    drop(window, new RolledBackException());
+                }
+            }
+        });
+        return alertId;
+    }
+    
+    private void drop(Window window, RuntimeException cause) {
+        synchronized (windows) {
+            windows.remove(window.key, window);
+        }
+        window.alertId.completeExceptionally(cause);
+    }
+    
+    /**
+     * Writes pending counts into the alerts' metadata and drops closed windows. Occurrences
+     * folded into a window that is still open keep counting into the same alert.
+     */
+    @Scheduled(fixedDelayString = "${app.alerts.coalescing.flush-interval-ms:10000}")
+    public void flush() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Summary> summaries = new ArrayList<>();
+        
+        synchronized (windows) {
+            Iterator<Window> it = windows.values().iterator();
+            while (it.hasNext()) {
+                Window window = it.next();
+                boolean closed = window.isClosed(now, windowSeconds);
+                if (closed) {
+                    it.remove();
+                }
+                window.summarize(closed).ifPresent(summaries::add);
+            }
+        }
+        for (Window window; (window = evicted.poll()) != null; ) {
+            synchronized (windows) {
+                window.summarize(true).ifPresent(summaries::add);
+            }
+        }
+        
+        if (summaries.isEmpty()) {
+            return;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> summaries.forEach(this::writeSummary));
+        } catch (RuntimeException ex) {
+            log.error("Failed to flush {} coalesced alert summaries", summaries.size(), ex);
+        }
+    }
+    
+    private void writeSummary(Summary summary) {
+        systemAlertRepository.findById(summary.alertId()).ifPresent(alert -> {
+            ObjectNode metadata = readMetadata(alert);
+            metadata.put("suppressedCount", summary.suppressed());
+            metadata.put("firstSeenAt", summary.firstSeenAt().toString());
+            metadata.put("lastSeenAt", summary.lastSeenAt().toString());
+            metadata.put("windowClosed", summary.closed());
+            alert.setMetadata(metadata.toString());
+            systemAlertRepository.save(alert);
+        });
+        if (summary.closed()) {
+            log.info("{} alert {} repeated {} more times between {} and {}", summary.alertType(),
+                    summary.alertId(), summary.suppressed(), summary.firstSeenAt(), summary.lastSeenAt());
+        }
+    }
+    
+    private ObjectNode readMetadata(SystemAlert alert) {
+        if (alert.getMetadata() != null) {
+            try {
+                JsonNode existing = objectMapper.readTree(alert.getMetadata());
+                if (existing instanceof ObjectNode object) {
+                    return object;
+                }
+            } catch (Exception ex) {
+                log.debug("Alert {} metadata is not a JSON object, wrapping it", alert.getId());
+            }
+        }
+        ObjectNode metadata = objectMapper.createObjectNode();
+        if (alert.getMetadata() != null) {
+            metadata.put("details", alert.getMetadata());
+        }
+        return metadata;
+    }
+    
+    private static UUID await(CompletableFuture<UUID> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+    
+    /**
+     * Completes the window of an alert whose transaction did not commit.
+     */
+    private static final class RolledBackException extends RuntimeException {
+        
+        RolledBackException() {
+            super("The transaction inserting the alert did not commit", null, false, false);
+        }
+    }
+    
+    private record Summary(UUID alertId, AlertType alertType, long suppressed,
+                           LocalDateTime firstSeenAt, LocalDateTime lastSeenAt, boolean closed) {
+    }
+    
+    /**
+     * One open window. Counters are guarded by the coalescer's table monitor; the alert id
+     * is completed once the inserting transaction commits.
+     */
+    private static final class Window {
+        private final Key key;
+        private final CompletableFuture<UUID> alertId = new CompletableFuture<>();
+        private final Thread creator = Thread.currentThread();
+        private volatile UUID pendingAlertId;
+        private final LocalDateTime firstSeenAt;
+        private LocalDateTime lastSeenAt;
+        private long suppressed;
+        private long flushed;
+        
+        Window(Key key, LocalDateTime now) {
+            this.key = key;
+            this.firstSeenAt = now;
+            this.lastSeenAt = now;
+        }
+        
+        boolean isClosed(LocalDateTime now, long windowSeconds) {
+            return !lastSeenAt.plusSeconds(windowSeconds).isAfter(now);
+        }
+        
+        /**
+         * A summary if there are counts not yet written, and always a final one for a
+         * closed window that folded anything. Windows whose first insert is still running
+         * or failed have nothing to attach a summary to.
+         */
+        Optional<Summary> summarize(boolean closed) {
+            if (suppressed == 0 || !alertId.isDone() || alertId.isCompletedExceptionally()) {
+                return Optional.empty();
+            }
+            if (suppressed == flushed && !closed) {
+                return Optional.empty();
+            }
+            flushed = suppressed;
+            return Optional.of(new Summary(alertId.join(), key.alertType(), suppressed,
+                    firstSeenAt, lastSeenAt, closed));
+        }
+    }
+}
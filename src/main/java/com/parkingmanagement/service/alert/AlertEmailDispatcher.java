@@ -0,0 +1,370 @@
+package com.parkingmanagement.service.alert;
+
+import com.parkingmanagement.model.entity.SystemAlert;
+import com.parkingmanagement.model.entity.User;
+import com.parkingmanagement.model.enums.AlertPriority;
+import com.parkingmanagement.model.enums.UserRole;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import com.parkingmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Emails active alerts in batches. Each poll claims up to {@code batch-size} unsent alerts,
+ * skipping rows another instance is claiming, and hands every recipient's digest of the
+ * alerts addressed to them to the bounded {@code alertMailExecutor} pool. The poll does not
+ * wait for the sends, so the scheduler thread is free again at once.
+ * <p>
+ * Sends share a token bucket of {@code rate-per-second} so the SMTP relay is not flooded, and
+ * transient failures are rescheduled with jittered exponential backoff rather than slept
+ * out on a worker. Once every digest of a batch is done, its delivered alerts are marked sent
+ * in one update. Alerts of a digest the pool had no room for are released for the next poll;
+ * those of a digest that still failed keep their claim and are retried once it expires, so
+ * delivery is at least once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertEmailDispatcher {
+    
+    private final SystemAlertRepository systemAlertRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JavaMailSender mailSender;
+    private final ThreadPoolTaskExecutor alertMailExecutor;
+    private final TaskScheduler taskScheduler;
+    private final MeterRegistry meterRegistry;
+    
+    private TokenBucket rateLimiter;
+    
+    @Value("${app.alerts.mail.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.alerts.mail.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${app.alerts.mail.claim-timeout-seconds:600}")
+    private long claimTimeoutSeconds;
+    
+    @Value("${app.alerts.mail.rate-per-second:5}")
+    private double ratePerSecond;
+    
+    @Value("${app.alerts.mail.burst:10}")
+    private int burst;
+    
+    @Value("${app.alerts.mail.max-attempts:4}")
+    private int maxAttempts;
+    
+    @Value("${app.alerts.mail.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+    
+    @Value("${app.alerts.mail.max-backoff-ms:30000}")
+    private long maxBackoffMs;
+    
+    @Value("${app.alerts.mail-from:noreply@parkingmanagement.com}")
+    private String mailFrom;
+    
+    @PostConstruct
+    private void init() {
+        rateLimiter = new TokenBucket(ratePerSecond, burst);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.alerts.mail.poll-interval-ms:30000}")
+    public void dispatchPending() {
+        if (!enabled) {
+            return;
+        }
+        
+        Claim claim;
+        boolean accepted;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            claim = claim(() -> systemAlertRepository.lockUnsentAlerts(now.minusSeconds(claimTimeoutSeconds), batchSize), now);
+            accepted = deliver(claim);
+            // A full batch means more may be waiting; a full mail pool waits for the next poll
+        } while (accepted && claim.alertIds().size() == batchSize);
+    }
+    
+    /**
+     * Emails a single alert right away, unless it was already sent or another dispatcher holds it.
+     *
+     * @return whether the alert was claimed by this call
+     */
+    public boolean dispatch(UUID alertId) {
+        LocalDateTime now = LocalDateTime.now();
+        Claim claim = claim(() -> systemAlertRepository.lockUnsentAlert(alertId, now.minusSeconds(claimTimeoutSeconds))
+                .stream().toList(), now);
+        if (claim.alertIds().isEmpty()) {
+            log.debug("Alert {} is already emailed or being emailed", alertId);
+            return false;
+        }
+        deliver(claim);
+        return true;
+    }
+    
+    private Claim claim(Supplier<List<SystemAlert>> lock, LocalDateTime now) {
+        return transactionTemplate.execute(status -> {
+            List<SystemAlert> alerts = lock.get();
+            if (alerts.isEmpty()) {
+                return new Claim(List.of(), List.of());
+            }
+            
+            List<UUID> alertIds = alerts.stream().map(SystemAlert::getId).toList();
+            systemAlertRepository.claimEmails(alertIds, now);
+            
+            // Alerts of a batch mostly share a handful of targets; each is resolved once
+            Map<Target, List<String>> emailsByTarget = new HashMap<>();
+            Map<String, List<PendingAlert>> alertsByEmail = new LinkedHashMap<>();
+            for (SystemAlert alert : alerts) {
+                List<String> emails = emailsByTarget.computeIfAbsent(Target.of(alert), this::emailsOf);
+                if (emails.isEmpty()) {
+                    log.warn("Alert {} has no email recipients", alert.getId());
+                }
+                for (String email : emails) {
+                    alertsByEmail.computeIfAbsent(email, e -> new ArrayList<>()).add(PendingAlert.of(alert));
+                }
+            }
+            
+            List<Digest> digests = alertsByEmail.entrySet().stream()
+                    .map(entry -> new Digest(entry.getKey(), entry.getValue()))
+                    .toList();
+            return new Claim(alertIds, digests);
+        });
+    }
+    
+    /**
+     * Hands the digests of a claim to the mail pool without waiting for them.
+     *
+     * @return whether the pool took every digest
+     */
+    private boolean deliver(Claim claim) {
+        if (claim.alertIds().isEmpty()) {
+            return true;
+        }
+        
+        Delivery delivery = new Delivery(claim);
+        claim.digests().forEach(digest -> submit(delivery, digest, 1));
+        return delivery.rejected.isEmpty();
+    }
+    
+    private void submit(Delivery delivery, Digest digest, int attempt) {
+        try {
+            alertMailExecutor.execute(() -> send(delivery, digest, attempt));
+        } catch (TaskRejectedException ex) {
+            log.warn("Mail pool is full, alert digest to {} left for the next poll", digest.recipient());
+            meterRegistry.counter("alerts.email.rejected").increment();
+            delivery.rejected(digest);
+        }
+    }
+    
+    private void send(Delivery delivery, Digest digest, int attempt) {
+        try {
+            rateLimiter.acquire();
+            mailSender.send(digest.toMessage(mailFrom));
+            meterRegistry.counter("alerts.email.sent").increment();
+            delivery.sent();
+        } catch (MailAuthenticationException | MailParseException | MailPreparationException ex) {
+            // Retrying cannot fix these
+            delivery.failed(digest, ex);
+        } catch (MailException ex) {
+            if (attempt >= maxAttempts) {
+                delivery.failed(digest, ex);
+                return;
+            }
+            long backoffMs = backoffMs(attempt);
+            log.warn("Alert digest to {} failed (attempt {}/{}), retrying in {} ms: {}",
+                    digest.recipient(), attempt, maxAttempts, backoffMs, ex.getMessage());
+            meterRegistry.counter("alerts.email.retried").increment();
+            try {
+                taskScheduler.schedule(() -> submit(delivery, digest, attempt + 1), Instant.now().plusMillis(backoffMs));
+            } catch (TaskRejectedException shuttingDown) {
+                delivery.failed(digest, ex);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            delivery.failed(digest, ex);
+        } catch (RuntimeException ex) {
+            delivery.failed(digest, ex);
+        }
+    }
+    
+    /**
+     * Doubles per attempt up to {@code max-backoff-ms}, jittered over the upper half so that
+     * digests failing together do not retry together.
+     */
+    private long backoffMs(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+    }
+    
+    private List<String> emailsOf(Target target) {
+        List<User> users;
+        if (target.userId() != null) {
+            users = userRepository.findById(target.userId()).stream().toList();
+        } else if (target.role() == null) {
+            users = List.of();
+        } else if (target.companyId() == null) {
+            users = userRepository.findByRoleAndIsActiveTrue(UserRole.valueOf(target.role()), Pageable.unpaged()).getContent();
+        } else {
+            users = userRepository.findByCompanyIdAndRoleAndIsActiveTrue(target.companyId(), UserRole.valueOf(target.role()));
+        }
+        return users.stream().map(User::getEmail).filter(Objects::nonNull).distinct().toList();
+    }
+    
+    private record Claim(List<UUID> alertIds, List<Digest> digests) {
+    }
+    
+    /**
+     * Outcome of a claim's digests; whichever finishes last records it.
+     */
+    private final class Delivery {
+        
+        private final Claim claim;
+        private final AtomicInteger pending;
+        private final Set<UUID> failed = ConcurrentHashMap.newKeySet();
+        private final Set<UUID> rejected = ConcurrentHashMap.newKeySet();
+        
+        private Delivery(Claim claim) {
+            this.claim = claim;
+            this.pending = new AtomicInteger(claim.digests().size());
+            if (claim.digests().isEmpty()) {
+                // No recipients: nothing to wait for
+                complete();
+            }
+        }
+        
+        void sent() {
+            done();
+        }
+        
+        void failed(Digest digest, Exception ex) {
+            log.error("Alert digest to {} failed, {} alerts kept for retry",
+                    digest.recipient(), digest.alerts().size(), ex);
+            meterRegistry.counter("alerts.email.failed").increment();
+            failed.addAll(digest.alertIds());
+            done();
+        }
+        
+        void rejected(Digest digest) {
+            rejected.addAll(digest.alertIds());
+            done();
+        }
+        
+        private void done() {
+            if (pending.decrementAndGet() == 0) {
+                complete();
+            }
+        }
+        
+        private void complete() {
+            List<UUID> sent = claim.alertIds().stream()
+                    .filter(id -> !failed.contains(id) && !rejected.contains(id))
+                    .toList();
+            // A failed digest's alerts keep their claim until it expires; those never sent are free at once
+            List<UUID> released = rejected.stream().filter(id -> !failed.contains(id)).toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (!sent.isEmpty()) {
+                        systemAlertRepository.markEmailsSent(sent, LocalDateTime.now());
+                    }
+                    if (!released.isEmpty()) {
+                        systemAlertRepository.releaseEmailClaims(released);
+                    }
+                });
+            } catch (RuntimeException ex) {
+                // The claims expire and the alerts go out again
+                log.error("Could not record the delivery of {} alerts", claim.alertIds().size(), ex);
+                return;
+            }
+            log.info("Emailed {} alerts in {} digests, {} left for retry, {} for the next poll",
+                    sent.size(), claim.digests().size(), failed.size(), released.size());
+        }
+    }
+    
+    private record Target(UUID userId, UUID companyId, String role) {
+        
+        static Target of(SystemAlert alert) {
+            if (alert.getTargetUserId() != null) {
+                return new Target(alert.getTargetUserId(), null, null);
+            }
+            return new Target(null, alert.getCompany() != null ? alert.getCompany().getId() : null, alert.getTargetRole());
+        }
+    }
+    
+    private record PendingAlert(UUID id, AlertPriority priority, String title, String message,
+                                LocalDateTime triggeredAt) {
+        
+        static PendingAlert of(SystemAlert alert) {
+            return new PendingAlert(alert.getId(), alert.getPriority(), alert.getTitle(), alert.getMessage(),
+                    alert.getTriggeredAt());
+        }
+    }
+    
+    private record Digest(String recipient, List<PendingAlert> alerts) {
+        
+        List<UUID> alertIds() {
+            return alerts.stream().map(PendingAlert::id).toList();
+        }
+        
+        SimpleMailMessage toMessage(String from) {
+            List<PendingAlert> ordered = alerts.stream()
+                    .sorted(Comparator.comparing(PendingAlert::priority).reversed()
+                            .thenComparing(PendingAlert::triggeredAt, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .toList();
+            PendingAlert first = ordered.get(0);
+            
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setFrom(from);
+            mail.setTo(recipient);
+            if (ordered.size() == 1) {
+                mail.setSubject("[" + first.priority() + "] " + first.title());
+                mail.setText(first.message());
+                return mail;
+            }
+            
+            mail.setSubject("[" + first.priority() + "] " + ordered.size() + " parking alerts");
+            StringBuilder text = new StringBuilder();
+            for (PendingAlert alert : ordered) {
+                text.append('[').append(alert.priority()).append("] ").append(alert.title());
+                if (alert.triggeredAt() != null) {
+                    text.append(" (").append(alert.triggeredAt()).append(')');
+                }
+                text.append('\n').append(alert.message()).append("\n\n");
+            }
+            mail.setText(text.toString());
+            return mail;
+        }
+    }
+}
@@ -0,0 +1,408 @@
+package com.parkingmanagement.service.alert;
+
+import com.parkingmanagement.event.AlertStatusChangedEvent;
+import com.parkingmanagement.event.SessionEndedEvent;
+import com.parkingmanagement.event.SessionPaidEvent;
+import com.parkingmanagement.event.SessionStartedEvent;
+import com.parkingmanagement.model.entity.SystemAlert;
+import com.parkingmanagement.model.enums.AlertPriority;
+import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.model.enums.PaymentStatus;
+import com.parkingmanagement.model.enums.UserRole;
+import com.parkingmanagement.repository.CompanyRepository;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.ParkingZoneRepository;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import com.parkingmanagement.repository.projection.ParkingMetricView;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps live counters per parking and evaluates the threshold rules on every entry, exit
+ * and payment, creating a {@link SystemAlert} only when a rule changes state. The counters
+ * are seeded from the database the first time a parking is seen and periodically
+ * reconciled, which also corrects changes that bypassed the session events.
+ * <p>
+ * Each parking's state is guarded by its own lock. Transitions are persisted while it
+ * is held so a raise and the matching clear can never be written out of order; they are
+ * rare compared to the events that merely move a counter.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertRuleEngine {
+    
+    private static final List<AlertStatus> OPEN_STATUSES = List.of(AlertStatus.ACTIVE, AlertStatus.ACKNOWLEDGED);
+    
+    private final ParkingSessionRepository parkingSessionRepository;
+    private final ParkingZoneRepository parkingZoneRepository;
+    private final ParkingRepository parkingRepository;
+    private final CompanyRepository companyRepository;
+    private final SystemAlertRepository systemAlertRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final Map<UUID, ParkingAlertState> states = new ConcurrentHashMap<>();
+    private List<ThresholdRule> rules;
+    private Set<AlertType> ruleTypes;
+    private TransactionTemplate writeTemplate;
+    
+    @Value("${app.alerts.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.alerts.low-availability.raise-at-free-spaces:5}")
+    private double lowAvailabilityRaiseAt;
+    
+    @Value("${app.alerts.low-availability.clear-at-free-spaces:10}")
+    private double lowAvailabilityClearAt;
+    
+    @Value("${app.alerts.occupancy.raise-at-percent:90}")
+    private double occupancyRaiseAt;
+    
+    @Value("${app.alerts.occupancy.clear-at-percent:80}")
+    private double occupancyClearAt;
+    
+    @Value("${app.alerts.pending-payments.raise-at:10}")
+    private double pendingPaymentsRaiseAt;
+    
+    @Value("${app.alerts.pending-payments.clear-at:5}")
+    private double pendingPaymentsClearAt;
+    
+    @PostConstruct
+    private void init() {
+        List<ThresholdRule> configured = new ArrayList<>();
+        configured.add(new ThresholdRule(AlertType.LOW_AVAILABILITY, AlertPriority.HIGH, UserRole.SUPERVISOR,
+                ThresholdRule.Direction.BELOW, lowAvailabilityRaiseAt, lowAvailabilityClearAt,
+                "Low availability", "Only %.0f free spaces left (threshold %.0f)",
+                ParkingAlertState::getFreeSpaces));
+        configured.add(new ThresholdRule(AlertType.OCCUPANCY_THRESHOLD, AlertPriority.MEDIUM, UserRole.SUPERVISOR,
+                ThresholdRule.Direction.ABOVE, occupancyRaiseAt, occupancyClearAt,
+                "Occupancy threshold exceeded", "Occupancy at %.1f%% (threshold %.0f%%)",
+                ParkingAlertState::getOccupancyPercent));
+        configured.add(new ThresholdRule(AlertType.PENDING_PAYMENT, AlertPriority.MEDIUM, UserRole.COMPANY_ADMIN,
+                ThresholdRule.Direction.ABOVE, pendingPaymentsRaiseAt, pendingPaymentsClearAt,
+                "Pending payments", "%.0f closed sessions are awaiting payment (threshold %.0f)",
+                state -> state.getPendingPayments()));
+        
+        rules = List.copyOf(configured);
+        ruleTypes = Collections.unmodifiableSet(rules.stream()
+                .map(ThresholdRule::getAlertType)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(AlertType.class))));
+        
+        // Transitions are written from after-commit listeners, where the triggering
+        // transaction can no longer be joined
+        writeTemplate = new TransactionTemplate(transactionManager);
+        writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    public Set<AlertType> getRuleTypes() {
+        return ruleTypes;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            reconcile(ruleTypes, true);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionStarted(SessionStartedEvent event) {
+        update(event.getParkingId(), event.getCompanyId(), state -> state.setOccupied(state.getOccupied() + 1));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionEnded(SessionEndedEvent event) {
+        update(event.getParkingId(), event.getCompanyId(), state -> {
+            state.setOccupied(Math.max(0, state.getOccupied() - 1));
+            if (event.getPaymentStatus() == PaymentStatus.PENDING) {
+                state.setPendingPayments(state.getPendingPayments() + 1);
+            }
+        });
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionPaid(SessionPaidEvent event) {
+        update(event.getParkingId(), event.getCompanyId(),
+                state -> state.setPendingPayments(Math.max(0, state.getPendingPayments() - 1)));
+    }
+    
+    /**
+     * Re-reads the counters behind the given alert types for every parking with one
+     * grouped query per counter and evaluates the matching rules.
+     *
+     * @return the number of parkings whose live counters had drifted from the database
+     */
+    public int reconcile(Set<AlertType> types) {
+        return enabled ? reconcile(types, false) : 0;
+    }
+    
+    private int reconcile(Set<AlertType> types, boolean reloadOpenAlerts) {
+        boolean occupancy = types.contains(AlertType.LOW_AVAILABILITY) || types.contains(AlertType.OCCUPANCY_THRESHOLD);
+        boolean pending = types.contains(AlertType.PENDING_PAYMENT);
+        
+        Map<UUID, ParkingMetricView> capacities = occupancy ? index(parkingZoneRepository.sumCapacityByParking()) : null;
+        Map<UUID, ParkingMetricView> occupied = occupancy ? index(parkingSessionRepository.countOpenSessionsByParking()) : null;
+        Map<UUID, ParkingMetricView> pendingPayments = pending ? index(parkingSessionRepository.countPendingPaymentsByParking()) : null;
+        Map<UUID, Map<AlertType, UUID>> openAlerts = reloadOpenAlerts ? loadOpenAlerts(types) : null;
+        
+        Set<UUID> parkingIds = new HashSet<>(states.keySet());
+        List<UUID> unseen = new ArrayList<>();
+        for (Map<UUID, ParkingMetricView> loaded : Arrays.asList(capacities, occupied, pendingPayments)) {
+            if (loaded != null) {
+                parkingIds.addAll(loaded.keySet());
+            }
+        }
+        
+        int drifted = 0;
+        for (UUID parkingId : parkingIds) {
+            ParkingAlertState state = states.get(parkingId);
+            if (state == null) {
+                unseen.add(parkingId);
+                continue;
+            }
+            
+            state.getLock().lock();
+            try {
+                boolean drift = false;
+                if (occupancy) {
+                    long actualOccupied = longValue(occupied.get(parkingId));
+                    drift = state.getOccupied() != actualOccupied;
+                    state.setCapacity(longValue(capacities.get(parkingId)));
+                    state.setOccupied(actualOccupied);
+                }
+                if (pending) {
+                    long actualPending = longValue(pendingPayments.get(parkingId));
+                    drift |= state.getPendingPayments() != actualPending;
+                    state.setPendingPayments(actualPending);
+                }
+                if (reloadOpenAlerts) {
+                    state.getOpenAlerts().keySet().removeAll(types);
+                    state.getOpenAlerts().putAll(openAlerts.getOrDefault(parkingId, Map.of()));
+                }
+                if (drift) {
+                    drifted++;
+                }
+                evaluate(state, types);
+            } finally {
+                state.getLock().unlock();
+            }
+        }
+        
+        if (!unseen.isEmpty()) {
+            // New parkings need every counter; the ones this pass skipped also come grouped
+            if (!occupancy) {
+                capacities = index(parkingZoneRepository.sumCapacityByParking());
+                occupied = index(parkingSessionRepository.countOpenSessionsByParking());
+            }
+            if (!pending) {
+                pendingPayments = index(parkingSessionRepository.countPendingPaymentsByParking());
+            }
+            if (!reloadOpenAlerts || !types.containsAll(ruleTypes)) {
+                openAlerts = loadOpenAlerts(ruleTypes);
+            }
+            for (UUID parkingId : unseen) {
+                ParkingAlertState state = new ParkingAlertState(parkingId,
+                        companyOf(parkingId, capacities, occupied, pendingPayments));
+                state.setCapacity(longValue(capacities.get(parkingId)));
+                state.setOccupied(longValue(occupied.get(parkingId)));
+                state.setPendingPayments(longValue(pendingPayments.get(parkingId)));
+                state.getOpenAlerts().putAll(openAlerts.getOrDefault(parkingId, Map.of()));
+                seedAndEvaluate(state);
+            }
+        }
+        
+        if (drifted > 0) {
+            log.warn("Alert state of {} parkings drifted from the database and was corrected", drifted);
+        }
+        return drifted;
+    }
+    
+    private void update(UUID parkingId, UUID companyId, Consumer<ParkingAlertState> change) {
+        if (!enabled || parkingId == null) {
+            return;
+        }
+        
+        ParkingAlertState state = states.get(parkingId);
+        if (state == null) {
+            // Listeners run after commit, so a fresh seed already includes this change
+            seedAndEvaluate(seed(parkingId, companyId));
+            return;
+        }
+        
+        state.getLock().lock();
+        try {
+            if (state.getCompanyId() == null) {
+                state.setCompanyId(companyId);
+            }
+            change.accept(state);
+            evaluate(state, ruleTypes);
+        } finally {
+            state.getLock().unlock();
+        }
+    }
+    
+    /**
+     * Installs {@code seeded} unless an event seeded the parking meanwhile, then evaluates
+     * every rule against whichever state won.
+     */
+    private void seedAndEvaluate(ParkingAlertState seeded) {
+        ParkingAlertState existing = states.putIfAbsent(seeded.getParkingId(), seeded);
+        ParkingAlertState state = existing != null ? existing : seeded;
+        state.getLock().lock();
+        try {
+            evaluate(state, ruleTypes);
+        } finally {
+            state.getLock().unlock();
+        }
+    }
+    
+    /**
+     * Loads one parking's counters on its own, for a parking first seen through an event;
+     * reconcile builds the states of parkings it finds from its grouped queries instead.
+     */
+    private ParkingAlertState seed(UUID parkingId, UUID companyId) {
+        ParkingAlertState state = new ParkingAlertState(parkingId, companyId);
+        state.setCapacity(parkingZoneRepository.sumCapacity(null, parkingId));
+        state.setOccupied(parkingSessionRepository.countByParkingIdAndExitTimeIsNull(parkingId));
+        state.setPendingPayments(parkingSessionRepository
+                .countByParkingIdAndExitTimeIsNotNullAndPaymentStatus(parkingId, PaymentStatus.PENDING));
+        for (SystemAlert alert : systemAlertRepository.findByParking_IdAndAlertTypeInAndStatusIn(parkingId, ruleTypes, OPEN_STATUSES)) {
+            state.getOpenAlerts().putIfAbsent(alert.getAlertType(), alert.getId());
+        }
+        log.debug("Alert state of parking {} seeded: {}/{} occupied, {} pending payments",
+                parkingId, state.getOccupied(), state.getCapacity(), state.getPendingPayments());
+        return state;
+    }
+    
+    /**
+     * Caller must hold the state's lock.
+     */
+    private void evaluate(ParkingAlertState state, Set<AlertType> types) {
+        for (ThresholdRule rule : rules) {
+            if (!types.contains(rule.getAlertType())) {
+                continue;
+            }
+            
+            double value = rule.valueOf(state);
+            UUID openAlertId = state.getOpenAlerts().get(rule.getAlertType());
+            if (openAlertId == null && rule.shouldRaise(value)) {
+                UUID alertId = raise(state, rule, value);
+                if (alertId != null) {
+                    state.getOpenAlerts().put(rule.getAlertType(), alertId);
+                }
+            } else if (openAlertId != null && rule.shouldClear(value)) {
+                if (clear(openAlertId)) {
+                    state.getOpenAlerts().remove(rule.getAlertType());
+                }
+            }
+        }
+    }
+    
+    private UUID raise(ParkingAlertState state, ThresholdRule rule, double value) {
+        try {
+            UUID alertId = writeTemplate.execute(status -> {
+                SystemAlert alert = new SystemAlert();
+                alert.setAlertType(rule.getAlertType());
+                alert.setPriority(rule.getPriority());
+                alert.setTitle(rule.getTitle());
+                alert.setMessage(rule.formatMessage(value));
+                alert.setParking(parkingRepository.getReferenceById(state.getParkingId()));
+                if (state.getCompanyId() != null) {
+                    alert.setCompany(companyRepository.getReferenceById(state.getCompanyId()));
+                }
+                alert.setTargetRole(rule.getTargetRole().name());
+                alert.setStatus(AlertStatus.ACTIVE);
+                alert.setTriggeredAt(LocalDateTime.now());
+                alert.setMetadata(String.format(Locale.ROOT, "{\"value\":%.2f,\"raiseAt\":%.2f,\"clearAt\":%.2f}",
+                        value, rule.getRaiseAt(), rule.getClearAt()));
+                SystemAlert savedAlert = systemAlertRepository.save(alert);
+                eventPublisher.publishEvent(AlertStatusChangedEvent.of(savedAlert, null));
+                return savedAlert.getId();
+            });
+            log.info("{} alert raised for parking {} at {}", rule.getAlertType(), state.getParkingId(), value);
+            return alertId;
+        } catch (RuntimeException ex) {
+            // The rule is still untriggered, so the next change retries
+            log.error("Failed to raise {} alert for parking {}", rule.getAlertType(), state.getParkingId(), ex);
+            return null;
+        }
+    }
+    
+    private boolean clear(UUID alertId) {
+        try {
+            writeTemplate.executeWithoutResult(status -> systemAlertRepository.findById(alertId)
+                    .filter(alert -> OPEN_STATUSES.contains(alert.getStatus()))
+                    .ifPresent(alert -> {
+                        AlertStatus previousStatus = alert.getStatus();
+                        alert.setStatus(AlertStatus.RESOLVED);
+                        alert.setResolvedAt(LocalDateTime.now());
+                        eventPublisher.publishEvent(AlertStatusChangedEvent.of(systemAlertRepository.save(alert), previousStatus));
+                    }));
+            log.info("Alert {} resolved, its condition cleared", alertId);
+            return true;
+        } catch (RuntimeException ex) {
+            log.error("Failed to resolve alert {}", alertId, ex);
+            return false;
+        }
+    }
+    
+    private Map<UUID, Map<AlertType, UUID>> loadOpenAlerts(Set<AlertType> types) {
+        Map<UUID, Map<AlertType, UUID>> byParking = new HashMap<>();
+        for (SystemAlert alert : systemAlertRepository.findByAlertTypeInAndStatusIn(types, OPEN_STATUSES)) {
+            if (alert.getParking() != null) {
+                byParking.computeIfAbsent(alert.getParking().getId(), id -> new HashMap<>())
+                        .putIfAbsent(alert.getAlertType(), alert.getId());
+            }
+        }
+        return byParking;
+    }
+    
+    private static Map<UUID, ParkingMetricView> index(List<ParkingMetricView> views) {
+        return views.stream().collect(Collectors.toMap(ParkingMetricView::getParkingId, Function.identity()));
+    }
+    
+    @SafeVarargs
+    private static UUID companyOf(UUID parkingId, Map<UUID, ParkingMetricView>... sources) {
+        for (Map<UUID, ParkingMetricView> source : sources) {
+            ParkingMetricView view = source.get(parkingId);
+            if (view != null && view.getCompanyId() != null) {
+                return view.getCompanyId();
+            }
+        }
+        return null;
+    }
+    
+    private static long longValue(ParkingMetricView view) {
+        return view != null && view.getValue() != null ? view.getValue().longValue() : 0;
+    }
+}
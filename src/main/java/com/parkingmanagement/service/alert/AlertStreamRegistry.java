@@ -0,0 +1,108 @@
+package com.parkingmanagement.service.alert;
+
+import com.parkingmanagement.model.enums.UserRole;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Server-sent event connections of signed-in users, one user possibly holding several
+ * (one per open tab).
+ */
+@Component
+@Slf4j
+public class AlertStreamRegistry {
+    
+    private final Map<UUID, Subscriber> subscribers = new ConcurrentHashMap<>();
+    
+    @Value("${app.alerts.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+    
+    public SseEmitter register(UUID userId, UserRole role) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = subscribers.compute(userId, (id, existing) ->
+                existing != null && existing.role() == role ? existing : new Subscriber(role, new CopyOnWriteArrayList<>()));
+        subscriber.emitters().add(emitter);
+        
+        Runnable remove = () -> unregister(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(ex -> remove.run());
+        return emitter;
+    }
+    
+    public boolean isConnected(UUID userId) {
+        return subscribers.containsKey(userId);
+    }
+    
+    public Set<UUID> getConnectedUsers() {
+        return Set.copyOf(subscribers.keySet());
+    }
+    
+    public UserRole getRole(UUID userId) {
+        Subscriber subscriber = subscribers.get(userId);
+        return subscriber != null ? subscriber.role() : null;
+    }
+    
+    public Set<UUID> getConnectedUsers(String role) {
+        return subscribers.entrySet().stream()
+                .filter(entry -> entry.getValue().role().name().equals(role))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+    
+    public void send(UUID userId, String eventName, Object data) {
+        Subscriber subscriber = subscribers.get(userId);
+        if (subscriber == null) {
+            return;
+        }
+        for (SseEmitter emitter : subscriber.emitters()) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away; the container may not have told us yet
+                log.debug("Dropping alert stream of user {}: {}", userId, ex.getMessage());
+                emitter.completeWithError(ex);
+                unregister(userId, emitter);
+            }
+        }
+    }
+    
+    /**
+     * Keeps idle connections from being closed by proxies between the client and us.
+     */
+    @Scheduled(fixedDelayString = "${app.alerts.stream.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        for (Map.Entry<UUID, Subscriber> entry : subscribers.entrySet()) {
+            for (SseEmitter emitter : entry.getValue().emitters()) {
+                try {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } catch (IOException | IllegalStateException ex) {
+                    emitter.completeWithError(ex);
+                    unregister(entry.getKey(), emitter);
+                }
+            }
+        }
+    }
+    
+    private void unregister(UUID userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, subscriber) -> {
+            subscriber.emitters().remove(emitter);
+            return subscriber.emitters().isEmpty() ? null : subscriber;
+        });
+    }
+    
+    private record Subscriber(UserRole role, List<SseEmitter> emitters) {
+    }
+}
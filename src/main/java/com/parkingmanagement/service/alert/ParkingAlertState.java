@@ -0,0 +1,42 @@
+package com.parkingmanagement.service.alert;
+
+import com.parkingmanagement.model.enums.AlertType;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Live counters of one parking plus the alerts the rule engine currently holds open for it.
+ * Not thread-safe on its own; the engine mutates it while holding {@link #getLock()}, a lock
+ * rather than the monitor because alerts are written while it is held and a virtual thread
+ * blocked inside {@code synchronized} would pin its carrier.
+ */
+@Getter
+@Setter
+public final class ParkingAlertState {
+    
+    private final UUID parkingId;
+    private UUID companyId;
+    private long capacity;
+    private long occupied;
+    private long pendingPayments;
+    private final Map<AlertType, UUID> openAlerts = new EnumMap<>(AlertType.class);
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    public ParkingAlertState(UUID parkingId, UUID companyId) {
+        this.parkingId = parkingId;
+        this.companyId = companyId;
+    }
+    
+    public double getFreeSpaces() {
+        return capacity > 0 ? Math.max(0, capacity - occupied) : Double.NaN;
+    }
+    
+    public double getOccupancyPercent() {
+        return capacity > 0 ? occupied * 100.0 / capacity : Double.NaN;
+    }
+}
@@ -0,0 +1,281 @@
+package com.parkingmanagement.service.alert;
+
+import com.parkingmanagement.event.AlertStatusChangedEvent;
+import com.parkingmanagement.event.SessionPaidEvent;
+import com.parkingmanagement.model.entity.SystemAlert;
+import com.parkingmanagement.model.enums.AlertPriority;
+import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.model.enums.UserRole;
+import com.parkingmanagement.repository.CompanyRepository;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import com.parkingmanagement.repository.projection.HourlyRevenueView;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Raises a {@link AlertType#REVENUE_THRESHOLD} alert when a parking's hourly revenue strays
+ * more than {@code raise-at-sigma} standard deviations from what that hour of the week
+ * usually brings, and resolves it once a closed hour is back within {@code clear-at-sigma}.
+ * <p>
+ * Baselines are updated from {@link SessionPaidEvent}s and an hourly sweep that closes the
+ * elapsed hour, both in memory; the database is only read once at startup to learn from
+ * the last {@code warm-up-weeks} of paid sessions. A spike is caught while the hour is in
+ * progress, a shortfall only once the hour has closed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueAnomalyDetector {
+    
+    private static final List<AlertStatus> OPEN_STATUSES = List.of(AlertStatus.ACTIVE, AlertStatus.ACKNOWLEDGED);
+    
+    private final ParkingSessionRepository parkingSessionRepository;
+    private final ParkingRepository parkingRepository;
+    private final CompanyRepository companyRepository;
+    private final SystemAlertRepository systemAlertRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final Map<UUID, RevenueBaseline> baselines = new ConcurrentHashMap<>();
+    private TransactionTemplate writeTemplate;
+    
+    @Value("${app.alerts.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.alerts.revenue.alpha:0.2}")
+    private double alpha;
+    
+    @Value("${app.alerts.revenue.raise-at-sigma:3}")
+    private double raiseAtSigma;
+    
+    @Value("${app.alerts.revenue.clear-at-sigma:2}")
+    private double clearAtSigma;
+    
+    @Value("${app.alerts.revenue.min-samples:4}")
+    private int minSamples;
+    
+    @Value("${app.alerts.revenue.min-std-dev:5}")
+    private double minStdDev;
+    
+    @Value("${app.alerts.revenue.warm-up-weeks:8}")
+    private int warmUpWeeks;
+    
+    @PostConstruct
+    private void init() {
+        // Like the rule engine, alerts are written from after-commit listeners
+        writeTemplate = new TransactionTemplate(transactionManager);
+        writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        
+        try {
+            Map<UUID, RevenueBaseline> warmed = learnFromHistory(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS));
+            // Payments arriving during the warm-up already created live baselines; those keep
+            // their hour in progress and take over the learned statistics
+            warmed.forEach((parkingId, history) -> baselines.merge(parkingId, history, RevenueAnomalyDetector::absorb));
+            log.info("Revenue baselines of {} parkings learned from the last {} weeks", warmed.size(), warmUpWeeks);
+        } catch (RuntimeException e) {
+            // Not fatal: baselines are then learned from live payments only
+            log.error("Could not learn revenue baselines from history", e);
+        }
+    }
+    
+    private Map<UUID, RevenueBaseline> learnFromHistory(LocalDateTime now) {
+        Map<UUID, RevenueBaseline> warmed = new HashMap<>();
+        // Ordered by hour, so each baseline is replayed in time order
+        for (HourlyRevenueView view : parkingSessionRepository.sumPaidRevenueByParkingAndHourSince(now.minusWeeks(warmUpWeeks))) {
+            RevenueBaseline baseline = warmed.computeIfAbsent(view.getParkingId(),
+                    id -> new RevenueBaseline(id, view.getCompanyId()));
+            advance(baseline, view.getHourStart(), false);
+            baseline.addRevenue(view.getRevenue() != null ? view.getRevenue().doubleValue() : 0);
+        }
+        for (SystemAlert alert : systemAlertRepository.findByAlertTypeInAndStatusIn(Set.of(AlertType.REVENUE_THRESHOLD), OPEN_STATUSES)) {
+            if (alert.getParking() != null) {
+                warmed.computeIfAbsent(alert.getParking().getId(), id -> new RevenueBaseline(id, null))
+                        .setOpenAlertId(alert.getId());
+            }
+        }
+        for (RevenueBaseline baseline : warmed.values()) {
+            advance(baseline, now, false);
+        }
+        return warmed;
+    }
+    
+    private static RevenueBaseline absorb(RevenueBaseline live, RevenueBaseline history) {
+        live.getLock().lock();
+        try {
+            live.absorbHistory(history);
+        } finally {
+            live.getLock().unlock();
+        }
+        return live;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionPaid(SessionPaidEvent event) {
+        if (!enabled || event.getParkingId() == null || event.getAmount() == null) {
+            return;
+        }
+        
+        LocalDateTime paidAt = event.getPaidAt() != null ? event.getPaidAt() : LocalDateTime.now();
+        RevenueBaseline baseline = baselines.computeIfAbsent(event.getParkingId(),
+                id -> new RevenueBaseline(id, event.getCompanyId()));
+        baseline.getLock().lock();
+        try {
+            if (baseline.getCompanyId() == null) {
+                baseline.setCompanyId(event.getCompanyId());
+            }
+            advance(baseline, paidAt.truncatedTo(ChronoUnit.HOURS), true);
+            baseline.addRevenue(event.getAmount().doubleValue());
+        
+            // Mid-hour the revenue can only be judged too high; it is still growing
+            double zScore = baseline.zScore(baseline.getCurrentHour(), baseline.getCurrentRevenue(), minSamples, minStdDev);
+            if (baseline.getOpenAlertId() == null && zScore >= raiseAtSigma) {
+                raise(baseline, baseline.getCurrentHour(), baseline.getCurrentRevenue(), zScore);
+            }
+        } finally {
+            baseline.getLock().unlock();
+        }
+    }
+    
+    /**
+     * Closes the elapsed hour of every parking and evaluates it, so that an hour without any
+     * payment is noticed too. Works on the in-memory baselines only.
+     */
+    @Scheduled(cron = "${app.alerts.revenue.close-hour-cron:0 1 * * * *}")
+    public void closeElapsedHours() {
+        if (!enabled) {
+            return;
+        }
+        
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        for (RevenueBaseline baseline : baselines.values()) {
+            baseline.getLock().lock();
+            try {
+                advance(baseline, hour, true);
+            } finally {
+                baseline.getLock().unlock();
+            }
+        }
+    }
+    
+    /**
+     * Moves the baseline to {@code hour}: the hour in progress and every hour without
+     * revenue since are folded into the statistics. Caller must hold the baseline's lock.
+     */
+    private void advance(RevenueBaseline baseline, LocalDateTime hour, boolean evaluate) {
+        LocalDateTime current = baseline.getCurrentHour();
+        if (current == null) {
+            baseline.startHour(hour);
+            return;
+        }
+        if (!hour.isAfter(current)) {
+            // A late payment is counted in the hour in progress
+            return;
+        }
+        
+        if (evaluate) {
+            evaluateClosedHour(baseline, current, baseline.getCurrentRevenue());
+        }
+        baseline.observe(current, baseline.getCurrentRevenue(), alpha);
+        
+        // Beyond a week every hour of the week has been folded once; more adds nothing
+        long emptyHours = Math.min(ChronoUnit.HOURS.between(current, hour) - 1, RevenueBaseline.HOURS_PER_WEEK);
+        for (long i = emptyHours; i > 0; i--) {
+            baseline.observe(hour.minusHours(i), 0, alpha);
+        }
+        baseline.startHour(hour);
+    }
+    
+    private void evaluateClosedHour(RevenueBaseline baseline, LocalDateTime hour, double revenue) {
+        double zScore = baseline.zScore(hour, revenue, minSamples, minStdDev);
+        if (Double.isNaN(zScore)) {
+            return;
+        }
+        if (baseline.getOpenAlertId() == null && Math.abs(zScore) >= raiseAtSigma) {
+            raise(baseline, hour, revenue, zScore);
+        } else if (baseline.getOpenAlertId() != null && Math.abs(zScore) <= clearAtSigma && clear(baseline.getOpenAlertId())) {
+            baseline.setOpenAlertId(null);
+        }
+    }
+    
+    private void raise(RevenueBaseline baseline, LocalDateTime hour, double revenue, double zScore) {
+        double expected = baseline.getExpected(hour);
+        double stdDev = baseline.getStdDev(hour, minStdDev);
+        try {
+            UUID alertId = writeTemplate.execute(status -> {
+                SystemAlert alert = new SystemAlert();
+                alert.setAlertType(AlertType.REVENUE_THRESHOLD);
+                alert.setPriority(AlertPriority.MEDIUM);
+                alert.setTitle(zScore > 0 ? "Unusually high revenue" : "Unusually low revenue");
+                alert.setMessage(String.format(Locale.ROOT, "Revenue for the hour from %s is %.2f, usually %.2f +/- %.2f (%.1f sigma)",
+                        hour, revenue, expected, stdDev, zScore));
+                alert.setParking(parkingRepository.getReferenceById(baseline.getParkingId()));
+                if (baseline.getCompanyId() != null) {
+                    alert.setCompany(companyRepository.getReferenceById(baseline.getCompanyId()));
+                }
+                alert.setTargetRole(UserRole.COMPANY_ADMIN.name());
+                alert.setStatus(AlertStatus.ACTIVE);
+                alert.setTriggeredAt(LocalDateTime.now());
+                alert.setMetadata(String.format(Locale.ROOT,
+                        "{\"hour\":\"%s\",\"revenue\":%.2f,\"expected\":%.2f,\"stdDev\":%.2f,\"zScore\":%.2f}",
+                        hour, revenue, expected, stdDev, zScore));
+                SystemAlert savedAlert = systemAlertRepository.save(alert);
+                eventPublisher.publishEvent(AlertStatusChangedEvent.of(savedAlert, null));
+                return savedAlert.getId();
+            });
+            baseline.setOpenAlertId(alertId);
+            log.info("Revenue anomaly raised for parking {}: {} at {} sigma", baseline.getParkingId(), revenue, zScore);
+        } catch (RuntimeException ex) {
+            // Still unraised, so the next payment or closed hour retries
+            log.error("Failed to raise revenue anomaly for parking {}", baseline.getParkingId(), ex);
+        }
+    }
+    
+    private boolean clear(UUID alertId) {
+        try {
+            writeTemplate.executeWithoutResult(status -> systemAlertRepository.findById(alertId)
+                    .filter(alert -> OPEN_STATUSES.contains(alert.getStatus()))
+                    .ifPresent(alert -> {
+                        AlertStatus previousStatus = alert.getStatus();
+                        alert.setStatus(AlertStatus.RESOLVED);
+                        alert.setResolvedAt(LocalDateTime.now());
+                        eventPublisher.publishEvent(AlertStatusChangedEvent.of(systemAlertRepository.save(alert), previousStatus));
+                    }));
+            log.info("Revenue anomaly {} resolved", alertId);
+            return true;
+        } catch (RuntimeException ex) {
+            log.error("Failed to resolve revenue anomaly {}", alertId, ex);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.parkingmanagement.service.alert;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exponentially weighted mean and variance of one parking's hourly revenue, kept separately
+ * for each of the 168 hours of the week, plus the revenue of the hour in progress.
+ * Not thread-safe on its own; the detector mutates it while holding {@link #getLock()}.
+ */
+@Getter
+final class RevenueBaseline {
+    
+    static final int HOURS_PER_WEEK = 7 * 24;
+    
+    private final UUID parkingId;
+    @Setter
+    private UUID companyId;
+    @Getter(AccessLevel.NONE)
+    private final double[] mean = new double[HOURS_PER_WEEK];
+    @Getter(AccessLevel.NONE)
+    private final double[] variance = new double[HOURS_PER_WEEK];
+    @Getter(AccessLevel.NONE)
+    private final int[] samples = new int[HOURS_PER_WEEK];
+    private LocalDateTime currentHour;
+    private double currentRevenue;
+    @Setter
+    private UUID openAlertId;
+    private final ReentrantLock lock = new ReentrantLock();
+    
+    RevenueBaseline(UUID parkingId, UUID companyId) {
+        this.parkingId = parkingId;
+        this.companyId = companyId;
+    }
+    
+    static int slotOf(LocalDateTime hour) {
+        return (hour.getDayOfWeek().getValue() - 1) * 24 + hour.getHour();
+    }
+    
+    void startHour(LocalDateTime hour) {
+        currentHour = hour;
+        currentRevenue = 0;
+    }
+    
+    void addRevenue(double amount) {
+        currentRevenue += amount;
+    }
+    
+    /**
+     * Folds the revenue of a closed hour into the statistics of its hour of the week.
+     */
+    void observe(LocalDateTime hour, double revenue, double alpha) {
+        int slot = slotOf(hour);
+        if (samples[slot]++ == 0) {
+            mean[slot] = revenue;
+            variance[slot] = 0;
+            return;
+        }
+        double diff = revenue - mean[slot];
+        double increment = alpha * diff;
+        mean[slot] += increment;
+        variance[slot] = (1 - alpha) * (variance[slot] + diff * increment);
+    }
+    
+    int getSamples(LocalDateTime hour) {
+        return samples[slotOf(hour)];
+    }
+    
+    double getExpected(LocalDateTime hour) {
+        return mean[slotOf(hour)];
+    }
+    
+    double getStdDev(LocalDateTime hour, double minStdDev) {
+        return Math.max(Math.sqrt(variance[slotOf(hour)]), minStdDev);
+    }
+    
+    /**
+     * Adopts the statistics a warm-up learned from history while this baseline was already
+     * counting live payments. The live hour in progress is kept; if the history ends in the
+     * same hour, payments committed before the history query ran may be in both totals, and
+     * the larger one loses none of them. Caller must hold this baseline's lock.
+     */
+    void absorbHistory(RevenueBaseline history) {
+        System.arraycopy(history.mean, 0, mean, 0, HOURS_PER_WEEK);
+        System.arraycopy(history.variance, 0, variance, 0, HOURS_PER_WEEK);
+        System.arraycopy(history.samples, 0, samples, 0, HOURS_PER_WEEK);
+        if (companyId == null) {
+            companyId = history.companyId;
+        }
+        if (openAlertId == null) {
+            openAlertId = history.openAlertId;
+        }
+        if (currentHour == null) {
+            currentHour = history.currentHour;
+            currentRevenue = history.currentRevenue;
+        } else if (currentHour.equals(history.currentHour)) {
+            currentRevenue = Math.max(currentRevenue, history.currentRevenue);
+        }
+    }
+    
+    /**
+     * @return how many standard deviations {@code revenue} is from the usual revenue of
+     *         {@code hour}, or NaN while that hour of the week has fewer than {@code minSamples}
+     */
+    double zScore(LocalDateTime hour, double revenue, int minSamples, double minStdDev) {
+        if (getSamples(hour) < minSamples) {
+            return Double.NaN;
+        }
+        return (revenue - getExpected(hour)) / getStdDev(hour, minStdDev);
+    }
+}
@@ -0,0 +1,69 @@
+package com.parkingmanagement.service.alert;
+
+import com.parkingmanagement.model.enums.AlertPriority;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.model.enums.UserRole;
+import lombok.Getter;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * A threshold on one per-parking metric. The alert is raised when the metric crosses
+ * {@code raiseAt} and only cleared once it has moved back past {@code clearAt}, so a
+ * value oscillating around a single threshold does not flap.
+ */
+@Getter
+public final class ThresholdRule {
+    
+    public enum Direction {
+        ABOVE,
+        BELOW
+    }
+    
+    private final AlertType alertType;
+    private final AlertPriority priority;
+    private final UserRole targetRole;
+    private final Direction direction;
+    private final double raiseAt;
+    private final double clearAt;
+    private final String title;
+    private final String messageFormat;
+    private final ToDoubleFunction<ParkingAlertState> metric;
+    
+    public ThresholdRule(AlertType alertType, AlertPriority priority, UserRole targetRole, Direction direction,
+                         double raiseAt, double clearAt, String title, String messageFormat,
+                         ToDoubleFunction<ParkingAlertState> metric) {
+        if (direction == Direction.ABOVE ? clearAt > raiseAt : clearAt < raiseAt) {
+            throw new IllegalArgumentException("Clear threshold of " + alertType
+                    + " must be on the safe side of the raise threshold");
+        }
+        this.alertType = alertType;
+        this.priority = priority;
+        this.targetRole = targetRole;
+        this.direction = direction;
+        this.raiseAt = raiseAt;
+        this.clearAt = clearAt;
+        this.title = title;
+        this.messageFormat = messageFormat;
+        this.metric = metric;
+    }
+    
+    public double valueOf(ParkingAlertState state) {
+        return metric.applyAsDouble(state);
+    }
+    
+    /**
+     * NaN (metric not available, e.g. a parking without zones) never raises or clears.
+     */
+    public boolean shouldRaise(double value) {
+        return direction == Direction.ABOVE ? value >= raiseAt : value <= raiseAt;
+    }
+    
+    public boolean shouldClear(double value) {
+        return direction == Direction.ABOVE ? value <= clearAt : value >= clearAt;
+    }
+    
+    public String formatMessage(double value) {
+        return String.format(messageFormat, value, raiseAt);
+    }
+}
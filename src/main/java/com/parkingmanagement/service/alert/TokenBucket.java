@@ -0,0 +1,47 @@
+package com.parkingmanagement.service.alert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket refilled at a fixed rate up to {@code burst} tokens. Callers reserve a token
+ * and sleep until it is due, so concurrent callers are spread evenly instead of racing.
+ */
+final class TokenBucket {
+    
+    private final double tokensPerNano;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt;
+    
+    /**
+     * @param permitsPerSecond refill rate; zero or less disables the limit
+     */
+    TokenBucket(double permitsPerSecond, int burst) {
+        this.tokensPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = Math.max(1, burst);
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+    
+    void acquire() throws InterruptedException {
+        long waitNanos = reserve(System.nanoTime());
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+    
+    /**
+     * Takes a token, possibly one that is only refilled in the future.
+     *
+     * @return nanoseconds until the token taken is available
+     */
+    synchronized long reserve(long now) {
+        if (tokensPerNano <= 0) {
+            return 0;
+        }
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+        refilledAt = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+}
@@ -0,0 +1,146 @@
+package com.parkingmanagement.service.alert;
+
+import com.parkingmanagement.event.AlertStatusChangedEvent;
+import com.parkingmanagement.model.enums.AlertPriority;
+import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.model.enums.UserRole;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import com.parkingmanagement.repository.projection.AlertTargetCountView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory count of ACTIVE alerts per target user and per target role, matching
+ * {@link SystemAlertRepository#countUnreadAlertsForUser}: a user sees the alerts addressed
+ * to them plus those addressed to their role, an alert addressed to both counted once.
+ * <p>
+ * Counts move with {@link AlertStatusChangedEvent}s after commit and are pushed to
+ * connected clients. They are rebuilt from the table at startup and periodically, which
+ * also absorbs any change made outside the alert services.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadAlertCounter {
+    
+    public static final String UNREAD_EVENT = "unread";
+    public static final String ALERT_EVENT = "alert";
+    
+    private final SystemAlertRepository systemAlertRepository;
+    private final AlertStreamRegistry streamRegistry;
+    
+    private volatile Counts counts = new Counts();
+    
+    public long getUnreadCount(UUID userId, UserRole role) {
+        return counts.unread(userId, role.name());
+    }
+    
+    public SseEmitter subscribe(UUID userId, UserRole role) {
+        SseEmitter emitter = streamRegistry.register(userId, role);
+        streamRegistry.send(userId, UNREAD_EVENT, new UnreadCount(getUnreadCount(userId, role)));
+        return emitter;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.alerts.unread.rebuild-interval-ms:3600000}",
+               initialDelayString = "${app.alerts.unread.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        Counts rebuilt = new Counts();
+        for (AlertTargetCountView view : systemAlertRepository.countActiveAlertsByTarget()) {
+            rebuilt.add(view.getTargetUserId(), view.getTargetRole(), view.getCount());
+        }
+        counts = rebuilt;
+        log.debug("Unread alert counters rebuilt for {} users and {} roles",
+                rebuilt.byUser.size(), rebuilt.byRole.size());
+        
+        for (UUID userId : streamRegistry.getConnectedUsers()) {
+            pushCount(userId);
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAlertStatusChanged(AlertStatusChangedEvent event) {
+        long delta = (event.getStatus() == AlertStatus.ACTIVE ? 1 : 0)
+                - (event.getPreviousStatus() == AlertStatus.ACTIVE ? 1 : 0);
+        if (delta != 0) {
+            counts.add(event.getTargetUserId(), event.getTargetRole(), delta);
+        }
+        
+        Set<UUID> recipients = new HashSet<>();
+        if (event.getTargetUserId() != null && streamRegistry.isConnected(event.getTargetUserId())) {
+            recipients.add(event.getTargetUserId());
+        }
+        if (event.getTargetRole() != null) {
+            recipients.addAll(streamRegistry.getConnectedUsers(event.getTargetRole()));
+        }
+        
+        AlertNotification notification = new AlertNotification(event.getAlertId(), event.getAlertType(),
+                event.getPriority(), event.getTitle(), event.getStatus());
+        for (UUID userId : recipients) {
+            streamRegistry.send(userId, ALERT_EVENT, notification);
+            if (delta != 0) {
+                pushCount(userId);
+            }
+        }
+    }
+    
+    private void pushCount(UUID userId) {
+        UserRole role = streamRegistry.getRole(userId);
+        if (role != null) {
+            streamRegistry.send(userId, UNREAD_EVENT, new UnreadCount(getUnreadCount(userId, role)));
+        }
+    }
+    
+    public record UnreadCount(long count) {
+    }
+    
+    public record AlertNotification(UUID alertId, AlertType alertType, AlertPriority priority,
+                                    String title, AlertStatus status) {
+    }
+    
+    private record Overlap(UUID userId, String role) {
+    }
+    
+    private static final class Counts {
+        private final Map<UUID, AtomicLong> byUser = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> byRole = new ConcurrentHashMap<>();
+        // Alerts addressed to a user and a role at once, so that user does not count them twice
+        private final Map<Overlap, AtomicLong> overlap = new ConcurrentHashMap<>();
+        
+        void add(UUID userId, String role, long delta) {
+            if (userId != null) {
+                byUser.computeIfAbsent(userId, id -> new AtomicLong()).addAndGet(delta);
+            }
+            if (role != null) {
+                byRole.computeIfAbsent(role, r -> new AtomicLong()).addAndGet(delta);
+            }
+            if (userId != null && role != null) {
+                overlap.computeIfAbsent(new Overlap(userId, role), o -> new AtomicLong()).addAndGet(delta);
+            }
+        }
+        
+        long unread(UUID userId, String role) {
+            long count = get(byUser, userId) + get(byRole, role) - get(overlap, new Overlap(userId, role));
+            return Math.max(0, count);
+        }
+        
+        private static <K> long get(Map<K, AtomicLong> counters, K key) {
+            AtomicLong counter = counters.get(key);
+            return counter != null ? counter.get() : 0;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.parkingmanagement.service.archive;
+
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Revenue, duration and hour-of-day totals over one or more archive segments.
+ * Amounts are kept in cents so segments can be merged without rounding drift.
+ */
+@Getter
+public class ArchiveAggregate {
+    
+    public static final int HOURS_PER_DAY = 24;
+    
+    private long sessions;
+    private long revenueCents;
+    private long durationMinutes;
+    private long occupiedHours;
+    private final long[] sessionsByHour = new long[HOURS_PER_DAY];
+    private final long[] revenueCentsByHour = new long[HOURS_PER_DAY];
+    
+    void add(long sessions, long revenueCents, long durationMinutes, long occupiedHours,
+             long[] sessionsByHour, long[] revenueCentsByHour) {
+        this.sessions += sessions;
+        this.revenueCents += revenueCents;
+        this.durationMinutes += durationMinutes;
+        this.occupiedHours += occupiedHours;
+        for (int hour = 0; hour < HOURS_PER_DAY; hour++) {
+            this.sessionsByHour[hour] += sessionsByHour[hour];
+            this.revenueCentsByHour[hour] += revenueCentsByHour[hour];
+        }
+    }
+    
+    /**
+     * Adds a single closed session, using the same rounding as the archive writer.
+     */
+    public void addSession(LocalDateTime entryTime, LocalDateTime exitTime, BigDecimal amount) {
+        long duration = Math.max(0, Duration.between(entryTime, exitTime).toMinutes());
+        long cents = toCents(amount);
+        int hour = entryTime.getHour();
+        
+        sessions++;
+        revenueCents += cents;
+        durationMinutes += duration;
+        occupiedHours += duration / 60;
+        sessionsByHour[hour]++;
+        revenueCentsByHour[hour] += cents;
+    }
+    
+    public void merge(ArchiveAggregate other) {
+        add(other.sessions, other.revenueCents, other.durationMinutes, other.occupiedHours,
+                other.sessionsByHour, other.revenueCentsByHour);
+    }
+    
+    public boolean isEmpty() {
+        return sessions == 0;
+    }
+    
+    public BigDecimal getRevenue() {
+        return BigDecimal.valueOf(revenueCents, 2);
+    }
+    
+    /**
+     * Revenue of sessions that entered in {@code [fromHour, toHour)}.
+     */
+    public BigDecimal getRevenueBetweenHours(int fromHour, int toHour) {
+        long cents = 0;
+        for (int hour = fromHour; hour < toHour; hour++) {
+            cents += revenueCentsByHour[hour];
+        }
+        return BigDecimal.valueOf(cents, 2);
+    }
+    
+    static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,26 @@
+package com.parkingmanagement.service.archive;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Split of a reporting window into months answered by the archive and date ranges
+ * that still have to be read from {@code parking_sessions}.
+ */
+@Getter
+@AllArgsConstructor
+public class ArchiveCoverage {
+    
+    private final ArchiveAggregate archived;
+    private final List<DateRange> uncoveredRanges;
+    
+    @Getter
+    @AllArgsConstructor
+    public static class DateRange {
+        private final LocalDate start;
+        private final LocalDate end;
+    }
+}
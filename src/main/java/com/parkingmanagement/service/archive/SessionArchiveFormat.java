@@ -0,0 +1,52 @@
+package com.parkingmanagement.service.archive;
+
+/**
+ * On-disk layout of a session archive segment (one parking, one month).
+ *
+ * <pre>
+ * header  : magic(int) version(int)
+ * columns : one frame-of-reference block per column, values stored as (value - min)
+ *           in the narrowest of 1/2/4/8 bytes that fits (max - min)
+ * footer  : parkingId(2 longs) year(int) month(int) rowCount(int) columnCount(int)
+ *           per column: id(byte) width(byte) offset(long) min(long) max(long)
+ * trailer : footerLength(int) magic(int)
+ * </pre>
+ *
+ * All values are big-endian. Segments are written once and never modified.
+ */
+final class SessionArchiveFormat {
+    
+    static final int MAGIC = 0x50534131; // "PSA1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 8;
+    static final int TRAILER_BYTES = 8;
+    static final String FILE_EXTENSION = ".psa";
+    
+    /** Minutes between the start of the month and the session entry. */
+    static final byte COLUMN_ENTRY_MINUTE = 0;
+    /** Session duration in whole minutes. */
+    static final byte COLUMN_DURATION_MINUTES = 1;
+    /** Amount charged, in cents. */
+    static final byte COLUMN_AMOUNT_CENTS = 2;
+    static final int COLUMN_COUNT = 3;
+    
+    private SessionArchiveFormat() {
+    }
+    
+    static int widthFor(long min, long max) {
+        long range = max - min;
+        if (range < 0) {
+            return Long.BYTES;
+        }
+        if (range <= 0xFFL) {
+            return Byte.BYTES;
+        }
+        if (range <= 0xFFFFL) {
+            return Short.BYTES;
+        }
+        if (range <= 0xFFFFFFFFL) {
+            return Integer.BYTES;
+        }
+        return Long.BYTES;
+    }
+}
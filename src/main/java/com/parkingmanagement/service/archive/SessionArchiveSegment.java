@@ -0,0 +1,177 @@
+package com.parkingmanagement.service.archive;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.UUID;
+
+import static com.parkingmanagement.service.archive.SessionArchiveFormat.*;
+
+/**
+ * Read-only, memory-mapped view of a session archive segment.
+ */
+public final class SessionArchiveSegment {
+    
+    private static final int MINUTES_PER_HOUR = 60;
+    
+    @Getter
+    private final Path path;
+    @Getter
+    private final UUID parkingId;
+    @Getter
+    private final YearMonth month;
+    @Getter
+    private final int rowCount;
+    private final ColumnStats[] columns = new ColumnStats[COLUMN_COUNT];
+    private final MappedByteBuffer buffer;
+    
+    private SessionArchiveSegment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        
+        int size = buffer.capacity();
+        if (size < HEADER_BYTES + TRAILER_BYTES
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(size - Integer.BYTES) != MAGIC) {
+            throw new IllegalStateException("Not a session archive segment: " + path);
+        }
+        if (buffer.getInt(Integer.BYTES) != VERSION) {
+            throw new IllegalStateException("Unsupported session archive version in " + path);
+        }
+        
+        int footerLength = buffer.getInt(size - TRAILER_BYTES);
+        ByteBuffer footer = buffer.duplicate().position(size - TRAILER_BYTES - footerLength);
+        this.parkingId = new UUID(footer.getLong(), footer.getLong());
+        this.month = YearMonth.of(footer.getInt(), footer.getInt());
+        this.rowCount = footer.getInt();
+        int columnCount = footer.getInt();
+        for (int i = 0; i < columnCount; i++) {
+            byte id = footer.get();
+            ColumnStats stats = new ColumnStats(footer.get(), footer.getLong(), footer.getLong(), footer.getLong());
+            if (id >= 0 && id < COLUMN_COUNT) {
+                columns[id] = stats;
+            }
+        }
+        for (int id = 0; id < COLUMN_COUNT; id++) {
+            if (columns[id] == null) {
+                throw new IllegalStateException("Session archive " + path + " is missing column " + id);
+            }
+        }
+    }
+    
+    public static String fileName(YearMonth month) {
+        return month + FILE_EXTENSION;
+    }
+    
+    public static SessionArchiveSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new SessionArchiveSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+    
+    public ColumnStats getEntryMinuteStats() {
+        return columns[COLUMN_ENTRY_MINUTE];
+    }
+    
+    public ColumnStats getDurationStats() {
+        return columns[COLUMN_DURATION_MINUTES];
+    }
+    
+    public ColumnStats getAmountStats() {
+        return columns[COLUMN_AMOUNT_CENTS];
+    }
+    
+    /**
+     * Scans the whole segment. Each column is decoded into a primitive array first so
+     * the reductions below are plain counted loops the JIT can unroll and vectorize.
+     */
+    public ArchiveAggregate aggregate() {
+        int rows = rowCount;
+        long[] entryMinutes = decode(COLUMN_ENTRY_MINUTE);
+        long[] durations = decode(COLUMN_DURATION_MINUTES);
+        long[] amounts = decode(COLUMN_AMOUNT_CENTS);
+        
+        long revenue = 0;
+        for (int i = 0; i < rows; i++) {
+            revenue += amounts[i];
+        }
+        
+        long duration = 0;
+        long occupiedHours = 0;
+        for (int i = 0; i < rows; i++) {
+            duration += durations[i];
+            occupiedHours += durations[i] / MINUTES_PER_HOUR;
+        }
+        
+        long[] sessionsByHour = new long[ArchiveAggregate.HOURS_PER_DAY];
+        long[] revenueByHour = new long[ArchiveAggregate.HOURS_PER_DAY];
+        for (int i = 0; i < rows; i++) {
+            int hour = (int) ((entryMinutes[i] / MINUTES_PER_HOUR) % ArchiveAggregate.HOURS_PER_DAY);
+            sessionsByHour[hour]++;
+            revenueByHour[hour] += amounts[i];
+        }
+        
+        ArchiveAggregate aggregate = new ArchiveAggregate();
+        aggregate.add(rows, revenue, duration, occupiedHours, sessionsByHour, revenueByHour);
+        return aggregate;
+    }
+    
+    private long[] decode(byte columnId) {
+        ColumnStats stats = columns[columnId];
+        int rows = rowCount;
+        long min = stats.getMin();
+        long[] values = new long[rows];
+        ByteBuffer block = buffer.duplicate().position((int) stats.getOffset());
+        switch (stats.getWidth()) {
+            case Byte.BYTES -> {
+                byte[] raw = new byte[rows];
+                block.get(raw);
+                for (int i = 0; i < rows; i++) {
+                    values[i] = (raw[i] & 0xFFL) + min;
+                }
+            }
+            case Short.BYTES -> {
+                short[] raw = new short[rows];
+                block.asShortBuffer().get(raw);
+                for (int i = 0; i < rows; i++) {
+                    values[i] = (raw[i] & 0xFFFFL) + min;
+                }
+            }
+            case Integer.BYTES -> {
+                int[] raw = new int[rows];
+                block.asIntBuffer().get(raw);
+                for (int i = 0; i < rows; i++) {
+                    values[i] = (raw[i] & 0xFFFFFFFFL) + min;
+                }
+            }
+            default -> {
+                block.asLongBuffer().get(values);
+                for (int i = 0; i < rows; i++) {
+                    values[i] += min;
+                }
+            }
+        }
+        return values;
+    }
+    
+    @Getter
+    public static final class ColumnStats {
+        private final int width;
+        private final long offset;
+        private final long min;
+        private final long max;
+        
+        private ColumnStats(byte width, long offset, long min, long max) {
+            this.width = width;
+            this.offset = offset;
+            this.min = min;
+            this.max = max;
+        }
+    }
+}
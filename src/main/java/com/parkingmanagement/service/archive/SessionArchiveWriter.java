@@ -0,0 +1,132 @@
+package com.parkingmanagement.service.archive;
+
+import com.parkingmanagement.repository.projection.ClosedSessionView;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static com.parkingmanagement.service.archive.SessionArchiveFormat.*;
+
+/**
+ * Writes closed sessions of one parking and month into an immutable columnar segment.
+ */
+public final class SessionArchiveWriter {
+    
+    private SessionArchiveWriter() {
+    }
+    
+    /**
+     * Writes the segment to a temporary sibling and atomically moves it into place,
+     * so readers never observe a partially written file.
+     */
+    public static void write(Path target, UUID parkingId, YearMonth month,
+                             List<ClosedSessionView> sessions) throws IOException {
+        int rows = sessions.size();
+        long[] entryMinutes = new long[rows];
+        long[] durations = new long[rows];
+        long[] amounts = new long[rows];
+        
+        LocalDateTime monthStart = month.atDay(1).atStartOfDay();
+        for (int i = 0; i < rows; i++) {
+            ClosedSessionView session = sessions.get(i);
+            entryMinutes[i] = Duration.between(monthStart, session.getEntryTime()).toMinutes();
+            durations[i] = Math.max(0, Duration.between(session.getEntryTime(), session.getExitTime()).toMinutes());
+            amounts[i] = ArchiveAggregate.toCents(session.getTotalCost());
+        }
+        
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 OutputStream stream = Channels.newOutputStream(channel);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                
+                long offset = HEADER_BYTES;
+                ColumnBlock[] blocks = {
+                        new ColumnBlock(COLUMN_ENTRY_MINUTE, entryMinutes),
+                        new ColumnBlock(COLUMN_DURATION_MINUTES, durations),
+                        new ColumnBlock(COLUMN_AMOUNT_CENTS, amounts)
+                };
+                for (ColumnBlock block : blocks) {
+                    block.offset = offset;
+                    block.writeTo(out);
+                    offset += (long) block.width * rows;
+                }
+                
+                int footerLength = 2 * Long.BYTES + 4 * Integer.BYTES
+                        + blocks.length * (2 + 3 * Long.BYTES);
+                out.writeLong(parkingId.getMostSignificantBits());
+                out.writeLong(parkingId.getLeastSignificantBits());
+                out.writeInt(month.getYear());
+                out.writeInt(month.getMonthValue());
+                out.writeInt(rows);
+                out.writeInt(blocks.length);
+                for (ColumnBlock block : blocks) {
+                    out.writeByte(block.id);
+                    out.writeByte(block.width);
+                    out.writeLong(block.offset);
+                    out.writeLong(block.min);
+                    out.writeLong(block.max);
+                }
+                out.writeInt(footerLength);
+                out.writeInt(MAGIC);
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            target.toFile().setReadOnly();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+    
+    private static final class ColumnBlock {
+        private final byte id;
+        private final long[] values;
+        private final long min;
+        private final long max;
+        private final int width;
+        private long offset;
+        
+        private ColumnBlock(byte id, long[] values) {
+            long lo = values.length == 0 ? 0 : Long.MAX_VALUE;
+            long hi = values.length == 0 ? 0 : Long.MIN_VALUE;
+            for (long value : values) {
+                lo = Math.min(lo, value);
+                hi = Math.max(hi, value);
+            }
+            this.id = id;
+            this.values = values;
+            this.min = lo;
+            this.max = hi;
+            this.width = widthFor(lo, hi);
+        }
+        
+        private void writeTo(DataOutputStream out) throws IOException {
+            for (long value : values) {
+                long delta = value - min;
+                switch (width) {
+                    case Byte.BYTES -> out.writeByte((int) delta);
+                    case Short.BYTES -> out.writeShort((int) delta);
+                    case Integer.BYTES -> out.writeInt((int) delta);
+                    default -> out.writeLong(delta);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,380 @@
+package com.parkingmanagement.service.impl;
+
+import com.parkingmanagement.dto.request.CursorPageRequest;
+import com.parkingmanagement.dto.response.PageResponse;
+import com.parkingmanagement.dto.response.SystemAlertResponse;
+import com.parkingmanagement.event.AlertStatusChangedEvent;
+import com.parkingmanagement.exception.ResourceNotFoundException;
+import com.parkingmanagement.exception.ValidationException;
+import com.parkingmanagement.model.entity.SystemAlert;
+import com.parkingmanagement.model.entity.User;
+import com.parkingmanagement.model.enums.AlertPriority;
+import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.model.enums.UserRole;
+import com.parkingmanagement.repository.CompanyRepository;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import com.parkingmanagement.repository.UserRepository;
+import com.parkingmanagement.security.AuthenticatedUser;
+import com.parkingmanagement.service.AlertService;
+import com.parkingmanagement.service.alert.AlertCoalescer;
+import com.parkingmanagement.service.alert.AlertEmailDispatcher;
+import com.parkingmanagement.service.alert.AlertRuleEngine;
+import com.parkingmanagement.service.alert.RevenueAnomalyDetector;
+import com.parkingmanagement.service.alert.UnreadAlertCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class AlertServiceImpl implements AlertService {
+    
+    private final SystemAlertRepository systemAlertRepository;
+    private final ParkingRepository parkingRepository;
+    private final CompanyRepository companyRepository;
+    private final UserRepository userRepository;
+    private final AlertRuleEngine alertRuleEngine;
+    private final RevenueAnomalyDetector revenueAnomalyDetector;
+    private final AlertCoalescer alertCoalescer;
+    private final UnreadAlertCounter unreadAlertCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AlertEmailDispatcher alertEmailDispatcher;
+    
+    // Open SYSTEM_ERROR alert raised by the health check, cleared once the state is consistent again
+    private final AtomicReference<UUID> healthAlertId = new AtomicReference<>();
+    
+    @Value("${app.alerts.system-health.max-drifted-parkings:0}")
+    private int maxDriftedParkings;
+    
+    @Override
+    public SystemAlertResponse createAlert(AlertType alertType, AlertPriority priority,
+                                          String title, String message, UUID parkingId,
+                                          UUID companyId, UUID targetUserId, String targetRole) {
+        AtomicReference<SystemAlert> created = new AtomicReference<>();
+        UUID alertId = alertCoalescer.submit(new AlertCoalescer.Key(alertType, parkingId, companyId, targetRole), () -> {
+            log.info("Creating {} alert '{}'", alertType, title);
+            
+            SystemAlert alert = new SystemAlert();
+            alert.setAlertType(alertType);
+            alert.setPriority(priority);
+            alert.setTitle(title);
+            alert.setMessage(message);
+            if (parkingId != null) {
+                alert.setParking(parkingRepository.findById(parkingId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Parking not found")));
+            }
+            if (companyId != null) {
+                alert.setCompany(companyRepository.findById(companyId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Company not found")));
+            }
+            alert.setTargetUserId(targetUserId);
+            alert.setTargetRole(targetRole);
+            alert.setStatus(AlertStatus.ACTIVE);
+            alert.setTriggeredAt(LocalDateTime.now());
+            
+            created.set(systemAlertRepository.save(alert));
+            eventPublisher.publishEvent(AlertStatusChangedEvent.of(created.get(), null));
+            return created.get().getId();
+        });
+        
+        if (created.get() != null) {
+            return toResponse(created.get(), userNamesOf(List.of(created.get())));
+        }
+        
+        // Folded into an open window: answer from the request instead of reading the alert back
+        SystemAlertResponse response = new SystemAlertResponse();
+        response.setId(alertId);
+        response.setAlertType(alertType);
+        response.setPriority(priority);
+        response.setTitle(title);
+        response.setMessage(message);
+        response.setStatus(AlertStatus.ACTIVE);
+        return response;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<SystemAlertResponse> getAlerts(UUID companyId, UUID parkingId,
+                                                       AlertStatus status, AlertType alertType,
+                                                       Pageable pageable) {
+        Page<SystemAlert> alertPage = systemAlertRepository.findByFilters(companyId, parkingId, status, alertType, pageable);
+        
+        return PageResponse.<SystemAlertResponse>builder()
+                .content(toResponses(alertPage.getContent()))
+                .pagination(PageResponse.PaginationInfo.builder()
+                        .total(alertPage.getTotalElements())
+                        .page(alertPage.getNumber())
+                        .limit(alertPage.getSize())
+                        .pages(alertPage.getTotalPages())
+                        .build())
+                .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<SystemAlertResponse> getAlerts(UUID companyId, UUID parkingId,
+                                                       AlertStatus status, AlertType alertType,
+                                                       CursorPageRequest cursorPage) {
+        Slice<SystemAlert> alertSlice = systemAlertRepository.findByFiltersAfter(companyId, parkingId, status, alertType,
+                cursorPage.getSortKeyAsDateTime(), cursorPage.getLastId(), cursorPage.toPageable());
+        
+        Long total = cursorPage.isIncludeTotal()
+                ? systemAlertRepository.findByFilters(companyId, parkingId, status, alertType, PageRequest.of(0, 1)).getTotalElements()
+                : null;
+        
+        Map<UUID, String> userNames = userNamesOf(alertSlice.getContent());
+        return PageResponse.fromSlice(alertSlice, alert -> toResponse(alert, userNames),
+                alert -> CursorPageRequest.encode(alert.getTriggeredAt(), alert.getId()), total);
+    }
+    
+    @Override
+    public SystemAlertResponse acknowledgeAlert(UUID alertId, AuthenticatedUser user) {
+        SystemAlert alert = findOpenAlert(alertId);
+        checkCanChange(alert, user);
+        if (alert.getStatus() == AlertStatus.ACKNOWLEDGED) {
+            throw new ValidationException("Alert is already acknowledged");
+        }
+        AlertStatus previousStatus = alert.getStatus();
+        
+        alert.setStatus(AlertStatus.ACKNOWLEDGED);
+        alert.setAcknowledgedAt(LocalDateTime.now());
+        alert.setAcknowledgedBy(user.getId());
+        
+        log.info("Alert {} acknowledged by user: {}", alertId, user.getId());
+        SystemAlert savedAlert = systemAlertRepository.save(alert);
+        eventPublisher.publishEvent(AlertStatusChangedEvent.of(savedAlert, previousStatus));
+        return toResponse(savedAlert, userNamesOf(List.of(savedAlert)));
+    }
+    
+    @Override
+    public SystemAlertResponse resolveAlert(UUID alertId, AuthenticatedUser user) {
+        SystemAlert alert = findOpenAlert(alertId);
+        checkCanChange(alert, user);
+        AlertStatus previousStatus = alert.getStatus();
+        alert.setStatus(AlertStatus.RESOLVED);
+        alert.setResolvedAt(LocalDateTime.now());
+        alert.setResolvedBy(user.getId());
+        
+        log.info("Alert {} resolved by user: {}", alertId, user.getId());
+        SystemAlert savedAlert = systemAlertRepository.save(alert);
+        eventPublisher.publishEvent(AlertStatusChangedEvent.of(savedAlert, previousStatus));
+        return toResponse(savedAlert, userNamesOf(List.of(savedAlert)));
+    }
+    
+    @Override
+    public SystemAlertResponse dismissAlert(UUID alertId, AuthenticatedUser user) {
+        SystemAlert alert = findOpenAlert(alertId);
+        checkCanChange(alert, user);
+        AlertStatus previousStatus = alert.getStatus();
+        alert.setStatus(AlertStatus.DISMISSED);
+        alert.setResolvedAt(LocalDateTime.now());
+        alert.setResolvedBy(user.getId());
+        
+        log.info("Alert {} dismissed by user: {}", alertId, user.getId());
+        SystemAlert savedAlert = systemAlertRepository.save(alert);
+        eventPublisher.publishEvent(AlertStatusChangedEvent.of(savedAlert, previousStatus));
+        return toResponse(savedAlert, userNamesOf(List.of(savedAlert)));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<SystemAlertResponse> getActiveAlertsForUser(UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return toResponses(systemAlertRepository.findActiveAlertsForUser(userId, List.of(user.getRole().name())));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public Long getUnreadAlertCount(UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return unreadAlertCounter.getUnreadCount(userId, user.getRole());
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Long getUnreadAlertCount(UUID userId, UserRole role) {
+        return unreadAlertCounter.getUnreadCount(userId, role);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SseEmitter streamAlerts(UUID userId, UserRole role) {
+        return unreadAlertCounter.subscribe(userId, role);
+    }
+    
+    // The rule engine evaluates alerts as sessions change; the checks below only
+    // reconcile its counters with the database and write in their own transactions
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void checkLowAvailability() {
+        alertRuleEngine.reconcile(Set.of(AlertType.LOW_AVAILABILITY));
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void checkPendingPayments() {
+        alertRuleEngine.reconcile(Set.of(AlertType.PENDING_PAYMENT));
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(fixedDelayString = "${app.alerts.reconcile-interval-ms:900000}",
+               initialDelayString = "${app.alerts.reconcile-interval-ms:900000}")
+    public void checkSystemHealth() {
+        int drifted = alertRuleEngine.reconcile(alertRuleEngine.getRuleTypes());
+        UUID openAlertId = healthAlertId.get();
+        
+        if (drifted > maxDriftedParkings && openAlertId == null) {
+            SystemAlert alert = new SystemAlert();
+            alert.setAlertType(AlertType.SYSTEM_ERROR);
+            alert.setPriority(AlertPriority.HIGH);
+            alert.setTitle("Live parking state out of sync");
+            alert.setMessage(String.format("Session counters of %d parkings had drifted from the database. "
+                    + "Some entries, exits or payments are not publishing session events.", drifted));
+            alert.setTargetRole(UserRole.GENERAL_ADMIN.name());
+            alert.setStatus(AlertStatus.ACTIVE);
+            alert.setTriggeredAt(LocalDateTime.now());
+            SystemAlert savedAlert = systemAlertRepository.save(alert);
+            healthAlertId.set(savedAlert.getId());
+            eventPublisher.publishEvent(AlertStatusChangedEvent.of(savedAlert, null));
+        } else if (drifted == 0 && openAlertId != null) {
+            systemAlertRepository.findById(openAlertId)
+                    .filter(alert -> alert.getStatus() == AlertStatus.ACTIVE || alert.getStatus() == AlertStatus.ACKNOWLEDGED)
+                    .ifPresent(alert -> {
+                        AlertStatus previousStatus = alert.getStatus();
+                        alert.setStatus(AlertStatus.RESOLVED);
+                        alert.setResolvedAt(LocalDateTime.now());
+                        eventPublisher.publishEvent(AlertStatusChangedEvent.of(systemAlertRepository.save(alert), previousStatus));
+                    });
+            healthAlertId.set(null);
+        }
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void checkRevenueThresholds() {
+        revenueAnomalyDetector.closeElapsedHours();
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void checkOccupancyThresholds() {
+        alertRuleEngine.reconcile(Set.of(AlertType.OCCUPANCY_THRESHOLD));
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void sendEmailNotification(UUID alertId) {
+        if (!systemAlertRepository.existsById(alertId)) {
+            throw new ResourceNotFoundException("Alert not found");
+        }
+        alertEmailDispatcher.dispatch(alertId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void sendInAppNotification(UUID alertId) {
+        // In-app delivery is the alert row itself, listed through getActiveAlertsForUser
+        if (!systemAlertRepository.existsById(alertId)) {
+            throw new ResourceNotFoundException("Alert not found");
+        }
+        log.debug("Alert {} available in-app", alertId);
+    }
+    
+    /**
+     * Only general admins and the alert's own audience may change its status: the user or
+     * role it is addressed to, or anyone of the company it belongs to.
+     */
+    private void checkCanChange(SystemAlert alert, AuthenticatedUser user) {
+        if (user.getRole() == UserRole.GENERAL_ADMIN
+                || user.getId().equals(alert.getTargetUserId())
+                || user.getRole().name().equals(alert.getTargetRole())) {
+            return;
+        }
+        UUID alertCompanyId = alert.getCompany() != null ? alert.getCompany().getId()
+                : alert.getParking() != null ? alert.getParking().getCompany().getId() : null;
+        if (alertCompanyId == null || !alertCompanyId.equals(user.getCompanyId())) {
+            throw new AccessDeniedException("Alert " + alert.getId() + " is not addressed to user " + user.getId());
+        }
+    }
+    
+    private SystemAlert findOpenAlert(UUID alertId) {
+        SystemAlert alert = systemAlertRepository.findById(alertId)
+                .orElseThrow(() -> new ResourceNotFoundException("Alert not found"));
+        if (alert.getStatus() == AlertStatus.RESOLVED || alert.getStatus() == AlertStatus.DISMISSED) {
+            throw new ValidationException("Alert is already " + alert.getStatus().name().toLowerCase());
+        }
+        return alert;
+    }
+    
+    private List<SystemAlertResponse> toResponses(List<SystemAlert> alerts) {
+        Map<UUID, String> userNames = userNamesOf(alerts);
+        return alerts.stream().map(alert -> toResponse(alert, userNames)).toList();
+    }
+    
+    /**
+     * Resolves the acknowledging and resolving users of a batch of alerts with one lookup.
+     */
+    private Map<UUID, String> userNamesOf(List<SystemAlert> alerts) {
+        Set<UUID> userIds = new HashSet<>();
+        for (SystemAlert alert : alerts) {
+            Stream.of(alert.getAcknowledgedBy(), alert.getResolvedBy()).filter(Objects::nonNull).forEach(userIds::add);
+        }
+        if (userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, User::getFullName));
+    }
+    
+    private SystemAlertResponse toResponse(SystemAlert alert, Map<UUID, String> userNames) {
+        SystemAlertResponse response = new SystemAlertResponse();
+        response.setId(alert.getId());
+        response.setAlertType(alert.getAlertType());
+        response.setPriority(alert.getPriority());
+        response.setTitle(alert.getTitle());
+        response.setMessage(alert.getMessage());
+        response.setParkingName(alert.getParking() != null ? alert.getParking().getName() : null);
+        response.setCompanyName(alert.getCompany() != null ? alert.getCompany().getName() : null);
+        response.setStatus(alert.getStatus());
+        response.setTriggeredAt(alert.getTriggeredAt());
+        response.setAcknowledgedAt(alert.getAcknowledgedAt());
+        response.setAcknowledgedByName(userNames.get(alert.getAcknowledgedBy()));
+        response.setResolvedAt(alert.getResolvedAt());
+        response.setResolvedByName(userNames.get(alert.getResolvedBy()));
+        response.setMetadata(alert.getMetadata());
+        response.setEmailSent(alert.getEmailSent());
+        response.setEmailSentAt(alert.getEmailSentAt());
+        return response;
+    }
+}
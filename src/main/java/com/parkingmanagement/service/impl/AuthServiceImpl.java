@@ -6,17 +6,23 @@ import com.parkingmanagement.dto.request.PasswordResetRequest;
 import com.parkingmanagement.dto.request.RegisterRequest;
 import com.parkingmanagement.dto.response.LoginResponse;
 import com.parkingmanagement.dto.response.UserResponse;
+import com.parkingmanagement.event.UserSecurityChangedEvent;
 import com.parkingmanagement.exception.AuthenticationException;
 import com.parkingmanagement.exception.ResourceNotFoundException;
+import com.parkingmanagement.exception.ServiceUnavailableException;
 import com.parkingmanagement.exception.ValidationException;
 import com.parkingmanagement.mapper.UserMapper;
 import com.parkingmanagement.model.entity.User;
 import com.parkingmanagement.repository.UserRepository;
 import com.parkingmanagement.security.JwtTokenProvider;
+import com.parkingmanagement.security.TokenRevocationStore;
 import com.parkingmanagement.service.AuthService;
 import com.parkingmanagement.service.UserService;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -26,6 +32,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -39,10 +46,15 @@ public class AuthServiceImpl implements AuthService {
     private final UserMapper userMapper;
     private final JwtTokenProvider tokenProvider;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final MeterRegistry meterRegistry;
     
     @Override
     public LoginResponse login(LoginRequest request) {
         log.info("Login attempt for email: {}", request.getEmail());
+        long startedAt = System.nanoTime();
+        String outcome = "failure";
         
         try {
             Authentication authentication = authenticationManager.authenticate(
@@ -52,12 +64,13 @@ public class AuthServiceImpl implements AuthService {
                     )
             );
             
-            String accessToken = tokenProvider.generateToken(authentication);
-            String refreshToken = tokenProvider.generateRefreshToken(request.getEmail());
+            // The principal is the user just loaded to check the password
+            User user = (User) authentication.getPrincipal();
+            String accessToken = tokenProvider.generateAccessToken(user);
+            String refreshToken = tokenProvider.generateRefreshToken(user);
             
-            userService.updateLastLogin(request.getEmail());
+            userService.updateLastLogin(user.getId());
             
-            User user = userService.findByEmail(request.getEmail());
             UserResponse userResponse = userMapper.toResponse(user);
             
             LoginResponse.TokenResponse tokens = LoginResponse.TokenResponse.builder()
@@ -67,15 +80,24 @@ public class AuthServiceImpl implements AuthService {
                     .build();
             
             log.info("Login successful for email: {}", request.getEmail());
+            outcome = "success";
             
             return LoginResponse.builder()
                     .user(userResponse)
                     .tokens(tokens)
                     .build();
                     
+        } catch (ServiceUnavailableException ex) {
+            // The hashing pool is saturated; not the caller's credentials at fault
+            outcome = "rejected";
+            log.warn("Login rejected for email: {}: {}", request.getEmail(), ex.getMessage());
+            throw ex;
         } catch (Exception ex) {
             log.error("Login failed for email: {}", request.getEmail(), ex);
             throw new AuthenticationException("Invalid email or password");
+        } finally {
+            meterRegistry.timer("auth.login", "outcome", outcome)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
         }
     }
     
@@ -116,8 +138,10 @@ public class AuthServiceImpl implements AuthService {
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         user.setPasswordResetToken(null);
         user.setPasswordResetTokenExpiry(null);
+        long securityVersion = user.bumpSecurityVersion();
         
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getId(), securityVersion));
         
         log.info("Password reset successful for user: {}", user.getEmail());
     }
@@ -126,14 +150,18 @@ public class AuthServiceImpl implements AuthService {
     public LoginResponse refreshToken(String refreshToken) {
         log.info("Token refresh attempt");
         
-        if (!tokenProvider.validateToken(refreshToken)) {
+        Claims claims = tokenProvider.parseToken(refreshToken)
+                .filter(c -> !tokenRevocationStore.isRevoked(c.getId()))
+                .orElseThrow(() -> new AuthenticationException("Invalid or expired refresh token"));
+        
+        User user = userService.findByEmail(claims.getSubject());
+        // A refresh token outlives role and password changes; only a current one is honoured
+        if (!Boolean.TRUE.equals(user.getIsActive())
+                || tokenProvider.getSecurityVersion(claims) != user.getSecurityVersion()) {
             throw new AuthenticationException("Invalid or expired refresh token");
         }
         
-        String username = tokenProvider.getUsernameFromToken(refreshToken);
-        User user = userService.findByEmail(username);
-        
-        String newAccessToken = tokenProvider.generateTokenFromUsername(username);
+        String newAccessToken = tokenProvider.generateAccessToken(user);
         
         LoginResponse.TokenResponse tokens = LoginResponse.TokenResponse.builder()
                 .accessToken(newAccessToken)
@@ -147,10 +175,16 @@ public class AuthServiceImpl implements AuthService {
     }
     
     @Override
-    public void logout(String refreshToken) {
+    public void logout(String refreshToken, String accessToken) {
         log.info("Logout attempt");
-        // In a production environment, you would typically blacklist the token
-        // For now, we'll just log the logout
+        
+        // Either may already be expired or missing; only live tokens need revoking
+        for (String token : new String[] {refreshToken, accessToken}) {
+            if (token != null) {
+                tokenProvider.parseToken(token).ifPresent(claims ->
+                        tokenRevocationStore.revoke(claims.getId(), claims.getExpiration().toInstant()));
+            }
+        }
         log.info("User logged out successfully");
     }
 }
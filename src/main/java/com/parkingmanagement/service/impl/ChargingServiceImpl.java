@@ -1,14 +1,17 @@
 package com.parkingmanagement.service.impl;
 
 import com.parkingmanagement.dto.response.ChargingCalculationResponse;
+import com.parkingmanagement.event.SessionPaidEvent;
 import com.parkingmanagement.exception.ResourceNotFoundException;
 import com.parkingmanagement.exception.ValidationException;
 import com.parkingmanagement.model.entity.*;
 import com.parkingmanagement.model.enums.PaymentStatus;
 import com.parkingmanagement.repository.*;
 import com.parkingmanagement.service.ChargingService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +23,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +39,8 @@ public class ChargingServiceImpl implements ChargingService {
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
     private final ParkingRepository parkingRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
     
     private static final int GRACE_PERIOD_MINUTES = 30;
     private static final BigDecimal OVERTIME_MULTIPLIER = new BigDecimal("1.5");
@@ -42,14 +49,16 @@ public class ChargingServiceImpl implements ChargingService {
     public ChargingCalculationResponse calculateCharges(UUID sessionId) {
         log.info("Calculating charges for session ID: {}", sessionId);
         
-        ParkingSession session = parkingSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Parking session not found"));
-        
-        if (session.getExitTime() == null) {
-            throw new ValidationException("Cannot calculate charges for active session");
-        }
-        
-        return calculateChargesInternal(session);
+        return timed("calculateCharges", () -> {
+            ParkingSession session = parkingSessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Parking session not found"));
+            
+            if (session.getExitTime() == null) {
+                throw new ValidationException("Cannot calculate charges for active session");
+            }
+            
+            return calculateChargesInternal(session);
+        });
     }
     
     @Override
@@ -57,12 +66,7 @@ public class ChargingServiceImpl implements ChargingService {
                                                        LocalDateTime entryTime, LocalDateTime exitTime) {
         log.info("Calculating charges for user: {}, vehicle: {}, parking: {}", userId, vehicleId, parkingId);
         
-        validateInputs(userId, vehicleId, parkingId, entryTime, exitTime);
-        
-        // Create a temporary session for calculation
-        ParkingSession tempSession = createTempSession(userId, vehicleId, parkingId, entryTime, exitTime);
-        
-        return calculateChargesInternal(tempSession);
+        return timed("calculateCharges", () -> calculateChargesForPeriod(userId, vehicleId, parkingId, entryTime, exitTime));
     }
     
     @Override
@@ -70,26 +74,40 @@ public class ChargingServiceImpl implements ChargingService {
                                                                LocalDateTime entryTime, Integer estimatedDurationMinutes) {
         log.info("Calculating estimated charges for user: {}, vehicle: {}, parking: {}", userId, vehicleId, parkingId);
         
-        if (estimatedDurationMinutes == null || estimatedDurationMinutes <= 0) {
-            throw new ValidationException("Estimated duration must be positive");
-        }
-        
-        LocalDateTime estimatedExitTime = entryTime.plusMinutes(estimatedDurationMinutes);
-        return calculateCharges(userId, vehicleId, parkingId, entryTime, estimatedExitTime);
+        return timed("calculateEstimatedCharges", () -> {
+            if (estimatedDurationMinutes == null || estimatedDurationMinutes <= 0) {
+                throw new ValidationException("Estimated duration must be positive");
+            }
+            
+            LocalDateTime estimatedExitTime = entryTime.plusMinutes(estimatedDurationMinutes);
+            return calculateChargesForPeriod(userId, vehicleId, parkingId, entryTime, estimatedExitTime);
+        });
     }
     
     @Override
     public void processPayment(UUID sessionId, String paymentMethod, String paymentReference) {
         log.info("Processing payment for session ID: {}", sessionId);
         
-        ParkingSession session = parkingSessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Parking session not found"));
-        
-        session.setPaymentStatus(PaymentStatus.PAID);
-        session.setPaymentMethod(paymentMethod);
-        session.setPaymentReference(paymentReference);
-        
-        parkingSessionRepository.save(session);
+        long startedAt = System.nanoTime();
+        String outcome = "failed";
+        try {
+            ParkingSession session = parkingSessionRepository.findById(sessionId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Parking session not found"));
+            
+            session.setPaymentStatus(PaymentStatus.PAID);
+            session.setPaymentMethod(paymentMethod);
+            session.setPaymentReference(paymentReference);
+            
+            parkingSessionRepository.save(session);
+            
+            Parking parking = session.getParking();
+            eventPublisher.publishEvent(new SessionPaidEvent(session.getId(), parking.getId(),
+                    parking.getCompany().getId(), session.getEntryTime(), session.getExitTime(),
+                    session.getTotalCost(), LocalDateTime.now()));
+            outcome = "paid";
+        } finally {
+            record("processPayment", outcome, startedAt);
+        }
         
         log.info("Payment processed successfully for session ID: {}", sessionId);
     }
@@ -121,7 +139,49 @@ public class ChargingServiceImpl implements ChargingService {
                 .userPlan(session.getUserPlan())
                 .build();
         
-        return calculateChargesInternal(updatedSession);
+        return timed("calculateExtraCharges", () -> calculateChargesInternal(updatedSession));
+    }
+    
+    /**
+     * Times a calculation under {@code charging.operations}, tagged with the public method and
+     * the outcome: {@code grace_period}, {@code overtime} (wins over a plan that also applied),
+     * {@code plan_applied}, {@code standard} or {@code failed}.
+     */
+    private ChargingCalculationResponse timed(String method, Supplier<ChargingCalculationResponse> calculation) {
+        long startedAt = System.nanoTime();
+        String outcome = "failed";
+        try {
+            ChargingCalculationResponse response = calculation.get();
+            outcome = outcomeOf(response);
+            return response;
+        } finally {
+            record(method, outcome, startedAt);
+        }
+    }
+    
+    private static String outcomeOf(ChargingCalculationResponse response) {
+        if (Boolean.TRUE.equals(response.getWithinGracePeriod())) {
+            return "grace_period";
+        }
+        if (Boolean.TRUE.equals(response.getExceededReservation())) {
+            return "overtime";
+        }
+        return response.getPlanUsed() != null ? "plan_applied" : "standard";
+    }
+    
+    private void record(String method, String outcome, long startedAt) {
+        meterRegistry.timer("charging.operations", "method", method, "outcome", outcome)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+    
+    private ChargingCalculationResponse calculateChargesForPeriod(UUID userId, UUID vehicleId, UUID parkingId,
+                                                                  LocalDateTime entryTime, LocalDateTime exitTime) {
+        validateInputs(userId, vehicleId, parkingId, entryTime, exitTime);
+        
+        // Create a temporary session for calculation
+        ParkingSession tempSession = createTempSession(userId, vehicleId, parkingId, entryTime, exitTime);
+        
+        return calculateChargesInternal(tempSession);
     }
     
     private ChargingCalculationResponse calculateChargesInternal(ParkingSession session) {
@@ -1,8 +1,13 @@
 package com.parkingmanagement.service.impl;
 
+import com.parkingmanagement.config.ReadFromPrimary;
+import com.parkingmanagement.model.entity.User;
 import com.parkingmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -10,14 +15,33 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
     
+    // A password just changed or an account just deactivated must apply to the next login
     @Override
     @Transactional(readOnly = true)
+    @ReadFromPrimary
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findByEmailAndIsActiveTrue(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
+    
+    /**
+     * Stores a hash re-encoded at login because the old one used an outdated algorithm or
+     * strength. The password itself is unchanged, so issued tokens stay valid.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = (User) userDetails;
+        user.setPasswordHash(newPassword);
+        User savedUser = userRepository.save(user);
+        meterRegistry.counter("auth.password.rehashed").increment();
+        log.info("Password hash of user {} upgraded", savedUser.getId());
+        return savedUser;
+    }
 }
@@ -0,0 +1,291 @@
+package com.parkingmanagement.service.impl;
+
+import com.parkingmanagement.dto.response.FinancialReportResponse;
+import com.parkingmanagement.dto.response.OccupancyReportResponse;
+import com.parkingmanagement.event.SessionPaidEvent;
+import com.parkingmanagement.exception.ResourceNotFoundException;
+import com.parkingmanagement.exception.ValidationException;
+import com.parkingmanagement.model.entity.Company;
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.model.enums.ReportPeriod;
+import com.parkingmanagement.model.enums.ReportStatus;
+import com.parkingmanagement.repository.CompanyRepository;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.ParkingZoneRepository;
+import com.parkingmanagement.repository.projection.ClosedSessionView;
+import com.parkingmanagement.service.DashboardSummaryService;
+import com.parkingmanagement.service.archive.ArchiveAggregate;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps month-to-date totals per (company, parking) scope in memory. A summary is built
+ * once from the database, then kept current by folding in paid sessions as they commit,
+ * and rebuilt after the TTL to pick up anything that bypassed the payment path.
+ * Dashboard reads never write report rows.
+ * <p>
+ * Scopes come from request parameters, so a summary is only built for a company and
+ * parking that exist and belong together, and at most {@code max-entries} are kept in
+ * LRU order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardSummaryServiceImpl implements DashboardSummaryService {
+    
+    private static final int PEAK_START_HOUR = 8;
+    private static final int PEAK_END_HOUR = 18;
+    
+    private final ParkingSessionRepository parkingSessionRepository;
+    private final ParkingZoneRepository parkingZoneRepository;
+    private final ParkingRepository parkingRepository;
+    private final CompanyRepository companyRepository;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<SummaryKey, MonthToDate> summaries = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<SummaryKey, MonthToDate> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+    private final Map<SummaryKey, CompletableFuture<MonthToDate>> inFlight = new ConcurrentHashMap<>();
+    
+    @Value("${app.dashboard.ttl-seconds:60}")
+    private long ttlSeconds;
+    
+    @Value("${app.dashboard.max-entries:1000}")
+    private int maxEntries;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public FinancialReportResponse getFinancialSummary(UUID companyId, UUID parkingId) {
+        MonthToDate summary = getSummary(new SummaryKey(companyId, parkingId));
+        ArchiveAggregate totals = summary.snapshot();
+        
+        FinancialReportResponse response = new FinancialReportResponse();
+        fillHeader(response, summary);
+        response.setTotalRevenue(totals.getRevenue());
+        response.setTotalSessions((int) totals.getSessions());
+        response.setAverageSessionDurationMinutes((int) (totals.getDurationMinutes() / Math.max(1, totals.getSessions())));
+        
+        BigDecimal peakRevenue = totals.getRevenueBetweenHours(PEAK_START_HOUR, PEAK_END_HOUR);
+        response.setPeakHourRevenue(peakRevenue);
+        response.setOffPeakRevenue(totals.getRevenue().subtract(peakRevenue));
+        response.setAverageRevenuePerSession(totals.getSessions() > 0
+                ? totals.getRevenue().divide(BigDecimal.valueOf(totals.getSessions()), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+        
+        List<FinancialReportResponse.HourlyRevenueData> hourly = new ArrayList<>();
+        for (int hour = 0; hour < ArchiveAggregate.HOURS_PER_DAY; hour++) {
+            FinancialReportResponse.HourlyRevenueData data = new FinancialReportResponse.HourlyRevenueData();
+            data.setHour(hour);
+            data.setRevenue(BigDecimal.valueOf(totals.getRevenueCentsByHour()[hour], 2));
+            data.setSessions((int) totals.getSessionsByHour()[hour]);
+            hourly.add(data);
+        }
+        response.setHourlyBreakdown(hourly);
+        return response;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public OccupancyReportResponse getOccupancySummary(UUID companyId, UUID parkingId) {
+        MonthToDate summary = getSummary(new SummaryKey(companyId, parkingId));
+        ArchiveAggregate totals = summary.snapshot();
+        long totalSpaces = summary.getTotalSpaces();
+        
+        long elapsedHours = Math.max(1, Duration.between(
+                summary.getMonth().atDay(1).atStartOfDay(), LocalDateTime.now()).toHours());
+        
+        OccupancyReportResponse response = new OccupancyReportResponse();
+        fillHeader(response, summary);
+        response.setTotalSpaces((int) totalSpaces);
+        response.setTotalHoursOccupied((int) totals.getOccupiedHours());
+        response.setAverageOccupancyRate(totalSpaces > 0
+                ? BigDecimal.valueOf(totals.getOccupiedHours())
+                        .divide(BigDecimal.valueOf(elapsedHours * totalSpaces), 4, RoundingMode.HALF_UP)
+                        .multiply(BigDecimal.valueOf(100))
+                : BigDecimal.ZERO);
+        response.setTurnoverRate(totalSpaces > 0
+                ? BigDecimal.valueOf(totals.getSessions()).divide(BigDecimal.valueOf(totalSpaces), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO);
+        return response;
+    }
+    
+    @Override
+    @TransactionalEventListener
+    public void onSessionPaid(SessionPaidEvent event) {
+        if (event.getEntryTime() == null || event.getExitTime() == null) {
+            return;
+        }
+        
+        YearMonth month = YearMonth.from(event.getEntryTime());
+        for (SummaryKey key : SummaryKey.scopesOf(event.getCompanyId(), event.getParkingId())) {
+            MonthToDate summary = summaries.get(key);
+            if (summary != null && summary.getMonth().equals(month)) {
+                summary.add(event.getEntryTime(), event.getExitTime(), event.getAmount());
+            }
+        }
+    }
+    
+    private MonthToDate getSummary(SummaryKey key) {
+        YearMonth month = YearMonth.now();
+        MonthToDate cached = summaries.get(key);
+        if (cached != null && cached.isFresh(month, ttlSeconds)) {
+            meterRegistry.counter("dashboard.summary.gets", "result", "hit").increment();
+            return cached;
+        }
+        
+        // Only the first caller for a key computes; everyone else waits on the same future
+        CompletableFuture<MonthToDate> future = new CompletableFuture<>();
+        CompletableFuture<MonthToDate> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            meterRegistry.counter("dashboard.summary.gets", "result", "shared").increment();
+            return await(existing);
+        }
+        
+        meterRegistry.counter("dashboard.summary.gets", "result", "miss").increment();
+        try {
+            MonthToDate summary = compute(key, month);
+            summaries.put(key, summary);
+            future.complete(summary);
+            return summary;
+        } catch (RuntimeException ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+    
+    private MonthToDate await(CompletableFuture<MonthToDate> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+    
+    private MonthToDate compute(SummaryKey key, YearMonth month) {
+        // Checked before anything is cached, so unknown ids cannot grow the cache
+        Parking parking = key.parkingId() != null
+                ? parkingRepository.findById(key.parkingId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Parking not found"))
+                : null;
+        Company company = key.companyId() != null
+                ? companyRepository.findById(key.companyId())
+                        .orElseThrow(() -> new ResourceNotFoundException("Company not found"))
+                : null;
+        if (parking != null && company != null && !company.getId().equals(parking.getCompany().getId())) {
+            throw new ValidationException("Parking does not belong to the company");
+        }
+        
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = LocalDate.now().plusDays(1).atStartOfDay();
+        LocalDateTime computedAt = LocalDateTime.now();
+        
+        ArchiveAggregate totals = new ArchiveAggregate();
+        List<ClosedSessionView> sessions = parkingSessionRepository
+                .findClosedPaidSessionsByScope(key.companyId(), key.parkingId(), from, to);
+        for (ClosedSessionView session : sessions) {
+            totals.addSession(session.getEntryTime(), session.getExitTime(), session.getTotalCost());
+        }
+        
+        long totalSpaces = parkingZoneRepository.sumCapacity(key.companyId(), key.parkingId());
+        
+        log.debug("Dashboard summary for {} rebuilt from {} sessions", key, sessions.size());
+        return new MonthToDate(month, computedAt, totals, totalSpaces,
+                parking != null ? parking.getName() : null, company != null ? company.getName() : null);
+    }
+    
+    private void fillHeader(FinancialReportResponse response, MonthToDate summary) {
+        response.setParkingName(summary.getParkingName());
+        response.setCompanyName(summary.getCompanyName());
+        response.setReportPeriod(ReportPeriod.MONTHLY);
+        response.setPeriodStart(summary.getMonth().atDay(1));
+        response.setPeriodEnd(LocalDate.now());
+        response.setStatus(ReportStatus.COMPLETED);
+        response.setGeneratedAt(summary.getComputedAt());
+    }
+    
+    private void fillHeader(OccupancyReportResponse response, MonthToDate summary) {
+        response.setParkingName(summary.getParkingName());
+        response.setCompanyName(summary.getCompanyName());
+        response.setReportPeriod(ReportPeriod.MONTHLY);
+        response.setPeriodStart(summary.getMonth().atDay(1));
+        response.setPeriodEnd(LocalDate.now());
+        response.setStatus(ReportStatus.COMPLETED);
+        response.setGeneratedAt(summary.getComputedAt());
+    }
+    
+    private record SummaryKey(UUID companyId, UUID parkingId) {
+        
+        /**
+         * Every scope a session of this parking contributes to, including the unfiltered one.
+         */
+        static List<SummaryKey> scopesOf(UUID companyId, UUID parkingId) {
+            return List.of(
+                    new SummaryKey(null, null),
+                    new SummaryKey(companyId, null),
+                    new SummaryKey(null, parkingId),
+                    new SummaryKey(companyId, parkingId));
+        }
+    }
+    
+    /**
+     * Running totals for one scope. Payments can be folded in while readers take snapshots,
+     * so both go through the same monitor; critical sections are a handful of additions.
+     */
+    @Getter
+    @AllArgsConstructor
+    private static final class MonthToDate {
+        private final YearMonth month;
+        private final LocalDateTime computedAt;
+        private final ArchiveAggregate totals;
+        private final long totalSpaces;
+        private final String parkingName;
+        private final String companyName;
+        
+        boolean isFresh(YearMonth currentMonth, long ttlSeconds) {
+            return month.equals(currentMonth) && computedAt.plusSeconds(ttlSeconds).isAfter(LocalDateTime.now());
+        }
+        
+        synchronized void add(LocalDateTime entryTime, LocalDateTime exitTime, BigDecimal amount) {
+            totals.addSession(entryTime, exitTime, amount);
+        }
+        
+        synchronized ArchiveAggregate snapshot() {
+            ArchiveAggregate copy = new ArchiveAggregate();
+            copy.merge(totals);
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.parkingmanagement.service.impl;
+
+import com.parkingmanagement.dto.response.NearbyParkingResponse;
+import com.parkingmanagement.dto.response.PlateCandidateResponse;
+import com.parkingmanagement.exception.ValidationException;
+import com.parkingmanagement.service.ParkingService;
+import com.parkingmanagement.service.parking.NearbyParking;
+import com.parkingmanagement.service.parking.OpenSessionPlates;
+import com.parkingmanagement.service.parking.ParkingSpatialIndex;
+import com.parkingmanagement.service.parking.PlateCandidate;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ParkingServiceImpl implements ParkingService {
+    
+    private final ParkingSpatialIndex parkingSpatialIndex;
+    private final OpenSessionPlates openSessionPlates;
+    
+    @Value("${app.parkings.nearby.max-limit:50}")
+    private int maxLimit;
+    
+    @Value("${app.parkings.nearby.max-radius-km:50}")
+    private double maxRadiusKm;
+    
+    @Value("${app.parkings.plate-match.max-limit:20}")
+    private int maxPlateLimit;
+    
+    // Longer than any real plate; the deletions a lookup generates grow with the square of the length
+    @Value("${app.parkings.plate-match.max-length:15}")
+    private int maxPlateLength;
+    
+    @Override
+    public List<NearbyParkingResponse> findNearby(double latitude, double longitude, double radiusKm, int limit,
+                                                  UUID vehicleTypeId, long minFreeSpaces) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new ValidationException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (radiusKm <= 0 || radiusKm > maxRadiusKm) {
+            throw new ValidationException("Radius must be greater than 0 and at most " + maxRadiusKm + " km");
+        }
+        if (limit < 1 || limit > maxLimit) {
+            throw new ValidationException("Limit must be between 1 and " + maxLimit);
+        }
+        
+        // Served from memory; no transaction or query involved
+        return parkingSpatialIndex.findNearest(latitude, longitude, radiusKm * 1000, limit, vehicleTypeId, minFreeSpaces)
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+    
+    @Override
+    public List<PlateCandidateResponse> findPlateCandidates(UUID parkingId, String licensePlate, int limit) {
+        if (licensePlate == null || licensePlate.isBlank()) {
+            throw new ValidationException("License plate is required");
+        }
+        if (OpenSessionPlates.normalize(licensePlate).length() > maxPlateLength) {
+            throw new ValidationException("License plate must have at most " + maxPlateLength + " letters and digits");
+        }
+        if (limit < 1 || limit > maxPlateLimit) {
+            throw new ValidationException("Limit must be between 1 and " + maxPlateLimit);
+        }
+        
+        return openSessionPlates.findCandidates(parkingId, licensePlate, limit)
+                .stream()
+                .map(this::toResponse)
+                .toList();
+    }
+    
+    private NearbyParkingResponse toResponse(NearbyParking parking) {
+        return NearbyParkingResponse.builder()
+                .id(parking.parkingId())
+                .companyId(parking.companyId())
+                .name(parking.name())
+                .address(parking.address())
+                .latitude(parking.latitude())
+                .longitude(parking.longitude())
+                .distanceMeters(Math.round(parking.distanceMeters()))
+                .capacity(parking.capacity())
+                .freeSpaces(parking.freeSpaces())
+                .build();
+    }
+    
+    private PlateCandidateResponse toResponse(PlateCandidate candidate) {
+        return PlateCandidateResponse.builder()
+                .sessionId(candidate.sessionId())
+                .vehicleId(candidate.vehicleId())
+                .licensePlate(candidate.licensePlate())
+                .distance(candidate.distance())
+                .build();
+    }
+}
@@ -1,22 +1,29 @@
 package com.parkingmanagement.service.impl;
 
 import com.parkingmanagement.dto.request.CreatePlanEspecialRequest;
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.UpdatePlanEspecialRequest;
 import com.parkingmanagement.dto.response.PageResponse;
 import com.parkingmanagement.dto.response.PlanEspecialResponse;
+import com.parkingmanagement.event.ReferenceDataChangedEvent;
 import com.parkingmanagement.exception.ResourceNotFoundException;
 import com.parkingmanagement.mapper.PlanEspecialMapper;
-import com.parkingmanagement.model.entity.Parking;
 import com.parkingmanagement.model.entity.PlanEspecial;
-import com.parkingmanagement.model.entity.VehicleType;
 import com.parkingmanagement.repository.ParkingRepository;
 import com.parkingmanagement.repository.PlanEspecialRepository;
 import com.parkingmanagement.repository.VehicleTypeRepository;
 import com.parkingmanagement.service.PlanEspecialService;
+import com.parkingmanagement.service.reference.ParkingSnapshot;
+import com.parkingmanagement.service.reference.ReferenceData;
+import com.parkingmanagement.service.reference.VehicleTypeSnapshot;
+import com.parkingmanagement.service.search.SearchRanking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,22 +40,25 @@ public class PlanEspecialServiceImpl implements PlanEspecialService {
     private final ParkingRepository parkingRepository;
     private final VehicleTypeRepository vehicleTypeRepository;
     private final PlanEspecialMapper planEspecialMapper;
+    private final ReferenceData referenceData;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SearchRanking searchRanking;
     
     @Override
     public PlanEspecialResponse createPlan(CreatePlanEspecialRequest request) {
         log.info("Creating plan especial with name: {}", request.getName());
         
         // Validate parking exists
-        Parking parking = parkingRepository.findByIdAndIsActiveTrue(request.getParkingId())
+        ParkingSnapshot parking = referenceData.findActiveParking(request.getParkingId())
                 .orElseThrow(() -> new ResourceNotFoundException("Parking not found"));
         
         // Validate vehicle type exists
-        VehicleType vehicleType = vehicleTypeRepository.findByIdAndIsActiveTrue(request.getVehicleTypeId())
+        VehicleTypeSnapshot vehicleType = referenceData.findActiveVehicleType(request.getVehicleTypeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle type not found"));
         
         PlanEspecial plan = PlanEspecial.builder()
-                .parking(parking)
-                .vehicleType(vehicleType)
+                .parking(parkingRepository.getReferenceById(parking.id()))
+                .vehicleType(vehicleTypeRepository.getReferenceById(vehicleType.id()))
                 .name(request.getName())
                 .description(request.getDescription())
                 .durationDays(request.getDurationDays())
@@ -70,9 +80,9 @@ public class PlanEspecialServiceImpl implements PlanEspecialService {
     @Override
     @Transactional(readOnly = true)
     public PlanEspecialResponse getPlanById(UUID id) {
-        PlanEspecial plan = planEspecialRepository.findByIdAndIsActiveTrue(id)
+        return referenceData.findActivePlan(id)
+                .map(planEspecialMapper::toResponse)
                 .orElseThrow(() -> new ResourceNotFoundException("Plan especial not found"));
-        return planEspecialMapper.toResponse(plan);
     }
     
     @Override
@@ -120,6 +130,7 @@ public class PlanEspecialServiceImpl implements PlanEspecialService {
         }
         
         PlanEspecial updatedPlan = planEspecialRepository.save(plan);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(PlanEspecial.class, updatedPlan.getId()));
         log.info("Plan especial updated successfully with ID: {}", updatedPlan.getId());
         
         return planEspecialMapper.toResponse(updatedPlan);
@@ -134,6 +145,7 @@ public class PlanEspecialServiceImpl implements PlanEspecialService {
         
         plan.setIsActive(false);
         planEspecialRepository.save(plan);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(PlanEspecial.class, id));
         
         log.info("Plan especial deleted successfully with ID: {}", id);
     }
@@ -141,7 +153,9 @@ public class PlanEspecialServiceImpl implements PlanEspecialService {
     @Override
     @Transactional(readOnly = true)
     public PageResponse<PlanEspecialResponse> getAllPlanes(String search, UUID parkingId, UUID vehicleTypeId, Boolean isVip, Pageable pageable) {
-        Page<PlanEspecial> planPage = planEspecialRepository.findPlanesWithFilters(search, parkingId, vehicleTypeId, isVip, pageable);
+        Page<PlanEspecial> planPage = searchRanking.appliesTo(search)
+                ? planEspecialRepository.findPlanesWithFiltersRanked(search, parkingId, vehicleTypeId, isVip, pageable)
+                : planEspecialRepository.findPlanesWithFilters(search, parkingId, vehicleTypeId, isVip, pageable);
         
         return PageResponse.<PlanEspecialResponse>builder()
                 .content(planPage.getContent().stream()
@@ -156,6 +170,20 @@ public class PlanEspecialServiceImpl implements PlanEspecialService {
                 .build();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<PlanEspecialResponse> getAllPlanes(String search, UUID parkingId, UUID vehicleTypeId, Boolean isVip, CursorPageRequest cursorPage) {
+        Slice<PlanEspecial> planSlice = planEspecialRepository.findPlanesWithFiltersAfter(search, parkingId, vehicleTypeId, isVip,
+                cursorPage.getSortKeyAsDateTime(), cursorPage.getLastId(), cursorPage.toPageable());
+        
+        Long total = cursorPage.isIncludeTotal()
+                ? planEspecialRepository.findPlanesWithFilters(search, parkingId, vehicleTypeId, isVip, PageRequest.of(0, 1)).getTotalElements()
+                : null;
+        
+        return PageResponse.fromSlice(planSlice, planEspecialMapper::toResponse,
+                plan -> CursorPageRequest.encode(plan.getCreatedAt(), plan.getId()), total);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<PlanEspecialResponse> getPlanesByParking(UUID parkingId) {
@@ -0,0 +1,111 @@
+package com.parkingmanagement.service.impl;
+
+import com.parkingmanagement.event.SessionEndedEvent;
+import com.parkingmanagement.event.SessionPaidEvent;
+import com.parkingmanagement.model.entity.ParkingDataVersion;
+import com.parkingmanagement.repository.ParkingDataVersionRepository;
+import com.parkingmanagement.service.ReportDataVersionService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ReportDataVersionServiceImpl implements ReportDataVersionService {
+    
+    private final ParkingDataVersionRepository parkingDataVersionRepository;
+    private final PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate insertTemplate;
+    
+    @PostConstruct
+    private void init() {
+        // The first row of a day is created on its own so a concurrent insert losing the
+        // unique constraint does not poison the caller's transaction
+        insertTemplate = new TransactionTemplate(transactionManager);
+        insertTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    @Override
+    public void markChanged(UUID parkingId, LocalDate day) {
+        LocalDateTime now = LocalDateTime.now();
+        
+        // The update locks the row until the caller commits, so concurrent bumps serialize
+        if (parkingDataVersionRepository.bumpVersion(parkingId, day, now) > 0) {
+            return;
+        }
+        
+        createIfAbsent(parkingId, day);
+        if (parkingDataVersionRepository.bumpVersion(parkingId, day, now) == 0) {
+            throw new IllegalStateException("Data version of parking " + parkingId + " for " + day + " was not created");
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public boolean hasChangedSince(UUID parkingId, LocalDate startDate, LocalDate endDate, LocalDateTime since) {
+        LocalDateTime lastChange = parkingDataVersionRepository.findLastChange(parkingId, startDate, endDate);
+        return lastChange != null && !lastChange.isBefore(since);
+    }
+    
+    /**
+     * Runs inside the payment transaction, right before it commits: the bump is atomic with
+     * the payment, and its timestamp is as close as possible to the moment the payment
+     * becomes visible to report generation.
+     */
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onSessionPaid(SessionPaidEvent event) {
+        bump(event.getParkingId(), event.getEntryTime());
+    }
+    
+    /**
+     * An exit sets the duration and, with it, the occupancy of the session; it also carries
+     * the payment status the session was closed with.
+     */
+    @Override
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onSessionEnded(SessionEndedEvent event) {
+        bump(event.getParkingId(), event.getEntryTime());
+    }
+    
+    private void bump(UUID parkingId, LocalDateTime entryTime) {
+        if (entryTime == null) {
+            return;
+        }
+        
+        // Reports select sessions by entry time, so that is the day whose data changed
+        markChanged(parkingId, entryTime.toLocalDate());
+        log.debug("Bumped data version of parking {} for {}", parkingId, entryTime.toLocalDate());
+    }
+    
+    private void createIfAbsent(UUID parkingId, LocalDate day) {
+        try {
+            insertTemplate.executeWithoutResult(status -> {
+                // Commits even if the caller rolls back; dated to the start of the day, so an
+                // orphaned row never looks newer than a report covering that day
+                if (!parkingDataVersionRepository.existsByParkingIdAndDataDate(parkingId, day)) {
+                    parkingDataVersionRepository.saveAndFlush(
+                            new ParkingDataVersion(parkingId, day, 0L, day.atStartOfDay()));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another transaction created the row first; the caller bumps that one
+            log.debug("Data version of parking {} for {} was created concurrently", parkingId, day);
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.parkingmanagement.service.impl;
+
+import com.parkingmanagement.dto.request.GenerateReportRequest;
+import com.parkingmanagement.dto.request.ScheduleReportRequest;
+import com.parkingmanagement.dto.response.PageResponse;
+import com.parkingmanagement.dto.response.ReportScheduleExecutionResponse;
+import com.parkingmanagement.dto.response.ReportScheduleResponse;
+import com.parkingmanagement.exception.ResourceNotFoundException;
+import com.parkingmanagement.exception.ValidationException;
+import com.parkingmanagement.model.entity.ReportSchedule;
+import com.parkingmanagement.model.entity.ReportScheduleExecution;
+import com.parkingmanagement.model.enums.ReportPeriod;
+import com.parkingmanagement.model.enums.ReportStatus;
+import com.parkingmanagement.model.enums.ReportType;
+import com.parkingmanagement.repository.ReportScheduleExecutionRepository;
+import com.parkingmanagement.repository.ReportScheduleRepository;
+import com.parkingmanagement.service.ReportScheduleService;
+import com.parkingmanagement.service.ReportService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.IsoFields;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class ReportScheduleServiceImpl implements ReportScheduleService {
+    
+    private final ReportScheduleRepository reportScheduleRepository;
+    private final ReportScheduleExecutionRepository executionRepository;
+    // Resolved lazily: ReportServiceImpl delegates its scheduling methods back to this service
+    private final ObjectProvider<ReportService> reportService;
+    private final ThreadPoolTaskExecutor reportExecutor;
+    private final TransactionTemplate transactionTemplate;
+    
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+    private Semaphore runPermits;
+    
+    @Value("${app.reports.scheduler.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.reports.scheduler.max-concurrent:4}")
+    private int maxConcurrent;
+    
+    @Value("${app.reports.scheduler.max-jitter-seconds:300}")
+    private long maxJitterSeconds;
+    
+    @Value("${app.reports.scheduler.max-catch-up-runs:7}")
+    private int maxCatchUpRuns;
+    
+    @PostConstruct
+    private void initPermits() {
+        runPermits = new Semaphore(maxConcurrent);
+    }
+    
+    @Override
+    public ReportScheduleResponse createSchedule(ScheduleReportRequest request, UUID userId) {
+        log.info("Creating {} report schedule '{}' for user: {}",
+                request.getReportType(), request.getCronExpression(), userId);
+        
+        CronExpression cron = parseCron(request.getCronExpression());
+        
+        ReportSchedule schedule = new ReportSchedule();
+        schedule.setCronExpression(request.getCronExpression());
+        schedule.setReportType(request.getReportType());
+        schedule.setReportPeriod(request.getReportPeriod());
+        if (request.getParkingIds() != null) {
+            schedule.setParkingIds(new ArrayList<>(request.getParkingIds()));
+        }
+        schedule.setFormat(request.getFormat() != null ? request.getFormat() : "JSON");
+        if (request.getEmailRecipients() != null) {
+            schedule.setEmailRecipients(new ArrayList<>(request.getEmailRecipients()));
+        }
+        schedule.setCreatedBy(userId);
+        
+        // The jitter is derived from the id, which is assigned on persist; the insert is
+        // only flushed at commit, so the run times below are part of it
+        ReportSchedule savedSchedule = reportScheduleRepository.save(schedule);
+        LocalDateTime firstFire = cron.next(LocalDateTime.now());
+        if (firstFire == null) {
+            throw new ValidationException("Cron expression never fires: " + request.getCronExpression());
+        }
+        planNextRun(savedSchedule, cron, firstFire);
+        
+        return toResponse(savedSchedule);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(fixedDelayString = "${app.reports.scheduler.poll-interval-ms:30000}")
+    public void runDueSchedules() {
+        if (!enabled || runPermits.availablePermits() == 0) {
+            return;
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<ScheduledRun> claimed = new ArrayList<>();
+        try {
+            transactionTemplate.executeWithoutResult(status -> claimDueSchedules(now, claimed));
+        } catch (RuntimeException ex) {
+            log.error("Failed to claim due report schedules", ex);
+            claimed.forEach(this::release);
+            return;
+        }
+        
+        // Submitted only after the claims have committed: a claim that rolls back never runs,
+        // and the conditional update in claimDueRun lets only one node claim each due run
+        for (ScheduledRun run : claimed) {
+            try {
+                reportExecutor.execute(() -> execute(run));
+            } catch (TaskRejectedException ex) {
+                log.error("Report worker pool rejected schedule {}", run.scheduleId(), ex);
+                release(run);
+            }
+        }
+    }
+    
+    private void claimDueSchedules(LocalDateTime now, List<ScheduledRun> claimed) {
+        // Over-fetch by the number of running schedules, which are skipped below
+        int limit = runPermits.availablePermits() + running.size();
+        
+        for (ReportSchedule schedule : reportScheduleRepository.findDueSchedules(now, PageRequest.of(0, limit))) {
+            if (running.contains(schedule.getId())) {
+                continue;
+            }
+            if (!runPermits.tryAcquire()) {
+                break;
+            }
+            running.add(schedule.getId());
+            
+            try {
+                if (reportScheduleRepository.claimDueRun(schedule.getId(), schedule.getNextRunAt(), now) == 0) {
+                    log.debug("Report schedule {} was claimed by another node", schedule.getId());
+                    running.remove(schedule.getId());
+                    runPermits.release();
+                    continue;
+                }
+                claimed.add(claim(schedule, now));
+            } catch (RuntimeException ex) {
+                log.error("Failed to claim report schedule {}, deactivating it", schedule.getId(), ex);
+                schedule.setIsActive(false);
+                running.remove(schedule.getId());
+                runPermits.release();
+            }
+        }
+    }
+    
+    private ScheduledRun claim(ReportSchedule schedule, LocalDateTime now) {
+        CronExpression cron = CronExpression.parse(schedule.getCronExpression());
+        
+        // Every fire time missed since the last run, e.g. while the application was down
+        List<LocalDateTime> fireTimes = new ArrayList<>();
+        LocalDateTime fire = schedule.getNextFireAt();
+        while (fire != null && !fire.isAfter(now)) {
+            fireTimes.add(fire);
+            fire = cron.next(fire);
+        }
+        if (fireTimes.size() > maxCatchUpRuns) {
+            log.warn("Report schedule {} missed {} runs, catching up on the latest {}",
+                    schedule.getId(), fireTimes.size(), maxCatchUpRuns);
+            fireTimes = new ArrayList<>(fireTimes.subList(fireTimes.size() - maxCatchUpRuns, fireTimes.size()));
+        }
+        
+        if (fire != null) {
+            planNextRun(schedule, cron, fire);
+        } else {
+            schedule.setIsActive(false);
+        }
+        schedule.setLastRunAt(now);
+        
+        return new ScheduledRun(schedule.getId(), schedule.getReportType(), schedule.getReportPeriod(),
+                List.copyOf(schedule.getParkingIds()), schedule.getFormat(),
+                List.copyOf(schedule.getEmailRecipients()), schedule.getCreatedBy(), fireTimes);
+    }
+    
+    private void execute(ScheduledRun run) {
+        try {
+            List<LocalDateTime> fireTimes = run.fireTimes();
+            for (int i = 0; i < fireTimes.size(); i++) {
+                executeOnce(run, fireTimes.get(i), i < fireTimes.size() - 1);
+            }
+        } finally {
+            release(run);
+        }
+    }
+    
+    private void executeOnce(ScheduledRun run, LocalDateTime fireTime, boolean catchUp) {
+        ReportWindow window = reportWindow(run.reportPeriod(), fireTime.toLocalDate());
+        
+        ReportScheduleExecution execution = new ReportScheduleExecution();
+        execution.setScheduleId(run.scheduleId());
+        execution.setFireTime(fireTime);
+        execution.setPeriodStart(window.start());
+        execution.setPeriodEnd(window.end());
+        execution.setCatchUp(catchUp);
+        execution.setStatus(ReportStatus.GENERATING);
+        execution.setStartedAt(LocalDateTime.now());
+        execution = executionRepository.save(execution);
+        
+        long startNanos = System.nanoTime();
+        try {
+            GenerateReportRequest request = new GenerateReportRequest();
+            request.setReportPeriod(run.reportPeriod());
+            request.setStartDate(window.start());
+            request.setEndDate(window.end());
+            request.setParkingIds(run.parkingIds().isEmpty() ? null : run.parkingIds());
+            request.setFormat(run.format());
+            request.setEmailReport(!run.emailRecipients().isEmpty());
+            request.setEmailRecipients(run.emailRecipients());
+            
+            UUID reportId = run.reportType() == ReportType.FINANCIAL
+                    ? reportService.getObject().generateFinancialReport(request, run.createdBy()).getId()
+                    : reportService.getObject().generateOccupancyReport(request, run.createdBy()).getId();
+            
+            execution.setReportId(reportId);
+            execution.setStatus(ReportStatus.COMPLETED);
+        } catch (RuntimeException ex) {
+            log.error("Scheduled report {} failed for fire time {}", run.scheduleId(), fireTime, ex);
+            execution.setStatus(ReportStatus.FAILED);
+            execution.setErrorMessage(ex.getMessage());
+        }
+        
+        execution.setFinishedAt(LocalDateTime.now());
+        execution.setDurationMs((System.nanoTime() - startNanos) / 1_000_000);
+        executionRepository.save(execution);
+        
+        log.info("Scheduled report {} for {} to {} finished with status {} in {} ms",
+                run.scheduleId(), window.start(), window.end(), execution.getStatus(), execution.getDurationMs());
+    }
+    
+    private void release(ScheduledRun run) {
+        running.remove(run.scheduleId());
+        runPermits.release();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<ReportScheduleExecutionResponse> getExecutions(UUID scheduleId, Pageable pageable) {
+        if (!reportScheduleRepository.existsById(scheduleId)) {
+            throw new ResourceNotFoundException("Report schedule not found");
+        }
+        
+        Page<ReportScheduleExecution> executions = executionRepository
+                .findByScheduleIdOrderByStartedAtDesc(scheduleId, pageable);
+        
+        return PageResponse.<ReportScheduleExecutionResponse>builder()
+                .content(executions.getContent().stream()
+                        .map(this::toResponse)
+                        .toList())
+                .pagination(PageResponse.PaginationInfo.builder()
+                        .total(executions.getTotalElements())
+                        .page(executions.getNumber())
+                        .limit(executions.getSize())
+                        .pages(executions.getTotalPages())
+                        .build())
+                .build();
+    }
+    
+    private void planNextRun(ReportSchedule schedule, CronExpression cron, LocalDateTime fire) {
+        schedule.setNextFireAt(fire);
+        schedule.setNextRunAt(fire.plusSeconds(jitterSeconds(schedule.getId(), cron, fire)));
+    }
+    
+    /**
+     * Stable offset in {@code [0, maxJitterSeconds]} derived from the schedule id, so schedules
+     * sharing a cron expression spread out but each one always runs at the same offset. The
+     * offset never exceeds half the gap to the following fire time.
+     */
+    private long jitterSeconds(UUID scheduleId, CronExpression cron, LocalDateTime fire) {
+        long window = maxJitterSeconds;
+        LocalDateTime following = cron.next(fire);
+        if (following != null) {
+            window = Math.min(window, Duration.between(fire, following).getSeconds() / 2);
+        }
+        if (window <= 0) {
+            return 0;
+        }
+        
+        // UUID bits are not uniformly random for every generator, so mix them first
+        long hash = scheduleId.getMostSignificantBits() ^ scheduleId.getLeastSignificantBits();
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return Math.floorMod(hash, window + 1);
+    }
+    
+    /**
+     * The last complete period before the fire date, e.g. yesterday for a daily report.
+     */
+    private static ReportWindow reportWindow(ReportPeriod period, LocalDate fireDate) {
+        return switch (period) {
+            case DAILY -> new ReportWindow(fireDate.minusDays(1), fireDate.minusDays(1));
+            case WEEKLY -> {
+                LocalDate start = fireDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).minusWeeks(1);
+                yield new ReportWindow(start, start.plusDays(6));
+            }
+            case MONTHLY -> {
+                LocalDate start = fireDate.withDayOfMonth(1).minusMonths(1);
+                yield new ReportWindow(start, start.with(TemporalAdjusters.lastDayOfMonth()));
+            }
+            case QUARTERLY -> {
+                LocalDate start = fireDate.with(IsoFields.DAY_OF_QUARTER, 1).minusMonths(3);
+                yield new ReportWindow(start, start.plusMonths(3).minusDays(1));
+            }
+            case YEARLY -> {
+                LocalDate start = fireDate.withDayOfYear(1).minusYears(1);
+                yield new ReportWindow(start, start.with(TemporalAdjusters.lastDayOfYear()));
+            }
+        };
+    }
+    
+    private CronExpression parseCron(String expression) {
+        try {
+            return CronExpression.parse(expression);
+        } catch (IllegalArgumentException ex) {
+            throw new ValidationException("Invalid cron expression: " + ex.getMessage());
+        }
+    }
+    
+    private ReportScheduleResponse toResponse(ReportSchedule schedule) {
+        ReportScheduleResponse response = new ReportScheduleResponse();
+        response.setId(schedule.getId());
+        response.setCronExpression(schedule.getCronExpression());
+        response.setReportType(schedule.getReportType());
+        response.setReportPeriod(schedule.getReportPeriod());
+        response.setParkingIds(schedule.getParkingIds());
+        response.setFormat(schedule.getFormat());
+        response.setEmailRecipients(schedule.getEmailRecipients());
+        response.setNextRunAt(schedule.getNextRunAt());
+        response.setLastRunAt(schedule.getLastRunAt());
+        response.setIsActive(schedule.getIsActive());
+        return response;
+    }
+    
+    private ReportScheduleExecutionResponse toResponse(ReportScheduleExecution execution) {
+        ReportScheduleExecutionResponse response = new ReportScheduleExecutionResponse();
+        response.setId(execution.getId());
+        response.setScheduleId(execution.getScheduleId());
+        response.setFireTime(execution.getFireTime());
+        response.setPeriodStart(execution.getPeriodStart());
+        response.setPeriodEnd(execution.getPeriodEnd());
+        response.setCatchUp(execution.getCatchUp());
+        response.setStatus(execution.getStatus());
+        response.setStartedAt(execution.getStartedAt());
+        response.setFinishedAt(execution.getFinishedAt());
+        response.setDurationMs(execution.getDurationMs());
+        response.setReportId(execution.getReportId());
+        response.setErrorMessage(execution.getErrorMessage());
+        return response;
+    }
+    
+    private record ReportWindow(LocalDate start, LocalDate end) {
+    }
+    
+    /**
+     * Everything a worker needs, copied out of the entity while the claim transaction is open.
+     */
+    private record ScheduledRun(UUID scheduleId, ReportType reportType, ReportPeriod reportPeriod,
+                                List<UUID> parkingIds, String format, List<String> emailRecipients,
+                                UUID createdBy, List<LocalDateTime> fireTimes) {
+    }
+}
@@ -1,20 +1,31 @@
 package com.parkingmanagement.service.impl;
 
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.GenerateReportRequest;
+import com.parkingmanagement.dto.request.ScheduleReportRequest;
 import com.parkingmanagement.dto.response.FinancialReportResponse;
 import com.parkingmanagement.dto.response.OccupancyReportResponse;
 import com.parkingmanagement.dto.response.PageResponse;
+import com.parkingmanagement.dto.response.ReportScheduleExecutionResponse;
+import com.parkingmanagement.dto.response.ReportScheduleResponse;
 import com.parkingmanagement.exception.ResourceNotFoundException;
 import com.parkingmanagement.mapper.ReportMapper;
 import com.parkingmanagement.model.entity.*;
 import com.parkingmanagement.model.enums.ReportStatus;
 import com.parkingmanagement.repository.*;
+import com.parkingmanagement.service.DashboardSummaryService;
+import com.parkingmanagement.service.ReportDataVersionService;
+import com.parkingmanagement.service.ReportScheduleService;
 import com.parkingmanagement.service.ReportService;
+import com.parkingmanagement.service.SessionArchiveService;
+import com.parkingmanagement.service.archive.ArchiveAggregate;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +35,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,34 +46,60 @@ public class ReportServiceImpl implements ReportService {
     
     private final FinancialReportRepository financialReportRepository;
     private final OccupancyReportRepository occupancyReportRepository;
-    private final ParkingSessionRepository parkingSessionRepository;
     private final ReservaRepository reservaRepository;
     private final ParkingRepository parkingRepository;
     private final CompanyRepository companyRepository;
     private final ReportMapper reportMapper;
+    private final SessionArchiveService sessionArchiveService;
+    private final DashboardSummaryService dashboardSummaryService;
+    private final ReportScheduleService reportScheduleService;
+    private final ReportDataVersionService reportDataVersionService;
+    private final MeterRegistry meterRegistry;
     
     @Override
-    @Async
     public FinancialReportResponse generateFinancialReport(GenerateReportRequest request, UUID userId) {
         log.info("Generating financial report for period: {} to {}", request.getStartDate(), request.getEndDate());
         
-        List<Parking> parkings = getParkingsForReport(request.getParkingIds(), userId);
-        
-        return parkings.stream()
-                .map(parking -> generateFinancialReportForParking(parking, request, userId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("No parking lots found for report generation"));
+        long startedAt = System.nanoTime();
+        String outcome = "failed";
+        try {
+            List<Parking> parkings = getParkingsForReport(request.getParkingIds(), userId);
+            recordParkingCount("financial", request, parkings.size());
+            
+            FinancialReportResponse response = parkings.stream()
+                    .map(parking -> generateFinancialReportForParking(parking, request, userId))
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("No parking lots found for report generation"));
+            outcome = "success";
+            return response;
+        } finally {
+            recordGeneration("financial", request, outcome, startedAt);
+        }
     }
     
     private FinancialReportResponse generateFinancialReportForParking(Parking parking, 
                                                                      GenerateReportRequest request, 
                                                                      UUID userId) {
-        FinancialReport report = new FinancialReport();
-        report.setParking(parking);
-        report.setCompany(parking.getCompany());
-        report.setReportPeriod(request.getReportPeriod());
-        report.setPeriodStart(request.getStartDate());
-        report.setPeriodEnd(request.getEndDate());
+        FinancialReport report = financialReportRepository
+                .findFirstByParkingIdAndReportPeriodAndPeriodStartAndPeriodEndAndStatusOrderByGeneratedAtDesc(
+                        parking.getId(), request.getReportPeriod(), request.getStartDate(), request.getEndDate(),
+                        ReportStatus.COMPLETED)
+                .orElse(null);
+        if (report != null && isUpToDate(parking.getId(), report.getPeriodStart(), report.getPeriodEnd(),
+                report.getGeneratedAt())) {
+            log.debug("Reusing financial report {} for parking {}", report.getId(), parking.getId());
+            return reportMapper.toFinancialReportResponse(report);
+        }
+        
+        // A stale report is recomputed in place, so each window keeps a single row
+        if (report == null) {
+            report = new FinancialReport();
+            report.setParking(parking);
+            report.setCompany(parking.getCompany());
+            report.setReportPeriod(request.getReportPeriod());
+            report.setPeriodStart(request.getStartDate());
+            report.setPeriodEnd(request.getEndDate());
+        }
         report.setStatus(ReportStatus.GENERATING);
         report.setGeneratedAt(LocalDateTime.now());
         report.setGeneratedBy(userId);
@@ -80,25 +118,12 @@ public class ReportServiceImpl implements ReportService {
         LocalDate startDate = report.getPeriodStart();
         LocalDate endDate = report.getPeriodEnd();
         
-        // Get all sessions in the period
-        List<ParkingSession> sessions = parkingSessionRepository
-                .findByParkingIdAndEntryTimeBetween(parkingId, 
-                        startDate.atStartOfDay(), 
-                        endDate.plusDays(1).atStartOfDay());
-        
-        // Calculate total revenue
-        BigDecimal totalRevenue = sessions.stream()
-                .filter(session -> session.getTotalAmount() != null)
-                .map(ParkingSession::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        // Closed, paid sessions only, whether the month is archived yet or not
+        ArchiveAggregate sessions = sessionArchiveService.aggregateClosedSessions(parkingId, startDate, endDate);
         
-        // Calculate session metrics
-        int totalSessions = sessions.size();
-        int averageDuration = sessions.stream()
-                .filter(session -> session.getExitTime() != null)
-                .mapToInt(session -> (int) java.time.Duration.between(
-                        session.getEntryTime(), session.getExitTime()).toMinutes())
-                .sum() / Math.max(1, totalSessions);
+        BigDecimal totalRevenue = sessions.getRevenue();
+        int totalSessions = (int) sessions.getSessions();
+        int averageDuration = (int) (sessions.getDurationMinutes() / Math.max(1, totalSessions));
         
         // Get reservations
         List<Reserva> reservations = reservaRepository
@@ -107,14 +132,7 @@ public class ReportServiceImpl implements ReportService {
                         endDate.plusDays(1).atStartOfDay());
         
         // Calculate peak vs off-peak revenue (assuming peak hours 8-18)
-        BigDecimal peakRevenue = sessions.stream()
-                .filter(session -> {
-                    int hour = session.getEntryTime().getHour();
-                    return hour >= 8 && hour < 18;
-                })
-                .filter(session -> session.getTotalAmount() != null)
-                .map(ParkingSession::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal peakRevenue = sessions.getRevenueBetweenHours(8, 18);
         
         BigDecimal offPeakRevenue = totalRevenue.subtract(peakRevenue);
         
@@ -134,23 +152,46 @@ public class ReportServiceImpl implements ReportService {
     public OccupancyReportResponse generateOccupancyReport(GenerateReportRequest request, UUID userId) {
         log.info("Generating occupancy report for period: {} to {}", request.getStartDate(), request.getEndDate());
         
-        List<Parking> parkings = getParkingsForReport(request.getParkingIds(), userId);
-        
-        return parkings.stream()
-                .map(parking -> generateOccupancyReportForParking(parking, request, userId))
-                .findFirst()
-                .orElseThrow(() -> new ResourceNotFoundException("No parking lots found for report generation"));
+        long startedAt = System.nanoTime();
+        String outcome = "failed";
+        try {
+            List<Parking> parkings = getParkingsForReport(request.getParkingIds(), userId);
+            recordParkingCount("occupancy", request, parkings.size());
+            
+            OccupancyReportResponse response = parkings.stream()
+                    .map(parking -> generateOccupancyReportForParking(parking, request, userId))
+                    .findFirst()
+                    .orElseThrow(() -> new ResourceNotFoundException("No parking lots found for report generation"));
+            outcome = "success";
+            return response;
+        } finally {
+            recordGeneration("occupancy", request, outcome, startedAt);
+        }
     }
     
     private OccupancyReportResponse generateOccupancyReportForParking(Parking parking, 
                                                                      GenerateReportRequest request, 
                                                                      UUID userId) {
-        OccupancyReport report = new OccupancyReport();
-        report.setParking(parking);
-        report.setCompany(parking.getCompany());
-        report.setReportPeriod(request.getReportPeriod());
-        report.setPeriodStart(request.getStartDate());
-        report.setPeriodEnd(request.getEndDate());
+        OccupancyReport report = occupancyReportRepository
+                .findFirstByParkingIdAndReportPeriodAndPeriodStartAndPeriodEndAndStatusOrderByGeneratedAtDesc(
+                        parking.getId(), request.getReportPeriod(), request.getStartDate(), request.getEndDate(),
+                        ReportStatus.COMPLETED)
+                .orElse(null);
+        if (report != null && isUpToDate(parking.getId(), report.getPeriodStart(), report.getPeriodEnd(),
+                report.getGeneratedAt())) {
+            log.debug("Reusing occupancy report {} for parking {}", report.getId(), parking.getId());
+            return reportMapper.toOccupancyReportResponse(report);
+        }
+        
+        // A stale report is recomputed in place, so each window keeps a single row
+        if (report == null) {
+            report = new OccupancyReport();
+            report.setParking(parking);
+            report.setCompany(parking.getCompany());
+            report.setReportPeriod(request.getReportPeriod());
+            report.setPeriodStart(request.getStartDate());
+            report.setPeriodEnd(request.getEndDate());
+        }
         report.setStatus(ReportStatus.GENERATING);
         report.setGeneratedAt(LocalDateTime.now());
         report.setGeneratedBy(userId);
@@ -172,11 +213,9 @@ public class ReportServiceImpl implements ReportService {
         // Get total spaces
         int totalSpaces = report.getParking().getTotalSpaces();
         
-        // Get all sessions in the period
-        List<ParkingSession> sessions = parkingSessionRepository
-                .findByParkingIdAndEntryTimeBetween(parkingId, 
-                        startDate.atStartOfDay(), 
-                        endDate.plusDays(1).atStartOfDay());
+        // Closed, paid sessions only, whether the month is archived yet or not
+        ArchiveAggregate sessions = sessionArchiveService.aggregateClosedSessions(parkingId, startDate, endDate);
+        long totalSessions = sessions.getSessions();
         
         // Calculate average occupancy rate
         // This is a simplified calculation - in reality, you'd need hourly snapshots
@@ -184,11 +223,7 @@ public class ReportServiceImpl implements ReportService {
                 startDate.atStartOfDay(), 
                 endDate.plusDays(1).atStartOfDay()).toHours();
         
-        long totalOccupiedHours = sessions.stream()
-                .filter(session -> session.getExitTime() != null)
-                .mapToLong(session -> java.time.Duration.between(
-                        session.getEntryTime(), session.getExitTime()).toHours())
-                .sum();
+        long totalOccupiedHours = sessions.getOccupiedHours();
         
         BigDecimal averageOccupancy = totalSpaces > 0 ? 
                 BigDecimal.valueOf(totalOccupiedHours)
@@ -201,10 +236,40 @@ public class ReportServiceImpl implements ReportService {
         report.setPeakOccupancyRate(BigDecimal.valueOf(85)); // TODO: Calculate actual peak
         report.setLowestOccupancyRate(BigDecimal.valueOf(15)); // TODO: Calculate actual lowest
         report.setTotalHoursOccupied((int) totalOccupiedHours);
-        report.setTurnoverRate(BigDecimal.valueOf(sessions.size()).divide(
+        report.setTurnoverRate(BigDecimal.valueOf(totalSessions).divide(
                 BigDecimal.valueOf(totalSpaces), 2, RoundingMode.HALF_UP));
     }
     
+    /**
+     * A completed report can be served again when its window is over and no session or
+     * payment in it changed after the report was generated. Windows that include today are
+     * still filling up and are always recomputed.
+     */
+    private boolean isUpToDate(UUID parkingId, LocalDate startDate, LocalDate endDate, LocalDateTime generatedAt) {
+        if (generatedAt == null || !endDate.isBefore(generatedAt.toLocalDate())) {
+            return false;
+        }
+        return !reportDataVersionService.hasChangedSince(parkingId, startDate, endDate, generatedAt);
+    }
+    
+    /**
+     * Parking counts go into a distribution rather than a tag, which keeps the series per
+     * report type and period bounded.
+     */
+    private void recordParkingCount(String type, GenerateReportRequest request, int parkings) {
+        meterRegistry.summary("reports.generation.parkings", "type", type, "period", periodTag(request))
+                .record(parkings);
+    }
+    
+    private void recordGeneration(String type, GenerateReportRequest request, String outcome, long startedAt) {
+        meterRegistry.timer("reports.generation", "type", type, "period", periodTag(request), "outcome", outcome)
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+    
+    private static String periodTag(GenerateReportRequest request) {
+        return request.getReportPeriod() != null ? request.getReportPeriod().name() : "NONE";
+    }
+    
     private List<Parking> getParkingsForReport(List<UUID> parkingIds, UUID userId) {
         if (parkingIds != null && !parkingIds.isEmpty()) {
             return parkingRepository.findAllById(parkingIds);
@@ -226,12 +291,35 @@ public class ReportServiceImpl implements ReportService {
         Page<FinancialReport> reports = financialReportRepository
                 .findByCompanyIdAndParkingIdAndPeriodBetween(companyId, parkingId, startDate, endDate, pageable);
         
-        List<FinancialReportResponse> content = reports.getContent().stream()
-                .map(reportMapper::toFinancialReportResponse)
-                .collect(Collectors.toList());
-        
-        return new PageResponse<>(content, reports.getTotalElements(), 
-                reports.getNumber(), reports.getSize(), reports.getTotalPages());
+        return PageResponse.<FinancialReportResponse>builder()
+                .content(reports.getContent().stream()
+                        .map(reportMapper::toFinancialReportResponse)
+                        .collect(Collectors.toList()))
+                .pagination(PageResponse.PaginationInfo.builder()
+                        .total(reports.getTotalElements())
+                        .page(reports.getNumber())
+                        .limit(reports.getSize())
+                        .pages(reports.getTotalPages())
+                        .build())
+                .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<FinancialReportResponse> getFinancialReports(UUID companyId, UUID parkingId, 
+                                                                    LocalDate startDate, LocalDate endDate, 
+                                                                    CursorPageRequest cursorPage) {
+        Slice<FinancialReport> reports = financialReportRepository.findByCompanyIdAndParkingIdAndPeriodBetweenAfter(
+                companyId, parkingId, startDate, endDate,
+                cursorPage.getSortKeyAsDate(), cursorPage.getLastId(), cursorPage.toPageable());
+        
+        Long total = cursorPage.isIncludeTotal()
+                ? financialReportRepository.findByCompanyIdAndParkingIdAndPeriodBetween(
+                        companyId, parkingId, startDate, endDate, PageRequest.of(0, 1)).getTotalElements()
+                : null;
+        
+        return PageResponse.fromSlice(reports, reportMapper::toFinancialReportResponse,
+                report -> CursorPageRequest.encode(report.getPeriodStart(), report.getId()), total);
     }
     
     @Override
@@ -273,51 +361,62 @@ public class ReportServiceImpl implements ReportService {
         Page<OccupancyReport> reports = occupancyReportRepository
                 .findByCompanyIdAndParkingIdAndPeriodBetween(companyId, parkingId, startDate, endDate, pageable);
         
-        List<OccupancyReportResponse> content = reports.getContent().stream()
-                .map(reportMapper::toOccupancyReportResponse)
-                .collect(Collectors.toList());
-        
-        return new PageResponse<>(content, reports.getTotalElements(), 
-                reports.getNumber(), reports.getSize(), reports.getTotalPages());
+        return PageResponse.<OccupancyReportResponse>builder()
+                .content(reports.getContent().stream()
+                        .map(reportMapper::toOccupancyReportResponse)
+                        .collect(Collectors.toList()))
+                .pagination(PageResponse.PaginationInfo.builder()
+                        .total(reports.getTotalElements())
+                        .page(reports.getNumber())
+                        .limit(reports.getSize())
+                        .pages(reports.getTotalPages())
+                        .build())
+                .build();
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public PageResponse<OccupancyReportResponse> getOccupancyReports(UUID companyId, UUID parkingId, 
+                                                                    LocalDate startDate, LocalDate endDate, 
+                                                                    CursorPageRequest cursorPage) {
+        Slice<OccupancyReport> reports = occupancyReportRepository.findByCompanyIdAndParkingIdAndPeriodBetweenAfter(
+                companyId, parkingId, startDate, endDate,
+                cursorPage.getSortKeyAsDate(), cursorPage.getLastId(), cursorPage.toPageable());
+        
+        Long total = cursorPage.isIncludeTotal()
+                ? occupancyReportRepository.findByCompanyIdAndParkingIdAndPeriodBetween(
+                        companyId, parkingId, startDate, endDate, PageRequest.of(0, 1)).getTotalElements()
+                : null;
+        
+        return PageResponse.fromSlice(reports, reportMapper::toOccupancyReportResponse,
+                report -> CursorPageRequest.encode(report.getPeriodStart(), report.getId()), total);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public FinancialReportResponse getDashboardFinancialSummary(UUID companyId, UUID parkingId) {
-        // Get current month summary
-        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-        LocalDate endOfMonth = LocalDate.now();
-        
-        GenerateReportRequest request = new GenerateReportRequest();
-        request.setStartDate(startOfMonth);
-        request.setEndDate(endOfMonth);
-        request.setParkingIds(parkingId != null ? List.of(parkingId) : null);
-        
-        return generateFinancialReport(request, UUID.randomUUID()); // TODO: Get actual user ID
+        return dashboardSummaryService.getFinancialSummary(companyId, parkingId);
     }
     
     @Override
+    @Transactional(readOnly = true)
     public OccupancyReportResponse getDashboardOccupancySummary(UUID companyId, UUID parkingId) {
-        // Get current month summary
-        LocalDate startOfMonth = LocalDate.now().withDayOfMonth(1);
-        LocalDate endOfMonth = LocalDate.now();
-        
-        GenerateReportRequest request = new GenerateReportRequest();
-        request.setStartDate(startOfMonth);
-        request.setEndDate(endOfMonth);
-        request.setParkingIds(parkingId != null ? List.of(parkingId) : null);
-        
-        return generateOccupancyReport(request, UUID.randomUUID()); // TODO: Get actual user ID
+        return dashboardSummaryService.getOccupancySummary(companyId, parkingId);
     }
     
     @Override
     public void generateScheduledReports() {
-        // TODO: Implement scheduled report generation
-        log.info("Generating scheduled reports...");
+        reportScheduleService.runDueSchedules();
+    }
+    
+    @Override
+    public ReportScheduleResponse scheduleReport(ScheduleReportRequest request, UUID userId) {
+        return reportScheduleService.createSchedule(request, userId);
     }
     
     @Override
-    public void scheduleReport(GenerateReportRequest request, String cronExpression, UUID userId) {
-        // TODO: Implement report scheduling
-        log.info("Scheduling report with cron expression: {}", cronExpression);
+    @Transactional(readOnly = true)
+    public PageResponse<ReportScheduleExecutionResponse> getScheduleExecutions(UUID scheduleId, Pageable pageable) {
+        return reportScheduleService.getExecutions(scheduleId, pageable);
     }
 }
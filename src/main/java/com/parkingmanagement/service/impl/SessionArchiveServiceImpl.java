@@ -0,0 +1,195 @@
+package com.parkingmanagement.service.impl;
+
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.projection.ClosedSessionView;
+import com.parkingmanagement.service.SessionArchiveService;
+import com.parkingmanagement.service.archive.ArchiveAggregate;
+import com.parkingmanagement.service.archive.ArchiveCoverage;
+import com.parkingmanagement.service.archive.SessionArchiveSegment;
+import com.parkingmanagement.service.archive.SessionArchiveWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SessionArchiveServiceImpl implements SessionArchiveService {
+    
+    private final ParkingRepository parkingRepository;
+    private final ParkingSessionRepository parkingSessionRepository;
+    private final ThreadPoolTaskExecutor archiveExecutor;
+    
+    // Segments are immutable, so an aggregate never needs to be recomputed once loaded
+    private final Map<Path, ArchiveAggregate> aggregates = new ConcurrentHashMap<>();
+    
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${app.archive.directory:data/session-archive}")
+    private String directory;
+    
+    @Value("${app.archive.settle-days:3}")
+    private int settleDays;
+    
+    @Value("${app.archive.lookback-months:24}")
+    private int lookbackMonths;
+    
+    /**
+     * Starts the nightly run on the archive's own thread. A run can take long, and on the
+     * shared scheduler it would hold back the frequent jobs such as the replica lag check.
+     */
+    @Scheduled(cron = "${app.archive.cron:0 30 2 * * *}")
+    public void scheduleArchive() {
+        if (enabled) {
+            archiveExecutor.execute(this::archiveClosedMonths);
+        }
+    }
+    
+    @Override
+    public void archiveClosedMonths() {
+        if (!enabled) {
+            return;
+        }
+        
+        YearMonth lastClosedMonth = YearMonth.from(LocalDate.now().minusDays(settleDays)).minusMonths(1);
+        YearMonth firstMonth = lastClosedMonth.minusMonths(lookbackMonths - 1L);
+        int written = 0;
+        
+        for (Parking parking : parkingRepository.findByIsActiveTrue(Pageable.unpaged())) {
+            YearMonth month = firstMonth;
+            if (parking.getCreatedAt() != null && YearMonth.from(parking.getCreatedAt()).isAfter(month)) {
+                month = YearMonth.from(parking.getCreatedAt());
+            }
+            
+            for (; !month.isAfter(lastClosedMonth); month = month.plusMonths(1)) {
+                try {
+                    if (archiveMonth(parking.getId(), month)) {
+                        written++;
+                    }
+                } catch (IOException ex) {
+                    log.error("Failed to archive sessions of parking {} for {}", parking.getId(), month, ex);
+                }
+            }
+        }
+        
+        log.info("Session archive run finished, {} new segments written up to {}", written, lastClosedMonth);
+    }
+    
+    private boolean archiveMonth(UUID parkingId, YearMonth month) throws IOException {
+        Path segment = segmentPath(parkingId, month);
+        if (Files.exists(segment)) {
+            return false;
+        }
+        
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        
+        // A month is only archived once every session that entered in it is closed and settled
+        if (parkingSessionRepository.countUnsettledSessions(parkingId, from, to) > 0) {
+            log.debug("Skipping archive of parking {} for {}: unsettled sessions remain", parkingId, month);
+            return false;
+        }
+        
+        List<ClosedSessionView> sessions = parkingSessionRepository.findClosedPaidSessions(parkingId, from, to);
+        SessionArchiveWriter.write(segment, parkingId, month, sessions);
+        log.debug("Archived {} sessions of parking {} for {}", sessions.size(), parkingId, month);
+        return true;
+    }
+    
+    @Override
+    public ArchiveCoverage getCoverage(UUID parkingId, LocalDate startDate, LocalDate endDate) {
+        ArchiveAggregate archived = new ArchiveAggregate();
+        List<ArchiveCoverage.DateRange> uncovered = new ArrayList<>();
+        
+        LocalDate cursor = startDate;
+        while (!cursor.isAfter(endDate)) {
+            YearMonth month = YearMonth.from(cursor);
+            LocalDate monthEnd = month.atEndOfMonth();
+            LocalDate rangeEnd = monthEnd.isBefore(endDate) ? monthEnd : endDate;
+            boolean fullMonth = cursor.getDayOfMonth() == 1 && rangeEnd.equals(monthEnd);
+            
+            ArchiveAggregate monthAggregate = enabled && fullMonth ? loadAggregate(parkingId, month) : null;
+            if (monthAggregate != null) {
+                archived.merge(monthAggregate);
+            } else {
+                addUncovered(uncovered, cursor, rangeEnd);
+            }
+            
+            cursor = rangeEnd.plusDays(1);
+        }
+        
+        return new ArchiveCoverage(archived, uncovered);
+    }
+    
+    @Override
+    public ArchiveAggregate aggregateClosedSessions(UUID parkingId, LocalDate startDate, LocalDate endDate) {
+        ArchiveCoverage coverage = getCoverage(parkingId, startDate, endDate);
+        ArchiveAggregate aggregate = new ArchiveAggregate();
+        aggregate.merge(coverage.getArchived());
+        
+        for (ArchiveCoverage.DateRange range : coverage.getUncoveredRanges()) {
+            List<ClosedSessionView> sessions = parkingSessionRepository.findClosedPaidSessions(parkingId,
+                    range.getStart().atStartOfDay(), range.getEnd().plusDays(1).atStartOfDay());
+            for (ClosedSessionView session : sessions) {
+                aggregate.addSession(session.getEntryTime(), session.getExitTime(), session.getTotalCost());
+            }
+        }
+        return aggregate;
+    }
+    
+    private ArchiveAggregate loadAggregate(UUID parkingId, YearMonth month) {
+        Path segment = segmentPath(parkingId, month);
+        if (!Files.exists(segment)) {
+            return null;
+        }
+        
+        try {
+            return aggregates.computeIfAbsent(segment, path -> {
+                try {
+                    return SessionArchiveSegment.open(path).aggregate();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException | IllegalStateException ex) {
+            log.warn("Unreadable session archive {}, falling back to the database", segment, ex);
+            return null;
+        }
+    }
+    
+    private void addUncovered(List<ArchiveCoverage.DateRange> ranges, LocalDate start, LocalDate end) {
+        if (!ranges.isEmpty()) {
+            ArchiveCoverage.DateRange last = ranges.get(ranges.size() - 1);
+            if (last.getEnd().plusDays(1).equals(start)) {
+                ranges.set(ranges.size() - 1, new ArchiveCoverage.DateRange(last.getStart(), end));
+                return;
+            }
+        }
+        ranges.add(new ArchiveCoverage.DateRange(start, end));
+    }
+    
+    private Path segmentPath(UUID parkingId, YearMonth month) {
+        return Paths.get(directory, parkingId.toString(), SessionArchiveSegment.fileName(month));
+    }
+}
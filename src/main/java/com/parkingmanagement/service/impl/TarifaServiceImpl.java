@@ -1,23 +1,30 @@
 package com.parkingmanagement.service.impl;
 
 import com.parkingmanagement.dto.request.CreateTarifaRequest;
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.UpdateTarifaRequest;
 import com.parkingmanagement.dto.response.PageResponse;
 import com.parkingmanagement.dto.response.TarifaResponse;
+import com.parkingmanagement.event.ReferenceDataChangedEvent;
 import com.parkingmanagement.exception.ResourceNotFoundException;
 import com.parkingmanagement.exception.ValidationException;
 import com.parkingmanagement.mapper.TarifaMapper;
-import com.parkingmanagement.model.entity.Parking;
 import com.parkingmanagement.model.entity.Tarifa;
-import com.parkingmanagement.model.entity.VehicleType;
 import com.parkingmanagement.repository.ParkingRepository;
 import com.parkingmanagement.repository.TarifaRepository;
 import com.parkingmanagement.repository.VehicleTypeRepository;
 import com.parkingmanagement.service.TarifaService;
+import com.parkingmanagement.service.reference.ParkingSnapshot;
+import com.parkingmanagement.service.reference.ReferenceData;
+import com.parkingmanagement.service.reference.VehicleTypeSnapshot;
+import com.parkingmanagement.service.search.SearchRanking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,17 +41,20 @@ public class TarifaServiceImpl implements TarifaService {
     private final ParkingRepository parkingRepository;
     private final VehicleTypeRepository vehicleTypeRepository;
     private final TarifaMapper tarifaMapper;
+    private final ReferenceData referenceData;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SearchRanking searchRanking;
     
     @Override
     public TarifaResponse createTarifa(CreateTarifaRequest request) {
         log.info("Creating tarifa with name: {}", request.getName());
         
         // Validate parking exists
-        Parking parking = parkingRepository.findByIdAndIsActiveTrue(request.getParkingId())
+        ParkingSnapshot parking = referenceData.findActiveParking(request.getParkingId())
                 .orElseThrow(() -> new ResourceNotFoundException("Parking not found"));
         
         // Validate vehicle type exists
-        VehicleType vehicleType = vehicleTypeRepository.findByIdAndIsActiveTrue(request.getVehicleTypeId())
+        VehicleTypeSnapshot vehicleType = referenceData.findActiveVehicleType(request.getVehicleTypeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle type not found"));
         
         // Check for duplicate tarifa name for same parking and vehicle type
@@ -54,8 +64,8 @@ public class TarifaServiceImpl implements TarifaService {
         }
         
         Tarifa tarifa = Tarifa.builder()
-                .parking(parking)
-                .vehicleType(vehicleType)
+                .parking(parkingRepository.getReferenceById(parking.id()))
+                .vehicleType(vehicleTypeRepository.getReferenceById(vehicleType.id()))
                 .name(request.getName())
                 .ratePerHour(request.getRatePerHour())
                 .ratePerDay(request.getRatePerDay())
@@ -75,9 +85,9 @@ public class TarifaServiceImpl implements TarifaService {
     @Override
     @Transactional(readOnly = true)
     public TarifaResponse getTarifaById(UUID id) {
-        Tarifa tarifa = tarifaRepository.findByIdAndIsActiveTrue(id)
+        return referenceData.findActiveTarifa(id)
+                .map(tarifaMapper::toResponse)
                 .orElseThrow(() -> new ResourceNotFoundException("Tarifa not found"));
-        return tarifaMapper.toResponse(tarifa);
     }
     
     @Override
@@ -123,6 +133,7 @@ public class TarifaServiceImpl implements TarifaService {
         }
         
         Tarifa updatedTarifa = tarifaRepository.save(tarifa);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Tarifa.class, updatedTarifa.getId()));
         log.info("Tarifa updated successfully with ID: {}", updatedTarifa.getId());
         
         return tarifaMapper.toResponse(updatedTarifa);
@@ -137,6 +148,7 @@ public class TarifaServiceImpl implements TarifaService {
         
         tarifa.setIsActive(false);
         tarifaRepository.save(tarifa);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent(Tarifa.class, id));
         
         log.info("Tarifa deleted successfully with ID: {}", id);
     }
@@ -144,7 +156,9 @@ public class TarifaServiceImpl implements TarifaService {
     @Override
     @Transactional(readOnly = true)
     public PageResponse<TarifaResponse> getAllTarifas(String search, UUID parkingId, UUID vehicleTypeId, Pageable pageable) {
-        Page<Tarifa> tarifaPage = tarifaRepository.findTarifasWithFilters(search, parkingId, vehicleTypeId, pageable);
+        Page<Tarifa> tarifaPage = searchRanking.appliesTo(search)
+                ? tarifaRepository.findTarifasWithFiltersRanked(search, parkingId, vehicleTypeId, pageable)
+                : tarifaRepository.findTarifasWithFilters(search, parkingId, vehicleTypeId, pageable);
         
         return PageResponse.<TarifaResponse>builder()
                 .content(tarifaPage.getContent().stream()
@@ -159,6 +173,20 @@ public class TarifaServiceImpl implements TarifaService {
                 .build();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<TarifaResponse> getAllTarifas(String search, UUID parkingId, UUID vehicleTypeId, CursorPageRequest cursorPage) {
+        Slice<Tarifa> tarifaSlice = tarifaRepository.findTarifasWithFiltersAfter(search, parkingId, vehicleTypeId,
+                cursorPage.getSortKeyAsDateTime(), cursorPage.getLastId(), cursorPage.toPageable());
+        
+        Long total = cursorPage.isIncludeTotal()
+                ? tarifaRepository.findTarifasWithFilters(search, parkingId, vehicleTypeId, PageRequest.of(0, 1)).getTotalElements()
+                : null;
+        
+        return PageResponse.fromSlice(tarifaSlice, tarifaMapper::toResponse,
+                tarifa -> CursorPageRequest.encode(tarifa.getCreatedAt(), tarifa.getId()), total);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<TarifaResponse> getTarifasByParking(UUID parkingId) {
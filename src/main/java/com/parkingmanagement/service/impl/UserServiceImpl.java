@@ -1,9 +1,11 @@
 package com.parkingmanagement.service.impl;
 
+import com.parkingmanagement.dto.request.CursorPageRequest;
 import com.parkingmanagement.dto.request.RegisterRequest;
 import com.parkingmanagement.dto.request.UpdateUserRequest;
 import com.parkingmanagement.dto.response.PageResponse;
 import com.parkingmanagement.dto.response.UserResponse;
+import com.parkingmanagement.event.UserSecurityChangedEvent;
 import com.parkingmanagement.exception.ResourceNotFoundException;
 import com.parkingmanagement.exception.ValidationException;
 import com.parkingmanagement.mapper.UserMapper;
@@ -13,10 +15,16 @@ import com.parkingmanagement.model.enums.UserRole;
 import com.parkingmanagement.repository.CompanyRepository;
 import com.parkingmanagement.repository.UserRepository;
 import com.parkingmanagement.service.UserService;
+import com.parkingmanagement.service.reference.ReferenceData;
+import com.parkingmanagement.service.search.SearchRanking;
+import com.parkingmanagement.service.user.LastLoginRecorder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -36,6 +44,10 @@ public class UserServiceImpl implements UserService {
     private final CompanyRepository companyRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final ReferenceData referenceData;
+    private final SearchRanking searchRanking;
     
     @Override
     public UserResponse createUser(RegisterRequest request) {
@@ -47,7 +59,8 @@ public class UserServiceImpl implements UserService {
         
         Company company = null;
         if (request.getCompanyId() != null) {
-            company = companyRepository.findByIdAndIsActiveTrue(request.getCompanyId())
+            company = referenceData.findActiveCompany(request.getCompanyId())
+                    .map(snapshot -> companyRepository.getReferenceById(snapshot.id()))
                     .orElseThrow(() -> new ResourceNotFoundException("Company not found"));
         }
         
@@ -85,12 +98,14 @@ public class UserServiceImpl implements UserService {
         
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        boolean securityChanged = false;
         
         if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
             if (userRepository.existsByEmail(request.getEmail())) {
                 throw new ValidationException("Email already in use");
             }
             user.setEmail(request.getEmail());
+            securityChanged = true;
         }
         
         if (request.getFirstName() != null) {
@@ -105,21 +120,30 @@ public class UserServiceImpl implements UserService {
             user.setPhone(request.getPhone());
         }
         
-        if (request.getRole() != null) {
+        if (request.getRole() != null && request.getRole() != user.getRole()) {
             user.setRole(request.getRole());
+            securityChanged = true;
         }
         
         if (request.getCompanyId() != null) {
-            Company company = companyRepository.findByIdAndIsActiveTrue(request.getCompanyId())
+            Company company = referenceData.findActiveCompany(request.getCompanyId())
+                    .map(snapshot -> companyRepository.getReferenceById(snapshot.id()))
                     .orElseThrow(() -> new ResourceNotFoundException("Company not found"));
+            securityChanged |= user.getCompany() == null || !company.getId().equals(user.getCompany().getId());
             user.setCompany(company);
         }
         
-        if (request.getIsActive() != null) {
+        if (request.getIsActive() != null && !request.getIsActive().equals(user.getIsActive())) {
             user.setIsActive(request.getIsActive());
+            securityChanged = true;
         }
         
+        // Tokens carry email, role and company, so they must not outlive a change to them
+        long securityVersion = securityChanged ? user.bumpSecurityVersion() : user.getSecurityVersion();
         User updatedUser = userRepository.save(user);
+        if (securityChanged) {
+            eventPublisher.publishEvent(new UserSecurityChangedEvent(updatedUser.getId(), securityVersion));
+        }
         log.info("User updated successfully with ID: {}", updatedUser.getId());
         
         return userMapper.toResponse(updatedUser);
@@ -133,7 +157,9 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         user.setIsActive(false);
+        long securityVersion = user.bumpSecurityVersion();
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(id, securityVersion));
         
         log.info("User deleted successfully with ID: {}", id);
     }
@@ -141,7 +167,9 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public PageResponse<UserResponse> getAllUsers(String search, UserRole role, UUID companyId, Pageable pageable) {
-        Page<User> userPage = userRepository.findUsersWithFilters(search, role, companyId, pageable);
+        Page<User> userPage = searchRanking.appliesTo(search)
+                ? userRepository.findUsersWithFiltersRanked(search, role, companyId, pageable)
+                : userRepository.findUsersWithFilters(search, role, companyId, pageable);
         
         return PageResponse.<UserResponse>builder()
                 .content(userPage.getContent().stream()
@@ -156,6 +184,21 @@ public class UserServiceImpl implements UserService {
                 .build();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<UserResponse> getAllUsers(String search, UserRole role, UUID companyId, CursorPageRequest cursorPage) {
+        Slice<User> userSlice = userRepository.findUsersWithFiltersAfter(search, role, companyId,
+                cursorPage.getSortKeyAsDateTime(), cursorPage.getLastId(), cursorPage.toPageable());
+        
+        // The count is the expensive part of offset paging, so it only runs when asked for
+        Long total = cursorPage.isIncludeTotal()
+                ? userRepository.findUsersWithFilters(search, role, companyId, PageRequest.of(0, 1)).getTotalElements()
+                : null;
+        
+        return PageResponse.fromSlice(userSlice, userMapper::toResponse,
+                user -> CursorPageRequest.encode(user.getCreatedAt(), user.getId()), total);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public User findByEmail(String email) {
@@ -170,10 +213,9 @@ public class UserServiceImpl implements UserService {
     }
     
     @Override
-    public void updateLastLogin(String email) {
-        User user = findByEmail(email);
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+    public void updateLastLogin(UUID userId) {
+        // Written behind in batches, off the login transaction
+        lastLoginRecorder.record(userId, LocalDateTime.now());
     }
     
     @Override
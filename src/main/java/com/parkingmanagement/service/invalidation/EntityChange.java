@@ -0,0 +1,12 @@
+package com.parkingmanagement.service.invalidation;
+
+import java.util.UUID;
+
+/**
+ * A committed change to a cached entity, as sent between nodes.
+ *
+ * @param entityType simple name of the entity class, e.g. {@code Tarifa}
+ * @param version    the entity's version after the change where it has one, otherwise 0
+ */
+public record EntityChange(String entityType, UUID id, long version) {
+}
@@ -0,0 +1,15 @@
+package com.parkingmanagement.service.invalidation;
+
+/**
+ * Carries {@link EntityChange}s to every node, so that each can evict what it cached of
+ * the changed entity. Delivery is at most once; a node that may have missed messages
+ * flushes instead, through {@link InvalidationReceiver#onMessagesLost()}.
+ */
+public interface InvalidationBus {
+    
+    /**
+     * Sends {@code change} as part of the current transaction, if any: other nodes only
+     * receive it once the transaction commits.
+     */
+    void publish(EntityChange change);
+}
@@ -0,0 +1,57 @@
+package com.parkingmanagement.service.invalidation;
+
+import com.parkingmanagement.event.ParkingChangedEvent;
+import com.parkingmanagement.event.ReferenceDataChangedEvent;
+import com.parkingmanagement.event.UserSecurityChangedEvent;
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.model.entity.User;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Forwards the service layer's change events to the other nodes. Runs before commit, so
+ * the notification is part of the writing transaction and is sent if and only if the
+ * change is committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class InvalidationPublisher {
+    
+    private final InvalidationBus invalidationBus;
+    private final PlatformTransactionManager transactionManager;
+    
+    private TransactionTemplate notifyTemplate;
+    
+    @PostConstruct
+    void init() {
+        notifyTemplate = new TransactionTemplate(transactionManager);
+        notifyTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        invalidationBus.publish(new EntityChange(event.getEntityType().getSimpleName(), event.getId(), 0));
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        invalidationBus.publish(new EntityChange(User.class.getSimpleName(), event.getUserId(), event.getSecurityVersion()));
+    }
+    
+    /**
+     * Parking events come from JPA callbacks, which also fire during the flush that commit
+     * itself performs, after the before-commit listeners have run. They are sent once the
+     * change is committed instead, in a transaction of their own.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onParkingChanged(ParkingChangedEvent event) {
+        notifyTemplate.executeWithoutResult(status ->
+                invalidationBus.publish(new EntityChange(Parking.class.getSimpleName(), event.getParkingId(), 0)));
+    }
+}
@@ -0,0 +1,46 @@
+package com.parkingmanagement.service.invalidation;
+
+import com.parkingmanagement.event.UserSecurityChangedEvent;
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.model.entity.User;
+import com.parkingmanagement.security.UserSecurityVersions;
+import com.parkingmanagement.service.parking.ParkingSpatialIndex;
+import com.parkingmanagement.service.reference.ReferenceData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies changes received over the {@link InvalidationBus} to this node's in-memory state.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InvalidationReceiver {
+    
+    private final ReferenceData referenceData;
+    private final UserSecurityVersions userSecurityVersions;
+    private final ParkingSpatialIndex parkingSpatialIndex;
+    
+    public void onChange(EntityChange change) {
+        if (User.class.getSimpleName().equals(change.entityType())) {
+            userSecurityVersions.onUserSecurityChanged(new UserSecurityChangedEvent(change.id(), change.version()));
+        } else if (Parking.class.getSimpleName().equals(change.entityType())) {
+            referenceData.evict(change.entityType(), change.id());
+            parkingSpatialIndex.rebuild();
+        } else {
+            referenceData.evict(change.entityType(), change.id());
+        }
+    }
+    
+    /**
+     * Called when changes may have gone unnoticed, e.g. while the bus was disconnected:
+     * everything cached is dropped and the security versions and parking index are re-read.
+     */
+    public void onMessagesLost() {
+        log.warn("Cache invalidations may have been missed, flushing reference data and re-reading security versions and parkings");
+        referenceData.evictAll();
+        userSecurityVersions.refresh();
+        parkingSpatialIndex.rebuild();
+    }
+}
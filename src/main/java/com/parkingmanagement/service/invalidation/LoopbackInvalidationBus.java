@@ -0,0 +1,19 @@
+package com.parkingmanagement.service.invalidation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bus for a single node and for tests: there are no other nodes to tell, so nothing is
+ * sent. The local caches do not need it either; they apply every change themselves from
+ * the same events once the writing transaction commits, and never for one rolled back.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.bus", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackInvalidationBus implements InvalidationBus {
+    
+    @Override
+    public void publish(EntityChange change) {
+        // Nobody else to notify
+    }
+}
@@ -0,0 +1,136 @@
+package com.parkingmanagement.service.invalidation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+/**
+ * Bus over PostgreSQL {@code LISTEN}/{@code NOTIFY}. A notification sent inside a
+ * transaction is delivered when it commits and dropped when it rolls back, so nodes never
+ * evict for a change that did not happen.
+ * <p>
+ * Each node holds one connection that listens on {@code channel} and polls it from a
+ * daemon thread. Notifications are not queued for a node that is not listening, so after
+ * the connection is lost and re-established the node flushes its caches instead.
+ */
+@Component
+@ConditionalOnProperty(name = "app.cache.invalidation.bus", havingValue = "postgres")
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresInvalidationBus implements InvalidationBus {
+    
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final InvalidationReceiver receiver;
+    
+    // Tells this node's own notifications apart; it applied them locally already
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private Thread listener;
+    
+    @Value("${app.cache.invalidation.channel:cache_invalidation}")
+    private String channel;
+    
+    @Value("${app.cache.invalidation.poll-timeout-ms:500}")
+    private int pollTimeoutMs;
+    
+    @Value("${app.cache.invalidation.reconnect-delay-ms:5000}")
+    private long reconnectDelayMs;
+    
+    @Override
+    public void publish(EntityChange change) {
+        String payload = String.join(",", nodeId, change.entityType(), change.id().toString(),
+                Long.toString(change.version()));
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null, channel, payload);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+    
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+    
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    // Channel names are identifiers, not parameters; this one comes from configuration
+                    statement.execute("LISTEN " + channel);
+                }
+                if (connectedBefore) {
+                    receiver.onMessagesLost();
+                }
+                connectedBefore = true;
+                log.info("Listening for cache invalidations on channel {}", channel);
+                
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            deliver(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, reconnecting in {} ms", reconnectDelayMs, ex);
+                try {
+                    Thread.sleep(reconnectDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+    
+    private void deliver(String payload) {
+        String[] fields = payload.split(",", 4);
+        if (fields.length != 4) {
+            log.warn("Ignoring malformed cache invalidation: {}", payload);
+            return;
+        }
+        if (nodeId.equals(fields[0])) {
+            return;
+        }
+        try {
+            receiver.onChange(new EntityChange(fields[1], UUID.fromString(fields[2]), Long.parseLong(fields[3])));
+        } catch (RuntimeException ex) {
+            // One bad message must not stop the listener; flushing covers whatever it meant
+            log.error("Failed to apply cache invalidation {}", payload, ex);
+            receiver.onMessagesLost();
+        }
+    }
+}
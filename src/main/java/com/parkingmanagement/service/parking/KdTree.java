@@ -0,0 +1,182 @@
+package com.parkingmanagement.service.parking;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable 3-d tree over points on the unit sphere. Working with unit vectors instead of
+ * latitude and longitude keeps distances right across the antimeridian and near the poles,
+ * and the chord between two points grows with their great-circle distance, so nearest by
+ * chord is nearest on the ground.
+ * <p>
+ * Nodes are stored implicitly: the median of a range is its root, the halves its subtrees.
+ */
+final class KdTree {
+    
+    private final double[][] coordinates;
+    // Point indices in tree order
+    private final int[] order;
+    
+    /**
+     * @param coordinates {x, y, z} of every point; the tree answers with indices into it
+     */
+    KdTree(double[][] coordinates) {
+        this.coordinates = coordinates;
+        this.order = IntStream.range(0, coordinates.length).toArray();
+        build(0, order.length, 0);
+    }
+    
+    int size() {
+        return order.length;
+    }
+    
+    static double[] toUnitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        return new double[] {Math.cos(lat) * Math.cos(lon), Math.cos(lat) * Math.sin(lon), Math.sin(lat)};
+    }
+    
+    /**
+     * @return up to {@code k} indices of accepted points within {@code maxChord} of the query,
+     *         nearest first
+     */
+    int[] nearest(double[] query, int k, double maxChord, IntPredicate accept) {
+        Candidates candidates = new Candidates(k, maxChord * maxChord);
+        search(query, 0, order.length, 0, candidates, accept);
+        return candidates.sorted();
+    }
+    
+    double chordSquared(double[] query, int point) {
+        double[] p = coordinates[point];
+        double dx = p[0] - query[0];
+        double dy = p[1] - query[1];
+        double dz = p[2] - query[2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+    
+    private void build(int from, int to, int axis) {
+        if (to - from < 2) {
+            return;
+        }
+        // Sorting each range is O(n log^2 n), a few milliseconds for ten thousand sites
+        Integer[] range = Arrays.stream(order, from, to).boxed().toArray(Integer[]::new);
+        Arrays.sort(range, Comparator.comparingDouble(point -> coordinates[point][axis]));
+        for (int i = 0; i < range.length; i++) {
+            order[from + i] = range[i];
+        }
+        int mid = (from + to) >>> 1;
+        build(from, mid, (axis + 1) % 3);
+        build(mid + 1, to, (axis + 1) % 3);
+    }
+    
+    private void search(double[] query, int from, int to, int axis, Candidates candidates, IntPredicate accept) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        int point = order[mid];
+        double distance = chordSquared(query, point);
+        if (distance <= candidates.bound() && accept.test(point)) {
+            candidates.offer(point, distance);
+        }
+        
+        double delta = query[axis] - coordinates[point][axis];
+        int nextAxis = (axis + 1) % 3;
+        if (delta < 0) {
+            search(query, from, mid, nextAxis, candidates, accept);
+            if (delta * delta <= candidates.bound()) {
+                search(query, mid + 1, to, nextAxis, candidates, accept);
+            }
+        } else {
+            search(query, mid + 1, to, nextAxis, candidates, accept);
+            if (delta * delta <= candidates.bound()) {
+                search(query, from, mid, nextAxis, candidates, accept);
+            }
+        }
+    }
+    
+    /**
+     * The {@code k} nearest points so far as a max-heap on distance, so the farthest one is
+     * replaced first. Its bound is the radius until {@code k} points are found.
+     */
+    private static final class Candidates {
+        
+        private final int[] points;
+        private final double[] distances;
+        private final double maxDistance;
+        private int size;
+        
+        Candidates(int k, double maxDistance) {
+            this.points = new int[k];
+            this.distances = new double[k];
+            this.maxDistance = maxDistance;
+        }
+        
+        double bound() {
+            return size < points.length ? maxDistance : distances[0];
+        }
+        
+        void offer(int point, double distance) {
+            if (size < points.length) {
+                int i = size++;
+                points[i] = point;
+                distances[i] = distance;
+                siftUp(i);
+            } else if (distance < distances[0]) {
+                points[0] = point;
+                distances[0] = distance;
+                siftDown(0);
+            }
+        }
+        
+        int[] sorted() {
+            Integer[] byDistance = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                byDistance[i] = i;
+            }
+            Arrays.sort(byDistance, Comparator.comparingDouble(i -> distances[i]));
+            return Arrays.stream(byDistance).mapToInt(i -> points[i]).toArray();
+        }
+        
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (distances[parent] >= distances[i]) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+        
+        private void siftDown(int i) {
+            while (true) {
+                int largest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && distances[left] > distances[largest]) {
+                    largest = left;
+                }
+                if (right < size && distances[right] > distances[largest]) {
+                    largest = right;
+                }
+                if (largest == i) {
+                    return;
+                }
+                swap(i, largest);
+                i = largest;
+            }
+        }
+        
+        private void swap(int a, int b) {
+            int point = points[a];
+            points[a] = points[b];
+            points[b] = point;
+            double distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.parkingmanagement.service.parking;
+
+import java.util.UUID;
+
+/**
+ * A parking found by {@link ParkingSpatialIndex}, with its distance from the query point
+ * and the free spaces it has right now, or null if its capacity is unknown.
+ */
+public record NearbyParking(UUID parkingId, UUID companyId, String name, String address,
+                            double latitude, double longitude, double distanceMeters,
+                            long capacity, Long freeSpaces) {
+}
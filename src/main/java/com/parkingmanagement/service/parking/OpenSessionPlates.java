@@ -0,0 +1,100 @@
+package com.parkingmanagement.service.parking;
+
+import com.parkingmanagement.event.SessionEndedEvent;
+import com.parkingmanagement.event.SessionStartedEvent;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.projection.OpenSessionPlateView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Plates of the vehicles parked right now, one {@link PlateIndex} per parking, so a gate
+ * can resolve a misread plate against the few hundred sessions that can actually be
+ * leaving instead of every vehicle on record.
+ * <p>
+ * Sessions are added and removed as {@link SessionStartedEvent}s and
+ * {@link SessionEndedEvent}s arrive, and the whole set is re-read every
+ * {@code refresh-interval-ms}; an event racing a rebuild is corrected by the next one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OpenSessionPlates {
+    
+    private final ParkingSessionRepository parkingSessionRepository;
+    
+    private volatile Map<UUID, PlateIndex> indexes = new ConcurrentHashMap<>();
+    // Not the monitor: a virtual thread blocked on the query inside synchronized pins its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    @Value("${app.parkings.plate-match.max-distance:2}")
+    private int maxDistance;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.parkings.plate-match.refresh-interval-ms:60000}",
+               initialDelayString = "${app.parkings.plate-match.refresh-interval-ms:60000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            load();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    private void load() {
+        List<OpenSessionPlateView> sessions = parkingSessionRepository.findOpenSessionPlates();
+        Map<UUID, PlateIndex> rebuilt = new ConcurrentHashMap<>();
+        for (OpenSessionPlateView session : sessions) {
+            rebuilt.computeIfAbsent(session.getParkingId(), id -> new PlateIndex(maxDistance))
+                    .add(session.getSessionId(), session.getVehicleId(), session.getLicensePlate());
+        }
+        indexes = rebuilt;
+        log.debug("Open session plates rebuilt with {} sessions in {} parkings", sessions.size(), rebuilt.size());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionStarted(SessionStartedEvent event) {
+        // The event carries no plate; one row by primary key, once per entry
+        parkingSessionRepository.findOpenSessionPlate(event.getSessionId()).ifPresent(session ->
+                indexes.computeIfAbsent(session.getParkingId(), id -> new PlateIndex(maxDistance))
+                        .add(session.getSessionId(), session.getVehicleId(), session.getLicensePlate()));
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionEnded(SessionEndedEvent event) {
+        PlateIndex index = indexes.get(event.getParkingId());
+        if (index != null) {
+            index.remove(event.getSessionId());
+        }
+    }
+    
+    /**
+     * @return {@code licensePlate} upper-cased with everything but letters and digits removed,
+     *         the form the indexes compare
+     */
+    public static String normalize(String licensePlate) {
+        return PlateIndex.strip(licensePlate);
+    }
+    
+    /**
+     * @return up to {@code limit} open sessions at {@code parkingId} whose plate is within
+     *         {@code max-distance} edits of {@code licensePlate}, best match first
+     */
+    public List<PlateCandidate> findCandidates(UUID parkingId, String licensePlate, int limit) {
+        PlateIndex index = indexes.get(parkingId);
+        return index != null && limit > 0 ? index.search(licensePlate, limit) : List.of();
+    }
+}
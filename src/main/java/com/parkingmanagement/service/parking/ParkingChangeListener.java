@@ -0,0 +1,28 @@
+package com.parkingmanagement.service.parking;
+
+import com.parkingmanagement.event.ParkingChangedEvent;
+import com.parkingmanagement.model.entity.Parking;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener turning every write of a {@link Parking} into a {@link ParkingChangedEvent}.
+ * Hibernate obtains it from the Spring context, so it can publish.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParkingChangeListener {
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Parking parking) {
+        eventPublisher.publishEvent(new ParkingChangedEvent(parking.getId()));
+    }
+}
@@ -0,0 +1,170 @@
+package com.parkingmanagement.service.parking;
+
+import com.parkingmanagement.event.ParkingChangedEvent;
+import com.parkingmanagement.event.SessionEndedEvent;
+import com.parkingmanagement.event.SessionStartedEvent;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.ParkingZoneRepository;
+import com.parkingmanagement.repository.projection.ParkingLocationView;
+import com.parkingmanagement.repository.projection.ParkingMetricView;
+import com.parkingmanagement.repository.projection.ParkingVehicleTypeView;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Nearest-parking search over the active parkings that have coordinates. The sites live in
+ * an immutable {@link KdTree} that is rebuilt from the database when a parking changes and
+ * every {@code refresh-interval-ms}; queries read whichever tree is current without locking.
+ * <p>
+ * Free spaces are capacity minus open sessions. Open sessions are counted live from
+ * {@link SessionStartedEvent}s and {@link SessionEndedEvent}s and re-read on every rebuild.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ParkingSpatialIndex {
+    
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    
+    private final ParkingRepository parkingRepository;
+    private final ParkingZoneRepository parkingZoneRepository;
+    private final ParkingSessionRepository parkingSessionRepository;
+    
+    private final Map<UUID, AtomicLong> occupied = new ConcurrentHashMap<>();
+    private volatile Snapshot snapshot = new Snapshot(new KdTree(new double[0][]), new Site[0]);
+    // A lock, not the monitor: rebuilds query the database and also run on request threads
+    // after a parking changes, where a virtual thread would pin its carrier inside synchronized
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.parkings.nearby.refresh-interval-ms:300000}",
+               initialDelayString = "${app.parkings.nearby.refresh-interval-ms:300000}")
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            load();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    private void load() {
+        Map<UUID, Long> capacities = new HashMap<>();
+        for (ParkingMetricView view : parkingZoneRepository.sumCapacityByParking()) {
+            capacities.put(view.getParkingId(), view.getValue().longValue());
+        }
+        Map<UUID, Set<UUID>> vehicleTypes = new HashMap<>();
+        for (ParkingVehicleTypeView view : parkingZoneRepository.findVehicleTypesByParking()) {
+            vehicleTypes.computeIfAbsent(view.getParkingId(), id -> new HashSet<>()).add(view.getVehicleTypeId());
+        }
+        
+        List<ParkingLocationView> locations = parkingRepository.findActiveLocations();
+        Site[] sites = new Site[locations.size()];
+        double[][] coordinates = new double[locations.size()][];
+        for (int i = 0; i < sites.length; i++) {
+            ParkingLocationView location = locations.get(i);
+            double latitude = location.getLatitude().doubleValue();
+            double longitude = location.getLongitude().doubleValue();
+            sites[i] = new Site(location.getParkingId(), location.getCompanyId(), location.getName(),
+                    location.getAddress(), latitude, longitude,
+                    capacities.getOrDefault(location.getParkingId(), 0L),
+                    vehicleTypes.getOrDefault(location.getParkingId(), Set.of()));
+            coordinates[i] = KdTree.toUnitVector(latitude, longitude);
+        }
+        
+        // Replaces the live counts; an event racing the query is corrected on the next rebuild
+        Map<UUID, AtomicLong> counted = new HashMap<>();
+        for (ParkingMetricView view : parkingSessionRepository.countOpenSessionsByParking()) {
+            counted.put(view.getParkingId(), new AtomicLong(view.getValue().longValue()));
+        }
+        occupied.keySet().retainAll(counted.keySet());
+        counted.forEach((parkingId, count) -> occupied.merge(parkingId, count, (previous, current) -> {
+            previous.set(current.get());
+            return previous;
+        }));
+        
+        snapshot = new Snapshot(new KdTree(coordinates), sites);
+        log.debug("Parking spatial index rebuilt with {} sites", sites.length);
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onParkingChanged(ParkingChangedEvent event) {
+        rebuild();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionStarted(SessionStartedEvent event) {
+        occupied.computeIfAbsent(event.getParkingId(), id -> new AtomicLong()).incrementAndGet();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSessionEnded(SessionEndedEvent event) {
+        occupied.computeIfAbsent(event.getParkingId(), id -> new AtomicLong())
+                .getAndUpdate(count -> Math.max(0, count - 1));
+    }
+    
+    /**
+     * @param vehicleTypeId  only parkings with spaces for this vehicle type, or null for any
+     * @param minFreeSpaces  only parkings with at least this many free spaces now; zero also
+     *                       admits parkings of unknown capacity
+     * @return up to {@code limit} parkings within {@code radiusMeters}, nearest first
+     */
+    public List<NearbyParking> findNearest(double latitude, double longitude, double radiusMeters, int limit,
+                                           UUID vehicleTypeId, long minFreeSpaces) {
+        Snapshot current = snapshot;
+        if (limit <= 0 || current.tree().size() == 0) {
+            return List.of();
+        }
+        
+        double[] query = KdTree.toUnitVector(latitude, longitude);
+        // Beyond half the circumference every point qualifies
+        double maxChord = 2 * Math.sin(Math.min(radiusMeters / EARTH_RADIUS_METERS, Math.PI) / 2);
+        int[] found = current.tree().nearest(query, limit, maxChord, point -> {
+            Site site = current.sites()[point];
+            if (vehicleTypeId != null && !site.vehicleTypes().contains(vehicleTypeId)) {
+                return false;
+            }
+            return minFreeSpaces <= 0 || (site.capacity() > 0 && freeSpaces(site) >= minFreeSpaces);
+        });
+        
+        List<NearbyParking> nearby = new ArrayList<>(found.length);
+        for (int point : found) {
+            Site site = current.sites()[point];
+            double chord = Math.sqrt(current.tree().chordSquared(query, point));
+            double distanceMeters = 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, chord / 2));
+            nearby.add(new NearbyParking(site.parkingId(), site.companyId(), site.name(), site.address(),
+                    site.latitude(), site.longitude(), distanceMeters, site.capacity(),
+                    site.capacity() > 0 ? freeSpaces(site) : null));
+        }
+        return nearby;
+    }
+    
+    private long freeSpaces(Site site) {
+        AtomicLong count = occupied.get(site.parkingId());
+        return Math.max(0, site.capacity() - (count != null ? count.get() : 0));
+    }
+    
+    private record Snapshot(KdTree tree, Site[] sites) {
+    }
+    
+    private record Site(UUID parkingId, UUID companyId, String name, String address,
+                        double latitude, double longitude, long capacity, Set<UUID> vehicleTypes) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.parkingmanagement.service.parking;
+
+import java.util.UUID;
+
+/**
+ * An open session whose plate may be the one a gate camera read, {@code distance} edits
+ * away once look-alike characters are folded and {@code rawDistance} edits away as read.
+ */
+public record PlateCandidate(UUID sessionId, UUID vehicleId, String licensePlate,
+                             int distance, int rawDistance) {
+}
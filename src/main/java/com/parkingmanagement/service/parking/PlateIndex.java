@@ -0,0 +1,182 @@
+package com.parkingmanagement.service.parking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Symmetric-delete index over the plates of one parking's open sessions. Every plate is
+ * stored under each string left after deleting up to {@code maxDistance} characters from
+ * its key, so a lookup only generates the same deletions of the query and verifies the
+ * handful of plates they hit; no other plate is ever compared.
+ * <p>
+ * Keys fold characters a camera commonly confuses (0/O/D/Q, 1/I/L, 8/B, 5/S, 2/Z, 6/G)
+ * into one, so such misreads cost nothing and the edit distance is left for the rest.
+ * Thread-safe; a parking holds a few thousand plates at most, so one monitor is enough.
+ */
+final class PlateIndex {
+    
+    private static final Comparator<PlateCandidate> RANKING = Comparator
+            .comparingInt(PlateCandidate::distance)
+            .thenComparingInt(PlateCandidate::rawDistance)
+            .thenComparing(PlateCandidate::licensePlate);
+    
+    private final int maxDistance;
+    private final Map<UUID, Entry> bySession = new HashMap<>();
+    private final Map<String, List<Entry>> byDeletion = new HashMap<>();
+    
+    PlateIndex(int maxDistance) {
+        this.maxDistance = maxDistance;
+    }
+    
+    synchronized void add(UUID sessionId, UUID vehicleId, String licensePlate) {
+        String key = key(licensePlate);
+        if (key.isEmpty()) {
+            return;
+        }
+        remove(sessionId);
+        Entry entry = new Entry(sessionId, vehicleId, licensePlate, strip(licensePlate), key);
+        bySession.put(sessionId, entry);
+        for (String deletion : deletions(key)) {
+            byDeletion.computeIfAbsent(deletion, d -> new ArrayList<>(1)).add(entry);
+        }
+    }
+    
+    synchronized void remove(UUID sessionId) {
+        Entry entry = bySession.remove(sessionId);
+        if (entry == null) {
+            return;
+        }
+        for (String deletion : deletions(entry.key())) {
+            List<Entry> entries = byDeletion.get(deletion);
+            if (entries != null && entries.remove(entry) && entries.isEmpty()) {
+                byDeletion.remove(deletion);
+            }
+        }
+    }
+    
+    synchronized int size() {
+        return bySession.size();
+    }
+    
+    /**
+     * @return up to {@code limit} plates within {@code maxDistance} edits of {@code licensePlate}
+     *         after folding, closest first; ties go to the plate closer before folding
+     */
+    synchronized List<PlateCandidate> search(String licensePlate, int limit) {
+        String key = key(licensePlate);
+        if (key.isEmpty() || bySession.isEmpty()) {
+            return List.of();
+        }
+        
+        String stripped = strip(licensePlate);
+        Set<UUID> seen = new HashSet<>();
+        List<PlateCandidate> candidates = new ArrayList<>();
+        for (String deletion : deletions(key)) {
+            List<Entry> entries = byDeletion.get(deletion);
+            if (entries == null) {
+                continue;
+            }
+            for (Entry entry : entries) {
+                if (!seen.add(entry.sessionId())) {
+                    continue;
+                }
+                // Sharing a deletion only bounds the distance by twice the maximum
+                int distance = distance(key, entry.key(), maxDistance);
+                if (distance <= maxDistance) {
+                    candidates.add(new PlateCandidate(entry.sessionId(), entry.vehicleId(), entry.licensePlate(),
+                            distance, distance(stripped, entry.stripped(), Integer.MAX_VALUE)));
+                }
+            }
+        }
+        candidates.sort(RANKING);
+        return candidates.size() > limit ? List.copyOf(candidates.subList(0, limit)) : candidates;
+    }
+    
+    static String strip(String licensePlate) {
+        if (licensePlate == null) {
+            return "";
+        }
+        StringBuilder stripped = new StringBuilder(licensePlate.length());
+        for (char c : licensePlate.toUpperCase(Locale.ROOT).toCharArray()) {
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                stripped.append(c);
+            }
+        }
+        return stripped.toString();
+    }
+    
+    static String key(String licensePlate) {
+        char[] key = strip(licensePlate).toCharArray();
+        for (int i = 0; i < key.length; i++) {
+            key[i] = switch (key[i]) {
+                case 'O', 'D', 'Q' -> '0';
+                case 'I', 'L' -> '1';
+                case 'Z' -> '2';
+                case 'S' -> '5';
+                case 'G' -> '6';
+                case 'B' -> '8';
+                default -> key[i];
+            };
+        }
+        return new String(key);
+    }
+    
+    private Set<String> deletions(String key) {
+        Set<String> deletions = new HashSet<>();
+        deletions.add(key);
+        Set<String> frontier = Set.of(key);
+        for (int depth = 0; depth < maxDistance; depth++) {
+            Set<String> next = new HashSet<>();
+            for (String s : frontier) {
+                for (int i = 0; i < s.length(); i++) {
+                    String deletion = s.substring(0, i) + s.substring(i + 1);
+                    if (deletions.add(deletion)) {
+                        next.add(deletion);
+                    }
+                }
+            }
+            frontier = next;
+        }
+        return deletions;
+    }
+    
+    /**
+     * Levenshtein distance, or {@code bound + 1} as soon as it is known to exceed {@code bound}.
+     */
+    static int distance(String a, String b, int bound) {
+        if (Math.abs(a.length() - b.length()) > bound) {
+            return bound + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > bound) {
+                return bound + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] > bound ? bound + 1 : previous[b.length()];
+    }
+    
+    private record Entry(UUID sessionId, UUID vehicleId, String licensePlate, String stripped, String key) {
+    }
+}
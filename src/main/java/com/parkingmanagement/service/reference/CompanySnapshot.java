@@ -0,0 +1,15 @@
+package com.parkingmanagement.service.reference;
+
+import com.parkingmanagement.model.entity.Company;
+
+import java.util.UUID;
+
+/**
+ * The parts of a {@link Company} other entities' validation and responses need.
+ */
+public record CompanySnapshot(UUID id, String name, boolean active) {
+    
+    static CompanySnapshot of(Company company) {
+        return new CompanySnapshot(company.getId(), company.getName(), Boolean.TRUE.equals(company.getIsActive()));
+    }
+}
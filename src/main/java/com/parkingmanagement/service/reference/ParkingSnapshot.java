@@ -0,0 +1,16 @@
+package com.parkingmanagement.service.reference;
+
+import com.parkingmanagement.model.entity.Parking;
+
+import java.util.UUID;
+
+/**
+ * The parts of a {@link Parking} other entities' validation and responses need.
+ */
+public record ParkingSnapshot(UUID id, UUID companyId, String name, boolean active) {
+    
+    static ParkingSnapshot of(Parking parking) {
+        return new ParkingSnapshot(parking.getId(), parking.getCompany() != null ? parking.getCompany().getId() : null,
+                parking.getName(), Boolean.TRUE.equals(parking.getIsActive()));
+    }
+}
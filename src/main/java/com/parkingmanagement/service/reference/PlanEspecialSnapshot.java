@@ -0,0 +1,25 @@
+package com.parkingmanagement.service.reference;
+
+import com.parkingmanagement.model.entity.PlanEspecial;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A {@link PlanEspecial} detached from the persistence context; the parking and vehicle
+ * type are referenced by id and resolved through their own snapshots.
+ */
+public record PlanEspecialSnapshot(UUID id, UUID parkingId, UUID vehicleTypeId, String name, String description,
+                                   Integer durationDays, BigDecimal basePrice, BigDecimal discountPercentage,
+                                   Integer maxEntries, Integer maxHours, Boolean isVip, Boolean requiresRegistration,
+                                   boolean active, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    
+    static PlanEspecialSnapshot of(PlanEspecial plan) {
+        return new PlanEspecialSnapshot(plan.getId(), plan.getParking().getId(), plan.getVehicleType().getId(),
+                plan.getName(), plan.getDescription(), plan.getDurationDays(), plan.getBasePrice(),
+                plan.getDiscountPercentage(), plan.getMaxEntries(), plan.getMaxHours(), plan.getIsVip(),
+                plan.getRequiresRegistration(), Boolean.TRUE.equals(plan.getIsActive()),
+                plan.getCreatedAt(), plan.getUpdatedAt());
+    }
+}
@@ -0,0 +1,97 @@
+package com.parkingmanagement.service.reference;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of immutable snapshots by id, bounded to {@code maxEntries} in LRU
+ * order and to {@code ttlNanos} per entry. Loads run outside the lock; a load that overlaps
+ * an eviction is returned to its caller but not cached, so an eviction is never undone by
+ * a read that started before it. Absent ids are not cached.
+ */
+final class ReferenceCache<V> {
+    
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final LinkedHashMap<UUID, Entry<V>> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    
+    // Bumped by every eviction; guarded by entries
+    private long generation;
+    
+    ReferenceCache(String name, boolean enabled, int maxEntries, long ttlNanos, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttlNanos = ttlNanos;
+        this.hits = meterRegistry.counter("reference.cache.gets", "cache", name, "result", "hit");
+        this.misses = meterRegistry.counter("reference.cache.gets", "cache", name, "result", "miss");
+        this.evictions = meterRegistry.counter("reference.cache.evictions", "cache", name);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry<V>> eldest) {
+                if (size() > maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    Optional<V> get(UUID id, Function<UUID, Optional<V>> loader) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        
+        long loadedAt = System.nanoTime();
+        long loadGeneration;
+        synchronized (entries) {
+            Entry<V> entry = entries.get(id);
+            if (entry != null && entry.expiresAt() - loadedAt > 0) {
+                hits.increment();
+                return Optional.of(entry.value());
+            }
+            loadGeneration = generation;
+        }
+        
+        misses.increment();
+        Optional<V> loaded = loader.apply(id);
+        if (loaded.isPresent()) {
+            synchronized (entries) {
+                if (generation == loadGeneration) {
+                    entries.put(id, new Entry<>(loaded.get(), loadedAt + ttlNanos));
+                }
+            }
+        }
+        return loaded;
+    }
+    
+    void evict(UUID id) {
+        synchronized (entries) {
+            generation++;
+            if (entries.remove(id) != null) {
+                evictions.increment();
+            }
+        }
+    }
+    
+    void clear() {
+        synchronized (entries) {
+            generation++;
+            entries.clear();
+        }
+    }
+    
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
@@ -0,0 +1,173 @@
+package com.parkingmanagement.service.reference;
+
+import com.parkingmanagement.event.ParkingChangedEvent;
+import com.parkingmanagement.event.ReferenceDataChangedEvent;
+import com.parkingmanagement.model.entity.Company;
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.model.entity.PlanEspecial;
+import com.parkingmanagement.model.entity.Tarifa;
+import com.parkingmanagement.model.entity.VehicleType;
+import com.parkingmanagement.repository.CompanyRepository;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.PlanEspecialRepository;
+import com.parkingmanagement.repository.TarifaRepository;
+import com.parkingmanagement.repository.VehicleTypeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshots of the reference entities nearly every request reads and almost nothing
+ * writes: parkings, companies, vehicle types, tarifas and plans. Validation and response
+ * mapping read them here instead of loading the entity or initializing a lazy association.
+ * <p>
+ * Each type has its own {@link ReferenceCache}, configured under
+ * {@code app.cache.reference.<type>} with {@code enabled}, {@code max-entries} and
+ * {@code ttl-seconds}, falling back to the shared defaults. Writes through the services
+ * evict after commit; the TTL bounds how long a change made outside the application
+ * goes unnoticed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceData {
+    
+    private final ParkingRepository parkingRepository;
+    private final CompanyRepository companyRepository;
+    private final VehicleTypeRepository vehicleTypeRepository;
+    private final TarifaRepository tarifaRepository;
+    private final PlanEspecialRepository planEspecialRepository;
+    private final MeterRegistry meterRegistry;
+    private final Environment environment;
+    
+    private ReferenceCache<ParkingSnapshot> parkings;
+    private ReferenceCache<CompanySnapshot> companies;
+    private ReferenceCache<VehicleTypeSnapshot> vehicleTypes;
+    private ReferenceCache<TarifaSnapshot> tarifas;
+    private ReferenceCache<PlanEspecialSnapshot> planes;
+    // By entity simple name, the type names change notifications carry
+    private Map<String, ReferenceCache<?>> byEntity;
+    
+    @Value("${app.cache.reference.max-entries:10000}")
+    private int defaultMaxEntries;
+    
+    @Value("${app.cache.reference.ttl-seconds:600}")
+    private long defaultTtlSeconds;
+    
+    @PostConstruct
+    private void init() {
+        parkings = cache("parkings");
+        companies = cache("companies");
+        vehicleTypes = cache("vehicle-types");
+        tarifas = cache("tarifas");
+        planes = cache("planes");
+        byEntity = Map.of(
+                Parking.class.getSimpleName(), parkings,
+                Company.class.getSimpleName(), companies,
+                VehicleType.class.getSimpleName(), vehicleTypes,
+                Tarifa.class.getSimpleName(), tarifas,
+                PlanEspecial.class.getSimpleName(), planes);
+    }
+    
+    private <V> ReferenceCache<V> cache(String name) {
+        String prefix = "app.cache.reference." + name + ".";
+        boolean enabled = environment.getProperty(prefix + "enabled", Boolean.class, true);
+        int maxEntries = environment.getProperty(prefix + "max-entries", Integer.class, defaultMaxEntries);
+        long ttlSeconds = environment.getProperty(prefix + "ttl-seconds", Long.class, defaultTtlSeconds);
+        log.debug("Reference cache {}: enabled={}, max-entries={}, ttl={}s", name, enabled, maxEntries, ttlSeconds);
+        return new ReferenceCache<>(name, enabled, maxEntries, TimeUnit.SECONDS.toNanos(ttlSeconds), meterRegistry);
+    }
+    
+    public Optional<ParkingSnapshot> findActiveParking(UUID id) {
+        return findParking(id).filter(ParkingSnapshot::active);
+    }
+    
+    public Optional<CompanySnapshot> findActiveCompany(UUID id) {
+        return findCompany(id).filter(CompanySnapshot::active);
+    }
+    
+    public Optional<VehicleTypeSnapshot> findActiveVehicleType(UUID id) {
+        return findVehicleType(id).filter(VehicleTypeSnapshot::active);
+    }
+    
+    public Optional<TarifaSnapshot> findActiveTarifa(UUID id) {
+        return tarifas.get(id, key -> tarifaRepository.findById(key).map(TarifaSnapshot::of))
+                .filter(TarifaSnapshot::active);
+    }
+    
+    public Optional<PlanEspecialSnapshot> findActivePlan(UUID id) {
+        return planes.get(id, key -> planEspecialRepository.findById(key).map(PlanEspecialSnapshot::of))
+                .filter(PlanEspecialSnapshot::active);
+    }
+    
+    public String parkingName(UUID parkingId) {
+        return findParking(parkingId).map(ParkingSnapshot::name).orElse(null);
+    }
+    
+    public String companyName(UUID companyId) {
+        return findCompany(companyId).map(CompanySnapshot::name).orElse(null);
+    }
+    
+    public String vehicleTypeName(UUID vehicleTypeId) {
+        return findVehicleType(vehicleTypeId).map(VehicleTypeSnapshot::name).orElse(null);
+    }
+    
+    // Reading the id of a lazy association does not initialize it
+    public String parkingName(Parking parking) {
+        return parking != null ? parkingName(parking.getId()) : null;
+    }
+    
+    public String companyName(Company company) {
+        return company != null ? companyName(company.getId()) : null;
+    }
+    
+    public String vehicleTypeName(VehicleType vehicleType) {
+        return vehicleType != null ? vehicleTypeName(vehicleType.getId()) : null;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        evict(event.getEntityType().getSimpleName(), event.getId());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onParkingChanged(ParkingChangedEvent event) {
+        parkings.evict(event.getParkingId());
+    }
+    
+    /**
+     * @param entityType simple name of the entity class; types without a cache are ignored
+     */
+    public void evict(String entityType, UUID id) {
+        ReferenceCache<?> cache = byEntity.get(entityType);
+        if (cache != null) {
+            cache.evict(id);
+        }
+    }
+    
+    public void evictAll() {
+        byEntity.values().forEach(ReferenceCache::clear);
+    }
+    
+    private Optional<ParkingSnapshot> findParking(UUID id) {
+        return parkings.get(id, key -> parkingRepository.findById(key).map(ParkingSnapshot::of));
+    }
+    
+    private Optional<CompanySnapshot> findCompany(UUID id) {
+        return companies.get(id, key -> companyRepository.findById(key).map(CompanySnapshot::of));
+    }
+    
+    private Optional<VehicleTypeSnapshot> findVehicleType(UUID id) {
+        return vehicleTypes.get(id, key -> vehicleTypeRepository.findById(key).map(VehicleTypeSnapshot::of));
+    }
+}
@@ -0,0 +1,24 @@
+package com.parkingmanagement.service.reference;
+
+import com.parkingmanagement.model.entity.Tarifa;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A {@link Tarifa} detached from the persistence context; the parking and vehicle type are
+ * referenced by id and resolved through their own snapshots.
+ */
+public record TarifaSnapshot(UUID id, UUID parkingId, UUID vehicleTypeId, String name,
+                             BigDecimal ratePerHour, BigDecimal ratePerDay, BigDecimal ratePerWeek,
+                             BigDecimal ratePerMonth, Integer minimumTimeMinutes, String description,
+                             boolean active, LocalDateTime createdAt, LocalDateTime updatedAt) {
+    
+    static TarifaSnapshot of(Tarifa tarifa) {
+        return new TarifaSnapshot(tarifa.getId(), tarifa.getParking().getId(), tarifa.getVehicleType().getId(),
+                tarifa.getName(), tarifa.getRatePerHour(), tarifa.getRatePerDay(), tarifa.getRatePerWeek(),
+                tarifa.getRatePerMonth(), tarifa.getMinimumTimeMinutes(), tarifa.getDescription(),
+                Boolean.TRUE.equals(tarifa.getIsActive()), tarifa.getCreatedAt(), tarifa.getUpdatedAt());
+    }
+}
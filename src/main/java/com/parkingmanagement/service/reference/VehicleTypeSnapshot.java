@@ -0,0 +1,16 @@
+package com.parkingmanagement.service.reference;
+
+import com.parkingmanagement.model.entity.VehicleType;
+
+import java.util.UUID;
+
+/**
+ * The parts of a {@link VehicleType} other entities' validation and responses need.
+ */
+public record VehicleTypeSnapshot(UUID id, String name, boolean active) {
+    
+    static VehicleTypeSnapshot of(VehicleType vehicleType) {
+        return new VehicleTypeSnapshot(vehicleType.getId(), vehicleType.getName(),
+                Boolean.TRUE.equals(vehicleType.getIsActive()));
+    }
+}
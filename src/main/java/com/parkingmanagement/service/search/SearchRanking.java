@@ -0,0 +1,63 @@
+package com.parkingmanagement.service.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Decides whether list searches are ordered by trigram similarity. The ranked repository
+ * queries call pg_trgm's {@code word_similarity}, so they only run against PostgreSQL; any
+ * other database (H2 in the dev profile) gets the unranked query and the requested sort.
+ * <p>
+ * Cursor listings never rank: their keyset is {@code (created_at, id)} and a similarity
+ * score cannot be resumed from a cursor.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchRanking {
+    
+    static final String POSTGRESQL = "PostgreSQL";
+    
+    private final DataSource dataSource;
+    
+    @Value("${app.search.ranking.enabled:true}")
+    private boolean enabled;
+    
+    private volatile Boolean supported;
+    
+    /**
+     * Whether a listing filtered by {@code search} should use the ranked query.
+     */
+    public boolean appliesTo(String search) {
+        return enabled && search != null && !search.isBlank() && isSupported();
+    }
+    
+    private boolean isSupported() {
+        Boolean result = supported;
+        if (result == null) {
+            result = detect();
+            supported = result;
+        }
+        return Boolean.TRUE.equals(result);
+    }
+    
+    private Boolean detect() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            boolean postgres = POSTGRESQL.equalsIgnoreCase(product);
+            log.info("Search ranking {} on {}", postgres ? "enabled" : "disabled", product);
+            return postgres;
+        } catch (MetaDataAccessException e) {
+            // Left undecided, so the next search tries again
+            log.warn("Could not determine the database product, searching without ranking", e);
+            return null;
+        }
+    }
+}
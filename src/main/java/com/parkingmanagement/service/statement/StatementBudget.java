@@ -0,0 +1,47 @@
+package com.parkingmanagement.service.statement;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records how many statements a closed {@link StatementScope} issued and warns, with its
+ * most repeated statements, when it went over budget. The histograms show the shape of
+ * the traffic; the warnings name the endpoint or service method and the query to fix.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sql.statement-budget.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class StatementBudget {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Value("${app.sql.statement-budget.per-request:50}")
+    private int perRequest;
+    
+    @Value("${app.sql.statement-budget.per-service-call:30}")
+    private int perServiceCall;
+    
+    @Value("${app.sql.statement-budget.logged-statements:5}")
+    private int loggedStatements;
+    
+    void recordRequest(StatementScope scope, String method, String uri) {
+        meterRegistry.summary("sql.statements.request", "method", method, "uri", uri).record(scope.getCount());
+        if (scope.getCount() > perRequest) {
+            log.warn("{} {} issued {} SQL statements, over the budget of {}; most frequent:{}",
+                    method, uri, scope.getCount(), perRequest, scope.describe(loggedStatements));
+        }
+    }
+    
+    void recordServiceCall(StatementScope scope, String service, String method) {
+        meterRegistry.summary("sql.statements.service", "service", service, "method", method).record(scope.getCount());
+        if (scope.getCount() > perServiceCall) {
+            log.warn("{}.{} issued {} SQL statements, over the budget of {}; most frequent:{}",
+                    service, method, scope.getCount(), perServiceCall, scope.describe(loggedStatements));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.parkingmanagement.service.statement;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the statements of each public call into a {@code @Service}. A service calling
+ * another through its proxy is counted in both, the outer total including the inner one.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.sql.statement-budget.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class StatementBudgetAspect {
+    
+    private final StatementBudget statementBudget;
+    
+    @Around("within(@org.springframework.stereotype.Service *)")
+    public Object countStatements(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getTarget().getClass().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        StatementScope scope = StatementScope.open(service + "." + method);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            scope.close();
+            statementBudget.recordServiceCall(scope, service, method);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.parkingmanagement.service.statement;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the statements of each HTTP request, tagged by the matched route pattern so that
+ * {@code /api/tarifas/{id}} is one series rather than one per id. Ordered ahead of the
+ * security chain so that the count covers the whole request.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sql.statement-budget.enabled", havingValue = "true", matchIfMissing = true)
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class StatementBudgetFilter extends OncePerRequestFilter {
+    
+    private final StatementBudget statementBudget;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        StatementScope scope = StatementScope.open(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            statementBudget.recordRequest(scope, request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.parkingmanagement.service.statement;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Hands every statement Hibernate prepares to the {@link StatementScope}s open on the
+ * calling thread. Statements issued through {@code JdbcTemplate} bypass Hibernate and are
+ * not counted.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sql.statement-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementCountingInspector implements StatementInspector, HibernatePropertiesCustomizer {
+    
+    @Override
+    public String inspect(String sql) {
+        StatementScope.record(sql);
+        return sql;
+    }
+    
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+}
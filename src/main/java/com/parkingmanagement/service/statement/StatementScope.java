@@ -0,0 +1,96 @@
+package com.parkingmanagement.service.statement;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between
+ * {@link #open(String)} and {@link #close()}. Scopes nest: a statement counts towards
+ * every scope open on its thread, so a request and the service calls it makes each get
+ * their own total.
+ * <p>
+ * Statements are also counted by their SQL text. Hibernate binds every value as a
+ * parameter, so the text already is the query's fingerprint, and one fingerprint repeated
+ * once per row is what an N+1 looks like.
+ */
+public final class StatementScope implements AutoCloseable {
+    
+    // Distinct statements remembered per scope; further ones are only counted
+    private static final int MAX_FINGERPRINTS = 64;
+    private static final int MAX_LOGGED_LENGTH = 200;
+    
+    private static final ThreadLocal<Deque<StatementScope>> OPEN = new ThreadLocal<>();
+    
+    private final String name;
+    private final Map<String, Integer> bySql = new HashMap<>();
+    private int count;
+    
+    private StatementScope(String name) {
+        this.name = name;
+    }
+    
+    public static StatementScope open(String name) {
+        Deque<StatementScope> open = OPEN.get();
+        if (open == null) {
+            open = new ArrayDeque<>();
+            OPEN.set(open);
+        }
+        StatementScope scope = new StatementScope(name);
+        open.push(scope);
+        return scope;
+    }
+    
+    static void record(String sql) {
+        Deque<StatementScope> open = OPEN.get();
+        if (open == null) {
+            return;
+        }
+        for (StatementScope scope : open) {
+            scope.count++;
+            if (scope.bySql.size() < MAX_FINGERPRINTS || scope.bySql.containsKey(sql)) {
+                scope.bySql.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public int getCount() {
+        return count;
+    }
+    
+    /**
+     * @return the {@code limit} most frequent statements, one per line with their count
+     */
+    public String describe(int limit) {
+        return bySql.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .map(entry -> String.format("%n  %dx %s", entry.getValue(), abbreviate(entry.getKey())))
+                .collect(Collectors.joining());
+    }
+    
+    @Override
+    public void close() {
+        Deque<StatementScope> open = OPEN.get();
+        if (open == null) {
+            return;
+        }
+        open.remove(this);
+        if (open.isEmpty()) {
+            // Pooled threads must not keep the deque of a request that is over
+            OPEN.remove();
+        }
+    }
+    
+    private static String abbreviate(String sql) {
+        String collapsed = sql.replaceAll("\\s+", " ").trim();
+        return collapsed.length() > MAX_LOGGED_LENGTH ? collapsed.substring(0, MAX_LOGGED_LENGTH) + "..." : collapsed;
+    }
+}
@@ -0,0 +1,104 @@
+package com.parkingmanagement.service.user;
+
+import com.parkingmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind for {@code users.last_login}. Logins only record the time in memory; every
+ * {@code flush-interval-ms} the pending times are written with one UPDATE per
+ * {@code batch-size} users, keeping the latest time when a user logged in repeatedly.
+ * <p>
+ * Times recorded since the last flush are lost if the instance dies, which is acceptable
+ * for an informational column. A failed flush keeps them for the next one, up to
+ * {@code max-attempts} flushes per user; after that they are dropped.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LastLoginRecorder {
+    
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    
+    private final Map<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+    // Failed writes by user, reset once the user's time is written
+    private final Map<UUID, Integer> failedAttempts = new ConcurrentHashMap<>();
+    
+    @Value("${app.users.last-login.batch-size:1000}")
+    private int batchSize;
+    
+    @Value("${app.users.last-login.max-attempts:3}")
+    private int maxAttempts;
+    
+    @PostConstruct
+    private void init() {
+        meterRegistry.gauge("users.last-login.pending", pending, Map::size);
+    }
+    
+    public void record(UUID userId, LocalDateTime loggedInAt) {
+        pending.merge(userId, loggedInAt, (previous, current) -> current.isAfter(previous) ? current : previous);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.users.last-login.flush-interval-ms:5000}")
+    public void flush() {
+        List<UUID> userIds = new ArrayList<>();
+        List<LocalDateTime> loggedInAt = new ArrayList<>();
+        for (Map.Entry<UUID, LocalDateTime> entry : pending.entrySet()) {
+            // Removes only the time read; a login recorded meanwhile stays for the next flush
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                userIds.add(entry.getKey());
+                loggedInAt.add(entry.getValue());
+            }
+            if (userIds.size() == batchSize) {
+                write(userIds, loggedInAt);
+                userIds = new ArrayList<>();
+                loggedInAt = new ArrayList<>();
+            }
+        }
+        if (!userIds.isEmpty()) {
+            write(userIds, loggedInAt);
+        }
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    private void write(List<UUID> userIds, List<LocalDateTime> loggedInAt) {
+        try {
+            int updated = transactionTemplate.execute(status -> userRepository.updateLastLogins(userIds, loggedInAt));
+            userIds.forEach(failedAttempts::remove);
+            log.debug("Last login of {} users written", updated);
+        } catch (RuntimeException ex) {
+            int dropped = 0;
+            for (int i = 0; i < userIds.size(); i++) {
+                UUID userId = userIds.get(i);
+                if (failedAttempts.merge(userId, 1, Integer::sum) >= maxAttempts) {
+                    failedAttempts.remove(userId);
+                    dropped++;
+                } else {
+                    record(userId, loggedInAt.get(i));
+                }
+            }
+            log.error("Failed to write last login of {} users, kept {} for the next flush and dropped {} after {} attempts",
+                    userIds.size(), userIds.size() - dropped, dropped, maxAttempts, ex);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.parkingmanagement.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+class ReplicaRoutingDataSourceTest {
+    
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    
+    @BeforeEach
+    void setUp() {
+        useRouting(routing(60_000));
+    }
+    
+    @Test
+    void routesReadOnlyTransactionsToCurrentReplica() {
+        // Given
+        routing.checkReplicas("SELECT 0");
+        
+        // When / Then
+        assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+        assertEquals("primary", node());
+    }
+    
+    @Test
+    void fallsBackToPrimaryWhileReplicaLagsOrCannotBeChecked() {
+        // Given - no check has passed yet
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+        
+        // When / Then
+        routing.checkReplicas("SELECT 5000");
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+        
+        routing.checkReplicas("SELECT 0");
+        assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+        
+        routing.checkReplicas("SELECT missing_column");
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+    }
+    
+    @Test
+    void fallsBackToPrimaryOnceTheLastCheckIsStale() throws InterruptedException {
+        // Given - a replica that was current, but whose checks have stopped
+        useRouting(routing(200));
+        routing.checkReplicas("SELECT 0");
+        
+        // When
+        Thread.sleep(300);
+        
+        // Then
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+        routing.checkReplicas("SELECT 0");
+        assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+    }
+    
+    @Test
+    void forcedPrimaryKeepsReadOnlyTransactionsOnPrimary() {
+        // Given
+        routing.checkReplicas("SELECT 0");
+        boolean previous = ReplicaRoutingDataSource.forcePrimary(true);
+        
+        // When
+        String node;
+        try {
+            node = readOnlyTransaction.execute(status -> node());
+        } finally {
+            ReplicaRoutingDataSource.forcePrimary(previous);
+        }
+        
+        // Then
+        assertEquals("primary", node);
+        assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+    }
+    
+    private void useRouting(ReplicaRoutingDataSource routing) {
+        this.routing = routing;
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readOnlyTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        readOnlyTransaction.setReadOnly(true);
+    }
+    
+    private static ReplicaRoutingDataSource routing(long maxCheckAgeMs) {
+        // A second in-memory database stands in for the replica; each answers with its own name
+        return new ReplicaRoutingDataSource(database("primary"), Map.of("replica-1", database("replica")), 1000,
+                maxCheckAgeMs, mock(MeterRegistry.class, RETURNS_DEEP_STUBS));
+    }
+    
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+    
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(20))");
+        setup.update("DELETE FROM node");
+        setup.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,44 @@
+package com.parkingmanagement.config;
+
+import com.parkingmanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RequestAdmissionInterceptorTest {
+    
+    private final HttpServletRequest request = mock(HttpServletRequest.class);
+    private final HttpServletResponse response = mock(HttpServletResponse.class);
+    
+    @Test
+    void preHandle_WhenAllSlotsAreTaken_ShouldRefuseUntilOneIsReleased() {
+        // Given
+        MeterRegistry meterRegistry = mock(MeterRegistry.class);
+        Counter rejected = mock(Counter.class);
+        when(meterRegistry.counter(anyString(), any(String[].class))).thenReturn(rejected);
+        RequestAdmissionInterceptor interceptor = new RequestAdmissionInterceptor(2, 10, meterRegistry);
+        
+        // When
+        boolean first = interceptor.preHandle(request, response, null);
+        boolean second = interceptor.preHandle(request, response, null);
+        
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertThrows(ServiceUnavailableException.class, () -> interceptor.preHandle(request, response, null));
+        verify(rejected).increment();
+        
+        // An alert stream going asynchronous frees its slot as well
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        assertTrue(interceptor.preHandle(request, response, null));
+        interceptor.afterCompletion(request, response, null, null);
+        assertTrue(interceptor.preHandle(request, response, null));
+    }
+}
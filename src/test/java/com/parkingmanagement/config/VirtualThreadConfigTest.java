@@ -0,0 +1,78 @@
+package com.parkingmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualThreadConfigTest {
+    
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    
+    @AfterEach
+    void tearDown() {
+        pools.forEach(HikariDataSource::close);
+    }
+    
+    @Test
+    void init_ShouldAdmitRequestsForEveryRoutingTarget() {
+        // Given
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(pool("primary", 10),
+                Map.of("replica-1", pool("replica-1", 6)), 1000, 6000, meterRegistry));
+        
+        // When
+        config(routing);
+        
+        // Then
+        assertEquals(64, meterRegistry.get("http.admission.available").gauge().value());
+    }
+    
+    @Test
+    void init_ShouldAdmitRequestsForASinglePool() {
+        // When
+        config(pool("primary", 10));
+        
+        // Then
+        assertEquals(40, meterRegistry.get("http.admission.available").gauge().value());
+    }
+    
+    @Test
+    void init_ShouldRefuseAReplicaPoolAboveTheLimit() {
+        // Given
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(pool("primary", 10),
+                Map.of("replica-1", pool("replica-1", 40)), 1000, 6000, meterRegistry));
+        
+        // When / Then
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> config(routing));
+        assertTrue(ex.getMessage().contains("replica-1"));
+    }
+    
+    private VirtualThreadConfig config(DataSource dataSource) {
+        VirtualThreadConfig config = new VirtualThreadConfig(dataSource, meterRegistry);
+        ReflectionTestUtils.setField(config, "requestsPerConnection", 4);
+        ReflectionTestUtils.setField(config, "admissionTimeoutMs", 2000L);
+        ReflectionTestUtils.setField(config, "maxPoolSize", 30);
+        ReflectionTestUtils.invokeMethod(config, "init");
+        return config;
+    }
+    
+    private HikariDataSource pool(String name, int size) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:" + name);
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(size);
+        pools.add(pool);
+        return pool;
+    }
+}
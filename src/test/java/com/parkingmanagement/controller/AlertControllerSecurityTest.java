@@ -0,0 +1,33 @@
+package com.parkingmanagement.controller;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class AlertControllerSecurityTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"acknowledge", "resolve", "dismiss"})
+    void changingAlertStatus_AsOperator_ShouldBeForbidden(String action) throws Exception {
+        // When / Then - refused before the alert is even looked up
+        mockMvc.perform(patch("/api/alerts/{id}/{action}", UUID.randomUUID(), action)
+                        .with(user("operator@parking.test").roles("OPERATOR")))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,46 @@
+package com.parkingmanagement.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.metrics.scrape.password=scrape-secret")
+@AutoConfigureMockMvc
+// Tests leave metrics export off by default, which would drop the endpoint itself
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("dev")
+class MetricsEndpointSecurityTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    void prometheus_WithoutCredentials_ShouldBeUnauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+    
+    @Test
+    void prometheus_AsApplicationUser_ShouldBeForbidden() throws Exception {
+        // A user's session does not grant the scrape role
+        mockMvc.perform(get("/actuator/prometheus").with(user("admin@parking.test").roles("GENERAL_ADMIN")))
+                .andExpect(status().isForbidden());
+    }
+    
+    @Test
+    void prometheus_WithScrapeCredentials_ShouldServeMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,95 @@
+package com.parkingmanagement.controller;
+
+import com.parkingmanagement.model.entity.Company;
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.model.entity.Tarifa;
+import com.parkingmanagement.model.entity.VehicleType;
+import com.parkingmanagement.repository.CompanyRepository;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.TarifaRepository;
+import com.parkingmanagement.repository.VehicleTypeRepository;
+import com.parkingmanagement.support.MaxStatements;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("dev")
+class TarifaControllerStatementTest {
+    
+    private static final int TARIFAS = 5;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private CompanyRepository companyRepository;
+    
+    @Autowired
+    private ParkingRepository parkingRepository;
+    
+    @Autowired
+    private VehicleTypeRepository vehicleTypeRepository;
+    
+    @Autowired
+    private TarifaRepository tarifaRepository;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        Company company = companyRepository.save(Company.builder().name("Statement Budget Co").build());
+        Parking parking = parkingRepository.save(Parking.builder()
+                .company(company)
+                .name("Central")
+                .address("Main street 1")
+                .build());
+        for (int i = 0; i < TARIFAS; i++) {
+            VehicleType vehicleType = vehicleTypeRepository.save(VehicleType.builder().name("Type " + i).build());
+            tarifaRepository.save(Tarifa.builder()
+                    .parking(parking)
+                    .vehicleType(vehicleType)
+                    .name("Tarifa " + i)
+                    .ratePerHour(new BigDecimal("2.50"))
+                    .build());
+        }
+        // Warms the reference cache, so the budget below does not depend on test order
+        listTarifas();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        tarifaRepository.deleteAll();
+        parkingRepository.deleteAll();
+        vehicleTypeRepository.deleteAll();
+        companyRepository.deleteAll();
+    }
+    
+    @Test
+    @MaxStatements(1)
+    void listingTarifasDoesNotLoadAssociationsPerRow() throws Exception {
+        // Given - parking and vehicle type names already in the reference cache
+        
+        // When / Then - the page query only: a short first page needs no count, and initializing
+        // the lazy associations would add one statement per row
+        listTarifas();
+    }
+    
+    private void listTarifas() throws Exception {
+        mockMvc.perform(get("/api/tarifas")
+                        .with(user("admin@parking.test").roles("GENERAL_ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content.length()").value(TARIFAS));
+    }
+}
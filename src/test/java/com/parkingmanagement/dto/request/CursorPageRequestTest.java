@@ -0,0 +1,111 @@
+package com.parkingmanagement.dto.request;
+
+import com.parkingmanagement.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CursorPageRequestTest {
+    
+    @Test
+    void of_ShouldDecodeWhatEncodeProduced() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123_456_000);
+        UUID id = UUID.randomUUID();
+        
+        // When
+        CursorPageRequest request = CursorPageRequest.of(CursorPageRequest.encode(createdAt, id), 20, true);
+        
+        // Then
+        assertEquals(createdAt, request.getSortKeyAsDateTime());
+        assertEquals(id, request.getLastId());
+        assertEquals(20, request.getLimit());
+        assertTrue(request.isIncludeTotal());
+    }
+    
+    @Test
+    void of_ShouldDecodeDateSortKeys() {
+        // Given
+        LocalDate periodStart = LocalDate.of(2024, 2, 1);
+        UUID id = UUID.randomUUID();
+        
+        // When
+        CursorPageRequest request = CursorPageRequest.of(CursorPageRequest.encode(periodStart, id), 20, false);
+        
+        // Then
+        assertEquals(periodStart, request.getSortKeyAsDate());
+        assertEquals(id, request.getLastId());
+    }
+    
+    @Test
+    void of_WithoutCursor_ShouldStartAtTheFirstRow() {
+        // When
+        CursorPageRequest request = CursorPageRequest.of(null, 20, false);
+        
+        // Then
+        assertNull(request.getSortKeyAsDateTime());
+        assertNull(request.getLastId());
+        assertEquals(0, request.toPageable().getPageNumber());
+        assertEquals(20, request.toPageable().getPageSize());
+    }
+    
+    @Test
+    void of_ShouldClampTheLimit() {
+        // When / Then
+        assertEquals(1, CursorPageRequest.of(null, 0, false).getLimit());
+        assertEquals(CursorPageRequest.MAX_LIMIT, CursorPageRequest.of(null, 10_000, false).getLimit());
+    }
+    
+    @Test
+    void of_ShouldRejectMalformedCursors() {
+        // Given
+        String notBase64 = "not a cursor!";
+        String noSeparator = encodeRaw("2024-03-01T10:15:30");
+        String badId = encodeRaw("2024-03-01T10:15:30|not-a-uuid");
+        
+        // When / Then
+        assertThrows(ValidationException.class, () -> CursorPageRequest.of(notBase64, 20, false));
+        assertThrows(ValidationException.class, () -> CursorPageRequest.of(noSeparator, 20, false));
+        assertThrows(ValidationException.class, () -> CursorPageRequest.of(badId, 20, false));
+    }
+    
+    @Test
+    void of_ShouldRejectTamperedCursors() {
+        // Given
+        String cursor = CursorPageRequest.encode(LocalDateTime.of(2024, 3, 1, 10, 15), UUID.randomUUID());
+        String appended = cursor + "%27--";
+        String tamperedKey = encodeRaw("2024-13-45T99:00|" + UUID.randomUUID());
+        
+        // When / Then
+        assertThrows(ValidationException.class, () -> CursorPageRequest.of(appended, 20, false));
+        CursorPageRequest request = CursorPageRequest.of(tamperedKey, 20, false);
+        assertThrows(ValidationException.class, request::getSortKeyAsDateTime);
+        assertThrows(ValidationException.class, request::getSortKeyAsDate);
+    }
+    
+    @Test
+    void isRequested_ShouldAcceptTheModeOrACursor() {
+        // When / Then
+        assertTrue(CursorPageRequest.isRequested("CURSOR", null));
+        assertTrue(CursorPageRequest.isRequested(null, "abc"));
+        assertFalse(CursorPageRequest.isRequested(null, " "));
+        assertFalse(CursorPageRequest.isRequested("offset", null));
+    }
+    
+    @Test
+    void rejectSort_ShouldRejectExplicitSorting() {
+        // When / Then
+        assertThrows(ValidationException.class, () -> CursorPageRequest.rejectSort(true));
+        assertDoesNotThrow(() -> CursorPageRequest.rejectSort(false));
+    }
+    
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
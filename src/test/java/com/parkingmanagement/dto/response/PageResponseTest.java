@@ -0,0 +1,48 @@
+package com.parkingmanagement.dto.response;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageResponseTest {
+    
+    @Test
+    void fromSlice_WithMoreRows_ShouldPointTheCursorAtTheLastRow() {
+        // Given
+        SliceImpl<String> slice = new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true);
+        
+        // When
+        PageResponse<String> response = PageResponse.fromSlice(slice, String::toUpperCase, row -> "after-" + row, null);
+        
+        // Then
+        assertEquals(List.of("A", "B"), response.getContent());
+        assertNull(response.getPagination());
+        assertEquals("after-b", response.getCursor().getNext());
+        assertTrue(response.getCursor().getHasNext());
+        assertEquals(2, response.getCursor().getLimit());
+        assertNull(response.getCursor().getTotal());
+    }
+    
+    @Test
+    void fromSlice_OnTheLastPage_ShouldNotReturnACursor() {
+        // Given
+        SliceImpl<String> fullLastPage = new SliceImpl<>(List.of("c", "d"), PageRequest.of(0, 2), false);
+        SliceImpl<String> empty = new SliceImpl<>(List.of(), PageRequest.of(0, 2), false);
+        
+        // When
+        PageResponse<String> last = PageResponse.fromSlice(fullLastPage, Function.identity(), row -> row, 4L);
+        PageResponse<String> none = PageResponse.fromSlice(empty, Function.identity(), row -> row, 4L);
+        
+        // Then
+        assertNull(last.getCursor().getNext());
+        assertFalse(last.getCursor().getHasNext());
+        assertEquals(4L, last.getCursor().getTotal());
+        assertTrue(none.getContent().isEmpty());
+        assertNull(none.getCursor().getNext());
+    }
+}
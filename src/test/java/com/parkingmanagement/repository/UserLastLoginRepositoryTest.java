@@ -0,0 +1,58 @@
+package com.parkingmanagement.repository;
+
+import com.parkingmanagement.model.entity.User;
+import com.parkingmanagement.model.enums.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the batched update against the H2 database of the dev profile, so it has to stay portable.
+ */
+@DataJpaTest
+@ActiveProfiles("dev")
+class UserLastLoginRepositoryTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 7, 0);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Test
+    void updateLastLogins_ShouldOnlyMoveLastLoginForward() {
+        // Given
+        User neverLoggedIn = save("ana@parking.test", null);
+        User loggedInLater = save("luis@parking.test", NOW.plusHours(1));
+        
+        // When
+        int updated = userRepository.updateLastLogins(List.of(neverLoggedIn.getId(), loggedInLater.getId()),
+                List.of(NOW, NOW));
+        entityManager.clear();
+        
+        // Then
+        assertEquals(1, updated);
+        assertEquals(NOW, userRepository.findById(neverLoggedIn.getId()).orElseThrow().getLastLogin());
+        assertEquals(NOW.plusHours(1), userRepository.findById(loggedInLater.getId()).orElseThrow().getLastLogin());
+    }
+    
+    private User save(String email, LocalDateTime lastLogin) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPasswordHash("hash");
+        user.setFirstName("First");
+        user.setLastName("Last");
+        user.setRole(UserRole.OPERATOR);
+        user.setLastLogin(lastLogin);
+        return userRepository.saveAndFlush(user);
+    }
+}
@@ -0,0 +1,111 @@
+package com.parkingmanagement.security;
+
+import com.parkingmanagement.event.UserSecurityChangedEvent;
+import com.parkingmanagement.model.entity.User;
+import com.parkingmanagement.model.enums.UserRole;
+import com.parkingmanagement.repository.RevokedTokenRepository;
+import com.parkingmanagement.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private MeterRegistry meterRegistry;
+    
+    private JwtTokenProvider tokenProvider;
+    private UserSecurityVersions userSecurityVersions;
+    private JwtAuthenticationFilter filter;
+    private User user;
+    
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(meterRegistry);
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "testSecretKey1234567890123456789012345678901234567890");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60000);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+        userSecurityVersions = new UserSecurityVersions(userRepository);
+        TokenRevocationStore tokenRevocationStore = new TokenRevocationStore(revokedTokenRepository, eventPublisher,
+                mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(tokenRevocationStore, "expectedEntries", 1000);
+        ReflectionTestUtils.setField(tokenRevocationStore, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.invokeMethod(tokenRevocationStore, "init");
+        filter = new JwtAuthenticationFilter(tokenProvider, userSecurityVersions, tokenRevocationStore, meterRegistry);
+        
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail("ana@parking.test");
+        user.setRole(UserRole.SUPERVISOR);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Test
+    void doFilter_WithValidToken_ShouldAuthenticateWithoutReadingTheUser() throws Exception {
+        // Given
+        String token = tokenProvider.generateAccessToken(user);
+        
+        // When
+        Authentication authentication = filter(token);
+        
+        // Then
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        assertEquals(user.getId(), principal.getId());
+        assertEquals(UserRole.SUPERVISOR, principal.getRole());
+        assertTrue(authentication.getAuthorities().contains(UserRole.SUPERVISOR));
+        verifyNoInteractions(userRepository);
+    }
+    
+    @Test
+    void doFilter_AfterUserSecurityChanged_ShouldRejectOldTokensOnly() throws Exception {
+        // Given
+        String oldToken = tokenProvider.generateAccessToken(user);
+        userSecurityVersions.onUserSecurityChanged(new UserSecurityChangedEvent(user.getId(), user.bumpSecurityVersion()));
+        String newToken = tokenProvider.generateAccessToken(user);
+        
+        // When & Then
+        assertNull(filter(oldToken));
+        assertNotNull(filter(newToken));
+    }
+    
+    private Authentication filter(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
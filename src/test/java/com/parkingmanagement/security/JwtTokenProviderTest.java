@@ -0,0 +1,96 @@
+package com.parkingmanagement.security;
+
+import com.parkingmanagement.model.entity.User;
+import com.parkingmanagement.model.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+class JwtTokenProviderTest {
+    
+    private JwtTokenProvider tokenProvider;
+    
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(mock(MeterRegistry.class, RETURNS_DEEP_STUBS));
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "testSecretKey1234567890123456789012345678901234567890");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 60000);
+        ReflectionTestUtils.setField(tokenProvider, "verifiedCacheEnabled", true);
+        ReflectionTestUtils.setField(tokenProvider, "verifiedCacheMaxEntries", 2);
+        ReflectionTestUtils.invokeMethod(tokenProvider, "init");
+    }
+    
+    @Test
+    void parseToken_ShouldVerifyOnceAndServeRepeatsFromCache() {
+        // Given
+        String token = tokenProvider.generateAccessToken(user("ana@parking.test"));
+        
+        // When
+        Optional<Claims> first = tokenProvider.parseToken(token);
+        Optional<Claims> second = tokenProvider.parseToken(token);
+        
+        // Then
+        assertTrue(first.isPresent());
+        assertEquals("ana@parking.test", first.get().getSubject());
+        assertSame(first.get(), second.get());
+    }
+    
+    @Test
+    void toAuthenticatedUser_ShouldRebuildPrincipalFromClaimsAlone() {
+        // Given
+        User user = user("ana@parking.test");
+        user.setSecurityVersion(3L);
+        Claims claims = tokenProvider.parseToken(tokenProvider.generateAccessToken(user)).orElseThrow();
+        
+        // When
+        AuthenticatedUser principal = tokenProvider.toAuthenticatedUser(claims);
+        
+        // Then
+        assertEquals(user.getId(), principal.getId());
+        assertEquals("ana@parking.test", principal.getUsername());
+        assertEquals(UserRole.OPERATOR, principal.getRole());
+        assertNull(principal.getCompanyId());
+        assertEquals(3L, tokenProvider.getSecurityVersion(claims));
+    }
+    
+    @Test
+    void parseToken_WithForeignPayloadUnderCachedSignature_ShouldReject() {
+        // Given
+        String token = tokenProvider.generateAccessToken(user("ana@parking.test"));
+        String other = tokenProvider.generateAccessToken(user("luis@parking.test"));
+        tokenProvider.parseToken(token);
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        String forged = other.substring(0, other.lastIndexOf('.') + 1) + signature;
+        
+        // When & Then
+        assertTrue(tokenProvider.parseToken(forged).isEmpty());
+    }
+    
+    @Test
+    void parseToken_WhenExpired_ShouldReject() {
+        // Given
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", -1000);
+        String token = tokenProvider.generateAccessToken(user("ana@parking.test"));
+        
+        // When & Then
+        assertTrue(tokenProvider.parseToken(token).isEmpty());
+        assertFalse(tokenProvider.validateToken(token));
+    }
+    
+    private User user(String email) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        user.setRole(UserRole.OPERATOR);
+        return user;
+    }
+}
@@ -0,0 +1,70 @@
+package com.parkingmanagement.security;
+
+import com.parkingmanagement.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoginThrottleTest {
+    
+    @Mock
+    private MeterRegistry meterRegistry;
+    
+    @Mock
+    private Counter counter;
+    
+    @InjectMocks
+    private LoginThrottle loginThrottle;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(loginThrottle, "enabled", true);
+        ReflectionTestUtils.setField(loginThrottle, "ipPerMinute", 6.0);
+        ReflectionTestUtils.setField(loginThrottle, "ipBurst", 5);
+        ReflectionTestUtils.setField(loginThrottle, "accountPerMinute", 1.0);
+        ReflectionTestUtils.setField(loginThrottle, "accountBurst", 2);
+        ReflectionTestUtils.setField(loginThrottle, "maxEntries", 1000);
+        ReflectionTestUtils.invokeMethod(loginThrottle, "init");
+        lenient().when(meterRegistry.counter(anyString(), anyString(), anyString())).thenReturn(counter);
+    }
+    
+    @Test
+    void check_WhenAccountBucketIsEmpty_ShouldRejectWithRetryAfter() {
+        // Given
+        loginThrottle.check("10.0.0.1", "ana@parking.test");
+        loginThrottle.check("10.0.0.2", "ANA@parking.test ");
+        
+        // When
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottle.check("10.0.0.3", "ana@parking.test"));
+        
+        // Then
+        assertTrue(ex.getRetryAfterSeconds() > 50 && ex.getRetryAfterSeconds() <= 61, "" + ex.getRetryAfterSeconds());
+        verify(meterRegistry).counter("auth.throttled", "scope", "account");
+        assertDoesNotThrow(() -> loginThrottle.check("10.0.0.3", "luis@parking.test"));
+    }
+    
+    @Test
+    void check_WhenOneAddressTriesManyAccounts_ShouldRejectByAddress() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.check("10.0.0.1", "user" + i + "@parking.test");
+        }
+        
+        // When & Then
+        assertThrows(TooManyRequestsException.class, () -> loginThrottle.check("10.0.0.1", "user5@parking.test"));
+        verify(meterRegistry).counter("auth.throttled", "scope", "ip");
+        assertDoesNotThrow(() -> loginThrottle.check("10.0.0.2", "user5@parking.test"));
+    }
+}
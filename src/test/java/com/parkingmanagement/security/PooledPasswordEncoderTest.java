@@ -0,0 +1,90 @@
+package com.parkingmanagement.security;
+
+import com.parkingmanagement.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+
+class PooledPasswordEncoderTest {
+    
+    private ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry = mock(MeterRegistry.class, RETURNS_DEEP_STUBS);
+    
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+    
+    @Test
+    void matches_ShouldAcceptLegacyHashesAndAskToUpgradeThem() {
+        // Given
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(5);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        PasswordEncoder encoder = new PooledPasswordEncoder(delegating, executor, meterRegistry);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+        
+        // When
+        String currentHash = encoder.encode("secret");
+        
+        // Then
+        assertTrue(encoder.matches("secret", legacyHash));
+        assertFalse(encoder.matches("wrong", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+        assertTrue(currentHash.startsWith("{bcrypt}$2a$05$"));
+        assertFalse(encoder.upgradeEncoding(currentHash));
+    }
+    
+    @Test
+    void matches_WhenPoolAndQueueAreFull_ShouldRejectRightAway() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = new PooledPasswordEncoder(new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        }, executor, meterRegistry);
+        Thread busy = new Thread(() -> blocking.matches("a", "b"));
+        Thread queued = new Thread(() -> blocking.matches("a", "b"));
+        busy.start();
+        queued.start();
+        while (executor.getThreadPoolExecutor().getQueue().isEmpty()) {
+            Thread.sleep(5);
+        }
+        
+        // When & Then
+        assertThrows(ServiceUnavailableException.class, () -> blocking.matches("a", "b"));
+        release.countDown();
+        busy.join();
+        queued.join();
+    }
+}
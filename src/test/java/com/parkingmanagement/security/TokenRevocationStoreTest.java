@@ -0,0 +1,132 @@
+package com.parkingmanagement.security;
+
+import com.parkingmanagement.event.TokenRevokedEvent;
+import com.parkingmanagement.model.entity.RevokedToken;
+import com.parkingmanagement.repository.RevokedTokenRepository;
+import com.parkingmanagement.repository.projection.RevokedTokenView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationStoreTest {
+    
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @InjectMocks
+    private TokenRevocationStore tokenRevocationStore;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenRevocationStore, "expectedEntries", 4);
+        ReflectionTestUtils.setField(tokenRevocationStore, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.invokeMethod(tokenRevocationStore, "init");
+    }
+    
+    @Test
+    void revoke_ShouldPersistAndRejectTheTokenOnceCommitted() {
+        // Given
+        String jti = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        
+        // When
+        tokenRevocationStore.revoke(jti, expiresAt);
+        ArgumentCaptor<TokenRevokedEvent> event = ArgumentCaptor.forClass(TokenRevokedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        tokenRevocationStore.onTokenRevoked(event.getValue());
+        
+        // Then
+        ArgumentCaptor<RevokedToken> saved = ArgumentCaptor.forClass(RevokedToken.class);
+        verify(revokedTokenRepository).saveAndFlush(saved.capture());
+        assertEquals(jti, saved.getValue().getJti());
+        assertTrue(tokenRevocationStore.isRevoked(jti));
+        assertFalse(tokenRevocationStore.isRevoked(UUID.randomUUID().toString()));
+    }
+    
+    @Test
+    void revoke_WhenAlreadyRevoked_ShouldNotFail() {
+        // Given
+        String stored = UUID.randomUUID().toString();
+        String racing = UUID.randomUUID().toString();
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(revokedTokenRepository.existsByJti(stored)).thenReturn(true);
+        when(revokedTokenRepository.saveAndFlush(argThat(token -> racing.equals(token.getJti()))))
+                .thenThrow(new DataIntegrityViolationException("uk_revoked_tokens_jti"));
+        
+        // When
+        assertDoesNotThrow(() -> tokenRevocationStore.revoke(stored, expiresAt));
+        assertDoesNotThrow(() -> tokenRevocationStore.revoke(racing, expiresAt));
+        
+        // Then
+        verify(revokedTokenRepository, times(1)).saveAndFlush(any(RevokedToken.class));
+        verify(eventPublisher, times(2)).publishEvent(any(TokenRevokedEvent.class));
+    }
+    
+    @Test
+    void refresh_ShouldLearnRevocationsOfOtherInstancesBeyondTheFilterCapacity() {
+        // Given
+        List<String> jtis = List.of("a", "b", "c", "d", "e", "f", "g", "h", "i", "j");
+        List<RevokedTokenView> views = jtis.stream().map(jti -> view(jti, LocalDateTime.now().plusHours(1))).toList();
+        when(revokedTokenRepository.findUnexpired(any(LocalDateTime.class), isNull())).thenReturn(views);
+        
+        // When
+        tokenRevocationStore.refresh();
+        
+        // Then
+        jtis.forEach(jti -> assertTrue(tokenRevocationStore.isRevoked(jti), jti));
+        assertFalse(tokenRevocationStore.isRevoked("k"));
+    }
+    
+    @Test
+    void purgeExpired_ShouldForgetTokensPastTheirExpiry() {
+        // Given
+        tokenRevocationStore.onTokenRevoked(new TokenRevokedEvent("expired", Instant.now().minusSeconds(1)));
+        tokenRevocationStore.onTokenRevoked(new TokenRevokedEvent("live", Instant.now().plusSeconds(600)));
+        
+        // When
+        tokenRevocationStore.purgeExpired();
+        
+        // Then
+        assertFalse(tokenRevocationStore.isRevoked("expired"));
+        assertTrue(tokenRevocationStore.isRevoked("live"));
+        verify(revokedTokenRepository).deleteExpired(any(LocalDateTime.class));
+    }
+    
+    private RevokedTokenView view(String jti, LocalDateTime expiresAt) {
+        return new RevokedTokenView() {
+            @Override
+            public String getJti() {
+                return jti;
+            }
+            
+            @Override
+            public LocalDateTime getExpiresAt() {
+                return expiresAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,175 @@
+package com.parkingmanagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parkingmanagement.model.entity.SystemAlert;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import com.parkingmanagement.service.alert.AlertCoalescer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertCoalescerTest {
+    
+    @Mock
+    private SystemAlertRepository systemAlertRepository;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    @Mock
+    private MeterRegistry meterRegistry;
+    
+    @Mock
+    private Counter counter;
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    private AlertCoalescer alertCoalescer;
+    private AlertCoalescer.Key key;
+    
+    @BeforeEach
+    void setUp() {
+        alertCoalescer = new AlertCoalescer(systemAlertRepository, transactionTemplate, objectMapper, meterRegistry);
+        ReflectionTestUtils.setField(alertCoalescer, "enabled", true);
+        ReflectionTestUtils.setField(alertCoalescer, "windowSeconds", 60L);
+        ReflectionTestUtils.setField(alertCoalescer, "maxKeys", 2);
+        ReflectionTestUtils.invokeMethod(alertCoalescer, "init");
+        
+        key = new AlertCoalescer.Key(AlertType.EQUIPMENT_FAILURE, UUID.randomUUID(), UUID.randomUUID(), "SUPERVISOR");
+        lenient().when(meterRegistry.counter(anyString(), any(String[].class))).thenReturn(counter);
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+    
+    @Test
+    void submit_WithinWindow_ShouldInsertOnceAndFlushCountIntoMetadata() throws Exception {
+        // Given
+        UUID alertId = UUID.randomUUID();
+        AtomicInteger inserts = new AtomicInteger();
+        SystemAlert alert = new SystemAlert();
+        alert.setId(alertId);
+        alert.setMetadata("{\"source\":\"gate-3\"}");
+        when(systemAlertRepository.findById(alertId)).thenReturn(Optional.of(alert));
+        
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertEquals(alertId, alertCoalescer.submit(key, () -> {
+                inserts.incrementAndGet();
+                return alertId;
+            }));
+        }
+        ReflectionTestUtils.setField(alertCoalescer, "windowSeconds", 0L); // close the window
+        alertCoalescer.flush();
+        
+        // Then
+        assertEquals(1, inserts.get());
+        verify(meterRegistry, times(4)).counter("alerts.coalescing.suppressed", "type", "EQUIPMENT_FAILURE");
+        JsonNode metadata = objectMapper.readTree(alert.getMetadata());
+        assertEquals("gate-3", metadata.get("source").asText());
+        assertEquals(4, metadata.get("suppressedCount").asLong());
+        assertTrue(metadata.get("windowClosed").asBoolean());
+        verify(systemAlertRepository).save(alert);
+    }
+    
+    @Test
+    void submit_WhenKeyTableIsFull_ShouldEvictLeastRecentlyUsedAndStillFlushIt() {
+        // Given
+        UUID firstAlertId = UUID.randomUUID();
+        SystemAlert firstAlert = new SystemAlert();
+        firstAlert.setId(firstAlertId);
+        when(systemAlertRepository.findById(firstAlertId)).thenReturn(Optional.of(firstAlert));
+        alertCoalescer.submit(key, () -> firstAlertId);
+        alertCoalescer.submit(key, () -> fail("should have been coalesced"));
+        
+        // When
+        alertCoalescer.submit(otherKey(), UUID::randomUUID);
+        alertCoalescer.submit(otherKey(), UUID::randomUUID); // table bound is 2: evicts the first key
+        alertCoalescer.flush();
+        
+        // Then
+        verify(meterRegistry).counter("alerts.coalescing.evicted");
+        assertNotNull(firstAlert.getMetadata());
+        assertTrue(firstAlert.getMetadata().contains("\"suppressedCount\":1"));
+    }
+    
+    @Test
+    void submit_WhenFirstInsertRollsBack_ShouldDropTheWindowAndLetTheDuplicateInsert() throws Exception {
+        // Given - the first alert is inserted by a transaction that has not committed yet
+        UUID rolledBackId = UUID.randomUUID();
+        UUID insertedId = UUID.randomUUID();
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> alertCoalescer.submit(key, () -> rolledBackId));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        
+        try {
+            // When - a duplicate waits on the open window, then the first transaction rolls back
+            Future<UUID> duplicate = executor.submit(() -> alertCoalescer.submit(key, () -> insertedId));
+            Thread.sleep(100);
+            assertFalse(duplicate.isDone());
+            synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            
+            // Then - the duplicate opened a window of its own and inserted the alert
+            assertEquals(insertedId, duplicate.get(5, TimeUnit.SECONDS));
+            assertEquals(insertedId, alertCoalescer.submit(key, () -> fail("should have been coalesced")));
+            verify(systemAlertRepository, never()).findById(rolledBackId);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void submit_WhenFirstInsertCommits_ShouldFoldDuplicatesIntoIt() {
+        // Given
+        UUID alertId = UUID.randomUUID();
+        List<TransactionSynchronization> synchronizations = inTransaction(() -> alertCoalescer.submit(key, () -> alertId));
+        
+        // When
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        
+        // Then
+        assertEquals(alertId, alertCoalescer.submit(key, () -> fail("should have been coalesced")));
+    }
+    
+    private List<TransactionSynchronization> inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+    
+    private AlertCoalescer.Key otherKey() {
+        return new AlertCoalescer.Key(AlertType.EQUIPMENT_FAILURE, UUID.randomUUID(), key.companyId(), "SUPERVISOR");
+    }
+}
@@ -0,0 +1,370 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.model.entity.Company;
+import com.parkingmanagement.model.entity.SystemAlert;
+import com.parkingmanagement.model.entity.User;
+import com.parkingmanagement.model.enums.AlertPriority;
+import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.model.enums.UserRole;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import com.parkingmanagement.repository.UserRepository;
+import com.parkingmanagement.service.alert.AlertEmailDispatcher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertEmailDispatcherTest {
+    
+    @Mock
+    private SystemAlertRepository systemAlertRepository;
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    @Mock
+    private MeterRegistry meterRegistry;
+    
+    @Mock
+    private Counter counter;
+    
+    private SmtpStandIn smtp;
+    private ThreadPoolTaskExecutor executor;
+    private ThreadPoolTaskScheduler scheduler;
+    private AlertEmailDispatcher alertEmailDispatcher;
+    private Company company;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new SmtpStandIn();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getPort());
+        
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.initialize();
+        scheduler = new ThreadPoolTaskScheduler();
+        scheduler.initialize();
+        
+        alertEmailDispatcher = new AlertEmailDispatcher(systemAlertRepository, userRepository, transactionTemplate,
+                mailSender, executor, scheduler, meterRegistry);
+        ReflectionTestUtils.setField(alertEmailDispatcher, "enabled", true);
+        ReflectionTestUtils.setField(alertEmailDispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(alertEmailDispatcher, "ratePerSecond", 100.0);
+        ReflectionTestUtils.setField(alertEmailDispatcher, "burst", 10);
+        ReflectionTestUtils.setField(alertEmailDispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(alertEmailDispatcher, "initialBackoffMs", 10L);
+        ReflectionTestUtils.setField(alertEmailDispatcher, "maxBackoffMs", 50L);
+        ReflectionTestUtils.setField(alertEmailDispatcher, "mailFrom", "alerts@parking.test");
+        ReflectionTestUtils.invokeMethod(alertEmailDispatcher, "init");
+        
+        company = new Company();
+        company.setId(UUID.randomUUID());
+        lenient().when(meterRegistry.counter(anyString())).thenReturn(counter);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        lenient().doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        executor.shutdown();
+        scheduler.shutdown();
+        smtp.close();
+    }
+    
+    @Test
+    void dispatchPending_ShouldSendOneDigestPerRecipientAndMarkAllSentInOneUpdate() throws Exception {
+        // Given
+        SystemAlert forRole = alert("Lot almost full", AlertPriority.HIGH, null, "SUPERVISOR");
+        SystemAlert forRoleToo = alert("Payments pending", AlertPriority.CRITICAL, null, "SUPERVISOR");
+        User operator = user("operator@parking.test");
+        SystemAlert forUser = alert("Gate offline", AlertPriority.MEDIUM, operator.getId(), null);
+        
+        when(systemAlertRepository.lockUnsentAlerts(any(), eq(50))).thenReturn(List.of(forRole, forRoleToo, forUser));
+        when(userRepository.findByCompanyIdAndRoleAndIsActiveTrue(company.getId(), UserRole.SUPERVISOR))
+                .thenReturn(List.of(user("ana@parking.test"), user("luis@parking.test"), operator));
+        when(userRepository.findById(operator.getId())).thenReturn(Optional.of(operator));
+        
+        // When
+        alertEmailDispatcher.dispatchPending();
+        
+        // Then
+        ArgumentCaptor<Collection<UUID>> sent = idsCaptor();
+        verify(systemAlertRepository, timeout(5000)).markEmailsSent(sent.capture(), any());
+        assertEquals(3, smtp.getMessages().size());
+        SmtpStandIn.Message toAna = smtp.getMessageTo("ana@parking.test");
+        assertTrue(toAna.data().contains("Subject: [CRITICAL] 2 parking alerts"));
+        assertTrue(toAna.data().indexOf("Payments pending") < toAna.data().indexOf("Lot almost full"));
+        assertTrue(smtp.getMessageTo("operator@parking.test").data().contains("3 parking alerts"));
+        // The two role alerts share a target, resolved once for the batch
+        verify(userRepository, times(1)).findByCompanyIdAndRoleAndIsActiveTrue(any(), any());
+        
+        ArgumentCaptor<Collection<UUID>> claimed = idsCaptor();
+        verify(systemAlertRepository).claimEmails(claimed.capture(), any());
+        Set<UUID> ids = Set.of(forRole.getId(), forRoleToo.getId(), forUser.getId());
+        assertEquals(ids, Set.copyOf(claimed.getValue()));
+        assertEquals(ids, Set.copyOf(sent.getValue()));
+    }
+    
+    @Test
+    void dispatchPending_WhenRelayRejectsTransiently_ShouldRetryAndKeepFailedAlertsClaimed() {
+        // Given
+        User ana = user("ana@parking.test");
+        User luis = user("luis@parking.test");
+        SystemAlert forAna = alert("Gate offline", AlertPriority.HIGH, ana.getId(), null);
+        SystemAlert forLuis = alert("Lot almost full", AlertPriority.HIGH, luis.getId(), null);
+        when(systemAlertRepository.lockUnsentAlerts(any(), anyInt())).thenReturn(List.of(forAna, forLuis));
+        when(userRepository.findById(ana.getId())).thenReturn(Optional.of(ana));
+        when(userRepository.findById(luis.getId())).thenReturn(Optional.of(luis));
+        smtp.rejectRecipient("ana@parking.test", 1);
+        smtp.rejectRecipient("luis@parking.test", 5);
+        
+        // When
+        alertEmailDispatcher.dispatchPending();
+        
+        // Then - recorded once Luis's last retry gave up
+        ArgumentCaptor<Collection<UUID>> sent = idsCaptor();
+        verify(systemAlertRepository, timeout(5000)).markEmailsSent(sent.capture(), any());
+        assertEquals(List.of(forAna.getId()), List.copyOf(sent.getValue()));
+        assertNotNull(smtp.getMessageTo("ana@parking.test"));
+        assertNull(smtp.getMessageTo("luis@parking.test"));
+        assertEquals(3, smtp.getRejections("luis@parking.test"));
+        // Luis's alert keeps its claim until it expires
+        verify(systemAlertRepository, never()).releaseEmailClaims(any());
+        verify(systemAlertRepository, times(1)).lockUnsentAlerts(any(), anyInt());
+    }
+    
+    @Test
+    void dispatchPending_WhenMailPoolIsFull_ShouldReturnAtOnceAndReleaseTheRefusedAlerts() throws Exception {
+        // Given - one busy worker and room for one more digest
+        executor.shutdown();
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        ReflectionTestUtils.setField(alertEmailDispatcher, "alertMailExecutor", executor);
+        CountDownLatch busy = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                busy.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        
+        User ana = user("ana@parking.test");
+        User luis = user("luis@parking.test");
+        SystemAlert forAna = alert("Gate offline", AlertPriority.HIGH, ana.getId(), null);
+        SystemAlert forLuis = alert("Lot almost full", AlertPriority.HIGH, luis.getId(), null);
+        when(systemAlertRepository.lockUnsentAlerts(any(), anyInt())).thenReturn(List.of(forAna, forLuis));
+        when(userRepository.findById(ana.getId())).thenReturn(Optional.of(ana));
+        when(userRepository.findById(luis.getId())).thenReturn(Optional.of(luis));
+        
+        // When - returns while the queued digest still waits for the worker
+        alertEmailDispatcher.dispatchPending();
+        
+        // Then
+        assertTrue(smtp.getMessages().isEmpty());
+        verify(systemAlertRepository, never()).markEmailsSent(any(), any());
+        
+        busy.countDown();
+        ArgumentCaptor<Collection<UUID>> sent = idsCaptor();
+        ArgumentCaptor<Collection<UUID>> released = idsCaptor();
+        verify(systemAlertRepository, timeout(5000)).markEmailsSent(sent.capture(), any());
+        verify(systemAlertRepository).releaseEmailClaims(released.capture());
+        assertEquals(List.of(forAna.getId()), List.copyOf(sent.getValue()));
+        assertEquals(List.of(forLuis.getId()), List.copyOf(released.getValue()));
+        assertNotNull(smtp.getMessageTo("ana@parking.test"));
+        assertNull(smtp.getMessageTo("luis@parking.test"));
+    }
+    
+    private SystemAlert alert(String title, AlertPriority priority, UUID targetUserId, String targetRole) {
+        SystemAlert alert = new SystemAlert();
+        alert.setId(UUID.randomUUID());
+        alert.setAlertType(AlertType.LOW_AVAILABILITY);
+        alert.setPriority(priority);
+        alert.setTitle(title);
+        alert.setMessage(title + " at the main parking");
+        alert.setCompany(company);
+        alert.setTargetUserId(targetUserId);
+        alert.setTargetRole(targetRole);
+        alert.setStatus(AlertStatus.ACTIVE);
+        alert.setTriggeredAt(LocalDateTime.now());
+        return alert;
+    }
+    
+    private User user(String email) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(email);
+        return user;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<Collection<UUID>> idsCaptor() {
+        return ArgumentCaptor.forClass(Collection.class);
+    }
+    
+    /**
+     * Minimal in-process SMTP server: accepts every message and can answer a recipient with a
+     * transient 451 a given number of times.
+     */
+    private static final class SmtpStandIn implements AutoCloseable {
+        
+        record Message(List<String> recipients, String data) {
+        }
+        
+        private final ServerSocket serverSocket;
+        private final List<Message> messages = new CopyOnWriteArrayList<>();
+        private final Map<String, AtomicInteger> rejectionsLeft = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> rejections = new ConcurrentHashMap<>();
+        
+        SmtpStandIn() throws IOException {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::accept, "smtp-stand-in");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+        
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+        
+        List<Message> getMessages() {
+            return messages;
+        }
+        
+        Message getMessageTo(String recipient) {
+            return messages.stream().filter(message -> message.recipients().contains(recipient)).findFirst().orElse(null);
+        }
+        
+        void rejectRecipient(String recipient, int times) {
+            rejectionsLeft.put(recipient, new AtomicInteger(times));
+        }
+        
+        int getRejections(String recipient) {
+            AtomicInteger count = rejections.get(recipient);
+            return count != null ? count.get() : 0;
+        }
+        
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    Thread session = new Thread(() -> serve(socket), "smtp-stand-in-session");
+                    session.setDaemon(true);
+                    session.start();
+                } catch (IOException ex) {
+                    return;
+                }
+            }
+        }
+        
+        private void serve(Socket socket) {
+            try (socket;
+                 BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+                 PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.ISO_8859_1)) {
+                reply(out, "220 localhost stand-in");
+                List<String> recipients = new ArrayList<>();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String command = line.toUpperCase();
+                    if (command.startsWith("RCPT TO:")) {
+                        String recipient = line.substring(line.indexOf('<') + 1, line.indexOf('>'));
+                        AtomicInteger left = rejectionsLeft.get(recipient);
+                        if (left != null && left.getAndDecrement() > 0) {
+                            rejections.computeIfAbsent(recipient, r -> new AtomicInteger()).incrementAndGet();
+                            reply(out, "451 try again later");
+                        } else {
+                            recipients.add(recipient);
+                            reply(out, "250 OK");
+                        }
+                    } else if (command.equals("DATA")) {
+                        reply(out, "354 end with <CRLF>.<CRLF>");
+                        StringBuilder data = new StringBuilder();
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            data.append(line).append('\n');
+                        }
+                        messages.add(new Message(List.copyOf(recipients), data.toString()));
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    } else if (command.equals("QUIT")) {
+                        reply(out, "221 bye");
+                        return;
+                    } else {
+                        if (command.startsWith("MAIL FROM:") || command.equals("RSET")) {
+                            recipients.clear();
+                        }
+                        reply(out, "250 OK");
+                    }
+                }
+            } catch (IOException ex) {
+                // Client hung up
+            }
+        }
+        
+        private void reply(PrintWriter out, String line) {
+            out.print(line + "\r\n");
+            out.flush();
+        }
+        
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.event.SessionEndedEvent;
+import com.parkingmanagement.event.SessionStartedEvent;
+import com.parkingmanagement.model.entity.SystemAlert;
+import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.model.enums.PaymentStatus;
+import com.parkingmanagement.repository.CompanyRepository;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.ParkingZoneRepository;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import com.parkingmanagement.repository.projection.ParkingMetricView;
+import com.parkingmanagement.service.alert.AlertRuleEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertRuleEngineTest {
+    
+    @Mock
+    private ParkingSessionRepository parkingSessionRepository;
+    
+    @Mock
+    private ParkingZoneRepository parkingZoneRepository;
+    
+    @Mock
+    private ParkingRepository parkingRepository;
+    
+    @Mock
+    private CompanyRepository companyRepository;
+    
+    @Mock
+    private SystemAlertRepository systemAlertRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @InjectMocks
+    private AlertRuleEngine alertRuleEngine;
+    
+    private UUID companyId;
+    private UUID parkingId;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(alertRuleEngine, "enabled", true);
+        ReflectionTestUtils.setField(alertRuleEngine, "lowAvailabilityRaiseAt", 0.0);
+        ReflectionTestUtils.setField(alertRuleEngine, "lowAvailabilityClearAt", 1.0);
+        ReflectionTestUtils.setField(alertRuleEngine, "occupancyRaiseAt", 90.0);
+        ReflectionTestUtils.setField(alertRuleEngine, "occupancyClearAt", 80.0);
+        ReflectionTestUtils.setField(alertRuleEngine, "pendingPaymentsRaiseAt", 10.0);
+        ReflectionTestUtils.setField(alertRuleEngine, "pendingPaymentsClearAt", 5.0);
+        ReflectionTestUtils.invokeMethod(alertRuleEngine, "init");
+        
+        companyId = UUID.randomUUID();
+        parkingId = UUID.randomUUID();
+        
+        // 17 of 20 spaces occupied: 85%, between the clear and the raise threshold
+        lenient().when(parkingZoneRepository.sumCapacity(null, parkingId)).thenReturn(20L);
+        lenient().when(parkingSessionRepository.countByParkingIdAndExitTimeIsNull(parkingId)).thenReturn(17L);
+        lenient().when(parkingSessionRepository.countByParkingIdAndExitTimeIsNotNullAndPaymentStatus(parkingId, PaymentStatus.PENDING))
+                .thenReturn(0L);
+        lenient().when(systemAlertRepository.findByParking_IdAndAlertTypeInAndStatusIn(eq(parkingId), anyCollection(), anyCollection()))
+                .thenReturn(List.of());
+        lenient().when(systemAlertRepository.save(any(SystemAlert.class))).thenAnswer(invocation -> {
+            SystemAlert alert = invocation.getArgument(0);
+            if (alert.getId() == null) {
+                alert.setId(UUID.randomUUID());
+            }
+            return alert;
+        });
+    }
+    
+    @Test
+    void occupancyRule_ShouldRaiseOnceAndClearOnlyBelowClearThreshold() {
+        // Given
+        alertRuleEngine.onSessionStarted(started()); // seeds the state at 17/20
+        
+        // When
+        alertRuleEngine.onSessionStarted(started()); // 18/20 = 90%: raise
+        alertRuleEngine.onSessionStarted(started()); // 19/20: already raised
+        alertRuleEngine.onSessionEnded(ended());     // 18/20
+        alertRuleEngine.onSessionEnded(ended());     // 17/20 = 85%: inside the hysteresis band
+        
+        // Then
+        ArgumentCaptor<SystemAlert> raised = ArgumentCaptor.forClass(SystemAlert.class);
+        verify(systemAlertRepository, times(1)).save(raised.capture());
+        assertEquals(AlertType.OCCUPANCY_THRESHOLD, raised.getValue().getAlertType());
+        assertEquals(AlertStatus.ACTIVE, raised.getValue().getStatus());
+        assertEquals("SUPERVISOR", raised.getValue().getTargetRole());
+        verify(systemAlertRepository, never()).findById(any());
+    }
+    
+    @Test
+    void occupancyRule_ShouldResolveAlertWhenConditionClears() {
+        // Given
+        alertRuleEngine.onSessionStarted(started());
+        alertRuleEngine.onSessionStarted(started()); // 18/20 = 90%: raise
+        ArgumentCaptor<SystemAlert> raised = ArgumentCaptor.forClass(SystemAlert.class);
+        verify(systemAlertRepository).save(raised.capture());
+        SystemAlert alert = raised.getValue();
+        when(systemAlertRepository.findById(alert.getId())).thenReturn(Optional.of(alert));
+        
+        // When
+        alertRuleEngine.onSessionEnded(ended()); // 17/20 = 85%
+        alertRuleEngine.onSessionEnded(ended()); // 16/20 = 80%: clear
+        alertRuleEngine.onSessionStarted(started()); // 17/20: below the raise threshold again
+        
+        // Then
+        assertEquals(AlertStatus.RESOLVED, alert.getStatus());
+        assertNotNull(alert.getResolvedAt());
+        verify(systemAlertRepository, times(1)).findById(alert.getId());
+        verify(systemAlertRepository, times(2)).save(any(SystemAlert.class));
+    }
+    
+    @Test
+    void warmUp_ShouldBuildStatesFromTheGroupedQueriesOnly() {
+        // Given - 19 of 20 spaces occupied: 95%
+        when(parkingZoneRepository.sumCapacityByParking()).thenReturn(List.of(metric(20)));
+        when(parkingSessionRepository.countOpenSessionsByParking()).thenReturn(List.of(metric(19)));
+        when(parkingSessionRepository.countPendingPaymentsByParking()).thenReturn(List.of());
+        when(systemAlertRepository.findByAlertTypeInAndStatusIn(anyCollection(), anyCollection())).thenReturn(List.of());
+        
+        // When
+        alertRuleEngine.warmUp();
+        alertRuleEngine.onSessionStarted(started()); // 20/20: the state exists, no seeding
+        
+        // Then
+        ArgumentCaptor<SystemAlert> raised = ArgumentCaptor.forClass(SystemAlert.class);
+        verify(systemAlertRepository, times(2)).save(raised.capture());
+        assertEquals(List.of(AlertType.OCCUPANCY_THRESHOLD, AlertType.LOW_AVAILABILITY),
+                raised.getAllValues().stream().map(SystemAlert::getAlertType).toList());
+        verify(parkingZoneRepository, never()).sumCapacity(any(), any());
+        verify(parkingSessionRepository, never()).countByParkingIdAndExitTimeIsNull(any());
+        verify(systemAlertRepository, never()).findByParking_IdAndAlertTypeInAndStatusIn(any(), anyCollection(), anyCollection());
+    }
+    
+    private ParkingMetricView metric(long value) {
+        return new ParkingMetricView() {
+            @Override
+            public UUID getParkingId() {
+                return parkingId;
+            }
+            
+            @Override
+            public UUID getCompanyId() {
+                return companyId;
+            }
+            
+            @Override
+            public Number getValue() {
+                return value;
+            }
+        };
+    }
+    
+    private SessionStartedEvent started() {
+        return new SessionStartedEvent(UUID.randomUUID(), parkingId, companyId, LocalDateTime.now());
+    }
+    
+    private SessionEndedEvent ended() {
+        return new SessionEndedEvent(UUID.randomUUID(), parkingId, companyId, LocalDateTime.now().minusHours(1),
+                LocalDateTime.now(), PaymentStatus.PAID);
+    }
+}
@@ -0,0 +1,161 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.dto.response.SystemAlertResponse;
+import com.parkingmanagement.model.entity.Company;
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.model.entity.SystemAlert;
+import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.UserRole;
+import com.parkingmanagement.repository.CompanyRepository;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import com.parkingmanagement.repository.UserRepository;
+import com.parkingmanagement.security.AuthenticatedUser;
+import com.parkingmanagement.service.alert.AlertCoalescer;
+import com.parkingmanagement.service.alert.AlertEmailDispatcher;
+import com.parkingmanagement.service.alert.AlertRuleEngine;
+import com.parkingmanagement.service.alert.RevenueAnomalyDetector;
+import com.parkingmanagement.service.alert.UnreadAlertCounter;
+import com.parkingmanagement.service.impl.AlertServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AlertServiceTest {
+    
+    @Mock
+    private SystemAlertRepository systemAlertRepository;
+    
+    @Mock
+    private ParkingRepository parkingRepository;
+    
+    @Mock
+    private CompanyRepository companyRepository;
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private AlertRuleEngine alertRuleEngine;
+    
+    @Mock
+    private RevenueAnomalyDetector revenueAnomalyDetector;
+    
+    @Mock
+    private AlertCoalescer alertCoalescer;
+    
+    @Mock
+    private UnreadAlertCounter unreadAlertCounter;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private AlertEmailDispatcher alertEmailDispatcher;
+    
+    @InjectMocks
+    private AlertServiceImpl alertService;
+    
+    private UUID companyId;
+    private SystemAlert alert;
+    
+    @BeforeEach
+    void setUp() {
+        companyId = UUID.randomUUID();
+        Company company = new Company();
+        company.setId(companyId);
+        Parking parking = new Parking();
+        parking.setId(UUID.randomUUID());
+        parking.setCompany(company);
+        
+        alert = new SystemAlert();
+        alert.setId(UUID.randomUUID());
+        alert.setParking(parking);
+        alert.setTargetRole(UserRole.COMPANY_ADMIN.name());
+        alert.setStatus(AlertStatus.ACTIVE);
+        
+        lenient().when(systemAlertRepository.findById(alert.getId())).thenReturn(Optional.of(alert));
+        lenient().when(systemAlertRepository.save(any(SystemAlert.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(userRepository.findAllById(any())).thenReturn(List.of());
+    }
+    
+    @Test
+    void acknowledgeAlert_ByTheTargetUser_ShouldAcknowledge() {
+        // Given
+        AuthenticatedUser user = user(UserRole.SUPERVISOR, UUID.randomUUID());
+        alert.setTargetUserId(user.getId());
+        
+        // When
+        SystemAlertResponse response = alertService.acknowledgeAlert(alert.getId(), user);
+        
+        // Then
+        assertEquals(AlertStatus.ACKNOWLEDGED, response.getStatus());
+        assertEquals(user.getId(), alert.getAcknowledgedBy());
+    }
+    
+    @Test
+    void resolveAlert_ByTheTargetRole_ShouldResolve() {
+        // Given
+        AuthenticatedUser user = user(UserRole.COMPANY_ADMIN, UUID.randomUUID());
+        
+        // When
+        SystemAlertResponse response = alertService.resolveAlert(alert.getId(), user);
+        
+        // Then
+        assertEquals(AlertStatus.RESOLVED, response.getStatus());
+        assertEquals(user.getId(), alert.getResolvedBy());
+    }
+    
+    @Test
+    void dismissAlert_ByAMemberOfTheAlertsCompany_ShouldDismiss() {
+        // Given
+        AuthenticatedUser user = user(UserRole.SUPERVISOR, companyId);
+        
+        // When
+        SystemAlertResponse response = alertService.dismissAlert(alert.getId(), user);
+        
+        // Then
+        assertEquals(AlertStatus.DISMISSED, response.getStatus());
+    }
+    
+    @Test
+    void resolveAlert_ByAGeneralAdmin_ShouldResolve() {
+        // When
+        SystemAlertResponse response = alertService.resolveAlert(alert.getId(), user(UserRole.GENERAL_ADMIN, null));
+        
+        // Then
+        assertEquals(AlertStatus.RESOLVED, response.getStatus());
+    }
+    
+    @Test
+    void changingStatus_ByAnotherCompanysSupervisor_ShouldBeDenied() {
+        // Given
+        AuthenticatedUser user = user(UserRole.SUPERVISOR, UUID.randomUUID());
+        
+        // When / Then
+        assertThrows(AccessDeniedException.class, () -> alertService.acknowledgeAlert(alert.getId(), user));
+        assertThrows(AccessDeniedException.class, () -> alertService.resolveAlert(alert.getId(), user));
+        assertThrows(AccessDeniedException.class, () -> alertService.dismissAlert(alert.getId(), user));
+        assertEquals(AlertStatus.ACTIVE, alert.getStatus());
+        verify(systemAlertRepository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+    
+    private AuthenticatedUser user(UserRole role, UUID userCompanyId) {
+        return new AuthenticatedUser(UUID.randomUUID(), role.name().toLowerCase() + "@parking.test", role, userCompanyId);
+    }
+}
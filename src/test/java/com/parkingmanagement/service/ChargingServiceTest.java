@@ -7,12 +7,15 @@ import com.parkingmanagement.model.entity.*;
 import com.parkingmanagement.model.enums.ReservaStatus;
 import com.parkingmanagement.repository.*;
 import com.parkingmanagement.service.impl.ChargingServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -49,6 +52,12 @@ class ChargingServiceTest {
     @Mock
     private ParkingRepository parkingRepository;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private MeterRegistry meterRegistry;
+    
     @InjectMocks
     private ChargingServiceImpl chargingService;
     
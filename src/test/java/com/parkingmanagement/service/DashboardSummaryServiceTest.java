@@ -0,0 +1,201 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.dto.response.FinancialReportResponse;
+import com.parkingmanagement.event.SessionPaidEvent;
+import com.parkingmanagement.exception.ResourceNotFoundException;
+import com.parkingmanagement.exception.ValidationException;
+import com.parkingmanagement.model.entity.Company;
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.repository.CompanyRepository;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.ParkingZoneRepository;
+import com.parkingmanagement.repository.projection.ClosedSessionView;
+import com.parkingmanagement.service.impl.DashboardSummaryServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardSummaryServiceTest {
+    
+    @Mock
+    private ParkingSessionRepository parkingSessionRepository;
+    
+    @Mock
+    private ParkingZoneRepository parkingZoneRepository;
+    
+    @Mock
+    private ParkingRepository parkingRepository;
+    
+    @Mock
+    private CompanyRepository companyRepository;
+    
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private MeterRegistry meterRegistry;
+    
+    @InjectMocks
+    private DashboardSummaryServiceImpl dashboardSummaryService;
+    
+    private UUID companyId;
+    private UUID parkingId;
+    private LocalDateTime entryTime;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(dashboardSummaryService, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(dashboardSummaryService, "maxEntries", 1000);
+        companyId = UUID.randomUUID();
+        parkingId = UUID.randomUUID();
+        entryTime = LocalDateTime.now().withDayOfMonth(1).withHour(9).withMinute(0);
+        
+        Company company = new Company();
+        company.setId(companyId);
+        Parking parking = new Parking();
+        parking.setId(parkingId);
+        parking.setCompany(company);
+        lenient().when(parkingZoneRepository.sumCapacity(any(), any())).thenReturn(10L);
+        lenient().when(parkingRepository.findById(any())).thenReturn(Optional.empty());
+        lenient().when(parkingRepository.findById(parkingId)).thenReturn(Optional.of(parking));
+        lenient().when(companyRepository.findById(any())).thenReturn(Optional.empty());
+        lenient().when(companyRepository.findById(companyId)).thenReturn(Optional.of(company));
+    }
+    
+    @Test
+    void getFinancialSummary_ShouldServeFromMemoryAndFoldInPaidSessions() {
+        // Given
+        when(parkingSessionRepository.findClosedPaidSessionsByScope(eq(companyId), eq(parkingId), any(), any()))
+                .thenReturn(List.of(session(entryTime, 60, "10.00")));
+        
+        // When
+        FinancialReportResponse first = dashboardSummaryService.getFinancialSummary(companyId, parkingId);
+        dashboardSummaryService.onSessionPaid(new SessionPaidEvent(UUID.randomUUID(), parkingId, companyId,
+                entryTime.plusHours(1), entryTime.plusHours(2), new BigDecimal("5.50"), LocalDateTime.now()));
+        FinancialReportResponse second = dashboardSummaryService.getFinancialSummary(companyId, parkingId);
+        
+        // Then
+        assertEquals(new BigDecimal("10.00"), first.getTotalRevenue());
+        assertEquals(new BigDecimal("15.50"), second.getTotalRevenue());
+        assertEquals(2, second.getTotalSessions());
+        verify(parkingSessionRepository, times(1))
+                .findClosedPaidSessionsByScope(eq(companyId), eq(parkingId), any(), any());
+    }
+    
+    @Test
+    void getFinancialSummary_WithConcurrentRequests_ShouldComputeOnce() throws Exception {
+        // Given
+        CountDownLatch queryStarted = new CountDownLatch(1);
+        CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(parkingSessionRepository.findClosedPaidSessionsByScope(any(), eq(parkingId), any(), any()))
+                .thenAnswer(invocation -> {
+                    queryStarted.countDown();
+                    releaseQuery.await(5, TimeUnit.SECONDS);
+                    return List.of(session(entryTime, 30, "4.00"));
+                });
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        
+        try {
+            // When
+            Future<FinancialReportResponse> leader = executor.submit(
+                    () -> dashboardSummaryService.getFinancialSummary(null, parkingId));
+            assertTrue(queryStarted.await(5, TimeUnit.SECONDS));
+            List<Future<FinancialReportResponse>> followers = List.of(
+                    executor.submit(() -> dashboardSummaryService.getFinancialSummary(null, parkingId)),
+                    executor.submit(() -> dashboardSummaryService.getFinancialSummary(null, parkingId)));
+            Thread.sleep(100);
+            releaseQuery.countDown();
+            
+            // Then
+            assertEquals(new BigDecimal("4.00"), leader.get(5, TimeUnit.SECONDS).getTotalRevenue());
+            for (Future<FinancialReportResponse> follower : followers) {
+                assertEquals(new BigDecimal("4.00"), follower.get(5, TimeUnit.SECONDS).getTotalRevenue());
+            }
+            verify(parkingSessionRepository, times(1))
+                    .findClosedPaidSessionsByScope(any(), eq(parkingId), any(), any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void getFinancialSummary_WithUnknownParking_ShouldThrowAndCacheNothing() {
+        // Given
+        UUID unknownId = UUID.randomUUID();
+        
+        // When / Then
+        assertThrows(ResourceNotFoundException.class, () -> dashboardSummaryService.getFinancialSummary(null, unknownId));
+        assertThrows(ResourceNotFoundException.class, () -> dashboardSummaryService.getFinancialSummary(null, unknownId));
+        verify(parkingRepository, times(2)).findById(unknownId);
+        verifyNoInteractions(parkingSessionRepository);
+    }
+    
+    @Test
+    void getFinancialSummary_WithParkingOfAnotherCompany_ShouldThrow() {
+        // Given
+        UUID otherCompanyId = UUID.randomUUID();
+        Company otherCompany = new Company();
+        otherCompany.setId(otherCompanyId);
+        when(companyRepository.findById(otherCompanyId)).thenReturn(Optional.of(otherCompany));
+        
+        // When / Then
+        assertThrows(ValidationException.class,
+                () -> dashboardSummaryService.getFinancialSummary(otherCompanyId, parkingId));
+        verifyNoInteractions(parkingSessionRepository);
+    }
+    
+    @Test
+    void getFinancialSummary_PastMaxEntries_ShouldDropTheLeastRecentlyUsedScope() {
+        // Given
+        ReflectionTestUtils.setField(dashboardSummaryService, "maxEntries", 1);
+        when(parkingSessionRepository.findClosedPaidSessionsByScope(any(), any(), any(), any())).thenReturn(List.of());
+        
+        // When
+        dashboardSummaryService.getFinancialSummary(companyId, null);
+        dashboardSummaryService.getFinancialSummary(null, parkingId);
+        dashboardSummaryService.getFinancialSummary(companyId, null);
+        
+        // Then
+        verify(parkingSessionRepository, times(2)).findClosedPaidSessionsByScope(eq(companyId), eq(null), any(), any());
+    }
+    
+    private ClosedSessionView session(LocalDateTime entry, int durationMinutes, String amount) {
+        return new ClosedSessionView() {
+            @Override
+            public LocalDateTime getEntryTime() {
+                return entry;
+            }
+            
+            @Override
+            public LocalDateTime getExitTime() {
+                return entry.plusMinutes(durationMinutes);
+            }
+            
+            @Override
+            public BigDecimal getTotalCost() {
+                return new BigDecimal(amount);
+            }
+        };
+    }
+}
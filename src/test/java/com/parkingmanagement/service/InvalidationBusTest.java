@@ -0,0 +1,136 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.event.ParkingChangedEvent;
+import com.parkingmanagement.event.ReferenceDataChangedEvent;
+import com.parkingmanagement.event.UserSecurityChangedEvent;
+import com.parkingmanagement.model.entity.Tarifa;
+import com.parkingmanagement.repository.UserRepository;
+import com.parkingmanagement.security.UserSecurityVersions;
+import com.parkingmanagement.service.invalidation.EntityChange;
+import com.parkingmanagement.service.invalidation.InvalidationBus;
+import com.parkingmanagement.service.invalidation.InvalidationPublisher;
+import com.parkingmanagement.service.invalidation.InvalidationReceiver;
+import com.parkingmanagement.service.invalidation.LoopbackInvalidationBus;
+import com.parkingmanagement.service.parking.ParkingSpatialIndex;
+import com.parkingmanagement.service.reference.ReferenceData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidationBusTest {
+    
+    @Mock
+    private ReferenceData referenceData;
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private ParkingSpatialIndex parkingSpatialIndex;
+    
+    @Mock
+    private InvalidationBus invalidationBus;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    private UserSecurityVersions userSecurityVersions;
+    private InvalidationReceiver receiver;
+    private InvalidationPublisher publisher;
+    
+    @BeforeEach
+    void setUp() {
+        userSecurityVersions = new UserSecurityVersions(userRepository);
+        receiver = new InvalidationReceiver(referenceData, userSecurityVersions, parkingSpatialIndex);
+        publisher = new InvalidationPublisher(invalidationBus, transactionManager);
+        ReflectionTestUtils.invokeMethod(publisher, "init");
+    }
+    
+    @Test
+    void publisher_ShouldForwardEveryKindOfChange() {
+        // Given
+        UUID tarifaId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        UUID parkingId = UUID.randomUUID();
+        
+        // When
+        publisher.onReferenceDataChanged(new ReferenceDataChangedEvent(Tarifa.class, tarifaId));
+        publisher.onUserSecurityChanged(new UserSecurityChangedEvent(userId, 3));
+        publisher.onParkingChanged(new ParkingChangedEvent(parkingId));
+        
+        // Then
+        verify(invalidationBus).publish(new EntityChange("Tarifa", tarifaId, 0));
+        verify(invalidationBus).publish(new EntityChange("User", userId, 3));
+        verify(invalidationBus).publish(new EntityChange("Parking", parkingId, 0));
+    }
+    
+    @Test
+    void onChange_ShouldEvictTheChangedEntityAndRaiseTheUserVersion() {
+        // Given
+        UUID tarifaId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        
+        // When
+        receiver.onChange(new EntityChange("Tarifa", tarifaId, 0));
+        receiver.onChange(new EntityChange("User", userId, 3));
+        
+        // Then
+        verify(referenceData).evict("Tarifa", tarifaId);
+        assertFalse(userSecurityVersions.isCurrent(userId, 2));
+        assertTrue(userSecurityVersions.isCurrent(userId, 3));
+        verifyNoInteractions(parkingSpatialIndex);
+    }
+    
+    @Test
+    void onChange_ShouldEvictTheParkingAndRebuildTheSpatialIndex() {
+        // Given
+        UUID parkingId = UUID.randomUUID();
+        
+        // When
+        receiver.onChange(new EntityChange("Parking", parkingId, 0));
+        
+        // Then
+        verify(referenceData).evict("Parking", parkingId);
+        verify(parkingSpatialIndex).rebuild();
+    }
+    
+    @Test
+    void loopback_ShouldLeaveLocalStateToTheAfterCommitListeners() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        InvalidationPublisher loopback = new InvalidationPublisher(new LoopbackInvalidationBus(), transactionManager);
+        ReflectionTestUtils.invokeMethod(loopback, "init");
+        
+        // When
+        loopback.onUserSecurityChanged(new UserSecurityChangedEvent(userId, 3));
+        
+        // Then
+        assertTrue(userSecurityVersions.isCurrent(userId, 2));
+        verifyNoInteractions(referenceData, parkingSpatialIndex);
+    }
+    
+    @Test
+    void onMessagesLost_ShouldFlushEverythingCached() {
+        // Given
+        when(userRepository.findSecurityVersions(null)).thenReturn(List.of());
+        
+        // When
+        receiver.onMessagesLost();
+        
+        // Then
+        verify(referenceData).evictAll();
+        verify(userRepository).findSecurityVersions(null);
+        verify(parkingSpatialIndex).rebuild();
+    }
+}
@@ -0,0 +1,102 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.repository.UserRepository;
+import com.parkingmanagement.service.user.LastLoginRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LastLoginRecorderTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 2, 7, 0);
+    
+    @Mock
+    private UserRepository userRepository;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    @InjectMocks
+    private LastLoginRecorder lastLoginRecorder;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(lastLoginRecorder, "batchSize", 1000);
+        ReflectionTestUtils.setField(lastLoginRecorder, "maxAttempts", 3);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+    
+    @Test
+    void flush_ShouldWriteTheLatestLoginOfEachUserInOneStatement() {
+        // Given
+        UUID ana = UUID.randomUUID();
+        UUID luis = UUID.randomUUID();
+        lastLoginRecorder.record(ana, NOW.plusMinutes(5));
+        lastLoginRecorder.record(ana, NOW);
+        lastLoginRecorder.record(luis, NOW.plusMinutes(1));
+        
+        // When
+        lastLoginRecorder.flush();
+        lastLoginRecorder.flush();
+        
+        // Then
+        ArgumentCaptor<List<UUID>> userIds = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<List<LocalDateTime>> loggedInAt = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(1)).updateLastLogins(userIds.capture(), loggedInAt.capture());
+        assertEquals(2, userIds.getValue().size());
+        int anaIndex = userIds.getValue().indexOf(ana);
+        assertEquals(NOW.plusMinutes(5), loggedInAt.getValue().get(anaIndex));
+        assertEquals(NOW.plusMinutes(1), loggedInAt.getValue().get(1 - anaIndex));
+    }
+    
+    @Test
+    void flush_WhenTheUpdateFails_ShouldKeepTheLoginsForTheNextFlush() {
+        // Given
+        UUID ana = UUID.randomUUID();
+        lastLoginRecorder.record(ana, NOW);
+        when(userRepository.updateLastLogins(any(), any()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+        
+        // When
+        lastLoginRecorder.flush();
+        lastLoginRecorder.flush();
+        
+        // Then
+        verify(userRepository, times(2)).updateLastLogins(List.of(ana), List.of(NOW));
+    }
+    
+    @Test
+    void flush_WhenTheUpdateKeepsFailing_ShouldDropTheLoginsAfterMaxAttempts() {
+        // Given
+        UUID ana = UUID.randomUUID();
+        lastLoginRecorder.record(ana, NOW);
+        when(userRepository.updateLastLogins(any(), any())).thenThrow(new QueryTimeoutException("timeout"));
+        
+        // When
+        for (int i = 0; i < 5; i++) {
+            lastLoginRecorder.flush();
+        }
+        
+        // Then
+        verify(userRepository, times(3)).updateLastLogins(List.of(ana), List.of(NOW));
+    }
+}
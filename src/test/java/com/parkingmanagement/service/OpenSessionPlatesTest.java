@@ -0,0 +1,101 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.event.SessionEndedEvent;
+import com.parkingmanagement.model.enums.PaymentStatus;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.projection.OpenSessionPlateView;
+import com.parkingmanagement.service.parking.OpenSessionPlates;
+import com.parkingmanagement.service.parking.PlateCandidate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OpenSessionPlatesTest {
+    
+    private static final UUID GATE_PARKING = UUID.randomUUID();
+    private static final UUID OTHER_PARKING = UUID.randomUUID();
+    
+    @Mock
+    private ParkingSessionRepository parkingSessionRepository;
+    
+    @InjectMocks
+    private OpenSessionPlates openSessionPlates;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(openSessionPlates, "maxDistance", 2);
+    }
+    
+    @Test
+    void findCandidates_WithOcrMisread_ShouldRankTheParkedVehicleFirst() {
+        // Given
+        OpenSessionPlateView parked = session(GATE_PARKING, "ABC-108");
+        OpenSessionPlateView similar = session(GATE_PARKING, "ABX-138");
+        when(parkingSessionRepository.findOpenSessionPlates()).thenReturn(List.of(
+                parked, similar, session(GATE_PARKING, "XYZ-999"), session(OTHER_PARKING, "ABC-108")));
+        openSessionPlates.rebuild();
+        
+        // When
+        List<PlateCandidate> candidates = openSessionPlates.findCandidates(GATE_PARKING, "A8C 1O8", 5);
+        
+        // Then
+        assertEquals(2, candidates.size());
+        assertEquals(parked.getSessionId(), candidates.get(0).sessionId());
+        assertEquals(0, candidates.get(0).distance());
+        assertEquals(similar.getSessionId(), candidates.get(1).sessionId());
+        assertEquals(2, candidates.get(1).distance());
+    }
+    
+    @Test
+    void onSessionEnded_ShouldDropThePlateFromItsParking() {
+        // Given
+        OpenSessionPlateView parked = session(GATE_PARKING, "ABC-108");
+        when(parkingSessionRepository.findOpenSessionPlates()).thenReturn(List.of(parked));
+        openSessionPlates.rebuild();
+        
+        // When
+        openSessionPlates.onSessionEnded(new SessionEndedEvent(parked.getSessionId(), GATE_PARKING, null,
+                LocalDateTime.now().minusHours(1), LocalDateTime.now(), PaymentStatus.PENDING));
+        
+        // Then
+        assertTrue(openSessionPlates.findCandidates(GATE_PARKING, "ABC-108", 5).isEmpty());
+    }
+    
+    private OpenSessionPlateView session(UUID parkingId, String licensePlate) {
+        UUID sessionId = UUID.randomUUID();
+        UUID vehicleId = UUID.randomUUID();
+        return new OpenSessionPlateView() {
+            @Override
+            public UUID getSessionId() {
+                return sessionId;
+            }
+            
+            @Override
+            public UUID getParkingId() {
+                return parkingId;
+            }
+            
+            @Override
+            public UUID getVehicleId() {
+                return vehicleId;
+            }
+            
+            @Override
+            public String getLicensePlate() {
+                return licensePlate;
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.exception.ValidationException;
+import com.parkingmanagement.service.impl.ParkingServiceImpl;
+import com.parkingmanagement.service.parking.OpenSessionPlates;
+import com.parkingmanagement.service.parking.ParkingSpatialIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ParkingServiceTest {
+    
+    @Mock
+    private ParkingSpatialIndex parkingSpatialIndex;
+    
+    @Mock
+    private OpenSessionPlates openSessionPlates;
+    
+    @InjectMocks
+    private ParkingServiceImpl parkingService;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(parkingService, "maxPlateLimit", 20);
+        ReflectionTestUtils.setField(parkingService, "maxPlateLength", 15);
+    }
+    
+    @Test
+    void findPlateCandidates_WithTooLongPlate_ShouldRejectBeforeSearching() {
+        // Given
+        UUID parkingId = UUID.randomUUID();
+        
+        // When / Then
+        assertThrows(ValidationException.class,
+                () -> parkingService.findPlateCandidates(parkingId, "ABC1234567890XYZ", 5));
+        verifyNoInteractions(openSessionPlates);
+    }
+    
+    @Test
+    void findPlateCandidates_ShouldOnlyCountLettersAndDigits() {
+        // Given - 15 letters and digits between the separators
+        UUID parkingId = UUID.randomUUID();
+        String licensePlate = "ABC-123 / 456-789 XYZ";
+        when(openSessionPlates.findCandidates(parkingId, licensePlate, 5)).thenReturn(List.of());
+        
+        // When
+        assertTrue(parkingService.findPlateCandidates(parkingId, licensePlate, 5).isEmpty());
+        
+        // Then
+        verify(openSessionPlates).findCandidates(parkingId, licensePlate, 5);
+    }
+}
@@ -0,0 +1,183 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.event.SessionStartedEvent;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.ParkingZoneRepository;
+import com.parkingmanagement.repository.projection.ParkingLocationView;
+import com.parkingmanagement.repository.projection.ParkingMetricView;
+import com.parkingmanagement.repository.projection.ParkingVehicleTypeView;
+import com.parkingmanagement.service.parking.NearbyParking;
+import com.parkingmanagement.service.parking.ParkingSpatialIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ParkingSpatialIndexTest {
+    
+    private static final UUID CAR = UUID.randomUUID();
+    
+    @Mock
+    private ParkingRepository parkingRepository;
+    
+    @Mock
+    private ParkingZoneRepository parkingZoneRepository;
+    
+    @Mock
+    private ParkingSessionRepository parkingSessionRepository;
+    
+    @InjectMocks
+    private ParkingSpatialIndex parkingSpatialIndex;
+    
+    @Test
+    void findNearest_ShouldMatchAFullScanForRandomSites() {
+        // Given
+        Random random = new Random(42);
+        List<ParkingLocationView> sites = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            sites.add(location(UUID.randomUUID(), 4.5 + random.nextDouble() * 0.3, -74.2 + random.nextDouble() * 0.2));
+        }
+        given(sites, List.of(), List.of());
+        
+        for (int query = 0; query < 50; query++) {
+            double latitude = 4.5 + random.nextDouble() * 0.3;
+            double longitude = -74.2 + random.nextDouble() * 0.2;
+            
+            // When
+            List<NearbyParking> nearest = parkingSpatialIndex.findNearest(latitude, longitude, 3000, 5, null, 0);
+            
+            // Then
+            List<Double> expected = sites.stream()
+                    .map(site -> haversine(latitude, longitude, site.getLatitude().doubleValue(), site.getLongitude().doubleValue()))
+                    .filter(distance -> distance <= 3000)
+                    .sorted(Comparator.naturalOrder())
+                    .limit(5)
+                    .toList();
+            assertEquals(expected.size(), nearest.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i), nearest.get(i).distanceMeters(), 0.5);
+            }
+        }
+    }
+    
+    @Test
+    void findNearest_ShouldSkipParkingsWithoutTheVehicleTypeOrFreeSpaces() {
+        // Given
+        UUID closest = UUID.randomUUID();
+        UUID noCars = UUID.randomUUID();
+        UUID farther = UUID.randomUUID();
+        given(List.of(location(closest, 4.6000, -74.0800), location(noCars, 4.6001, -74.0800), location(farther, 4.6100, -74.0800)),
+                List.of(metric(closest, 2), metric(noCars, 50), metric(farther, 50)),
+                List.of(vehicleType(closest, CAR), vehicleType(farther, CAR)));
+        parkingSpatialIndex.onSessionStarted(new SessionStartedEvent(UUID.randomUUID(), closest, null, LocalDateTime.now()));
+        parkingSpatialIndex.onSessionStarted(new SessionStartedEvent(UUID.randomUUID(), closest, null, LocalDateTime.now()));
+        
+        // When
+        List<NearbyParking> anyParking = parkingSpatialIndex.findNearest(4.6, -74.08, 5000, 3, null, 0);
+        List<NearbyParking> freeForCars = parkingSpatialIndex.findNearest(4.6, -74.08, 5000, 3, CAR, 1);
+        
+        // Then
+        assertEquals(List.of(closest, noCars, farther), anyParking.stream().map(NearbyParking::parkingId).toList());
+        assertEquals(0L, anyParking.get(0).freeSpaces());
+        assertEquals(List.of(farther), freeForCars.stream().map(NearbyParking::parkingId).toList());
+        assertEquals(1112, freeForCars.get(0).distanceMeters(), 5);
+    }
+    
+    private void given(List<ParkingLocationView> locations, List<ParkingMetricView> capacities,
+                       List<ParkingVehicleTypeView> vehicleTypes) {
+        when(parkingRepository.findActiveLocations()).thenReturn(locations);
+        when(parkingZoneRepository.sumCapacityByParking()).thenReturn(capacities);
+        when(parkingZoneRepository.findVehicleTypesByParking()).thenReturn(vehicleTypes);
+        when(parkingSessionRepository.countOpenSessionsByParking()).thenReturn(List.of());
+        parkingSpatialIndex.rebuild();
+    }
+    
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * 6_371_008.8 * Math.asin(Math.sqrt(a));
+    }
+    
+    private static ParkingLocationView location(UUID parkingId, double latitude, double longitude) {
+        return new ParkingLocationView() {
+            @Override
+            public UUID getParkingId() {
+                return parkingId;
+            }
+            
+            @Override
+            public UUID getCompanyId() {
+                return null;
+            }
+            
+            @Override
+            public String getName() {
+                return "Parking " + parkingId;
+            }
+            
+            @Override
+            public String getAddress() {
+                return "Calle 1";
+            }
+            
+            @Override
+            public BigDecimal getLatitude() {
+                return BigDecimal.valueOf(latitude);
+            }
+            
+            @Override
+            public BigDecimal getLongitude() {
+                return BigDecimal.valueOf(longitude);
+            }
+        };
+    }
+    
+    private static ParkingMetricView metric(UUID parkingId, long value) {
+        return new ParkingMetricView() {
+            @Override
+            public UUID getParkingId() {
+                return parkingId;
+            }
+            
+            @Override
+            public UUID getCompanyId() {
+                return null;
+            }
+            
+            @Override
+            public Number getValue() {
+                return value;
+            }
+        };
+    }
+    
+    private static ParkingVehicleTypeView vehicleType(UUID parkingId, UUID vehicleTypeId) {
+        return new ParkingVehicleTypeView() {
+            @Override
+            public UUID getParkingId() {
+                return parkingId;
+            }
+            
+            @Override
+            public UUID getVehicleTypeId() {
+                return vehicleTypeId;
+            }
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.event.ReferenceDataChangedEvent;
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.model.entity.Tarifa;
+import com.parkingmanagement.model.entity.VehicleType;
+import com.parkingmanagement.repository.CompanyRepository;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.PlanEspecialRepository;
+import com.parkingmanagement.repository.TarifaRepository;
+import com.parkingmanagement.repository.VehicleTypeRepository;
+import com.parkingmanagement.service.reference.ReferenceData;
+import com.parkingmanagement.service.reference.TarifaSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataTest {
+    
+    @Mock
+    private ParkingRepository parkingRepository;
+    
+    @Mock
+    private CompanyRepository companyRepository;
+    
+    @Mock
+    private VehicleTypeRepository vehicleTypeRepository;
+    
+    @Mock
+    private TarifaRepository tarifaRepository;
+    
+    @Mock
+    private PlanEspecialRepository planEspecialRepository;
+    
+    @Mock
+    private MeterRegistry meterRegistry;
+    
+    @Mock
+    private Counter counter;
+    
+    private MockEnvironment environment;
+    private Tarifa tarifa;
+    
+    @BeforeEach
+    void setUp() {
+        when(meterRegistry.counter(anyString(), any(String[].class))).thenReturn(counter);
+        environment = new MockEnvironment();
+        
+        Parking parking = new Parking();
+        parking.setId(UUID.randomUUID());
+        VehicleType vehicleType = new VehicleType();
+        vehicleType.setId(UUID.randomUUID());
+        tarifa = Tarifa.builder()
+                .parking(parking)
+                .vehicleType(vehicleType)
+                .name("Standard Rate")
+                .ratePerHour(new BigDecimal("5.00"))
+                .build();
+        tarifa.setId(UUID.randomUUID());
+        tarifa.setIsActive(true);
+    }
+    
+    @Test
+    void findActiveTarifa_ShouldServeRepeatedReadsUntilTheTarifaChanges() {
+        // Given
+        ReferenceData referenceData = referenceData();
+        when(tarifaRepository.findById(tarifa.getId())).thenReturn(Optional.of(tarifa));
+        
+        // When
+        TarifaSnapshot first = referenceData.findActiveTarifa(tarifa.getId()).orElseThrow();
+        referenceData.findActiveTarifa(tarifa.getId());
+        tarifa.setName("Evening Rate");
+        referenceData.onReferenceDataChanged(new ReferenceDataChangedEvent(Tarifa.class, tarifa.getId()));
+        TarifaSnapshot reloaded = referenceData.findActiveTarifa(tarifa.getId()).orElseThrow();
+        
+        // Then
+        assertEquals("Standard Rate", first.name());
+        assertEquals("Evening Rate", reloaded.name());
+        verify(tarifaRepository, times(2)).findById(tarifa.getId());
+    }
+    
+    @Test
+    void findActiveTarifa_WhenDisabled_ShouldReadThroughEveryTime() {
+        // Given
+        environment.setProperty("app.cache.reference.tarifas.enabled", "false");
+        ReferenceData referenceData = referenceData();
+        when(tarifaRepository.findById(tarifa.getId())).thenReturn(Optional.of(tarifa));
+        
+        // When
+        referenceData.findActiveTarifa(tarifa.getId());
+        referenceData.findActiveTarifa(tarifa.getId());
+        
+        // Then
+        verify(tarifaRepository, times(2)).findById(tarifa.getId());
+    }
+    
+    private ReferenceData referenceData() {
+        ReferenceData referenceData = new ReferenceData(parkingRepository, companyRepository, vehicleTypeRepository,
+                tarifaRepository, planEspecialRepository, meterRegistry, environment);
+        ReflectionTestUtils.setField(referenceData, "defaultMaxEntries", 100);
+        ReflectionTestUtils.setField(referenceData, "defaultTtlSeconds", 600L);
+        ReflectionTestUtils.invokeMethod(referenceData, "init");
+        return referenceData;
+    }
+}
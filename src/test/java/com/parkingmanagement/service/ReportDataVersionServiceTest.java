@@ -0,0 +1,77 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.model.entity.ParkingDataVersion;
+import com.parkingmanagement.repository.ParkingDataVersionRepository;
+import com.parkingmanagement.service.impl.ReportDataVersionServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against the H2 database of the dev profile, so the version upsert has to stay portable.
+ */
+@DataJpaTest
+@ActiveProfiles("dev")
+@Import(ReportDataVersionServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReportDataVersionServiceTest {
+    
+    @Autowired
+    private ReportDataVersionService reportDataVersionService;
+    
+    @Autowired
+    private ParkingDataVersionRepository parkingDataVersionRepository;
+    
+    private final UUID parkingId = UUID.randomUUID();
+    private final LocalDate day = LocalDate.now().minusDays(10);
+    
+    @AfterEach
+    void tearDown() {
+        parkingDataVersionRepository.deleteAll();
+    }
+    
+    @Test
+    void markChanged_ShouldCreateTheDayOnceAndIncrementItAfterwards() {
+        // When
+        reportDataVersionService.markChanged(parkingId, day);
+        reportDataVersionService.markChanged(parkingId, day);
+        
+        // Then
+        List<ParkingDataVersion> versions = parkingDataVersionRepository.findAll();
+        assertEquals(1, versions.size());
+        assertEquals(2L, versions.get(0).getVersion());
+    }
+    
+    @Test
+    void hasChangedSince_ShouldOnlyReportChangesAfterGeneration() {
+        // Given
+        LocalDate start = day.withDayOfMonth(1);
+        LocalDate end = start.plusMonths(1).minusDays(1);
+        LocalDateTime beforeChange = LocalDateTime.now().minusSeconds(1);
+        
+        // When
+        boolean unchangedWindow = reportDataVersionService.hasChangedSince(parkingId, start, end, beforeChange);
+        reportDataVersionService.markChanged(parkingId, day);
+        boolean changedBeforeRecompute = reportDataVersionService.hasChangedSince(parkingId, start, end, beforeChange);
+        LocalDateTime recomputedAt = LocalDateTime.now().plusSeconds(1);
+        boolean changedAfterRecompute = reportDataVersionService.hasChangedSince(parkingId, start, end, recomputedAt);
+        
+        // Then
+        assertFalse(unchangedWindow);
+        assertTrue(changedBeforeRecompute);
+        assertFalse(changedAfterRecompute);
+        assertFalse(reportDataVersionService.hasChangedSince(UUID.randomUUID(), start, end, beforeChange));
+    }
+}
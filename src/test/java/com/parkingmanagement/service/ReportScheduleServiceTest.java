@@ -0,0 +1,185 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.dto.response.FinancialReportResponse;
+import com.parkingmanagement.model.entity.ReportSchedule;
+import com.parkingmanagement.model.entity.ReportScheduleExecution;
+import com.parkingmanagement.model.enums.ReportPeriod;
+import com.parkingmanagement.model.enums.ReportStatus;
+import com.parkingmanagement.model.enums.ReportType;
+import com.parkingmanagement.repository.ReportScheduleExecutionRepository;
+import com.parkingmanagement.repository.ReportScheduleRepository;
+import com.parkingmanagement.service.impl.ReportScheduleServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportScheduleServiceTest {
+    
+    @Mock
+    private ReportScheduleRepository reportScheduleRepository;
+    
+    @Mock
+    private ReportScheduleExecutionRepository executionRepository;
+    
+    @Mock
+    private ObjectProvider<ReportService> reportServiceProvider;
+    
+    @Mock
+    private ReportService reportService;
+    
+    @Mock
+    private ThreadPoolTaskExecutor reportExecutor;
+    
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    
+    private ReportScheduleServiceImpl reportScheduleService;
+    
+    @BeforeEach
+    void setUp() {
+        reportScheduleService = new ReportScheduleServiceImpl(reportScheduleRepository, executionRepository,
+                reportServiceProvider, reportExecutor, transactionTemplate);
+        ReflectionTestUtils.setField(reportScheduleService, "enabled", true);
+        ReflectionTestUtils.setField(reportScheduleService, "maxConcurrent", 4);
+        ReflectionTestUtils.setField(reportScheduleService, "maxJitterSeconds", 300L);
+        ReflectionTestUtils.setField(reportScheduleService, "maxCatchUpRuns", 3);
+        ReflectionTestUtils.invokeMethod(reportScheduleService, "initPermits");
+    }
+    
+    @Test
+    void jitterSeconds_ShouldBeStablePerScheduleAndSpreadAcrossSchedules() {
+        // Given
+        CronExpression daily = CronExpression.parse("0 0 0 * * *");
+        CronExpression everyMinute = CronExpression.parse("0 * * * * *");
+        LocalDateTime fire = LocalDateTime.of(2024, 3, 1, 0, 0);
+        UUID scheduleId = UUID.randomUUID();
+        
+        // When
+        Set<Long> offsets = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            offsets.add(jitter(UUID.randomUUID(), daily, fire));
+        }
+        
+        // Then
+        assertEquals(jitter(scheduleId, daily, fire),
+                jitter(scheduleId, daily, fire.plusDays(1)));
+        assertTrue(offsets.stream().allMatch(offset -> offset >= 0 && offset <= 300));
+        assertTrue(offsets.size() > 100);
+        assertTrue(jitter(scheduleId, everyMinute, fire) <= 30);
+    }
+    
+    @Test
+    void runDueSchedules_AfterDowntime_ShouldCatchUpLatestMissedRunsAndRecordHistory() {
+        // Given
+        ReportSchedule schedule = new ReportSchedule();
+        schedule.setId(UUID.randomUUID());
+        schedule.setCronExpression("0 0 0 * * *");
+        schedule.setReportType(ReportType.FINANCIAL);
+        schedule.setReportPeriod(ReportPeriod.DAILY);
+        schedule.setFormat("JSON");
+        schedule.setCreatedBy(UUID.randomUUID());
+        LocalDate today = LocalDate.now();
+        schedule.setNextFireAt(today.minusDays(5).atStartOfDay());
+        schedule.setNextRunAt(today.minusDays(5).atStartOfDay());
+        
+        when(reportScheduleRepository.findDueSchedules(any(), any())).thenReturn(List.of(schedule));
+        when(reportScheduleRepository.claimDueRun(eq(schedule.getId()), eq(schedule.getNextRunAt()), any()))
+                .thenReturn(1);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(reportExecutor).execute(any(Runnable.class));
+        
+        List<ReportScheduleExecution> saved = new ArrayList<>();
+        when(executionRepository.save(any(ReportScheduleExecution.class))).thenAnswer(invocation -> {
+            ReportScheduleExecution execution = invocation.getArgument(0);
+            if (!saved.contains(execution)) {
+                saved.add(execution);
+            }
+            return execution;
+        });
+        
+        FinancialReportResponse report = new FinancialReportResponse();
+        report.setId(UUID.randomUUID());
+        when(reportServiceProvider.getObject()).thenReturn(reportService);
+        when(reportService.generateFinancialReport(any(), any())).thenReturn(report);
+        
+        // When
+        reportScheduleService.runDueSchedules();
+        
+        // Then
+        assertEquals(today.plusDays(1).atStartOfDay(), schedule.getNextFireAt());
+        assertFalse(schedule.getNextRunAt().isBefore(schedule.getNextFireAt()));
+        
+        assertEquals(3, saved.size());
+        assertEquals(today.minusDays(3), saved.get(0).getPeriodStart());
+        assertEquals(today.minusDays(1), saved.get(2).getPeriodEnd());
+        assertTrue(saved.get(0).getCatchUp());
+        assertFalse(saved.get(2).getCatchUp());
+        assertTrue(saved.stream().allMatch(execution -> execution.getStatus() == ReportStatus.COMPLETED
+                && execution.getDurationMs() != null
+                && report.getId().equals(execution.getReportId())));
+        verify(reportService, times(3)).generateFinancialReport(any(), any());
+    }
+    
+    @Test
+    void runDueSchedules_WhenAnotherNodeClaimedTheRun_ShouldNotExecuteIt() {
+        // Given
+        ReportSchedule schedule = new ReportSchedule();
+        schedule.setId(UUID.randomUUID());
+        schedule.setCronExpression("0 0 0 * * *");
+        LocalDateTime due = LocalDate.now().atStartOfDay();
+        schedule.setNextFireAt(due);
+        schedule.setNextRunAt(due);
+        
+        when(reportScheduleRepository.findDueSchedules(any(), any())).thenReturn(List.of(schedule));
+        when(reportScheduleRepository.claimDueRun(eq(schedule.getId()), eq(due), any())).thenReturn(0);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        
+        // When
+        reportScheduleService.runDueSchedules();
+        
+        // Then
+        assertEquals(due, schedule.getNextRunAt());
+        verify(reportExecutor, never()).execute(any(Runnable.class));
+        assertEquals(4, ((Semaphore) ReflectionTestUtils.getField(
+                reportScheduleService, "runPermits")).availablePermits());
+    }
+    
+    private long jitter(UUID scheduleId, CronExpression cron, LocalDateTime fire) {
+        Long seconds = ReflectionTestUtils.invokeMethod(reportScheduleService, "jitterSeconds", scheduleId, cron, fire);
+        return seconds;
+    }
+}
@@ -0,0 +1,175 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.dto.request.GenerateReportRequest;
+import com.parkingmanagement.dto.response.FinancialReportResponse;
+import com.parkingmanagement.mapper.ReportMapper;
+import com.parkingmanagement.model.entity.Company;
+import com.parkingmanagement.model.entity.FinancialReport;
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.model.enums.ReportPeriod;
+import com.parkingmanagement.model.enums.ReportStatus;
+import com.parkingmanagement.repository.*;
+import com.parkingmanagement.service.archive.ArchiveAggregate;
+import com.parkingmanagement.service.impl.ReportServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReportServiceTest {
+    
+    @Mock
+    private FinancialReportRepository financialReportRepository;
+    
+    @Mock
+    private OccupancyReportRepository occupancyReportRepository;
+    
+    @Mock
+    private ReservaRepository reservaRepository;
+    
+    @Mock
+    private ParkingRepository parkingRepository;
+    
+    @Mock
+    private CompanyRepository companyRepository;
+    
+    @Mock
+    private ReportMapper reportMapper;
+    
+    @Mock
+    private SessionArchiveService sessionArchiveService;
+    
+    @Mock
+    private DashboardSummaryService dashboardSummaryService;
+    
+    @Mock
+    private ReportScheduleService reportScheduleService;
+    
+    @Mock
+    private ReportDataVersionService reportDataVersionService;
+    
+    private ReportServiceImpl reportService;
+    
+    private Parking parking;
+    private GenerateReportRequest request;
+    private FinancialReport completed;
+    
+    @BeforeEach
+    void setUp() {
+        reportService = new ReportServiceImpl(financialReportRepository, occupancyReportRepository, reservaRepository,
+                parkingRepository, companyRepository, reportMapper, sessionArchiveService, dashboardSummaryService,
+                reportScheduleService, reportDataVersionService, new SimpleMeterRegistry());
+        
+        Company company = new Company();
+        company.setId(UUID.randomUUID());
+        parking = new Parking();
+        parking.setId(UUID.randomUUID());
+        parking.setCompany(company);
+        
+        LocalDate lastMonth = LocalDate.now().minusMonths(1).withDayOfMonth(1);
+        request = new GenerateReportRequest();
+        request.setReportPeriod(ReportPeriod.MONTHLY);
+        request.setStartDate(lastMonth);
+        request.setEndDate(lastMonth.plusMonths(1).minusDays(1));
+        request.setParkingIds(List.of(parking.getId()));
+        
+        completed = new FinancialReport();
+        completed.setId(UUID.randomUUID());
+        completed.setParking(parking);
+        completed.setCompany(company);
+        completed.setReportPeriod(request.getReportPeriod());
+        completed.setPeriodStart(request.getStartDate());
+        completed.setPeriodEnd(request.getEndDate());
+        completed.setStatus(ReportStatus.COMPLETED);
+        completed.setGeneratedAt(LocalDateTime.now().minusHours(1));
+        completed.setTotalRevenue(BigDecimal.TEN);
+        
+        when(parkingRepository.findAllById(request.getParkingIds())).thenReturn(List.of(parking));
+    }
+    
+    @Test
+    void generateFinancialReport_WhenWindowUnchanged_ShouldReuseCompletedReport() {
+        // Given
+        FinancialReportResponse response = new FinancialReportResponse();
+        givenCompletedReport();
+        when(reportDataVersionService.hasChangedSince(parking.getId(), request.getStartDate(), request.getEndDate(),
+                completed.getGeneratedAt())).thenReturn(false);
+        when(reportMapper.toFinancialReportResponse(completed)).thenReturn(response);
+        
+        // When
+        FinancialReportResponse result = reportService.generateFinancialReport(request, UUID.randomUUID());
+        
+        // Then
+        assertSame(response, result);
+        verifyNoInteractions(sessionArchiveService);
+        verify(financialReportRepository, never()).save(any());
+    }
+    
+    @Test
+    void generateFinancialReport_WhenWindowChangedSinceGeneration_ShouldRecomputeSameReport() {
+        // Given
+        LocalDateTime generatedAt = completed.getGeneratedAt();
+        givenCompletedReport();
+        when(reportDataVersionService.hasChangedSince(parking.getId(), request.getStartDate(), request.getEndDate(),
+                generatedAt)).thenReturn(true);
+        ArchiveAggregate sessions = new ArchiveAggregate();
+        sessions.addSession(request.getStartDate().atTime(9, 0), request.getStartDate().atTime(11, 0),
+                new BigDecimal("25.00"));
+        when(sessionArchiveService.aggregateClosedSessions(parking.getId(), request.getStartDate(),
+                request.getEndDate())).thenReturn(sessions);
+        when(financialReportRepository.save(completed)).thenReturn(completed);
+        when(reportMapper.toFinancialReportResponse(completed)).thenReturn(new FinancialReportResponse());
+        
+        // When
+        reportService.generateFinancialReport(request, UUID.randomUUID());
+        
+        // Then
+        verify(financialReportRepository).save(completed);
+        assertEquals(ReportStatus.COMPLETED, completed.getStatus());
+        assertEquals(0, new BigDecimal("25.00").compareTo(completed.getTotalRevenue()));
+        assertEquals(1, completed.getTotalSessions());
+        assertTrue(completed.getGeneratedAt().isAfter(generatedAt));
+    }
+    
+    @Test
+    void generateFinancialReport_WhenWindowIncludesToday_ShouldRecomputeWithoutCheckingVersions() {
+        // Given
+        request.setEndDate(LocalDate.now());
+        completed.setPeriodEnd(request.getEndDate());
+        givenCompletedReport();
+        when(sessionArchiveService.aggregateClosedSessions(parking.getId(), request.getStartDate(),
+                request.getEndDate())).thenReturn(new ArchiveAggregate());
+        when(financialReportRepository.save(completed)).thenReturn(completed);
+        when(reportMapper.toFinancialReportResponse(completed)).thenReturn(new FinancialReportResponse());
+        
+        // When
+        reportService.generateFinancialReport(request, UUID.randomUUID());
+        
+        // Then
+        verifyNoInteractions(reportDataVersionService);
+        verify(financialReportRepository).save(completed);
+    }
+    
+    private void givenCompletedReport() {
+        when(financialReportRepository
+                .findFirstByParkingIdAndReportPeriodAndPeriodStartAndPeriodEndAndStatusOrderByGeneratedAtDesc(
+                        eq(parking.getId()), eq(request.getReportPeriod()), eq(request.getStartDate()),
+                        eq(request.getEndDate()), eq(ReportStatus.COMPLETED)))
+                .thenReturn(Optional.of(completed));
+    }
+}
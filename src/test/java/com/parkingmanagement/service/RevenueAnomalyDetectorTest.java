@@ -0,0 +1,198 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.event.SessionPaidEvent;
+import com.parkingmanagement.model.entity.SystemAlert;
+import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.repository.CompanyRepository;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import com.parkingmanagement.repository.projection.HourlyRevenueView;
+import com.parkingmanagement.service.alert.RevenueAnomalyDetector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevenueAnomalyDetectorTest {
+    
+    // A Monday, 10:00; every week brings about 40 in the 10:00 hour
+    private static final LocalDateTime MONDAY_10 = LocalDateTime.of(2026, 3, 2, 10, 0);
+    private static final double[] USUAL_REVENUE = {38, 42, 40, 41, 39};
+    
+    @Mock
+    private ParkingSessionRepository parkingSessionRepository;
+    
+    @Mock
+    private ParkingRepository parkingRepository;
+    
+    @Mock
+    private CompanyRepository companyRepository;
+    
+    @Mock
+    private SystemAlertRepository systemAlertRepository;
+    
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @InjectMocks
+    private RevenueAnomalyDetector revenueAnomalyDetector;
+    
+    private UUID parkingId;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(revenueAnomalyDetector, "enabled", true);
+        ReflectionTestUtils.setField(revenueAnomalyDetector, "alpha", 0.2);
+        ReflectionTestUtils.setField(revenueAnomalyDetector, "raiseAtSigma", 3.0);
+        ReflectionTestUtils.setField(revenueAnomalyDetector, "clearAtSigma", 2.0);
+        ReflectionTestUtils.setField(revenueAnomalyDetector, "minSamples", 4);
+        ReflectionTestUtils.setField(revenueAnomalyDetector, "minStdDev", 1.0);
+        ReflectionTestUtils.invokeMethod(revenueAnomalyDetector, "init");
+        
+        parkingId = UUID.randomUUID();
+        lenient().when(systemAlertRepository.save(any(SystemAlert.class))).thenAnswer(invocation -> {
+            SystemAlert alert = invocation.getArgument(0);
+            if (alert.getId() == null) {
+                alert.setId(UUID.randomUUID());
+            }
+            return alert;
+        });
+        
+        for (int week = 0; week < USUAL_REVENUE.length; week++) {
+            pay(MONDAY_10.plusWeeks(week).plusMinutes(20), USUAL_REVENUE[week]);
+        }
+    }
+    
+    @Test
+    void onSessionPaid_WhenHourInProgressSpikes_ShouldRaiseOnceWithoutReadingTheDatabase() {
+        // When
+        pay(MONDAY_10.plusWeeks(5).plusMinutes(10), 40);
+        pay(MONDAY_10.plusWeeks(5).plusMinutes(30), 60); // 100 so far, far above the usual 40
+        pay(MONDAY_10.plusWeeks(5).plusMinutes(50), 60);
+        
+        // Then
+        ArgumentCaptor<SystemAlert> raised = ArgumentCaptor.forClass(SystemAlert.class);
+        verify(systemAlertRepository, times(1)).save(raised.capture());
+        assertEquals(AlertType.REVENUE_THRESHOLD, raised.getValue().getAlertType());
+        assertEquals("Unusually high revenue", raised.getValue().getTitle());
+        assertEquals("COMPANY_ADMIN", raised.getValue().getTargetRole());
+        verifyNoInteractions(parkingSessionRepository);
+    }
+    
+    @Test
+    void onSessionPaid_WhenClosedHourFallsShort_ShouldRaiseAndResolveOnceBackToUsual() {
+        // When
+        pay(MONDAY_10.plusWeeks(5).plusMinutes(20), 40);
+        pay(MONDAY_10.plusWeeks(6).plusMinutes(20), 2);
+        pay(MONDAY_10.plusWeeks(6).plusHours(1), 5); // closes the 10:00 hour that brought only 2
+        
+        ArgumentCaptor<SystemAlert> raised = ArgumentCaptor.forClass(SystemAlert.class);
+        verify(systemAlertRepository).save(raised.capture());
+        SystemAlert alert = raised.getValue();
+        assertEquals("Unusually low revenue", alert.getTitle());
+        when(systemAlertRepository.findById(alert.getId())).thenReturn(Optional.of(alert));
+        
+        pay(MONDAY_10.plusWeeks(7).plusMinutes(20), 40);
+        pay(MONDAY_10.plusWeeks(7).plusHours(1), 5); // closes a usual 10:00 hour
+        
+        // Then
+        assertEquals(AlertStatus.RESOLVED, alert.getStatus());
+        verify(systemAlertRepository, times(2)).save(any(SystemAlert.class));
+    }
+    
+    @Test
+    void warmUp_WhenHistoryQueryFails_ShouldKeepTheLiveBaselines() {
+        // Given
+        when(parkingSessionRepository.sumPaidRevenueByParkingAndHourSince(any()))
+                .thenThrow(new IllegalStateException("syntax error"));
+        
+        // When
+        assertDoesNotThrow(() -> revenueAnomalyDetector.warmUp());
+        pay(MONDAY_10.plusWeeks(5).plusMinutes(30), 120);
+        
+        // Then - the baseline learned before the failed warm-up still judges payments
+        verify(systemAlertRepository, times(1)).save(any(SystemAlert.class));
+    }
+    
+    @Test
+    void warmUp_WhenPaymentArrivesMeanwhile_ShouldMergeHistoryIntoTheLiveBaseline() {
+        // Given
+        UUID warmedParkingId = UUID.randomUUID();
+        LocalDateTime hour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        List<HourlyRevenueView> history = new ArrayList<>();
+        for (int week = USUAL_REVENUE.length; week > 0; week--) {
+            history.add(hourlyRevenue(warmedParkingId, hour.minusWeeks(week), USUAL_REVENUE[week - 1]));
+        }
+        when(parkingSessionRepository.sumPaidRevenueByParkingAndHourSince(any())).thenAnswer(invocation -> {
+            // Committed after the history query read the sessions
+            pay(warmedParkingId, hour, 100);
+            return history;
+        });
+        
+        // When
+        revenueAnomalyDetector.warmUp();
+        pay(warmedParkingId, hour, 10);
+        
+        // Then - 110 this hour against the learned 40 raises, so neither side was dropped
+        ArgumentCaptor<SystemAlert> raised = ArgumentCaptor.forClass(SystemAlert.class);
+        verify(systemAlertRepository, times(1)).save(raised.capture());
+        assertEquals("Unusually high revenue", raised.getValue().getTitle());
+    }
+    
+    private void pay(LocalDateTime paidAt, double amount) {
+        pay(parkingId, paidAt, amount);
+    }
+    
+    private void pay(UUID parkingId, LocalDateTime paidAt, double amount) {
+        revenueAnomalyDetector.onSessionPaid(new SessionPaidEvent(UUID.randomUUID(), parkingId, null,
+                paidAt.minusHours(2), paidAt, BigDecimal.valueOf(amount), paidAt));
+    }
+    
+    private static HourlyRevenueView hourlyRevenue(UUID parkingId, LocalDateTime hourStart, double revenue) {
+        return new HourlyRevenueView() {
+            @Override
+            public UUID getParkingId() {
+                return parkingId;
+            }
+            
+            @Override
+            public UUID getCompanyId() {
+                return null;
+            }
+            
+            @Override
+            public LocalDateTime getHourStart() {
+                return hourStart;
+            }
+            
+            @Override
+            public Number getRevenue() {
+                return revenue;
+            }
+        };
+    }
+}
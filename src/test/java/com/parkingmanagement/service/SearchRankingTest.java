@@ -0,0 +1,129 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.mapper.TarifaMapper;
+import com.parkingmanagement.model.entity.Tarifa;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.TarifaRepository;
+import com.parkingmanagement.repository.VehicleTypeRepository;
+import com.parkingmanagement.service.impl.TarifaServiceImpl;
+import com.parkingmanagement.service.reference.ReferenceData;
+import com.parkingmanagement.service.search.SearchRanking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchRankingTest {
+    
+    @Mock
+    private DataSource dataSource;
+    
+    @Mock
+    private Connection connection;
+    
+    @Mock
+    private DatabaseMetaData metaData;
+    
+    @Mock
+    private TarifaRepository tarifaRepository;
+    
+    private SearchRanking searchRanking;
+    
+    @BeforeEach
+    void setUp() {
+        searchRanking = new SearchRanking(dataSource);
+        ReflectionTestUtils.setField(searchRanking, "enabled", true);
+    }
+    
+    @Test
+    void appliesTo_OnPostgreSQL_ShouldRankSearchesOnly() throws SQLException {
+        // Given
+        givenDatabase("PostgreSQL");
+        
+        // When / Then
+        assertTrue(searchRanking.appliesTo("central"));
+        assertFalse(searchRanking.appliesTo(null));
+        assertFalse(searchRanking.appliesTo("  "));
+        verify(dataSource, times(1)).getConnection();
+    }
+    
+    @Test
+    void appliesTo_OnOtherDatabases_ShouldFallBackToUnrankedSearch() throws SQLException {
+        // Given
+        givenDatabase("H2");
+        
+        // When / Then
+        assertFalse(searchRanking.appliesTo("central"));
+    }
+    
+    @Test
+    void appliesTo_WhenDisabled_ShouldNotQueryTheDatabase() {
+        // Given
+        ReflectionTestUtils.setField(searchRanking, "enabled", false);
+        
+        // When / Then
+        assertFalse(searchRanking.appliesTo("central"));
+        verifyNoInteractions(dataSource);
+    }
+    
+    @Test
+    void appliesTo_WhenDetectionFails_ShouldNotRankAndRetryLater() throws SQLException {
+        // Given
+        when(dataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+        
+        // When
+        boolean first = searchRanking.appliesTo("central");
+        reset(dataSource);
+        givenDatabase("PostgreSQL");
+        boolean second = searchRanking.appliesTo("central");
+        
+        // Then
+        assertFalse(first);
+        assertTrue(second);
+    }
+    
+    @Test
+    void getAllTarifas_ShouldUseRankedQueryOnlyWhenRankingApplies() throws SQLException {
+        // Given
+        givenDatabase("PostgreSQL");
+        TarifaServiceImpl tarifaService = new TarifaServiceImpl(tarifaRepository, mock(ParkingRepository.class),
+                mock(VehicleTypeRepository.class), mock(TarifaMapper.class), mock(ReferenceData.class),
+                mock(ApplicationEventPublisher.class), searchRanking);
+        Pageable pageable = PageRequest.of(0, 20);
+        when(tarifaRepository.findTarifasWithFiltersRanked(any(), any(), any(), any()))
+                .thenReturn(new PageImpl<Tarifa>(List.of(), pageable, 0));
+        when(tarifaRepository.findTarifasWithFilters(any(), any(), any(), any()))
+                .thenReturn(new PageImpl<Tarifa>(List.of(), pageable, 0));
+        
+        // When
+        tarifaService.getAllTarifas("hora", null, null, pageable);
+        tarifaService.getAllTarifas(null, null, null, pageable);
+        
+        // Then
+        verify(tarifaRepository).findTarifasWithFiltersRanked("hora", null, null, pageable);
+        verify(tarifaRepository).findTarifasWithFilters(null, null, null, pageable);
+    }
+    
+    private void givenDatabase(String product) throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn(product);
+    }
+}
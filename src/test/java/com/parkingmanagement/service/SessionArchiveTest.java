@@ -0,0 +1,173 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.repository.ParkingRepository;
+import com.parkingmanagement.repository.ParkingSessionRepository;
+import com.parkingmanagement.repository.projection.ClosedSessionView;
+import com.parkingmanagement.service.archive.ArchiveAggregate;
+import com.parkingmanagement.service.archive.SessionArchiveSegment;
+import com.parkingmanagement.service.archive.SessionArchiveWriter;
+import com.parkingmanagement.service.impl.SessionArchiveServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SessionArchiveTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    private final UUID parkingId = UUID.randomUUID();
+    private final YearMonth month = YearMonth.of(2024, 3);
+    
+    @Test
+    void writeAndAggregate_ShouldRoundTripRevenueDurationAndHours() throws Exception {
+        // Given
+        List<ClosedSessionView> sessions = List.of(
+                session(LocalDateTime.of(2024, 3, 1, 9, 15), 90, "12.50"),
+                session(LocalDateTime.of(2024, 3, 15, 9, 45), 30, "4.00"),
+                session(LocalDateTime.of(2024, 3, 31, 22, 0), 125, "20.75"));
+        Path segmentPath = tempDir.resolve(SessionArchiveSegment.fileName(month));
+        
+        // When
+        SessionArchiveWriter.write(segmentPath, parkingId, month, sessions);
+        SessionArchiveSegment segment = SessionArchiveSegment.open(segmentPath);
+        ArchiveAggregate aggregate = segment.aggregate();
+        
+        // Then
+        assertEquals(parkingId, segment.getParkingId());
+        assertEquals(month, segment.getMonth());
+        assertEquals(3, segment.getRowCount());
+        assertEquals(400, segment.getAmountStats().getMin());
+        assertEquals(2075, segment.getAmountStats().getMax());
+        assertEquals(30, segment.getDurationStats().getMin());
+        assertEquals(125, segment.getDurationStats().getMax());
+        
+        assertEquals(3, aggregate.getSessions());
+        assertEquals(new BigDecimal("37.25"), aggregate.getRevenue());
+        assertEquals(245, aggregate.getDurationMinutes());
+        assertEquals(3, aggregate.getOccupiedHours()); // 1h + 0h + 2h
+        assertEquals(2, aggregate.getSessionsByHour()[9]);
+        assertEquals(1, aggregate.getSessionsByHour()[22]);
+        assertEquals(new BigDecimal("16.50"), aggregate.getRevenueBetweenHours(8, 18));
+    }
+    
+    @Test
+    void write_WithNoSessions_ShouldProduceEmptySegment() throws Exception {
+        // Given
+        Path segmentPath = tempDir.resolve(SessionArchiveSegment.fileName(month));
+        
+        // When
+        SessionArchiveWriter.write(segmentPath, parkingId, month, List.of());
+        ArchiveAggregate aggregate = SessionArchiveSegment.open(segmentPath).aggregate();
+        
+        // Then
+        assertTrue(aggregate.isEmpty());
+        assertEquals(BigDecimal.ZERO.setScale(2), aggregate.getRevenue());
+    }
+    
+    @Test
+    void open_WithCorruptFile_ShouldThrowException() throws Exception {
+        // Given
+        Path segmentPath = tempDir.resolve("corrupt.psa");
+        Files.write(segmentPath, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> SessionArchiveSegment.open(segmentPath));
+    }
+    
+    @Test
+    void aggregateClosedSessions_ShouldReturnSameTotalsBeforeAndAfterArchiving() {
+        // Given
+        ParkingRepository parkingRepository = mock(ParkingRepository.class);
+        ParkingSessionRepository parkingSessionRepository = mock(ParkingSessionRepository.class);
+        SessionArchiveServiceImpl service = new SessionArchiveServiceImpl(parkingRepository, parkingSessionRepository,
+                mock(ThreadPoolTaskExecutor.class));
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "directory", tempDir.toString());
+        ReflectionTestUtils.setField(service, "settleDays", 3);
+        ReflectionTestUtils.setField(service, "lookbackMonths", 1200);
+        
+        Parking parking = new Parking();
+        parking.setId(parkingId);
+        parking.setCreatedAt(month.atDay(1).atStartOfDay());
+        when(parkingRepository.findByIsActiveTrue(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(parking)));
+        
+        LocalDateTime from = month.atDay(1).atStartOfDay();
+        LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+        when(parkingSessionRepository.findClosedPaidSessions(parkingId, from, to)).thenReturn(List.of(
+                session(LocalDateTime.of(2024, 3, 1, 9, 15), 90, "12.50"),
+                session(LocalDateTime.of(2024, 3, 15, 9, 45), 30, "4.005"),
+                session(LocalDateTime.of(2024, 3, 31, 22, 0), 125, "20.75")));
+        LocalDate monthStart = month.atDay(1);
+        LocalDate monthEnd = month.atEndOfMonth();
+        
+        // When
+        ArchiveAggregate live = service.aggregateClosedSessions(parkingId, monthStart, monthEnd);
+        service.archiveClosedMonths();
+        ArchiveAggregate archived = service.aggregateClosedSessions(parkingId, monthStart, monthEnd);
+        
+        // Then
+        assertTrue(Files.exists(tempDir.resolve(parkingId.toString()).resolve(SessionArchiveSegment.fileName(month))));
+        verify(parkingSessionRepository, times(2)).findClosedPaidSessions(eq(parkingId), eq(from), eq(to));
+        assertEquals(3, live.getSessions());
+        assertEquals(live.getSessions(), archived.getSessions());
+        assertEquals(live.getRevenue(), archived.getRevenue());
+        assertEquals(live.getDurationMinutes(), archived.getDurationMinutes());
+        assertEquals(live.getOccupiedHours(), archived.getOccupiedHours());
+        assertEquals(live.getRevenueBetweenHours(8, 18), archived.getRevenueBetweenHours(8, 18));
+    }
+    
+    @Test
+    void scheduleArchive_ShouldHandTheRunToTheArchiveExecutor() {
+        // Given
+        ParkingRepository parkingRepository = mock(ParkingRepository.class);
+        ThreadPoolTaskExecutor archiveExecutor = mock(ThreadPoolTaskExecutor.class);
+        SessionArchiveServiceImpl service = new SessionArchiveServiceImpl(parkingRepository,
+                mock(ParkingSessionRepository.class), archiveExecutor);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        
+        // When
+        service.scheduleArchive();
+        
+        // Then - the scheduler thread returns at once; the run happens on the executor
+        verify(archiveExecutor).execute(any(Runnable.class));
+        verifyNoInteractions(parkingRepository);
+    }
+    
+    private ClosedSessionView session(LocalDateTime entryTime, int durationMinutes, String amount) {
+        return new ClosedSessionView() {
+            @Override
+            public LocalDateTime getEntryTime() {
+                return entryTime;
+            }
+            
+            @Override
+            public LocalDateTime getExitTime() {
+                return entryTime.plusMinutes(durationMinutes);
+            }
+            
+            @Override
+            public BigDecimal getTotalCost() {
+                return new BigDecimal(amount);
+            }
+        };
+    }
+}
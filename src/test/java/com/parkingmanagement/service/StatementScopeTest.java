@@ -0,0 +1,35 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.service.statement.StatementCountingInspector;
+import com.parkingmanagement.service.statement.StatementScope;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementScopeTest {
+    
+    private final StatementCountingInspector inspector = new StatementCountingInspector();
+    
+    @Test
+    void nestedScopesCountStatementsIssuedWhileOpen() {
+        // Given
+        StatementScope request = StatementScope.open("GET /api/tarifas");
+        inspector.inspect("select t1_0.id from tarifas t1_0");
+        StatementScope service = StatementScope.open("TarifaServiceImpl.getAllTarifas");
+        
+        // When
+        for (int i = 0; i < 3; i++) {
+            inspector.inspect("select v1_0.id,\n    v1_0.name from vehicle_types v1_0 where v1_0.id=?");
+        }
+        service.close();
+        inspector.inspect("select 1");
+        request.close();
+        inspector.inspect("select 2");
+        
+        // Then
+        assertEquals(3, service.getCount());
+        assertEquals(5, request.getCount());
+        assertEquals(String.format("%n  3x select v1_0.id, v1_0.name from vehicle_types v1_0 where v1_0.id=?"),
+                request.describe(1));
+    }
+}
@@ -0,0 +1,158 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.dto.request.CursorPageRequest;
+import com.parkingmanagement.dto.response.PageResponse;
+import com.parkingmanagement.dto.response.TarifaResponse;
+import com.parkingmanagement.mapper.TarifaMapper;
+import com.parkingmanagement.model.entity.Company;
+import com.parkingmanagement.model.entity.Parking;
+import com.parkingmanagement.model.entity.Tarifa;
+import com.parkingmanagement.model.entity.VehicleType;
+import com.parkingmanagement.service.impl.TarifaServiceImpl;
+import com.parkingmanagement.service.reference.ReferenceData;
+import com.parkingmanagement.service.search.SearchRanking;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Walks the keyset pages of the tarifa listing against the H2 database of the dev profile.
+ */
+@DataJpaTest
+@ActiveProfiles("dev")
+@Import({TarifaServiceImpl.class, SearchRanking.class})
+class TarifaCursorPagingTest {
+    
+    private static final int TARIFAS = 5;
+    
+    @Autowired
+    private TarifaService tarifaService;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @MockBean
+    private TarifaMapper tarifaMapper;
+    
+    @MockBean
+    private ReferenceData referenceData;
+    
+    private final LocalDateTime tie = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).minusDays(1);
+    
+    @BeforeEach
+    void setUp() {
+        Company company = Company.builder().name("Cursor Co").build();
+        Parking parking = Parking.builder().company(company).name("Central").address("Main street 1").build();
+        VehicleType vehicleType = VehicleType.builder().name("Car").build();
+        entityManager.persist(company);
+        entityManager.persist(parking);
+        entityManager.persist(vehicleType);
+        
+        List<Tarifa> tarifas = new ArrayList<>();
+        for (int i = 0; i < TARIFAS; i++) {
+            Tarifa tarifa = Tarifa.builder()
+                    .parking(parking)
+                    .vehicleType(vehicleType)
+                    .name("Tarifa " + i)
+                    .ratePerHour(new BigDecimal("2.50"))
+                    .build();
+            entityManager.persist(tarifa);
+            tarifas.add(tarifa);
+        }
+        entityManager.flush();
+        
+        // One newer and one older row around three rows sharing the same creation time
+        setCreatedAt(tarifas.get(0), tie.plusHours(1));
+        setCreatedAt(tarifas.get(4), tie.minusHours(1));
+        for (Tarifa tarifa : tarifas.subList(1, 4)) {
+            setCreatedAt(tarifa, tie);
+        }
+        entityManager.clear();
+        
+        when(tarifaMapper.toResponse(any(Tarifa.class))).thenAnswer(invocation -> {
+            Tarifa tarifa = invocation.getArgument(0);
+            return TarifaResponse.builder().id(tarifa.getId()).createdAt(tarifa.getCreatedAt()).build();
+        });
+    }
+    
+    @Test
+    void getAllTarifas_ShouldReturnEveryRowOnceAcrossPagesSplittingTies() {
+        // Given
+        List<TarifaResponse> seen = new ArrayList<>();
+        List<PageResponse<TarifaResponse>> pages = new ArrayList<>();
+        String cursor = null;
+        
+        // When
+        do {
+            PageResponse<TarifaResponse> page = tarifaService.getAllTarifas(null, null, null,
+                    CursorPageRequest.of(cursor, 2, false));
+            pages.add(page);
+            seen.addAll(page.getContent());
+            cursor = page.getCursor().getNext();
+        } while (cursor != null);
+        
+        // Then
+        assertEquals(3, pages.size());
+        assertEquals(TARIFAS, seen.size());
+        assertEquals(TARIFAS, new HashSet<>(seen.stream().map(TarifaResponse::getId).toList()).size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).getCreatedAt().isAfter(seen.get(i - 1).getCreatedAt()));
+        }
+        // The tied rows straddle the first page boundary
+        assertEquals(tie, pages.get(0).getContent().get(1).getCreatedAt());
+        assertEquals(tie, pages.get(1).getContent().get(0).getCreatedAt());
+        assertFalse(pages.get(2).getCursor().getHasNext());
+        assertNull(pages.get(2).getCursor().getTotal());
+    }
+    
+    @Test
+    void getAllTarifas_WhenLimitMatchesTheRowCount_ShouldEndWithoutACursor() {
+        // When
+        PageResponse<TarifaResponse> page = tarifaService.getAllTarifas(null, null, null,
+                CursorPageRequest.of(null, TARIFAS, false));
+        
+        // Then
+        assertEquals(TARIFAS, page.getContent().size());
+        assertFalse(page.getCursor().getHasNext());
+        assertNull(page.getCursor().getNext());
+    }
+    
+    @Test
+    void getAllTarifas_WithIncludeTotal_ShouldCountAllMatchingRows() {
+        // When
+        PageResponse<TarifaResponse> first = tarifaService.getAllTarifas(null, null, null,
+                CursorPageRequest.of(null, 2, true));
+        PageResponse<TarifaResponse> searched = tarifaService.getAllTarifas("tarifa 3", null, null,
+                CursorPageRequest.of(null, 2, true));
+        
+        // Then
+        assertEquals(TARIFAS, first.getCursor().getTotal());
+        assertTrue(first.getCursor().getHasNext());
+        assertEquals(1L, searched.getCursor().getTotal());
+        assertEquals(1, searched.getContent().size());
+    }
+    
+    private void setCreatedAt(Tarifa tarifa, LocalDateTime createdAt) {
+        entityManager.createQuery("UPDATE Tarifa t SET t.createdAt = :createdAt WHERE t.id = :id")
+                .setParameter("createdAt", createdAt)
+                .setParameter("id", tarifa.getId())
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,105 @@
+package com.parkingmanagement.service;
+
+import com.parkingmanagement.event.AlertStatusChangedEvent;
+import com.parkingmanagement.model.enums.AlertPriority;
+import com.parkingmanagement.model.enums.AlertStatus;
+import com.parkingmanagement.model.enums.AlertType;
+import com.parkingmanagement.model.enums.UserRole;
+import com.parkingmanagement.repository.SystemAlertRepository;
+import com.parkingmanagement.repository.projection.AlertTargetCountView;
+import com.parkingmanagement.service.alert.AlertStreamRegistry;
+import com.parkingmanagement.service.alert.UnreadAlertCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadAlertCounterTest {
+    
+    @Mock
+    private SystemAlertRepository systemAlertRepository;
+    
+    @Mock
+    private AlertStreamRegistry streamRegistry;
+    
+    @InjectMocks
+    private UnreadAlertCounter unreadAlertCounter;
+    
+    private UUID userId;
+    
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        // 2 alerts for the user, 3 for supervisors, 1 addressed to both
+        when(systemAlertRepository.countActiveAlertsByTarget()).thenReturn(List.of(
+                count(userId, null, 2),
+                count(null, "SUPERVISOR", 3),
+                count(userId, "SUPERVISOR", 1)));
+        lenient().when(streamRegistry.getConnectedUsers()).thenReturn(Set.of());
+        unreadAlertCounter.rebuild();
+    }
+    
+    @Test
+    void getUnreadCount_ShouldCountAlertsForUserAndRoleOnce() {
+        // When & Then
+        assertEquals(6, unreadAlertCounter.getUnreadCount(userId, UserRole.SUPERVISOR));
+        assertEquals(3, unreadAlertCounter.getUnreadCount(userId, UserRole.OPERATOR));
+        assertEquals(4, unreadAlertCounter.getUnreadCount(UUID.randomUUID(), UserRole.SUPERVISOR));
+    }
+    
+    @Test
+    void onAlertStatusChanged_ShouldMoveCountersAndPushToConnectedRoleMembers() {
+        // Given
+        UUID connectedSupervisor = UUID.randomUUID();
+        when(streamRegistry.getConnectedUsers("SUPERVISOR")).thenReturn(Set.of(connectedSupervisor));
+        when(streamRegistry.getRole(connectedSupervisor)).thenReturn(UserRole.SUPERVISOR);
+        
+        // When
+        unreadAlertCounter.onAlertStatusChanged(event(null, AlertStatus.ACTIVE));
+        unreadAlertCounter.onAlertStatusChanged(event(AlertStatus.ACTIVE, AlertStatus.ACKNOWLEDGED));
+        unreadAlertCounter.onAlertStatusChanged(event(AlertStatus.ACKNOWLEDGED, AlertStatus.RESOLVED));
+        unreadAlertCounter.onAlertStatusChanged(event(null, AlertStatus.ACTIVE));
+        
+        // Then
+        assertEquals(5, unreadAlertCounter.getUnreadCount(connectedSupervisor, UserRole.SUPERVISOR));
+        verify(streamRegistry, times(4)).send(eq(connectedSupervisor), eq(UnreadAlertCounter.ALERT_EVENT), any());
+        // The ACKNOWLEDGED -> RESOLVED change does not move the unread count
+        verify(streamRegistry, times(3)).send(eq(connectedSupervisor), eq(UnreadAlertCounter.UNREAD_EVENT), any());
+    }
+    
+    private AlertStatusChangedEvent event(AlertStatus previousStatus, AlertStatus status) {
+        return new AlertStatusChangedEvent(UUID.randomUUID(), AlertType.LOW_AVAILABILITY, AlertPriority.HIGH,
+                "Low availability", null, "SUPERVISOR", previousStatus, status);
+    }
+    
+    private AlertTargetCountView count(UUID targetUserId, String targetRole, long count) {
+        return new AlertTargetCountView() {
+            @Override
+            public UUID getTargetUserId() {
+                return targetUserId;
+            }
+            
+            @Override
+            public String getTargetRole() {
+                return targetRole;
+            }
+            
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package com.parkingmanagement.support;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the annotated test when it makes Hibernate issue more than {@link #value()} SQL
+ * statements on the test thread. With MockMvc the request runs on that thread, so this
+ * pins the statement count of an endpoint and catches an N+1 when it comes back.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(StatementBudgetExtension.class)
+public @interface MaxStatements {
+    
+    int value();
+}
@@ -0,0 +1,34 @@
+package com.parkingmanagement.support;
+
+import com.parkingmanagement.service.statement.StatementScope;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Opens a {@link StatementScope} around each test method annotated with {@link MaxStatements}
+ * and fails the test, listing the most frequent statements, when it went over.
+ */
+class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(StatementBudgetExtension.class);
+    
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), StatementScope.open(context.getDisplayName()));
+    }
+    
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        StatementScope scope = context.getStore(NAMESPACE).remove(context.getUniqueId(), StatementScope.class);
+        scope.close();
+        int max = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), MaxStatements.class)
+                .map(MaxStatements::value)
+                .orElseThrow();
+        assertTrue(scope.getCount() <= max, () -> scope.getName() + " issued " + scope.getCount()
+                + " SQL statements, more than the " + max + " allowed:" + scope.describe(5));
+    }
+}